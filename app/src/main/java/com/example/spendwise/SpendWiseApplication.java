@@ -2,6 +2,8 @@
 package com.example.spendwise;
 
 import android.app.Application;
+import com.example.spendwise.repository.LocalStore;
+import com.example.spendwise.repository.PromptCache;
 import com.example.spendwise.util.ThemeHelper;
 
 public class SpendWiseApplication extends Application {
@@ -10,5 +12,9 @@ public class SpendWiseApplication extends Application {
         super.onCreate();
         // Apply the saved theme when app starts
         ThemeHelper.applyTheme(this);
+        // Open the on-device store so ViewModels can render before Firebase syncs
+        LocalStore.init(this);
+        // Load cached chatbot replies so repeat prompts skip the model
+        PromptCache.init(this);
     }
 }
\ No newline at end of file
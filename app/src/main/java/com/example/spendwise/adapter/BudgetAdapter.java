@@ -8,6 +8,8 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.spendwise.R;
@@ -16,22 +18,50 @@ import com.example.spendwise.model.Budget;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.ViewHolder> {
+public class BudgetAdapter extends ListAdapter<Budget, BudgetAdapter.ViewHolder> {
 
-    private List<Budget> budgets;
+    // Changed-field bits carried as diff payloads
+    public static final int FIELD_NAME = 1;
+    public static final int FIELD_CATEGORY = 1 << 1;
+    public static final int FIELD_AMOUNT = 1 << 2;
+    public static final int FIELD_DATE = 1 << 3;
+
+    /** Matches rows by budget id; the payload is the mask of changed fields. */
+    public static final DiffUtil.ItemCallback<Budget> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<Budget>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull Budget oldItem, @NonNull Budget newItem) {
+                    return Objects.equals(oldItem.getId(), newItem.getId());
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull Budget oldItem, @NonNull Budget newItem) {
+                    return changedFields(oldItem, newItem) == 0;
+                }
+
+                @Override
+                public Object getChangePayload(@NonNull Budget oldItem, @NonNull Budget newItem) {
+                    return changedFields(oldItem, newItem);
+                }
+            };
+
+    private final StableIds stableIds = new StableIds();
 
     public BudgetAdapter() {
-        this.budgets = new ArrayList<>();
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
     }
 
     public BudgetAdapter(List<Budget> budgets) {
-        this.budgets = budgets;
+        this();
+        setBudgets(budgets);
     }
 
     public Budget getBudgetAt(int position) {
-        if (budgets != null && position >= 0 && position < budgets.size()) {
-            return budgets.get(position);
+        if (position >= 0 && position < getItemCount()) {
+            return getItem(position);
         }
         return null;
     }
@@ -46,17 +76,72 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.ViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Budget budget = budgets.get(position);
+        bind(holder, getItem(position), ~0);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        int fields = Payloads.changedFields(payloads);
+        if (fields == 0) {
+            onBindViewHolder(holder, position);
+        } else {
+            bind(holder, getItem(position), fields);
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position).getId());
+    }
+
+    // Update the list; the diff runs off the main thread
+    public void setBudgets(List<Budget> newBudgets) {
+        submitList(newBudgets != null ? new ArrayList<>(newBudgets) : null);
+    }
+
+    static int changedFields(Budget oldItem, Budget newItem) {
+        int fields = 0;
+        if (!Objects.equals(oldItem.getName(), newItem.getName())) {
+            fields |= FIELD_NAME;
+        }
+        if (oldItem.getCategory() != newItem.getCategory()
+                || !Objects.equals(oldItem.getfreq(), newItem.getfreq())) {
+            fields |= FIELD_CATEGORY;
+        }
+        // The amount colour depends on the original amount too
+        if (oldItem.getAmountCents() != newItem.getAmountCents()
+                || Double.compare(oldItem.getOriginalAmount(), newItem.getOriginalAmount()) != 0) {
+            fields |= FIELD_AMOUNT;
+        }
+        if (!Objects.equals(oldItem.getDate(), newItem.getDate())) {
+            fields |= FIELD_DATE;
+        }
+        return fields;
+    }
 
+    private void bind(ViewHolder holder, Budget budget, int fields) {
+        if ((fields & FIELD_NAME) != 0) {
+            holder.getNameText().setText(budget.getName());
+        }
+        if ((fields & FIELD_CATEGORY) != 0) {
+            holder.getCategoryText().setText(
+                    budget.getCategory().getDisplayName() + " · " + budget.getfreq()
+            );
+        }
+        if ((fields & FIELD_AMOUNT) != 0) {
+            bindAmount(holder, budget);
+        }
+        if ((fields & FIELD_DATE) != 0) {
+            holder.getDateText().setText(budget.getDate());
+        }
+    }
+
+    private void bindAmount(ViewHolder holder, Budget budget) {
         double remaining = budget.getAmount();
         double original = budget.getOriginalAmount();
 
-        holder.getNameText().setText(budget.getName());
-        holder.getCategoryText().setText(
-                budget.getCategory().getDisplayName() + " · " + budget.getfreq()
-        );
         holder.getAmountText().setText(String.format(Locale.US, "$%.2f", remaining));
-        holder.getDateText().setText(budget.getDate());
 
         // Color logic based on remaining amount
         if (remaining < 0) {
@@ -71,17 +156,6 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.ViewHolder
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return budgets != null ? budgets.size() : 0;
-    }
-
-    // Optional helper if you want to update the list dynamically
-    public void setBudgets(List<Budget> newBudgets) {
-        this.budgets = newBudgets;
-        notifyDataSetChanged();
-    }
-
     public static class ViewHolder extends RecyclerView.ViewHolder {
         private TextView nameText;
         private TextView categoryText;
@@ -112,4 +186,4 @@ public class BudgetAdapter extends RecyclerView.Adapter<BudgetAdapter.ViewHolder
             return dateText;
         }
     }
-}
\ No newline at end of file
+}
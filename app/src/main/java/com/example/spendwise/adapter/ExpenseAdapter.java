@@ -6,20 +6,60 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.spendwise.R;
 import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.PageWindow;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseViewHolder> {
+/**
+ * Shows a {@link PageWindow} of expenses. Rows whose page is still loading
+ * bind as blank placeholders. Loaded rows have stable ids from their expense
+ * id; a placeholder's id is a negative sentinel for its position, so it can
+ * never match a loaded row.
+ */
+public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseViewHolder>
+        implements PageWindow.Listener<Expense> {
 
-    private List<Expense> expenses = new ArrayList<>();
+    // Changed-field bits carried as diff payloads
+    public static final int FIELD_NAME = 1;
+    public static final int FIELD_AMOUNT = 1 << 1;
+    public static final int FIELD_CATEGORY = 1 << 2;
+    public static final int FIELD_DATE = 1 << 3;
+
+    /** Matches rows by expense id; the payload is the mask of changed fields. */
+    public static final DiffUtil.ItemCallback<Expense> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<Expense>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull Expense oldItem, @NonNull Expense newItem) {
+                    return Objects.equals(oldItem.getId(), newItem.getId());
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull Expense oldItem, @NonNull Expense newItem) {
+                    return changedFields(oldItem, newItem) == 0;
+                }
+
+                @Override
+                public Object getChangePayload(@NonNull Expense oldItem, @NonNull Expense newItem) {
+                    return changedFields(oldItem, newItem);
+                }
+            };
+
+    private final StableIds stableIds = new StableIds();
+    private PageWindow<Expense> pages;
     private OnItemClickListener clickListener;
 
+    public ExpenseAdapter() {
+        setHasStableIds(true);
+    }
+
     // Set click listener for item clicks
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.clickListener = listener;
@@ -35,24 +75,146 @@ public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseV
 
     @Override
     public void onBindViewHolder(@NonNull ExpenseViewHolder holder, int position) {
-        Expense expense = expenses.get(position);
-        holder.bind(expense);
+        Expense expense = pages.get(position);
+        if (expense != null) {
+            holder.bind(expense, ~0);
+        } else {
+            holder.bindPlaceholder();
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ExpenseViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        int fields = Payloads.changedFields(payloads);
+        Expense expense = pages.peek(position);
+        if (fields == 0 || expense == null) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bind(expense, fields);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return expenses.size();
+        return pages != null ? pages.size() : 0;
     }
 
-    // Update the expense list
-    public void setExpenses(List<Expense> expenses) {
-        this.expenses = expenses;
+    @Override
+    public long getItemId(int position) {
+        Expense expense = getExpenseAt(position);
+        if (expense == null || expense.getId() == null) {
+            // Below RecyclerView.NO_ID, and different for every placeholder
+            return -2L - position;
+        }
+        return stableIds.idFor(expense.getId());
+    }
+
+    // Show the given pages; the window reports each change back here
+    public void setPages(PageWindow<Expense> pages) {
+        if (this.pages != null) {
+            this.pages.setListener(null);
+        }
+        this.pages = pages;
+        if (pages != null) {
+            pages.setListener(this);
+        }
         notifyDataSetChanged();
     }
 
-    // Get expense at specific position
+    // Get expense at specific position; null while its page loads
     public Expense getExpenseAt(int position) {
-        return expenses.get(position);
+        return pages != null ? pages.peek(position) : null;
+    }
+
+    @Override
+    public void onCountChanged(int oldCount, int newCount) {
+        if (newCount > oldCount) {
+            notifyItemRangeInserted(oldCount, newCount - oldCount);
+        } else {
+            notifyItemRangeRemoved(newCount, oldCount - newCount);
+        }
+    }
+
+    @Override
+    public void onPageChanged(int start, List<Expense> oldItems, List<Expense> newItems) {
+        int rows = Math.min(Math.max(oldItems != null ? oldItems.size() : 0,
+                newItems != null ? newItems.size() : 0), getItemCount() - start);
+        if (oldItems == null || newItems == null || oldItems.size() != newItems.size()
+                || newItems.size() != rows) {
+            // Placeholders have no ids to match, and a resized page was already
+            // counted by onCountChanged; redraw the rows where they are
+            if (rows > 0) {
+                notifyItemRangeChanged(start, rows);
+            }
+            return;
+        }
+
+        // Same number of rows: match them by expense id, so a row that moved
+        // within the page moves its view and an edited row rebinds its fields
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newItems.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return DIFF_CALLBACK.areItemsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return DIFF_CALLBACK.areContentsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return DIFF_CALLBACK.getChangePayload(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+        }).dispatchUpdatesTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                notifyItemRangeInserted(start + position, count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                notifyItemRangeRemoved(start + position, count);
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                notifyItemMoved(start + fromPosition, start + toPosition);
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                notifyItemRangeChanged(start + position, count, payload);
+            }
+        });
+    }
+
+    static int changedFields(Expense oldItem, Expense newItem) {
+        int fields = 0;
+        if (!Objects.equals(oldItem.getName(), newItem.getName())) {
+            fields |= FIELD_NAME;
+        }
+        if (oldItem.getAmountCents() != newItem.getAmountCents()) {
+            fields |= FIELD_AMOUNT;
+        }
+        if (oldItem.getCategory() != newItem.getCategory()) {
+            fields |= FIELD_CATEGORY;
+        }
+        if (!Objects.equals(oldItem.getDate(), newItem.getDate())) {
+            fields |= FIELD_DATE;
+        }
+        return fields;
     }
 
     public interface OnItemClickListener {
@@ -77,17 +239,36 @@ public class ExpenseAdapter extends RecyclerView.Adapter<ExpenseAdapter.ExpenseV
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (clickListener != null && position != RecyclerView.NO_POSITION) {
-                    clickListener.onItemClick(expenses.get(position));
+                    Expense expense = getExpenseAt(position);
+                    if (expense != null) {
+                        clickListener.onItemClick(expense);
+                    }
                 }
             });
         }
 
-        // Bind expense data to views
-        public void bind(Expense expense) {
-            textViewName.setText(expense.getName());
-            textViewAmount.setText(String.format(Locale.US, "$%.2f", expense.getAmount()));
-            textViewCategory.setText(expense.getCategory().getDisplayName());
-            textViewDate.setText(expense.getDate());
+        // Blank row until the page arrives
+        public void bindPlaceholder() {
+            textViewName.setText("");
+            textViewAmount.setText("");
+            textViewCategory.setText("");
+            textViewDate.setText("");
+        }
+
+        // Bind the given fields of the expense to views
+        public void bind(Expense expense, int fields) {
+            if ((fields & FIELD_NAME) != 0) {
+                textViewName.setText(expense.getName());
+            }
+            if ((fields & FIELD_AMOUNT) != 0) {
+                textViewAmount.setText(String.format(Locale.US, "$%.2f", expense.getAmount()));
+            }
+            if ((fields & FIELD_CATEGORY) != 0) {
+                textViewCategory.setText(expense.getCategory().getDisplayName());
+            }
+            if ((fields & FIELD_DATE) != 0) {
+                textViewDate.setText(expense.getDate());
+            }
         }
     }
-}
\ No newline at end of file
+}
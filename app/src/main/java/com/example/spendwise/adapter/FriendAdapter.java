@@ -7,25 +7,47 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.spendwise.R;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
-public class FriendAdapter extends RecyclerView.Adapter<FriendAdapter.FriendViewHolder> {
+public class FriendAdapter extends ListAdapter<String, FriendAdapter.FriendViewHolder> {
 
-    private List<String> friendEmails = new ArrayList<>();
+    /** A row is its email, so an unchanged email never rebinds. */
+    public static final DiffUtil.ItemCallback<String> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<String>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+                    return oldItem.equals(newItem);
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+                    return oldItem.equals(newItem);
+                }
+            };
+
+    private final StableIds stableIds = new StableIds();
     private OnRemoveClickListener removeClickListener;
 
     public interface OnRemoveClickListener {
         void onRemoveClick(String email);
     }
 
+    public FriendAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
+
+    // Each email is listed once, since a row's id and diff identity are its email
     public void setFriendEmails(List<String> friendEmails) {
-        this.friendEmails = friendEmails;
-        notifyDataSetChanged();
+        submitList(friendEmails != null ? new ArrayList<>(new LinkedHashSet<>(friendEmails)) : null);
     }
 
     public void setOnRemoveClickListener(OnRemoveClickListener listener) {
@@ -41,21 +63,15 @@ public class FriendAdapter extends RecyclerView.Adapter<FriendAdapter.FriendView
 
     @Override
     public void onBindViewHolder(@NonNull FriendViewHolder holder, int position) {
-        String email = friendEmails.get(position);
-        holder.emailText.setText(email);
-        holder.removeButton.setOnClickListener(v -> {
-            if (removeClickListener != null) {
-                removeClickListener.onRemoveClick(email);
-            }
-        });
+        holder.emailText.setText(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return friendEmails.size();
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position));
     }
 
-    static class FriendViewHolder extends RecyclerView.ViewHolder {
+    class FriendViewHolder extends RecyclerView.ViewHolder {
         TextView emailText;
         Button removeButton;
 
@@ -63,6 +79,12 @@ public class FriendAdapter extends RecyclerView.Adapter<FriendAdapter.FriendView
             super(itemView);
             emailText = itemView.findViewById(R.id.friend_email);
             removeButton = itemView.findViewById(R.id.remove_friend_button);
+            removeButton.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (removeClickListener != null && position != RecyclerView.NO_POSITION) {
+                    removeClickListener.onRemoveClick(getItem(position));
+                }
+            });
         }
     }
 }
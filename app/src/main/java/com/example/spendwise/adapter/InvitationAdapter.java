@@ -8,6 +8,8 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.spendwise.R;
@@ -17,27 +19,58 @@ import com.google.android.material.button.MaterialButton;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.InvitationViewHolder> {
+public class InvitationAdapter extends ListAdapter<SavingCircleInvitation, InvitationAdapter.InvitationViewHolder> {
 
     public interface InvitationActionHandler {
         void onAccept(SavingCircleInvitation invitation);
         void onDecline(SavingCircleInvitation invitation);
     }
 
-    private final List<SavingCircleInvitation> invitations = new ArrayList<>();
+    // Changed-field bits carried as diff payloads
+    public static final int FIELD_TITLE = 1;
+    public static final int FIELD_CIRCLE = 1 << 1;
+    public static final int FIELD_GOAL = 1 << 2;
+    public static final int FIELD_FREQUENCY = 1 << 3;
+    public static final int FIELD_STATUS = 1 << 4;
+
+    /** Matches rows by invitation id; the payload is the mask of changed fields. */
+    public static final DiffUtil.ItemCallback<SavingCircleInvitation> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<SavingCircleInvitation>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull SavingCircleInvitation oldItem,
+                                               @NonNull SavingCircleInvitation newItem) {
+                    return Objects.equals(oldItem.getInvitationId(), newItem.getInvitationId());
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull SavingCircleInvitation oldItem,
+                                                  @NonNull SavingCircleInvitation newItem) {
+                    return changedFields(oldItem, newItem) == 0;
+                }
+
+                @Override
+                public Object getChangePayload(@NonNull SavingCircleInvitation oldItem,
+                                               @NonNull SavingCircleInvitation newItem) {
+                    return changedFields(oldItem, newItem);
+                }
+            };
+
+    private final StableIds stableIds = new StableIds();
     private InvitationActionHandler actionHandler;
 
+    public InvitationAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
+
     public void setActionHandler(InvitationActionHandler handler) {
         this.actionHandler = handler;
     }
 
     public void setInvitations(List<SavingCircleInvitation> newInvitations) {
-        invitations.clear();
-        if (newInvitations != null) {
-            invitations.addAll(newInvitations);
-        }
-        notifyDataSetChanged();
+        submitList(newInvitations != null ? new ArrayList<>(newInvitations) : null);
     }
 
     @NonNull
@@ -49,12 +82,43 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
 
     @Override
     public void onBindViewHolder(@NonNull InvitationViewHolder holder, int position) {
-        holder.bind(invitations.get(position));
+        holder.bind(getItem(position), ~0);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull InvitationViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        int fields = Payloads.changedFields(payloads);
+        if (fields == 0) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bind(getItem(position), fields);
+        }
     }
 
     @Override
-    public int getItemCount() {
-        return invitations.size();
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position).getInvitationId());
+    }
+
+    static int changedFields(SavingCircleInvitation oldItem, SavingCircleInvitation newItem) {
+        int fields = 0;
+        if (!Objects.equals(oldItem.getChallengeTitle(), newItem.getChallengeTitle())) {
+            fields |= FIELD_TITLE;
+        }
+        if (!Objects.equals(oldItem.getCircleName(), newItem.getCircleName())) {
+            fields |= FIELD_CIRCLE;
+        }
+        if (Double.compare(oldItem.getGoalAmount(), newItem.getGoalAmount()) != 0) {
+            fields |= FIELD_GOAL;
+        }
+        if (!Objects.equals(oldItem.getFrequency(), newItem.getFrequency())) {
+            fields |= FIELD_FREQUENCY;
+        }
+        if (!Objects.equals(oldItem.getStatus(), newItem.getStatus())) {
+            fields |= FIELD_STATUS;
+        }
+        return fields;
     }
 
     class InvitationViewHolder extends RecyclerView.ViewHolder {
@@ -74,24 +138,58 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             frequency = itemView.findViewById(R.id.invitation_frequency);
             acceptButton = itemView.findViewById(R.id.invitation_accept_button);
             declineButton = itemView.findViewById(R.id.invitation_decline_button);
+
+            // Answered invitations disable or hide the buttons, so only pending ones act
+            acceptButton.setOnClickListener(v -> {
+                SavingCircleInvitation invitation = pendingInvitation();
+                if (invitation != null) {
+                    actionHandler.onAccept(invitation);
+                }
+            });
+
+            declineButton.setOnClickListener(v -> {
+                SavingCircleInvitation invitation = pendingInvitation();
+                if (invitation != null) {
+                    actionHandler.onDecline(invitation);
+                }
+            });
+        }
+
+        private SavingCircleInvitation pendingInvitation() {
+            int position = getAdapterPosition();
+            if (actionHandler == null || position == RecyclerView.NO_POSITION) {
+                return null;
+            }
+            SavingCircleInvitation invitation = getItem(position);
+            return invitation.isPending() ? invitation : null;
         }
 
-        void bind(SavingCircleInvitation invitation) {
-            challengeTitle.setText(invitation.getChallengeTitle());
-            circleName.setText(invitation.getCircleName());
-            goalAmount.setText(String.format(Locale.US, "Goal: $%.2f", invitation.getGoalAmount()));
-            frequency.setText(String.format(Locale.US, "Frequency: %s", invitation.getFrequency()));
-
-            if (invitation.isPending()) {
-                configurePendingState(invitation);
-            } else if (invitation.isAccepted()) {
-                configureAcceptedState();
-            } else {
-                configureDeclinedState();
+        void bind(SavingCircleInvitation invitation, int fields) {
+            if ((fields & FIELD_TITLE) != 0) {
+                challengeTitle.setText(invitation.getChallengeTitle());
+            }
+            if ((fields & FIELD_CIRCLE) != 0) {
+                circleName.setText(invitation.getCircleName());
+            }
+            if ((fields & FIELD_GOAL) != 0) {
+                goalAmount.setText(String.format(Locale.US, "Goal: $%.2f", invitation.getGoalAmount()));
+            }
+            if ((fields & FIELD_FREQUENCY) != 0) {
+                frequency.setText(String.format(Locale.US, "Frequency: %s", invitation.getFrequency()));
+            }
+
+            if ((fields & FIELD_STATUS) != 0) {
+                if (invitation.isPending()) {
+                    configurePendingState();
+                } else if (invitation.isAccepted()) {
+                    configureAcceptedState();
+                } else {
+                    configureDeclinedState();
+                }
             }
         }
 
-        private void configurePendingState(SavingCircleInvitation invitation) {
+        private void configurePendingState() {
             acceptButton.setEnabled(true);
             acceptButton.setVisibility(View.VISIBLE);
             acceptButton.setText(R.string.invitation_accept);
@@ -103,18 +201,6 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             declineButton.setVisibility(View.VISIBLE);
             declineButton.setText(R.string.invitation_decline);
             declineButton.setBackgroundTintList(null);
-
-            acceptButton.setOnClickListener(v -> {
-                if (actionHandler != null) {
-                    actionHandler.onAccept(invitation);
-                }
-            });
-
-            declineButton.setOnClickListener(v -> {
-                if (actionHandler != null) {
-                    actionHandler.onDecline(invitation);
-                }
-            });
         }
 
         private void configureAcceptedState() {
@@ -126,8 +212,6 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             acceptButton.setTextColor(ContextCompat.getColor(acceptButton.getContext(), android.R.color.white));
 
             declineButton.setVisibility(View.GONE);
-            acceptButton.setOnClickListener(null);
-            declineButton.setOnClickListener(null);
         }
 
         private void configureDeclinedState() {
@@ -137,8 +221,6 @@ public class InvitationAdapter extends RecyclerView.Adapter<InvitationAdapter.In
             declineButton.setBackgroundTintList(null);
 
             acceptButton.setVisibility(View.GONE);
-            acceptButton.setOnClickListener(null);
-            declineButton.setOnClickListener(null);
         }
     }
 }
@@ -7,6 +7,8 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.spendwise.R;
@@ -14,10 +16,39 @@ import com.example.spendwise.viewModel.NotificationViewModel.NotificationItem;
 
 import java.util.ArrayList;
 import java.util.List;
-
-public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapter.NotificationViewHolder> {
-
-    private List<NotificationItem> notifications = new ArrayList<>();
+import java.util.Objects;
+
+public class NotificationAdapter extends ListAdapter<NotificationItem, NotificationAdapter.NotificationViewHolder> {
+
+    // Changed-field bits carried as diff payloads
+    public static final int FIELD_TITLE = 1;
+    public static final int FIELD_SUBTITLE = 1 << 1;
+    public static final int FIELD_TYPE = 1 << 2;
+    public static final int FIELD_URGENCY = 1 << 3;
+
+    /** Matches rows by type and id; the payload is the mask of changed fields. */
+    public static final DiffUtil.ItemCallback<NotificationItem> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<NotificationItem>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull NotificationItem oldItem,
+                                               @NonNull NotificationItem newItem) {
+                    return key(oldItem).equals(key(newItem));
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull NotificationItem oldItem,
+                                                  @NonNull NotificationItem newItem) {
+                    return changedFields(oldItem, newItem) == 0;
+                }
+
+                @Override
+                public Object getChangePayload(@NonNull NotificationItem oldItem,
+                                               @NonNull NotificationItem newItem) {
+                    return changedFields(oldItem, newItem);
+                }
+            };
+
+    private final StableIds stableIds = new StableIds();
     private OnItemClickListener clickListener;
 
     // Interface for click listener
@@ -25,6 +56,11 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
         void onItemClick(NotificationItem item);
     }
 
+    public NotificationAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
+
     // Method to set the click listener
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.clickListener = listener;
@@ -40,28 +76,52 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
 
     @Override
     public void onBindViewHolder(@NonNull NotificationViewHolder holder, int position) {
-        NotificationItem item = notifications.get(position);
-        holder.bind(item);
+        holder.bind(getItem(position), ~0);
+    }
 
-        // Set click listener on the entire item view
-        holder.itemView.setOnClickListener(v -> {
-            if (clickListener != null) {
-                clickListener.onItemClick(item);
-            }
-        });
+    @Override
+    public void onBindViewHolder(@NonNull NotificationViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        int fields = Payloads.changedFields(payloads);
+        if (fields == 0) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bind(getItem(position), fields);
+        }
     }
 
     @Override
-    public int getItemCount() {
-        return notifications.size();
+    public long getItemId(int position) {
+        return stableIds.idFor(key(getItem(position)));
     }
 
     public void setNotifications(List<NotificationItem> notifications) {
-        this.notifications = notifications != null ? notifications : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(notifications != null ? new ArrayList<>(notifications) : new ArrayList<>());
+    }
+
+    // Ids are only unique within a notification type
+    private static String key(NotificationItem item) {
+        return item.getType() + ":" + item.getId();
     }
 
-    static class NotificationViewHolder extends RecyclerView.ViewHolder {
+    static int changedFields(NotificationItem oldItem, NotificationItem newItem) {
+        int fields = 0;
+        if (!Objects.equals(oldItem.getTitle(), newItem.getTitle())) {
+            fields |= FIELD_TITLE;
+        }
+        if (!Objects.equals(oldItem.getSubtitle(), newItem.getSubtitle())) {
+            fields |= FIELD_SUBTITLE;
+        }
+        if (oldItem.getType() != newItem.getType()) {
+            fields |= FIELD_TYPE;
+        }
+        if (oldItem.getDaysRemaining() != newItem.getDaysRemaining()) {
+            fields |= FIELD_URGENCY;
+        }
+        return fields;
+    }
+
+    class NotificationViewHolder extends RecyclerView.ViewHolder {
         private final ImageView iconView;
         private final TextView titleText;
         private final TextView subtitleText;
@@ -75,28 +135,44 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
             subtitleText = itemView.findViewById(R.id.notification_subtitle);
             timeText = itemView.findViewById(R.id.notification_time);
             urgencyIndicator = itemView.findViewById(R.id.urgency_indicator);
+
+            // Set click listener on the entire item view
+            itemView.setOnClickListener(v -> {
+                int position = getAdapterPosition();
+                if (clickListener != null && position != RecyclerView.NO_POSITION) {
+                    clickListener.onItemClick(getItem(position));
+                }
+            });
         }
 
-        public void bind(NotificationItem item) {
-            titleText.setText(item.getTitle());
-            subtitleText.setText(item.getSubtitle());
-            timeText.setText(item.getTimeMessage());
+        public void bind(NotificationItem item, int fields) {
+            if ((fields & FIELD_TITLE) != 0) {
+                titleText.setText(item.getTitle());
+            }
+            if ((fields & FIELD_SUBTITLE) != 0) {
+                subtitleText.setText(item.getSubtitle());
+            }
 
             // Set icon based on type
-            if (item.getType() == NotificationItem.Type.NO_EXPENSES) {
-                iconView.setImageResource(R.drawable.ic_budget);
-            } else if (item.getType() == NotificationItem.Type.BUDGET_90_PERCENT) {
-                iconView.setImageResource(R.drawable.ic_savings);
+            if ((fields & FIELD_TYPE) != 0) {
+                timeText.setText(item.getTimeMessage());
+                if (item.getType() == NotificationItem.Type.NO_EXPENSES) {
+                    iconView.setImageResource(R.drawable.ic_budget);
+                } else if (item.getType() == NotificationItem.Type.BUDGET_90_PERCENT) {
+                    iconView.setImageResource(R.drawable.ic_savings);
+                }
             }
 
             // Set urgency color based on days remaining
-            if (item.getDaysRemaining() == 0) {
-                urgencyIndicator.setBackgroundColor(0xFFFF3B30); // Red
-            } else if (item.getDaysRemaining() == 1) {
-                urgencyIndicator.setBackgroundColor(0xFFFF9500); // Orange
-            } else {
-                urgencyIndicator.setBackgroundColor(0xFFFFCC00); // Yellow
+            if ((fields & FIELD_URGENCY) != 0) {
+                if (item.getDaysRemaining() == 0) {
+                    urgencyIndicator.setBackgroundColor(0xFFFF3B30); // Red
+                } else if (item.getDaysRemaining() == 1) {
+                    urgencyIndicator.setBackgroundColor(0xFFFF9500); // Orange
+                } else {
+                    urgencyIndicator.setBackgroundColor(0xFFFFCC00); // Yellow
+                }
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.example.spendwise.adapter;
+
+import java.util.List;
+
+/**
+ * Reads the change payloads a list adapter's ItemCallback produced.
+ *
+ * Each payload is an Integer bit mask of the fields that changed on a row.
+ * Several updates can land before the row is rebound, so the masks are
+ * combined.
+ */
+final class Payloads {
+
+    private Payloads() {
+    }
+
+    /** Union of the changed-field masks, or 0 when any payload is not a mask. */
+    static int changedFields(List<Object> payloads) {
+        int fields = 0;
+        for (Object payload : payloads) {
+            if (!(payload instanceof Integer)) {
+                return 0;
+            }
+            fields |= (Integer) payload;
+        }
+        return fields;
+    }
+}
@@ -9,6 +9,7 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.spendwise.R;
@@ -19,11 +20,40 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+
+public class SavingCircleAdapter extends ListAdapter<SavingCircle, SavingCircleAdapter.SavingCircleViewHolder> {
+
+    // Changed-field bits carried as diff payloads
+    public static final int FIELD_GROUP_NAME = 1;
+    public static final int FIELD_CHALLENGE = 1 << 1;
+    public static final int FIELD_GOAL = 1 << 2;
+    public static final int FIELD_FREQUENCY = 1 << 3;
+    public static final int FIELD_PROGRESS = 1 << 4;
+
+    /** Matches rows by circle id; the payload is the mask of changed fields. */
+    public static final DiffUtil.ItemCallback<SavingCircle> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<SavingCircle>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull SavingCircle oldItem, @NonNull SavingCircle newItem) {
+                    return Objects.equals(oldItem.getId(), newItem.getId());
+                }
 
-public class SavingCircleAdapter extends RecyclerView.Adapter<SavingCircleAdapter.SavingCircleViewHolder> {
+                @Override
+                public boolean areContentsTheSame(@NonNull SavingCircle oldItem, @NonNull SavingCircle newItem) {
+                    return changedFields(oldItem, newItem) == 0;
+                }
 
-    private List<SavingCircle> savingCircles = new ArrayList<>();
-    private Map<String, CircleProgress> progressMap = new HashMap<>();
+                @Override
+                public Object getChangePayload(@NonNull SavingCircle oldItem, @NonNull SavingCircle newItem) {
+                    return changedFields(oldItem, newItem);
+                }
+            };
+
+    private final StableIds stableIds = new StableIds();
+    private final Map<String, CircleProgress> progressMap = new HashMap<>();
+    // Row of each circle id in the current list, for progress updates
+    private final Map<String, Integer> positions = new HashMap<>();
     private OnItemClickListener clickListener;
 
     /** Data class to hold progress information */
@@ -44,6 +74,11 @@ public class SavingCircleAdapter extends RecyclerView.Adapter<SavingCircleAdapte
         void onItemClick(SavingCircle savingCircle);
     }
 
+    public SavingCircleAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
+
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.clickListener = listener;
     }
@@ -58,65 +93,77 @@ public class SavingCircleAdapter extends RecyclerView.Adapter<SavingCircleAdapte
 
     @Override
     public void onBindViewHolder(@NonNull SavingCircleViewHolder holder, int position) {
-        SavingCircle circle = savingCircles.get(position);
-        CircleProgress progress = progressMap.get(circle.getId());
-        holder.bind(circle, progress);
+        SavingCircle circle = getItem(position);
+        holder.bind(circle, progressMap.get(circle.getId()), ~0);
     }
 
     @Override
-    public int getItemCount() {
-        return savingCircles != null ? savingCircles.size() : 0;
+    public void onBindViewHolder(@NonNull SavingCircleViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        int fields = Payloads.changedFields(payloads);
+        if (fields == 0) {
+            onBindViewHolder(holder, position);
+        } else {
+            SavingCircle circle = getItem(position);
+            holder.bind(circle, progressMap.get(circle.getId()), fields);
+        }
     }
 
-    /** Update list efficiently using DiffUtil */
-    public void setSavingCircles(List<SavingCircle> newList) {
-        if (newList == null) return;
-
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new DiffUtil.Callback() {
-            @Override
-            public int getOldListSize() {
-                return savingCircles.size();
-            }
-
-            @Override
-            public int getNewListSize() {
-                return newList.size();
-            }
-
-            @Override
-            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-                return savingCircles.get(oldItemPosition).getId()
-                        .equals(newList.get(newItemPosition).getId());
-            }
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position).getId());
+    }
 
-            @Override
-            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-                SavingCircle oldCircle = savingCircles.get(oldItemPosition);
-                SavingCircle newCircle = newList.get(newItemPosition);
-                return oldCircle.equals(newCircle);
-            }
-        });
+    @Override
+    public void onCurrentListChanged(@NonNull List<SavingCircle> previousList,
+                                     @NonNull List<SavingCircle> currentList) {
+        positions.clear();
+        for (int i = 0; i < currentList.size(); i++) {
+            positions.put(currentList.get(i).getId(), i);
+        }
+    }
 
-        savingCircles = new ArrayList<>(newList);
-        diffResult.dispatchUpdatesTo(this);
+    /** Update the list; the diff runs off the main thread */
+    public void setSavingCircles(List<SavingCircle> newList) {
+        if (newList == null) return;
+        submitList(new ArrayList<>(newList));
     }
 
     /** Update progress for a specific circle */
     public void setCircleProgress(String circleId, double currentAmount, double goalAmount) {
+        CircleProgress old = progressMap.get(circleId);
+        if (old != null && old.currentAmount == currentAmount && old.goalAmount == goalAmount) {
+            return;
+        }
         progressMap.put(circleId, new CircleProgress(currentAmount, goalAmount));
 
-        // Find the position and notify
-        for (int i = 0; i < savingCircles.size(); i++) {
-            if (savingCircles.get(i).getId().equals(circleId)) {
-                notifyItemChanged(i);
-                break;
-            }
+        // Rebind only the progress views of that row
+        Integer position = positions.get(circleId);
+        if (position != null) {
+            notifyItemChanged(position, FIELD_PROGRESS);
         }
     }
 
     /** Retrieve a circle for swipe-to-delete */
     public SavingCircle getSavingCircleAt(int position) {
-        return savingCircles.get(position);
+        return getItem(position);
+    }
+
+    static int changedFields(SavingCircle oldItem, SavingCircle newItem) {
+        int fields = 0;
+        if (!Objects.equals(oldItem.getGroupName(), newItem.getGroupName())) {
+            fields |= FIELD_GROUP_NAME;
+        }
+        if (!Objects.equals(oldItem.getChallengeTitle(), newItem.getChallengeTitle())) {
+            fields |= FIELD_CHALLENGE;
+        }
+        if (Double.compare(oldItem.getGoalAmount(), newItem.getGoalAmount()) != 0) {
+            fields |= FIELD_GOAL;
+        }
+        if (!Objects.equals(oldItem.getFrequency(), newItem.getFrequency())) {
+            fields |= FIELD_FREQUENCY;
+        }
+        return fields;
     }
 
     /** ------------------------ ViewHolder ------------------------ */
@@ -130,12 +177,25 @@ public class SavingCircleAdapter extends RecyclerView.Adapter<SavingCircleAdapte
         private final ProgressBar progressBar;
 
         @SuppressLint("DefaultLocale")
-        public void bind(SavingCircle savingCircle, CircleProgress progress) {
-            textViewGroupName.setText(savingCircle.getGroupName());
-            textViewChallengeTitle.setText(savingCircle.getChallengeTitle());
-            textViewGoalAmount.setText(String.format(Locale.US, "$%.2f", savingCircle.getGoalAmount()));
-            textViewFrequency.setText(savingCircle.getFrequency());
+        public void bind(SavingCircle savingCircle, CircleProgress progress, int fields) {
+            if ((fields & FIELD_GROUP_NAME) != 0) {
+                textViewGroupName.setText(savingCircle.getGroupName());
+            }
+            if ((fields & FIELD_CHALLENGE) != 0) {
+                textViewChallengeTitle.setText(savingCircle.getChallengeTitle());
+            }
+            if ((fields & FIELD_GOAL) != 0) {
+                textViewGoalAmount.setText(String.format(Locale.US, "$%.2f", savingCircle.getGoalAmount()));
+            }
+            if ((fields & FIELD_FREQUENCY) != 0) {
+                textViewFrequency.setText(savingCircle.getFrequency());
+            }
+            if ((fields & FIELD_PROGRESS) != 0) {
+                bindProgress(progress);
+            }
+        }
 
+        private void bindProgress(CircleProgress progress) {
             if (progress != null) {
                 textViewProgress.setText(String.format(Locale.US, "$%.2f / $%.2f (%d%%)",
                         progress.currentAmount, progress.goalAmount, progress.percentage));
@@ -163,7 +223,7 @@ public class SavingCircleAdapter extends RecyclerView.Adapter<SavingCircleAdapte
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (clickListener != null && position != RecyclerView.NO_POSITION) {
-                    clickListener.onItemClick(savingCircles.get(position));
+                    clickListener.onItemClick(getItem(position));
                 }
             });
         }
@@ -0,0 +1,24 @@
+package com.example.spendwise.adapter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out RecyclerView item ids for string keys.
+ *
+ * Ids are given out in first-seen order instead of hashing the key, so two
+ * rows can never share an id. Only used from the main thread.
+ */
+final class StableIds {
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    long idFor(String key) {
+        Long id = ids.get(key);
+        if (id == null) {
+            id = (long) ids.size();
+            ids.put(key, id);
+        }
+        return id;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.spendwise.factory;
 
 import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
 import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.ExpenseColumns;
+import com.example.spendwise.util.Money;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
@@ -11,9 +14,7 @@ import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.utils.ColorTemplate;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Factory Pattern: Centralizes chart creation logic
@@ -21,17 +22,22 @@ import java.util.Map;
 public class ChartFactory {
 
     public static PieData createCategoryPieChart(List<Expense> expenses) {
-        Map<String, Float> categoryTotals = new HashMap<>();
+        return createCategoryPieChart(ExpenseColumns.of(expenses));
+    }
 
-        for (Expense expense : expenses) {
-            String category = expense.getCategory().getDisplayName();
-            float amount = (float) expense.getAmount();
-            categoryTotals.put(category, categoryTotals.getOrDefault(category, 0f) + amount);
-        }
+    public static PieData createCategoryPieChart(ExpenseColumns columns) {
+        // Summed in cents per category; a category with expenses gets a slice
+        // even when they add up to zero
+        Category[] categories = Category.values();
+        long[] cents = new long[categories.length];
+        int[] order = new int[categories.length];
+        int seen = columns.sumByCategory(cents, order);
 
         List<PieEntry> entries = new ArrayList<>();
-        for (Map.Entry<String, Float> entry : categoryTotals.entrySet()) {
-            entries.add(new PieEntry(entry.getValue(), entry.getKey()));
+        for (int i = 0; i < seen; i++) {
+            int category = order[i];
+            entries.add(new PieEntry((float) Money.toAmount(cents[category]),
+                    categories[category].getDisplayName()));
         }
 
         if (entries.isEmpty()) {
@@ -46,21 +52,21 @@ public class ChartFactory {
     }
 
     public static BarData createBudgetBarChart(List<Budget> budgets, List<Expense> expenses) {
-        List<BarEntry> spentEntries = new ArrayList<>();
-        List<BarEntry> targetEntries = new ArrayList<>();
+        return buildBudgetBarData(budgets, ChartValues.budgetSpent(budgets, expenses));
+    }
 
-        for (int i = 0; i < budgets.size() && i < 5; i++) {
-            Budget budget = budgets.get(i);
+    public static BarData createBudgetBarChart(List<Budget> budgets, ExpenseColumns columns) {
+        return buildBudgetBarData(budgets, ChartValues.budgetSpent(budgets, columns));
+    }
 
-            double spent = 0;
-            for (Expense expense : expenses) {
-                if (expense.getCategory() == budget.getCategory()) {
-                    spent += expense.getAmount();
-                }
-            }
+    // One spent and one target bar per budget; spent[i] belongs to budgets.get(i)
+    private static BarData buildBudgetBarData(List<Budget> budgets, double[] spent) {
+        List<BarEntry> spentEntries = new ArrayList<>();
+        List<BarEntry> targetEntries = new ArrayList<>();
 
-            spentEntries.add(new BarEntry(i, (float) spent));
-            targetEntries.add(new BarEntry(i, (float) budget.getOriginalAmount()));
+        for (int i = 0; i < spent.length; i++) {
+            spentEntries.add(new BarEntry(i, (float) spent[i]));
+            targetEntries.add(new BarEntry(i, (float) budgets.get(i).getOriginalAmount()));
         }
 
         if (spentEntries.isEmpty()) {
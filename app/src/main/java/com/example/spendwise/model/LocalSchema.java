@@ -0,0 +1,138 @@
+package com.example.spendwise.model;
+
+/**
+ * On-device table layout mirroring the Firebase models.
+ * Every row is scoped by the owning user's UID so several accounts
+ * can share one install without seeing each other's data.
+ */
+public final class LocalSchema {
+
+    public static final String DATABASE_NAME = "spendwise_local.db";
+    public static final int DATABASE_VERSION = 2;
+
+    public static final String COLUMN_OWNER_UID = "owner_uid";
+
+    private LocalSchema() { }
+
+    // Mirrors Expense
+    public static final class ExpenseTable {
+        public static final String NAME = "expenses";
+        public static final String ID = "id";
+        public static final String TITLE = "name";
+        public static final String AMOUNT = "amount";
+        public static final String CATEGORY = "category";
+        public static final String DATE = "date";
+        public static final String NOTES = "notes";
+        public static final String SAVING_CIRCLE_ID = "saving_circle_id";
+        // DateCodec epoch day of DATE, so rows sort and page without parsing
+        public static final String EPOCH_DAY = "epoch_day";
+
+        public static final String CREATE = "CREATE TABLE " + NAME + " ("
+                + COLUMN_OWNER_UID + " TEXT NOT NULL, "
+                + ID + " TEXT NOT NULL, "
+                + TITLE + " TEXT, "
+                + AMOUNT + " REAL NOT NULL, "
+                + CATEGORY + " TEXT NOT NULL, "
+                + DATE + " TEXT, "
+                + NOTES + " TEXT, "
+                + SAVING_CIRCLE_ID + " TEXT, "
+                + EPOCH_DAY + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + COLUMN_OWNER_UID + ", " + ID + "))";
+
+        // Newest first, ties by id; bad dates sort last
+        public static final String PAGE_ORDER = EPOCH_DAY + " DESC, " + ID + " ASC";
+
+        public static final String CREATE_PAGE_INDEX = "CREATE INDEX " + NAME + "_by_day ON "
+                + NAME + " (" + COLUMN_OWNER_UID + ", " + PAGE_ORDER + ")";
+
+        private ExpenseTable() { }
+    }
+
+    // Mirrors Budget
+    public static final class BudgetTable {
+        public static final String NAME = "budgets";
+        public static final String ID = "id";
+        public static final String TITLE = "name";
+        public static final String AMOUNT = "amount";
+        public static final String ORIGINAL_AMOUNT = "original_amount";
+        public static final String CATEGORY = "category";
+        public static final String DATE = "date";
+        public static final String FREQ = "freq";
+
+        public static final String CREATE = "CREATE TABLE " + NAME + " ("
+                + COLUMN_OWNER_UID + " TEXT NOT NULL, "
+                + ID + " TEXT NOT NULL, "
+                + TITLE + " TEXT, "
+                + AMOUNT + " REAL NOT NULL, "
+                + ORIGINAL_AMOUNT + " REAL NOT NULL, "
+                + CATEGORY + " TEXT NOT NULL, "
+                + DATE + " TEXT, "
+                + FREQ + " TEXT, "
+                + "PRIMARY KEY (" + COLUMN_OWNER_UID + ", " + ID + "))";
+
+        private BudgetTable() { }
+    }
+
+    // Mirrors SavingCircle
+    public static final class SavingCircleTable {
+        public static final String NAME = "saving_circles";
+        public static final String ID = "id";
+        public static final String GROUP_NAME = "group_name";
+        public static final String CREATOR_EMAIL = "creator_email";
+        public static final String CREATOR_UID = "creator_uid";
+        public static final String CHALLENGE_TITLE = "challenge_title";
+        public static final String GOAL_AMOUNT = "goal_amount";
+        public static final String FREQUENCY = "frequency";
+        public static final String NOTES = "notes";
+        public static final String CREATED_AT = "created_at";
+
+        public static final String CREATE = "CREATE TABLE " + NAME + " ("
+                + COLUMN_OWNER_UID + " TEXT NOT NULL, "
+                + ID + " TEXT NOT NULL, "
+                + GROUP_NAME + " TEXT, "
+                + CREATOR_EMAIL + " TEXT, "
+                + CREATOR_UID + " TEXT, "
+                + CHALLENGE_TITLE + " TEXT, "
+                + GOAL_AMOUNT + " REAL NOT NULL, "
+                + FREQUENCY + " TEXT, "
+                + NOTES + " TEXT, "
+                + CREATED_AT + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + COLUMN_OWNER_UID + ", " + ID + "))";
+
+        private SavingCircleTable() { }
+    }
+
+    // Mirrors MemberCycle, keyed by circle and sanitized member email
+    public static final class MemberCycleTable {
+        public static final String NAME = "member_cycles";
+        public static final String CIRCLE_ID = "circle_id";
+        public static final String MEMBER_KEY = "member_key";
+        public static final String CYCLE_ID = "cycle_id";
+        public static final String START_DATE = "start_date";
+        public static final String END_DATE = "end_date";
+        public static final String START_AMOUNT = "start_amount";
+        public static final String END_AMOUNT = "end_amount";
+        public static final String SPENT = "spent";
+        public static final String CONTRIBUTED = "contributed";
+        public static final String COMPLETE = "complete";
+        public static final String GOAL_REACHED = "goal_reached";
+
+        public static final String CREATE = "CREATE TABLE " + NAME + " ("
+                + COLUMN_OWNER_UID + " TEXT NOT NULL, "
+                + CIRCLE_ID + " TEXT NOT NULL, "
+                + MEMBER_KEY + " TEXT NOT NULL, "
+                + CYCLE_ID + " TEXT NOT NULL, "
+                + START_DATE + " INTEGER NOT NULL, "
+                + END_DATE + " INTEGER NOT NULL, "
+                + START_AMOUNT + " REAL NOT NULL, "
+                + END_AMOUNT + " REAL NOT NULL, "
+                + SPENT + " REAL NOT NULL, "
+                + CONTRIBUTED + " REAL NOT NULL, "
+                + COMPLETE + " INTEGER NOT NULL, "
+                + GOAL_REACHED + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + COLUMN_OWNER_UID + ", " + CIRCLE_ID + ", "
+                + MEMBER_KEY + ", " + CYCLE_ID + "))";
+
+        private MemberCycleTable() { }
+    }
+}
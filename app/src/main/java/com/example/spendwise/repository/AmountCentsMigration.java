@@ -0,0 +1,109 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import com.example.spendwise.model.Firebase;
+import com.example.spendwise.util.Money;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the exact cents field on expenses and budgets saved before the app
+ * wrote it.
+ *
+ * Runs once per user: a flag under the user's node records that it is done,
+ * and all the missing or outdated cents go out with the flag in a single
+ * multi-path update. Until then readers fall back to the "amount" field.
+ */
+public final class AmountCentsMigration {
+
+    private static final String TAG = "AmountCentsMigration";
+    private static final String DONE = "amountCentsMigrated";
+    private static final String[] NODES = {"expenses", "budgets"};
+
+    // Users already checked by this process
+    private static final Set<String> checked = new HashSet<>();
+
+    private AmountCentsMigration() { }
+
+    public static void runOnce(String uid) {
+        if (uid == null) {
+            return;
+        }
+        synchronized (checked) {
+            if (!checked.add(uid)) {
+                return;
+            }
+        }
+
+        DatabaseReference userRef = Firebase.getDatabase().getReference("users").child(uid);
+        userRef.child(DONE).get().addOnCompleteListener(task -> {
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "Error reading migration flag", task.getException());
+                forget(uid);
+                return;
+            }
+            Boolean done = task.getResult() != null ? task.getResult().getValue(Boolean.class) : null;
+            if (done == null || !done) {
+                migrate(uid, userRef);
+            }
+        });
+    }
+
+    private static void migrate(String uid, DatabaseReference userRef) {
+        Task<DataSnapshot> expenses = userRef.child(NODES[0]).get();
+        Task<DataSnapshot> budgets = userRef.child(NODES[1]).get();
+        Tasks.whenAllComplete(expenses, budgets).addOnCompleteListener(done -> {
+            if (!expenses.isSuccessful() || !budgets.isSuccessful()) {
+                Log.e(TAG, "Error reading amounts to migrate");
+                forget(uid);
+                return;
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            addCents(updates, NODES[0], expenses.getResult());
+            addCents(updates, NODES[1], budgets.getResult());
+            int migrated = updates.size();
+            updates.put(DONE, true);
+
+            userRef.updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> Log.d(TAG, "Stored cents for " + migrated + " amounts"))
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error storing cents", e);
+                        forget(uid);
+                    });
+        });
+    }
+
+    // Children whose cents are missing or no longer match their amount
+    private static void addCents(Map<String, Object> updates, String node, DataSnapshot children) {
+        if (children == null) {
+            return;
+        }
+        for (DataSnapshot child : children.getChildren()) {
+            Double amount = child.child(SnapshotParsers.AMOUNT).getValue(Double.class);
+            if (amount == null) {
+                continue;
+            }
+            long cents = Money.toCents(amount);
+            Long stored = child.child(SnapshotParsers.AMOUNT_CENTS).getValue(Long.class);
+            if (stored == null || stored != cents) {
+                updates.put(node + "/" + child.getKey() + "/" + SnapshotParsers.AMOUNT_CENTS, cents);
+            }
+        }
+    }
+
+    // Lets a later call retry after a failure
+    private static void forget(String uid) {
+        synchronized (checked) {
+            checked.remove(uid);
+        }
+    }
+}
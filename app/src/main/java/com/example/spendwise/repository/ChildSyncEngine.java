@@ -0,0 +1,202 @@
+package com.example.spendwise.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps an id-keyed copy of a Firebase list in sync using child events.
+ *
+ * Only the changed child is parsed, so the cost of a change depends on the
+ * change itself rather than on the size of the list. Listeners receive one
+ * {@link SyncDelta} per change; the full list is re-published at most once
+ * per main-loop pass, so the initial load emits a single list.
+ */
+public class ChildSyncEngine<T> {
+
+    private static final String TAG = "ChildSyncEngine";
+
+    public interface Parser<T> {
+        // Return null to skip malformed children
+        T parse(DataSnapshot snapshot);
+    }
+
+    public interface DeltaListener<T> {
+        void onDelta(SyncDelta<T> delta);
+    }
+
+    public interface ErrorListener {
+        void onError(DatabaseError error);
+    }
+
+    private final Query query;
+    private final Parser<T> parser;
+    private final Map<String, T> items = new LinkedHashMap<>();
+    private final MutableLiveData<List<T>> list = new MutableLiveData<>(new ArrayList<>());
+    private final List<DeltaListener<T>> deltaListeners = new CopyOnWriteArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable publishTask = this::publish;
+
+    private ChildEventListener childListener;
+    private ErrorListener errorListener;
+    private boolean publishScheduled = false;
+    private boolean loaded = false;
+
+    public ChildSyncEngine(Query query, Parser<T> parser) {
+        this.query = query;
+        this.parser = parser;
+    }
+
+    public LiveData<List<T>> getList() {
+        return list;
+    }
+
+    // True once Firebase has delivered the initial contents of the list
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    @Nullable
+    public T get(String key) {
+        return items.get(key);
+    }
+
+    public void addDeltaListener(DeltaListener<T> listener) {
+        deltaListeners.add(listener);
+    }
+
+    public void removeDeltaListener(DeltaListener<T> listener) {
+        deltaListeners.remove(listener);
+    }
+
+    public void setErrorListener(ErrorListener listener) {
+        this.errorListener = listener;
+    }
+
+    // Safe to call repeatedly; only one Firebase listener is ever attached
+    public void start() {
+        if (childListener != null || query == null) {
+            return;
+        }
+
+        childListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                String key = snapshot.getKey();
+                T item = parser.parse(snapshot);
+                if (key == null || item == null) {
+                    return;
+                }
+                T previous = items.put(key, item);
+                dispatch(new SyncDelta<>(previous == null ? SyncDelta.Type.INSERT : SyncDelta.Type.UPDATE,
+                        key, item, previous));
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                String key = snapshot.getKey();
+                if (key == null) {
+                    return;
+                }
+                T item = parser.parse(snapshot);
+                if (item == null) {
+                    // Child became malformed; treat it as removed
+                    T previous = items.remove(key);
+                    if (previous != null) {
+                        dispatch(new SyncDelta<>(SyncDelta.Type.REMOVE, key, null, previous));
+                    }
+                    return;
+                }
+                T previous = items.put(key, item);
+                dispatch(new SyncDelta<>(previous == null ? SyncDelta.Type.INSERT : SyncDelta.Type.UPDATE,
+                        key, item, previous));
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                String key = snapshot.getKey();
+                T previous = key != null ? items.remove(key) : null;
+                if (previous != null) {
+                    dispatch(new SyncDelta<>(SyncDelta.Type.REMOVE, key, null, previous));
+                }
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, @Nullable String previousChildName) {
+                // Ordering is not tracked; consumers sort as needed
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Sync cancelled: " + error.getMessage());
+                if (errorListener != null) {
+                    errorListener.onError(error);
+                }
+            }
+        };
+        query.addChildEventListener(childListener);
+        // Child events for existing data are delivered before this fires, so it marks
+        // the end of the initial load without downloading the subtree a second time
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                loaded = true;
+                schedulePublish();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                // Reported through the child listener
+            }
+        });
+    }
+
+    public void stop() {
+        if (childListener != null && query != null) {
+            query.removeEventListener(childListener);
+        }
+        childListener = null;
+        mainHandler.removeCallbacks(publishTask);
+        publishScheduled = false;
+    }
+
+    private void dispatch(SyncDelta<T> delta) {
+        for (DeltaListener<T> listener : deltaListeners) {
+            listener.onDelta(delta);
+        }
+        schedulePublish();
+    }
+
+    private void schedulePublish() {
+        if (!publishScheduled) {
+            publishScheduled = true;
+            mainHandler.post(publishTask);
+        }
+    }
+
+    private void publish() {
+        publishScheduled = false;
+        list.setValue(new ArrayList<>(items.values()));
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import com.example.spendwise.model.Firebase;
+import com.example.spendwise.model.SavingCircle;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Transaction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves which user owns a saving circle.
+ *
+ * Circles live under their creator's user node, so every cycle operation needs
+ * the creator UID first. The mapping is kept at circleIndex/{circleId} and
+ * cached in-process, so repeated lookups for the same circle are free and a
+ * lookup never has to download the whole users tree. Circles that cannot be
+ * found are remembered for a while too, so a deleted circle does not send
+ * every lookup back to the network.
+ *
+ * Only creator UIDs stored on a circle are indexed, and outside of creating a
+ * circle an entry is only ever added, never overwritten.
+ */
+public class CircleIndex {
+
+    private static final String TAG = "CircleIndex";
+    private static final String INDEX_NODE = "circleIndex";
+    private static final int CACHE_SIZE = 64;
+    private static final long MISS_TTL_MS = 5 * 60 * 1000;
+
+    private static volatile CircleIndex instance;
+
+    public interface Callback {
+        // creatorUid is null when the circle cannot be found
+        void onResolved(String creatorUid);
+    }
+
+    private final FirebaseDatabase database;
+    private final DatabaseReference indexRef;
+
+    // Access-ordered so the least recently used circle is evicted first
+    private final Map<String, String> cache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Circles no lookup could find, with when that answer expires
+    private final Map<String, Long> misses = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Circles this process has already tried to add to the index
+    private final Set<String> indexed = new HashSet<>();
+
+    // Callers waiting on the same circle share one network lookup
+    private final Map<String, List<Callback>> pending = new HashMap<>();
+
+    private CircleIndex() {
+        database = Firebase.getDatabase();
+        indexRef = database.getReference(INDEX_NODE);
+    }
+
+    // Double-checked locking for thread-safe singleton
+    public static CircleIndex getInstance() {
+        if (instance == null) {
+            synchronized (CircleIndex.class) {
+                if (instance == null) {
+                    instance = new CircleIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Looks the circle up in the cache, then the index, then the current user's
+     * own copy of the circle. A copy that names its creator is added to the
+     * index so that happens at most once per circle.
+     */
+    public void resolve(String circleId, String currentUid, Callback callback) {
+        if (circleId == null || circleId.isEmpty()) {
+            callback.onResolved(null);
+            return;
+        }
+
+        String cached;
+        synchronized (cache) {
+            cached = cache.get(circleId);
+        }
+        if (cached != null) {
+            callback.onResolved(cached);
+            return;
+        }
+        if (isKnownMissing(circleId)) {
+            callback.onResolved(null);
+            return;
+        }
+
+        synchronized (pending) {
+            List<Callback> waiting = pending.get(circleId);
+            if (waiting != null) {
+                waiting.add(callback);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(callback);
+            pending.put(circleId, waiting);
+        }
+
+        indexRef.child(circleId).get()
+                .addOnSuccessListener(snapshot -> {
+                    String creatorUid = snapshot.getValue(String.class);
+                    if (creatorUid != null && !creatorUid.isEmpty()) {
+                        remember(circleId, creatorUid);
+                        finish(circleId, creatorUid);
+                    } else {
+                        resolveFromOwnCircles(circleId, currentUid);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading circle index", e);
+                    resolveFromOwnCircles(circleId, currentUid);
+                });
+    }
+
+    // Records a newly created circle
+    public void register(String circleId, String creatorUid) {
+        if (circleId == null || creatorUid == null) {
+            return;
+        }
+        remember(circleId, creatorUid);
+        synchronized (indexed) {
+            indexed.add(circleId);
+        }
+        indexRef.child(circleId).setValue(creatorUid)
+                .addOnFailureListener(e -> Log.e(TAG, "Error indexing circle " + circleId, e));
+    }
+
+    public void unregister(String circleId) {
+        if (circleId == null) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(circleId);
+            misses.remove(circleId);
+        }
+        synchronized (indexed) {
+            indexed.remove(circleId);
+        }
+        indexRef.child(circleId).removeValue()
+                .addOnFailureListener(e -> Log.e(TAG, "Error removing circle index " + circleId, e));
+    }
+
+    /**
+     * Migrates circles saved before the index existed. Every member's copy
+     * that stores its creator UID can index the circle; copies whose creator
+     * was only inferred are skipped. Each circle is tried once per process and
+     * only added when the index has no entry for it.
+     */
+    public void backfill(List<SavingCircle> circles) {
+        if (circles == null || circles.isEmpty()) {
+            return;
+        }
+        for (SavingCircle circle : circles) {
+            if (circle != null && circle.getId() != null && circle.hasStoredCreatorUid()) {
+                addIfMissing(circle.getId(), circle.getCreatorUid());
+            }
+        }
+    }
+
+    // Creates circleIndex/{circleId} unless some entry is already there
+    private void addIfMissing(String circleId, String creatorUid) {
+        synchronized (indexed) {
+            if (!indexed.add(circleId)) {
+                return;
+            }
+        }
+        indexRef.child(circleId).runTransaction(new Transaction.Handler() {
+            @Override
+            public Transaction.Result doTransaction(MutableData currentData) {
+                if (currentData.getValue() != null) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(creatorUid);
+                return Transaction.success(currentData);
+            }
+
+            @Override
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot snapshot) {
+                if (error != null) {
+                    Log.e(TAG, "Error indexing circle " + circleId, error.toException());
+                    synchronized (indexed) {
+                        indexed.remove(circleId);
+                    }
+                    return;
+                }
+                // Either our entry or the one that was already there
+                String indexedUid = snapshot != null ? snapshot.getValue(String.class) : null;
+                if (indexedUid != null && !indexedUid.isEmpty()) {
+                    remember(circleId, indexedUid);
+                }
+                if (committed) {
+                    Log.d(TAG, "Indexed circle " + circleId);
+                }
+            }
+        });
+    }
+
+    private void resolveFromOwnCircles(String circleId, String currentUid) {
+        if (currentUid == null) {
+            rememberMissing(circleId);
+            finish(circleId, null);
+            return;
+        }
+
+        DatabaseReference ownCircleRef = database.getReference("users").child(currentUid)
+                .child("savingCircles").child(circleId);
+        ownCircleRef.child("creatorUid").get()
+                .addOnSuccessListener(snapshot -> {
+                    String creatorUid = snapshot.getValue(String.class);
+                    if (creatorUid != null && !creatorUid.isEmpty()) {
+                        addIfMissing(circleId, creatorUid);
+                        remember(circleId, creatorUid);
+                        finish(circleId, creatorUid);
+                    } else {
+                        resolveLegacyOwnCircle(ownCircleRef, circleId, currentUid);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading own circle", e);
+                    finish(circleId, null);
+                });
+    }
+
+    // Copies saved before creatorUid was stored only ever belonged to their
+    // creator. That is a guess, so it is cached for this process but never indexed.
+    private void resolveLegacyOwnCircle(DatabaseReference ownCircleRef, String circleId,
+                                        String currentUid) {
+        ownCircleRef.child("groupName").get()
+                .addOnSuccessListener(snapshot -> {
+                    if (snapshot.exists()) {
+                        remember(circleId, currentUid);
+                        finish(circleId, currentUid);
+                    } else {
+                        rememberMissing(circleId);
+                        finish(circleId, null);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error reading own circle", e);
+                    finish(circleId, null);
+                });
+    }
+
+    private void remember(String circleId, String creatorUid) {
+        synchronized (cache) {
+            cache.put(circleId, creatorUid);
+            misses.remove(circleId);
+        }
+    }
+
+    // Failed reads are not remembered; only a lookup that found nothing is
+    private void rememberMissing(String circleId) {
+        synchronized (cache) {
+            misses.put(circleId, System.currentTimeMillis() + MISS_TTL_MS);
+        }
+    }
+
+    private boolean isKnownMissing(String circleId) {
+        synchronized (cache) {
+            Long expiresAt = misses.get(circleId);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt <= System.currentTimeMillis()) {
+                misses.remove(circleId);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private void finish(String circleId, String creatorUid) {
+        List<Callback> waiting;
+        synchronized (pending) {
+            waiting = pending.remove(circleId);
+        }
+        if (waiting == null) {
+            return;
+        }
+        for (Callback callback : waiting) {
+            callback.onResolved(creatorUid);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.Firebase;
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One live copy of a user's expenses shared by every screen.
+ *
+ * ViewModels call {@link #acquire(String)} when they are created and
+ * {@link #release()} in onCleared(). The Firebase subscription is opened by the
+ * first acquire and closed when the last holder releases, so memory and
+ * bandwidth do not grow with the number of open screens.
+ *
+ * Must be used from the main thread.
+ */
+public class ExpenseRepository {
+
+    private static final String TAG = "ExpenseRepository";
+
+    private static final Map<String, ExpenseRepository> instances = new HashMap<>();
+
+    public interface LoadCallback {
+        void onLoaded(List<Expense> expenses);
+
+        void onError(String message);
+    }
+
+    private final String uid;
+    private final LocalStore localStore;
+    private final ChildSyncEngine<Expense> sync;
+    private final MutableLiveData<List<Expense>> expenses = new MutableLiveData<>(new ArrayList<>());
+    private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
+    private final List<LoadCallback> pendingLoads = new ArrayList<>();
+    private final Observer<List<Expense>> syncObserver;
+    private final CategoryDayIndex dayIndex = new CategoryDayIndex();
+
+    private int refCount = 0;
+    private boolean remoteLoaded = false;
+    private boolean initialSnapshotStored = false;
+    // Set once the full initial list has been published, not just received
+    private boolean loaded = false;
+
+    public static ExpenseRepository acquire(String uid) {
+        synchronized (instances) {
+            ExpenseRepository repository = instances.get(uid);
+            if (repository == null) {
+                repository = new ExpenseRepository(uid);
+                instances.put(uid, repository);
+                repository.start();
+            }
+            repository.refCount++;
+            return repository;
+        }
+    }
+
+    public void release() {
+        synchronized (instances) {
+            refCount--;
+            if (refCount > 0) {
+                return;
+            }
+            instances.remove(uid);
+        }
+        stop();
+    }
+
+    private ExpenseRepository(String uid) {
+        this.uid = uid;
+        this.localStore = LocalStore.getInstance();
+        DatabaseReference expensesRef = Firebase.getDatabase().getReference("users")
+                .child(uid).child("expenses");
+        this.sync = new ChildSyncEngine<>(expensesRef, SnapshotParsers::parseExpense);
+        this.syncObserver = this::onSyncedList;
+    }
+
+    // The published lists are shared between screens; copy before sorting or editing
+    public LiveData<List<Expense>> getExpenses() {
+        return expenses;
+    }
+
+    public LiveData<String> getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Per-category daily totals that always match {@link #getExpenses()}.
+     * Kept current per change, so window totals never rescan the list.
+     */
+    public CategoryDayIndex getDayIndex() {
+        return dayIndex;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Delivers the expenses once Firebase has answered, immediately if it
+     * already has. Use this for one-off reads instead of a get() on the node.
+     */
+    public void whenLoaded(LoadCallback callback) {
+        if (loaded) {
+            callback.onLoaded(currentList());
+        } else {
+            pendingLoads.add(callback);
+        }
+    }
+
+    /** Per-change stream of inserts, updates and removals from Firebase. */
+    public void addDeltaListener(ChildSyncEngine.DeltaListener<Expense> listener) {
+        sync.addDeltaListener(listener);
+    }
+
+    public void removeDeltaListener(ChildSyncEngine.DeltaListener<Expense> listener) {
+        sync.removeDeltaListener(listener);
+    }
+
+    private void start() {
+        AmountCentsMigration.runOnce(uid);
+        if (localStore != null) {
+            // Show the last synced copy right away, then let Firebase catch up
+            localStore.loadExpenses(uid, localExpenses -> {
+                if (!remoteLoaded && !localExpenses.isEmpty()) {
+                    dayIndex.rebuild(localExpenses);
+                    expenses.setValue(localExpenses);
+                    Log.d(TAG, "Loaded " + localExpenses.size() + " expenses from local store");
+                }
+            });
+        }
+
+        sync.setErrorListener(error -> {
+            Log.e(TAG, "Firebase error: " + error.getMessage());
+            errorMessage.setValue("Error loading expenses: " + error.getMessage());
+            List<LoadCallback> waiting = new ArrayList<>(pendingLoads);
+            pendingLoads.clear();
+            for (LoadCallback callback : waiting) {
+                callback.onError(error.getMessage());
+            }
+        });
+        // After the initial load, write each change through instead of rewriting the table
+        sync.addDeltaListener(delta -> {
+            if (remoteLoaded) {
+                // Before that the index still holds the warm-start copy; it is
+                // rebuilt from the first remote list instead
+                if (delta.getType() == SyncDelta.Type.REMOVE) {
+                    dayIndex.remove(delta.getKey());
+                } else {
+                    dayIndex.put(delta.getItem());
+                }
+            }
+            if (localStore == null || !sync.isLoaded()) {
+                return;
+            }
+            if (delta.getType() == SyncDelta.Type.REMOVE) {
+                localStore.deleteExpense(uid, delta.getKey());
+            } else {
+                localStore.upsertExpense(uid, delta.getItem());
+            }
+        });
+        sync.getList().observeForever(syncObserver);
+        sync.start();
+    }
+
+    private void stop() {
+        sync.getList().removeObserver(syncObserver);
+        sync.stop();
+        pendingLoads.clear();
+    }
+
+    private void onSyncedList(List<Expense> expenseList) {
+        if (!sync.isLoaded() && expenseList.isEmpty()) {
+            return;
+        }
+        if (!remoteLoaded) {
+            dayIndex.rebuild(expenseList);
+        }
+        remoteLoaded = true;
+        if (localStore != null && sync.isLoaded() && !initialSnapshotStored) {
+            // Store the initial load in one transaction; this also drops
+            // local rows deleted elsewhere while we were offline
+            initialSnapshotStored = true;
+            localStore.replaceExpenses(uid, expenseList);
+        }
+        expenses.setValue(expenseList);
+
+        if (sync.isLoaded()) {
+            loaded = true;
+        }
+        if (loaded && !pendingLoads.isEmpty()) {
+            List<LoadCallback> waiting = new ArrayList<>(pendingLoads);
+            pendingLoads.clear();
+            for (LoadCallback callback : waiting) {
+                callback.onLoaded(expenseList);
+            }
+        }
+    }
+
+    private List<Expense> currentList() {
+        List<Expense> current = expenses.getValue();
+        return current != null ? current : new ArrayList<>();
+    }
+}
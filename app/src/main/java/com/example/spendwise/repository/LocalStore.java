@@ -0,0 +1,468 @@
+package com.example.spendwise.repository;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.LocalSchema;
+import com.example.spendwise.model.LocalSchema.BudgetTable;
+import com.example.spendwise.model.LocalSchema.ExpenseTable;
+import com.example.spendwise.model.LocalSchema.MemberCycleTable;
+import com.example.spendwise.model.LocalSchema.SavingCircleTable;
+import com.example.spendwise.model.MemberCycle;
+import com.example.spendwise.model.SavingCircle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SQLite-backed on-device copy of the user's expenses, budgets, saving circles
+ * and member cycles. ViewModels render from here immediately on cold start while
+ * Firebase listeners write fresh data through in the background.
+ *
+ * All disk access runs on a single background thread; load results are delivered
+ * on the main thread.
+ */
+public class LocalStore extends SQLiteOpenHelper {
+
+    private static final String TAG = "LocalStore";
+
+    private static volatile LocalStore instance;
+
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public interface LoadCallback<T> {
+        void onLoaded(List<T> items);
+    }
+
+    public interface PageCallback<T> {
+        void onLoaded(List<T> items, int totalCount);
+    }
+
+    private LocalStore(Context context) {
+        super(context, LocalSchema.DATABASE_NAME, null, LocalSchema.DATABASE_VERSION);
+    }
+
+    // Called once from SpendWiseApplication
+    public static void init(Context context) {
+        if (instance == null) {
+            synchronized (LocalStore.class) {
+                if (instance == null) {
+                    instance = new LocalStore(context.getApplicationContext());
+                }
+            }
+        }
+    }
+
+    // Returns null when the store was never initialized (e.g. plain JVM tests)
+    public static LocalStore getInstance() {
+        return instance;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL(ExpenseTable.CREATE);
+        db.execSQL(ExpenseTable.CREATE_PAGE_INDEX);
+        db.execSQL(BudgetTable.CREATE);
+        db.execSQL(SavingCircleTable.CREATE);
+        db.execSQL(MemberCycleTable.CREATE);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The store is only a cache of Firebase, so it is safe to rebuild it
+        db.execSQL("DROP TABLE IF EXISTS " + ExpenseTable.NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + BudgetTable.NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + SavingCircleTable.NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + MemberCycleTable.NAME);
+        onCreate(db);
+    }
+
+    // ========== EXPENSES ==========
+
+    public void loadExpenses(String uid, LoadCallback<Expense> callback) {
+        ioExecutor.execute(() -> {
+            List<Expense> result = new ArrayList<>();
+            try (Cursor cursor = getReadableDatabase().query(ExpenseTable.NAME, null,
+                    LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid},
+                    null, null, null)) {
+                while (cursor.moveToNext()) {
+                    Expense expense = readExpense(cursor);
+                    if (expense != null) {
+                        result.add(expense);
+                    }
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading local expenses", e);
+            }
+            mainHandler.post(() -> callback.onLoaded(result));
+        });
+    }
+
+    /**
+     * One page of expenses in {@link ExpenseTable#PAGE_ORDER}, read from the
+     * date index, with the total row count from the same snapshot. Pages
+     * after {@code after} by key when it is given, otherwise by offset.
+     */
+    public void loadExpensePage(String uid, Expense after, int offset, int limit,
+                                PageCallback<Expense> callback) {
+        String afterId = after != null ? after.getId() : null;
+        String afterDay = after != null ? String.valueOf(after.epochDay()) : null;
+        ioExecutor.execute(() -> {
+            List<Expense> result = new ArrayList<>();
+            int total = 0;
+            String selection = LocalSchema.COLUMN_OWNER_UID + " = ?";
+            String[] args = {uid};
+            String limitClause = offset + "," + limit;
+            if (afterId != null) {
+                selection += " AND (" + ExpenseTable.EPOCH_DAY + " < ? OR ("
+                        + ExpenseTable.EPOCH_DAY + " = ? AND " + ExpenseTable.ID + " > ?))";
+                args = new String[]{uid, afterDay, afterDay, afterId};
+                limitClause = String.valueOf(limit);
+            }
+            try {
+                SQLiteDatabase db = getReadableDatabase();
+                total = (int) DatabaseUtils.queryNumEntries(db, ExpenseTable.NAME,
+                        LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid});
+                try (Cursor cursor = db.query(ExpenseTable.NAME, null, selection, args,
+                        null, null, ExpenseTable.PAGE_ORDER, limitClause)) {
+                    while (cursor.moveToNext()) {
+                        Expense expense = readExpense(cursor);
+                        if (expense != null) {
+                            result.add(expense);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading local expense page", e);
+            }
+            int totalCount = total;
+            mainHandler.post(() -> callback.onLoaded(result, totalCount));
+        });
+    }
+
+    public void replaceExpenses(String uid, List<Expense> expenses) {
+        List<Expense> copy = new ArrayList<>(expenses);
+        ioExecutor.execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(ExpenseTable.NAME, LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid});
+                for (Expense expense : copy) {
+                    db.insertWithOnConflict(ExpenseTable.NAME, null, toValues(uid, expense),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+                db.setTransactionSuccessful();
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing local expenses", e);
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    public void upsertExpense(String uid, Expense expense) {
+        ioExecutor.execute(() -> {
+            try {
+                getWritableDatabase().insertWithOnConflict(ExpenseTable.NAME, null,
+                        toValues(uid, expense), SQLiteDatabase.CONFLICT_REPLACE);
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing local expense", e);
+            }
+        });
+    }
+
+    public void deleteExpense(String uid, String expenseId) {
+        ioExecutor.execute(() -> {
+            try {
+                getWritableDatabase().delete(ExpenseTable.NAME,
+                        LocalSchema.COLUMN_OWNER_UID + " = ? AND " + ExpenseTable.ID + " = ?",
+                        new String[]{uid, expenseId});
+            } catch (Exception e) {
+                Log.e(TAG, "Error deleting local expense", e);
+            }
+        });
+    }
+
+    private ContentValues toValues(String uid, Expense expense) {
+        ContentValues values = new ContentValues();
+        values.put(LocalSchema.COLUMN_OWNER_UID, uid);
+        values.put(ExpenseTable.ID, expense.getId());
+        values.put(ExpenseTable.TITLE, expense.getName());
+        values.put(ExpenseTable.AMOUNT, expense.getAmount());
+        values.put(ExpenseTable.CATEGORY, expense.getCategory().name());
+        values.put(ExpenseTable.DATE, expense.getDate());
+        values.put(ExpenseTable.NOTES, expense.getNotes());
+        values.put(ExpenseTable.SAVING_CIRCLE_ID, expense.getSavingCircleId());
+        values.put(ExpenseTable.EPOCH_DAY, expense.epochDay());
+        return values;
+    }
+
+    private Expense readExpense(Cursor cursor) {
+        try {
+            Category category = Category.valueOf(
+                    cursor.getString(cursor.getColumnIndexOrThrow(ExpenseTable.CATEGORY)));
+            String notes = cursor.getString(cursor.getColumnIndexOrThrow(ExpenseTable.NOTES));
+            Expense expense = new Expense(
+                    cursor.getString(cursor.getColumnIndexOrThrow(ExpenseTable.TITLE)),
+                    cursor.getDouble(cursor.getColumnIndexOrThrow(ExpenseTable.AMOUNT)),
+                    category,
+                    cursor.getString(cursor.getColumnIndexOrThrow(ExpenseTable.DATE)),
+                    notes != null ? notes : "",
+                    cursor.getString(cursor.getColumnIndexOrThrow(ExpenseTable.SAVING_CIRCLE_ID)));
+            expense.setId(cursor.getString(cursor.getColumnIndexOrThrow(ExpenseTable.ID)));
+            return expense;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ========== BUDGETS ==========
+
+    public void loadBudgets(String uid, LoadCallback<Budget> callback) {
+        ioExecutor.execute(() -> {
+            List<Budget> result = new ArrayList<>();
+            try (Cursor cursor = getReadableDatabase().query(BudgetTable.NAME, null,
+                    LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid},
+                    null, null, null)) {
+                while (cursor.moveToNext()) {
+                    Budget budget = readBudget(cursor);
+                    if (budget != null) {
+                        result.add(budget);
+                    }
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading local budgets", e);
+            }
+            mainHandler.post(() -> callback.onLoaded(result));
+        });
+    }
+
+    public void replaceBudgets(String uid, List<Budget> budgets) {
+        List<Budget> copy = new ArrayList<>(budgets);
+        ioExecutor.execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(BudgetTable.NAME, LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid});
+                for (Budget budget : copy) {
+                    db.insertWithOnConflict(BudgetTable.NAME, null, toValues(uid, budget),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+                db.setTransactionSuccessful();
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing local budgets", e);
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    public void upsertBudget(String uid, Budget budget) {
+        ioExecutor.execute(() -> {
+            try {
+                getWritableDatabase().insertWithOnConflict(BudgetTable.NAME, null,
+                        toValues(uid, budget), SQLiteDatabase.CONFLICT_REPLACE);
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing local budget", e);
+            }
+        });
+    }
+
+    public void deleteBudget(String uid, String budgetId) {
+        ioExecutor.execute(() -> {
+            try {
+                getWritableDatabase().delete(BudgetTable.NAME,
+                        LocalSchema.COLUMN_OWNER_UID + " = ? AND " + BudgetTable.ID + " = ?",
+                        new String[]{uid, budgetId});
+            } catch (Exception e) {
+                Log.e(TAG, "Error deleting local budget", e);
+            }
+        });
+    }
+
+    private ContentValues toValues(String uid, Budget budget) {
+        ContentValues values = new ContentValues();
+        values.put(LocalSchema.COLUMN_OWNER_UID, uid);
+        values.put(BudgetTable.ID, budget.getId());
+        values.put(BudgetTable.TITLE, budget.getName());
+        values.put(BudgetTable.AMOUNT, budget.getAmount());
+        values.put(BudgetTable.ORIGINAL_AMOUNT, budget.getOriginalAmount());
+        values.put(BudgetTable.CATEGORY, budget.getCategory().name());
+        values.put(BudgetTable.DATE, budget.getDate());
+        values.put(BudgetTable.FREQ, budget.getfreq());
+        return values;
+    }
+
+    private Budget readBudget(Cursor cursor) {
+        try {
+            Budget budget = new Budget(
+                    cursor.getString(cursor.getColumnIndexOrThrow(BudgetTable.TITLE)),
+                    cursor.getDouble(cursor.getColumnIndexOrThrow(BudgetTable.AMOUNT)),
+                    cursor.getDouble(cursor.getColumnIndexOrThrow(BudgetTable.ORIGINAL_AMOUNT)),
+                    Category.valueOf(cursor.getString(cursor.getColumnIndexOrThrow(BudgetTable.CATEGORY))),
+                    cursor.getString(cursor.getColumnIndexOrThrow(BudgetTable.DATE)),
+                    cursor.getString(cursor.getColumnIndexOrThrow(BudgetTable.FREQ)));
+            budget.setId(cursor.getString(cursor.getColumnIndexOrThrow(BudgetTable.ID)));
+            return budget;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ========== SAVING CIRCLES ==========
+
+    public void loadSavingCircles(String uid, LoadCallback<SavingCircle> callback) {
+        ioExecutor.execute(() -> {
+            List<SavingCircle> result = new ArrayList<>();
+            try (Cursor cursor = getReadableDatabase().query(SavingCircleTable.NAME, null,
+                    LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid},
+                    null, null, null)) {
+                while (cursor.moveToNext()) {
+                    result.add(readSavingCircle(cursor));
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading local saving circles", e);
+            }
+            mainHandler.post(() -> callback.onLoaded(result));
+        });
+    }
+
+    public void replaceSavingCircles(String uid, List<SavingCircle> circles) {
+        List<SavingCircle> copy = new ArrayList<>(circles);
+        ioExecutor.execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(SavingCircleTable.NAME, LocalSchema.COLUMN_OWNER_UID + " = ?", new String[]{uid});
+                for (SavingCircle circle : copy) {
+                    db.insertWithOnConflict(SavingCircleTable.NAME, null, toValues(uid, circle),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+                db.setTransactionSuccessful();
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing local saving circles", e);
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    private ContentValues toValues(String uid, SavingCircle circle) {
+        ContentValues values = new ContentValues();
+        values.put(LocalSchema.COLUMN_OWNER_UID, uid);
+        values.put(SavingCircleTable.ID, circle.getId());
+        values.put(SavingCircleTable.GROUP_NAME, circle.getGroupName());
+        values.put(SavingCircleTable.CREATOR_EMAIL, circle.getCreatorEmail());
+        values.put(SavingCircleTable.CREATOR_UID, circle.getCreatorUid());
+        values.put(SavingCircleTable.CHALLENGE_TITLE, circle.getChallengeTitle());
+        values.put(SavingCircleTable.GOAL_AMOUNT, circle.getGoalAmount());
+        values.put(SavingCircleTable.FREQUENCY, circle.getFrequency());
+        values.put(SavingCircleTable.NOTES, circle.getNotes());
+        values.put(SavingCircleTable.CREATED_AT, circle.getCreatedAt());
+        return values;
+    }
+
+    private SavingCircle readSavingCircle(Cursor cursor) {
+        SavingCircle circle = new SavingCircle(
+                cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.GROUP_NAME)),
+                cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.CREATOR_EMAIL)),
+                cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.CHALLENGE_TITLE)),
+                cursor.getDouble(cursor.getColumnIndexOrThrow(SavingCircleTable.GOAL_AMOUNT)),
+                cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.FREQUENCY)),
+                cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.NOTES)),
+                cursor.getLong(cursor.getColumnIndexOrThrow(SavingCircleTable.CREATED_AT)));
+        circle.setId(cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.ID)));
+        circle.setCreatorUid(cursor.getString(cursor.getColumnIndexOrThrow(SavingCircleTable.CREATOR_UID)));
+        return circle;
+    }
+
+    // ========== MEMBER CYCLES ==========
+
+    public void loadMemberCycles(String uid, String circleId, String memberKey,
+                                 LoadCallback<MemberCycle> callback) {
+        ioExecutor.execute(() -> {
+            List<MemberCycle> result = new ArrayList<>();
+            try (Cursor cursor = getReadableDatabase().query(MemberCycleTable.NAME, null,
+                    LocalSchema.COLUMN_OWNER_UID + " = ? AND " + MemberCycleTable.CIRCLE_ID
+                            + " = ? AND " + MemberCycleTable.MEMBER_KEY + " = ?",
+                    new String[]{uid, circleId, memberKey},
+                    null, null, MemberCycleTable.START_DATE + " ASC")) {
+                while (cursor.moveToNext()) {
+                    result.add(readMemberCycle(cursor));
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading local member cycles", e);
+            }
+            mainHandler.post(() -> callback.onLoaded(result));
+        });
+    }
+
+    public void replaceMemberCycles(String uid, String circleId, String memberKey,
+                                    List<MemberCycle> cycles) {
+        List<MemberCycle> copy = new ArrayList<>(cycles);
+        ioExecutor.execute(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                db.delete(MemberCycleTable.NAME,
+                        LocalSchema.COLUMN_OWNER_UID + " = ? AND " + MemberCycleTable.CIRCLE_ID
+                                + " = ? AND " + MemberCycleTable.MEMBER_KEY + " = ?",
+                        new String[]{uid, circleId, memberKey});
+                for (MemberCycle cycle : copy) {
+                    db.insertWithOnConflict(MemberCycleTable.NAME, null,
+                            toValues(uid, circleId, memberKey, cycle),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+                db.setTransactionSuccessful();
+            } catch (Exception e) {
+                Log.e(TAG, "Error writing local member cycles", e);
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    private ContentValues toValues(String uid, String circleId, String memberKey, MemberCycle cycle) {
+        ContentValues values = new ContentValues();
+        values.put(LocalSchema.COLUMN_OWNER_UID, uid);
+        values.put(MemberCycleTable.CIRCLE_ID, circleId);
+        values.put(MemberCycleTable.MEMBER_KEY, memberKey);
+        values.put(MemberCycleTable.CYCLE_ID, cycle.getCycleId());
+        values.put(MemberCycleTable.START_DATE, cycle.getStartDate());
+        values.put(MemberCycleTable.END_DATE, cycle.getEndDate());
+        values.put(MemberCycleTable.START_AMOUNT, cycle.getStartAmount());
+        values.put(MemberCycleTable.END_AMOUNT, cycle.getEndAmount());
+        values.put(MemberCycleTable.SPENT, cycle.getSpent());
+        values.put(MemberCycleTable.CONTRIBUTED, cycle.getContributed());
+        values.put(MemberCycleTable.COMPLETE, cycle.isComplete() ? 1 : 0);
+        values.put(MemberCycleTable.GOAL_REACHED, cycle.isGoalReached() ? 1 : 0);
+        return values;
+    }
+
+    private MemberCycle readMemberCycle(Cursor cursor) {
+        MemberCycle cycle = new MemberCycle();
+        cycle.setCycleId(cursor.getString(cursor.getColumnIndexOrThrow(MemberCycleTable.CYCLE_ID)));
+        cycle.setStartDate(cursor.getLong(cursor.getColumnIndexOrThrow(MemberCycleTable.START_DATE)));
+        cycle.setEndDate(cursor.getLong(cursor.getColumnIndexOrThrow(MemberCycleTable.END_DATE)));
+        cycle.setStartAmount(cursor.getDouble(cursor.getColumnIndexOrThrow(MemberCycleTable.START_AMOUNT)));
+        cycle.setEndAmount(cursor.getDouble(cursor.getColumnIndexOrThrow(MemberCycleTable.END_AMOUNT)));
+        cycle.setSpent(cursor.getDouble(cursor.getColumnIndexOrThrow(MemberCycleTable.SPENT)));
+        cycle.setContributed(cursor.getDouble(cursor.getColumnIndexOrThrow(MemberCycleTable.CONTRIBUTED)));
+        cycle.setComplete(cursor.getInt(cursor.getColumnIndexOrThrow(MemberCycleTable.COMPLETE)) == 1);
+        cycle.setGoalReached(cursor.getInt(cursor.getColumnIndexOrThrow(MemberCycleTable.GOAL_REACHED)) == 1);
+        return cycle;
+    }
+}
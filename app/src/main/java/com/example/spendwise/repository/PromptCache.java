@@ -0,0 +1,242 @@
+package com.example.spendwise.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * On-disk cache of model replies, keyed by a hash of the model name and the
+ * full prompt.
+ *
+ * Entries live in memory in least-recently-used order and are mirrored to one
+ * file each under the cache directory, so repeat prompts survive restarts.
+ * Lookups never touch the disk; writes, deletes and the initial load run on
+ * a background executor. Lookups made before the load finishes simply miss.
+ * Entries older than the TTL are treated as missing and removed.
+ */
+public class PromptCache {
+
+    private static final String TAG = "PromptCache";
+    private static final String DIRECTORY = "prompt-cache";
+    private static final String SUFFIX = ".reply";
+
+    public static final int DEFAULT_MAX_ENTRIES = 200;
+    public static final long DEFAULT_TTL_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static volatile PromptCache instance;
+
+    // A cached reply and when it was written
+    private static final class Entry {
+        final String reply;
+        final long writtenAt;
+
+        Entry(String reply, long writtenAt) {
+            this.reply = reply;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final File directory;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Executor ioExecutor;
+    // Access-ordered, so the first entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param directory  Where entries are stored; created if missing
+     * @param maxEntries Most entries kept; the least recently used go first
+     * @param ttlMillis  How long an entry stays valid after it is written
+     * @param ioExecutor Runs the disk work, in submission order
+     */
+    public PromptCache(File directory, int maxEntries, long ttlMillis, Executor ioExecutor) {
+        this.directory = directory;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.ioExecutor = ioExecutor;
+        ioExecutor.execute(this::loadFromDisk);
+    }
+
+    // Called once from SpendWiseApplication
+    public static void init(Context context) {
+        if (instance == null) {
+            synchronized (PromptCache.class) {
+                if (instance == null) {
+                    instance = new PromptCache(new File(context.getCacheDir(), DIRECTORY),
+                            DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS,
+                            Executors.newSingleThreadExecutor());
+                }
+            }
+        }
+    }
+
+    // Returns null when the cache was never initialized (e.g. plain JVM tests)
+    public static PromptCache getInstance() {
+        return instance;
+    }
+
+    /** The cached reply for the prompt, or null if there is none or it expired. */
+    public String get(String model, String prompt) {
+        String key = keyFor(model, prompt);
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && now - entry.writtenAt > ttlMillis) {
+                entries.remove(key);
+                ioExecutor.execute(() -> deleteFile(key));
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        // Keeps the on-disk recency order close to the in-memory one
+        ioExecutor.execute(() -> fileFor(key).setLastModified(now));
+        return entry.reply;
+    }
+
+    public void put(String model, String prompt, String reply) {
+        if (reply == null) {
+            return;
+        }
+        String key = keyFor(model, prompt);
+        Entry entry = new Entry(reply, System.currentTimeMillis());
+        List<String> evicted = new ArrayList<>();
+        synchronized (entries) {
+            entries.put(key, entry);
+            evictOverflow(evicted);
+        }
+        ioExecutor.execute(() -> {
+            writeFile(key, entry);
+            for (String old : evicted) {
+                deleteFile(old);
+            }
+        });
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** Hex SHA-256 of the model name and prompt. */
+    static String keyFor(String model, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(prompt).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16))
+                        .append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Removes least recently used entries over the limit; caller holds the lock
+    private void evictOverflow(List<String> evicted) {
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            evicted.add(keys.next());
+            keys.remove();
+        }
+    }
+
+    private void loadFromDisk() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.e(TAG, "Could not create " + directory);
+            return;
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null) {
+            return;
+        }
+        // Oldest access first, so the newest end up most recently used
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+
+        long now = System.currentTimeMillis();
+        List<String> stale = new ArrayList<>();
+        synchronized (entries) {
+            for (File file : files) {
+                String name = file.getName();
+                String key = name.substring(0, name.length() - SUFFIX.length());
+                Entry entry = readFile(file);
+                if (entry == null || now - entry.writtenAt > ttlMillis) {
+                    stale.add(key);
+                } else if (!entries.containsKey(key)) {
+                    // Anything put before the load finished is newer
+                    entries.put(key, entry);
+                }
+            }
+            evictOverflow(stale);
+        }
+        for (String key : stale) {
+            deleteFile(key);
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(directory, key + SUFFIX);
+    }
+
+    private Entry readFile(File file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            long writtenAt = in.readLong();
+            byte[] reply = new byte[in.readInt()];
+            in.readFully(reply);
+            return new Entry(new String(reply, StandardCharsets.UTF_8), writtenAt);
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Dropping unreadable entry " + file.getName());
+            return null;
+        }
+    }
+
+    private void writeFile(String key, Entry entry) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+        // Written to a temporary file first so a crash never leaves half an entry
+        File target = fileFor(key);
+        File temp = new File(directory, key + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            byte[] reply = entry.reply.getBytes(StandardCharsets.UTF_8);
+            out.writeLong(entry.writtenAt);
+            out.writeInt(reply.length);
+            out.write(reply);
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing cache entry", e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+        }
+    }
+
+    private void deleteFile(String key) {
+        fileFor(key).delete();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.spendwise.repository;
+
+import android.util.Log;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.CircleProgress;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.model.SavingCircle;
+import com.example.spendwise.util.Money;
+import com.google.firebase.database.DataSnapshot;
+
+/**
+ * Converts single Firebase children into model objects.
+ * Each method returns null for malformed children so callers can skip them.
+ */
+public final class SnapshotParsers {
+
+    private static final String TAG = "SnapshotParsers";
+
+    // Expense and budget amounts are stored twice: "amount" as a double for
+    // older app versions and AMOUNT_CENTS as an exact whole number of cents.
+    // Children saved before cents existed get them from AmountCentsMigration.
+    public static final String AMOUNT = "amount";
+    public static final String AMOUNT_CENTS = "amountCents";
+
+    private SnapshotParsers() { }
+
+    /**
+     * Reads an expense or budget amount, preferring the exact cents field.
+     * An older app version edits only "amount", so when the two disagree the
+     * amount wins. Returns null if the child has neither.
+     */
+    public static Double readAmount(DataSnapshot snapshot) {
+        Double amount = snapshot.child(AMOUNT).getValue(Double.class);
+        Long cents = snapshot.child(AMOUNT_CENTS).getValue(Long.class);
+        if (cents == null || (amount != null && Money.toCents(amount) != cents)) {
+            return amount;
+        }
+        return Money.toAmount(cents);
+    }
+
+    public static Expense parseExpense(DataSnapshot snapshot) {
+        try {
+            String id = snapshot.getKey();
+            String name = snapshot.child("name").getValue(String.class);
+            Double amount = readAmount(snapshot);
+            String categoryStr = snapshot.child("category").getValue(String.class);
+            String date = snapshot.child("date").getValue(String.class);
+            String notes = snapshot.child("notes").getValue(String.class);
+            String savingCircleId = snapshot.child("savingCircleId").getValue(String.class);
+
+            if (name == null || amount == null || categoryStr == null) {
+                return null;
+            }
+
+            Category category = Category.valueOf(categoryStr);
+            Expense expense;
+            if (savingCircleId != null && !savingCircleId.isEmpty()) {
+                expense = new Expense(name, amount, category, date,
+                        notes != null ? notes : "", savingCircleId);
+            } else {
+                expense = new Expense(name, amount, category, date, notes != null ? notes : "");
+            }
+            expense.setId(id);
+            return expense;
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing expense", e);
+            return null;
+        }
+    }
+
+    public static Budget parseBudget(DataSnapshot snapshot) {
+        try {
+            String id = snapshot.getKey();
+            String name = snapshot.child("name").getValue(String.class);
+            Double amount = readAmount(snapshot);
+            String categoryStr = snapshot.child("category").getValue(String.class);
+            String date = snapshot.child("date").getValue(String.class);
+            String freq = snapshot.child("freq").getValue(String.class);
+
+            if (name == null || amount == null || categoryStr == null
+                    || date == null || freq == null) {
+                return null;
+            }
+
+            Budget budget = new Budget(name, amount, Category.valueOf(categoryStr), date, freq);
+            budget.setId(id);
+            return budget;
+        } catch (IllegalArgumentException e) {
+            // Skip invalid category
+            return null;
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing budget", e);
+            return null;
+        }
+    }
+
+    // fallbackCreatorUid is used for circles saved before creatorUid was stored
+    public static SavingCircle parseSavingCircle(DataSnapshot snapshot, String fallbackCreatorUid) {
+        try {
+            String id = snapshot.getKey();
+            String groupName = snapshot.child("groupName").getValue(String.class);
+            String creatorEmail = snapshot.child("creatorEmail").getValue(String.class);
+            String challengeTitle = snapshot.child("challengeTitle").getValue(String.class);
+            Double goalAmount = snapshot.child("goalAmount").getValue(Double.class);
+            String frequency = snapshot.child("frequency").getValue(String.class);
+            String notes = snapshot.child("notes").getValue(String.class);
+            Long createdAt = snapshot.child("createdAt").getValue(Long.class);
+
+            if (groupName == null || creatorEmail == null || challengeTitle == null
+                    || goalAmount == null || frequency == null) {
+                return null;
+            }
+
+            SavingCircle savingCircle = new SavingCircle(
+                    groupName,
+                    creatorEmail,
+                    challengeTitle,
+                    goalAmount,
+                    frequency,
+                    notes != null ? notes : "",
+                    createdAt != null ? createdAt : System.currentTimeMillis()
+            );
+            savingCircle.setId(id);
+            String creatorUid = snapshot.child("creatorUid").getValue(String.class);
+            if (creatorUid != null && !creatorUid.isEmpty()) {
+                savingCircle.setCreatorUid(creatorUid);
+            } else if (fallbackCreatorUid != null) {
+                savingCircle.inferCreatorUid(fallbackCreatorUid);
+            }
+            return savingCircle;
+        } catch (Exception e) {
+            Log.e(TAG, "Error parsing saving circle", e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a circle's progress node.
+     * Returns null if the node has not been built yet.
+     */
+    public static CircleProgress parseCircleProgress(DataSnapshot snapshot) {
+        Boolean built = snapshot.child(CircleProgress.BUILT).getValue(Boolean.class);
+        if (built == null || !built) {
+            return null;
+        }
+        CircleProgress progress = new CircleProgress();
+        for (DataSnapshot member : snapshot.child(CircleProgress.CYCLES).getChildren()) {
+            addMemberCycles(progress, member);
+        }
+        return progress;
+    }
+
+    /**
+     * Reads one member's entries under progress/cycles, keyed by the
+     * snapshot's key, into a progress holding only that member.
+     */
+    public static CircleProgress parseMemberProgress(DataSnapshot memberCycles) {
+        CircleProgress progress = new CircleProgress();
+        addMemberCycles(progress, memberCycles);
+        return progress;
+    }
+
+    private static void addMemberCycles(CircleProgress progress, DataSnapshot member) {
+        for (DataSnapshot cycle : member.getChildren()) {
+            Long endDate = cycle.child(CircleProgress.END_DATE).getValue(Long.class);
+            Double endAmount = cycle.child(CircleProgress.END_AMOUNT).getValue(Double.class);
+            if (endDate != null && endAmount != null) {
+                progress.addCompletedCycle(member.getKey(), endDate, endAmount);
+            }
+        }
+    }
+}
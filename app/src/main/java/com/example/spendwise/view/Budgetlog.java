@@ -21,8 +21,6 @@ import android.app.DatePickerDialog;
 
 import com.example.spendwise.adapter.SavingCircleAdapter;
 import com.example.spendwise.model.SavingCircle;
-import com.example.spendwise.model.SavingCircleMember;
-import com.example.spendwise.model.MemberCycle;
 import com.example.spendwise.viewModel.SavingCircleViewModel;
 import java.util.HashMap;
 import java.util.Map;
@@ -327,15 +325,8 @@ public class Budgetlog extends AppCompatActivity {
 
         budgetViewModel.getBudgets().observe(this, budgets -> {
             List<Budget> sorted = new ArrayList<>(budgets);
-            Collections.sort(sorted, (b1, b2) -> {
-                try {
-                    Date d1 = dateFormat.parse(b1.getDate());
-                    Date d2 = dateFormat.parse(b2.getDate());
-                    return d2.compareTo(d1);
-                } catch (ParseException e) {
-                    return 0;
-                }
-            });
+            // Newest first; bad dates go last
+            Collections.sort(sorted, (b1, b2) -> Integer.compare(b2.epochDay(), b1.epochDay()));
 
             adapter.setBudgets(sorted);
             findViewById(R.id.budgetLog_msg).setVisibility(sorted.isEmpty()
@@ -464,57 +455,14 @@ public class Budgetlog extends AppCompatActivity {
         String circleId = circle.getId();
         circleLoadIds.put(circleId, loadId);
 
-        savingCircleViewModel.getSavingCircleMembersOnce(circleId, members -> {
+        // One read of the circle's progress node instead of every member's cycle history
+        savingCircleViewModel.getCircleProgressOnce(circleId, progress -> {
             Integer currentCircleLoadId = circleLoadIds.get(circleId);
             if (currentCircleLoadId == null || currentCircleLoadId != loadId) {
                 return;
             }
-
-            if (members == null || members.isEmpty()) {
-                savingCircleAdapter.setCircleProgress(circleId, 0, circle.getGoalAmount());
-                return;
-            }
-
-            final int[] membersProcessed = {0};
-            final double[] totalProgress = {0};
-            final int totalMembers = members.size();
-
-            for (SavingCircleMember member : members) {
-                if (member.getJoinedAt() > dashboardTimestamp) {
-                    synchronized (membersProcessed) {
-                        membersProcessed[0]++;
-                        if (membersProcessed[0] >= totalMembers) {
-                            savingCircleAdapter.setCircleProgress(circleId, totalProgress[0], circle.getGoalAmount());
-                        }
-                    }
-                    continue;
-                }
-
-                savingCircleViewModel.getMemberCycleHistoryOnce(circleId, member.getEmail(), cycles -> {
-                    Integer loadIdCheck = circleLoadIds.get(circleId);
-                    if (loadIdCheck == null || loadIdCheck != loadId) {
-                        return;
-                    }
-
-                    double memberContribution = 0;
-                    if (cycles != null && !cycles.isEmpty()) {
-                        for (MemberCycle cycle : cycles) {
-                            if (cycle.isComplete() && cycle.getEndDate() <= dashboardTimestamp) {
-                                memberContribution += cycle.getEndAmount();
-                            }
-                        }
-                    }
-
-                    synchronized (membersProcessed) {
-                        totalProgress[0] += memberContribution;
-                        membersProcessed[0]++;
-
-                        if (membersProcessed[0] >= totalMembers) {
-                            savingCircleAdapter.setCircleProgress(circleId, totalProgress[0], circle.getGoalAmount());
-                        }
-                    }
-                });
-            }
+            savingCircleAdapter.setCircleProgress(circleId, progress.getTotal(dashboardTimestamp),
+                    circle.getGoalAmount());
         });
     }
 
@@ -8,6 +8,7 @@ import android.util.Log;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.widget.AbsListView;
 import android.widget.Button;
 import android.widget.EditText;
 import android.widget.LinearLayout;
@@ -88,6 +89,18 @@ public class Chatbot extends AppCompatActivity {
             }
         });
 
+        // A streaming reply only changes its own bubble
+        viewModel.getStreamingText().observe(this, streaming -> {
+            if (streaming == null) {
+                return;
+            }
+            View bubble = binding.chatContainer.getChildAt(streaming.getPosition());
+            if (bubble instanceof TextView) {
+                ((TextView) bubble).setText(streaming.getText());
+                binding.chatScrollView.post(() -> binding.chatScrollView.fullScroll(View.FOCUS_DOWN));
+            }
+        });
+
         // Observe status messages (errors)
         viewModel.getStatusMessage().observe(this, status -> {
             if (!TextUtils.isEmpty(status)) {
@@ -204,6 +217,7 @@ public class Chatbot extends AppCompatActivity {
             ArrayAdapter<String> adapter = new ArrayAdapter<>(this,
                     android.R.layout.simple_list_item_1, sessionTitles);
             listView.setAdapter(adapter);
+            enableOlderChatPaging(listView, sessions, adapter);
 
             AlertDialog dialog = builder.setView(dialogView).create();
 
@@ -256,6 +270,7 @@ public class Chatbot extends AppCompatActivity {
             ArrayAdapter<String> adapter = new ArrayAdapter<>(this,
                     android.R.layout.simple_list_item_1, sessionTitles);
             listView.setAdapter(adapter);
+            enableOlderChatPaging(listView, sessions, adapter);
 
             AlertDialog dialog = builder.setView(dialogView).create();
 
@@ -276,13 +291,44 @@ public class Chatbot extends AppCompatActivity {
         });
     }
 
+    /** Fetch the next page of older sessions when the list is scrolled to the end */
+    private void enableOlderChatPaging(ListView listView, List<ChatSession> sessions,
+                                       ArrayAdapter<String> adapter) {
+        final boolean[] loading = {false};
+        final boolean[] hasMore = {sessions.size() >= ChatbotViewModel.SESSION_PAGE_SIZE};
+
+        listView.setOnScrollListener(new AbsListView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(AbsListView view, int scrollState) { }
+
+            @Override
+            public void onScroll(AbsListView view, int firstVisibleItem,
+                                 int visibleItemCount, int totalItemCount) {
+                if (loading[0] || !hasMore[0] || sessions.isEmpty()
+                        || firstVisibleItem + visibleItemCount < totalItemCount) {
+                    return;
+                }
+                loading[0] = true;
+                String oldest = sessions.get(sessions.size() - 1).getId();
+                viewModel.getOlderChats(oldest, olderSessions -> {
+                    loading[0] = false;
+                    hasMore[0] = olderSessions.size() >= ChatbotViewModel.SESSION_PAGE_SIZE;
+                    sessions.addAll(olderSessions);
+                    for (ChatSession session : olderSessions) {
+                        adapter.add(session.getTitle());
+                    }
+                });
+            }
+        });
+    }
+
     /** Show details of a specific session with summary */
     private void showSessionDetailsDialog(ChatSession session) {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle(session.getTitle());
 
         String message = "Summary: " + session.getSummary() +
-                "\n\n" + session.getMessages().size() + " messages" +
+                "\n\n" + session.getMessageCount() + " messages" +
                 "\n\nWould you like to continue this conversation?";
 
         builder.setMessage(message)
@@ -21,11 +21,13 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.spendwise.R;
 import com.example.spendwise.adapter.BudgetAdapter;
 import com.example.spendwise.databinding.DashboardBinding;
-import com.example.spendwise.model.Budget;
-import com.example.spendwise.model.Expense;
+import com.example.spendwise.logic.DashboardState;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.util.Money;
 import com.example.spendwise.util.ThemeHelper;
 import com.example.spendwise.viewModel.BudgetViewModel;
 import com.example.spendwise.viewModel.DashboardAnalyticsViewModel;
+import com.example.spendwise.viewModel.DashboardViewModel;
 import com.example.spendwise.viewModel.ExpenseViewModel;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.switchmaterial.SwitchMaterial;
@@ -42,15 +44,12 @@ import com.example.spendwise.adapter.NotificationAdapter;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Queue;
 import java.util.LinkedList;
 import java.util.Set;
@@ -63,6 +62,8 @@ public class Dashboard extends AppCompatActivity {
     private ExpenseViewModel expenseViewModel;
     private BudgetViewModel budgetViewModel;
     private DashboardAnalyticsViewModel dashboardAnalyticsViewModel;
+    private DashboardViewModel dashboardViewModel;
+    private DashboardState dashboardState;
     private FirebaseAuth auth;
     private BudgetAdapter remainingBudgetsAdapter;
     private PieChart pieChart;
@@ -101,6 +102,9 @@ public class Dashboard extends AppCompatActivity {
         budgetViewModel = new ViewModelProvider(this).get(BudgetViewModel.class);
         dashboardAnalyticsViewModel = new ViewModelProvider(this).get(DashboardAnalyticsViewModel.class);
         notificationViewModel = new ViewModelProvider(this).get(NotificationViewModel.class);
+        dashboardViewModel = new ViewModelProvider(this).get(DashboardViewModel.class);
+        dashboardViewModel.bind(expenseViewModel.getExpenses(),
+                expenseViewModel.getExpenseDayIndex(), budgetViewModel.getBudgets());
         binding.setLifecycleOwner(this);
 
         pieChart = findViewById(R.id.spending_pie_chart);
@@ -121,6 +125,7 @@ public class Dashboard extends AppCompatActivity {
         setupBudgetCards();
         setupRemainingBudgetsButton();
         setupNotifications();
+        dashboardViewModel.getState().observe(this, this::renderDashboardState);
 
         loadDashboardData();
         setupThemeToggle();
@@ -491,134 +496,6 @@ public class Dashboard extends AppCompatActivity {
         monthlyCard.setFocusable(false);
     }
 
-    private void showFilteredBudgets(String frequency) {
-        RecyclerView recyclerView = findViewById(R.id.remaining_budgets_recycler);
-        recyclerView.setVisibility(View.VISIBLE);
-
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            List<Budget> filteredBudgets = new ArrayList<>();
-
-            for (Budget budget : budgets) {
-                if (frequency.equalsIgnoreCase(budget.getfreq())) {
-                    try {
-                        Date budgetDate = shortDateFormat.parse(budget.getDate());
-                        if (budgetDate != null) {
-                            boolean isInPeriod = false;
-
-                            if ("Weekly".equalsIgnoreCase(frequency)) {
-                                isInPeriod = isInCurrentWeek(budgetDate);
-                            } else if ("Monthly".equalsIgnoreCase(frequency)) {
-                                isInPeriod = isInCurrentMonth(budgetDate);
-                            }
-
-                            if (isInPeriod) {
-                                filteredBudgets.add(budget);
-                            }
-                        }
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-
-            if (filteredBudgets.isEmpty()) {
-                Toast.makeText(this,
-                        "No " + frequency.toLowerCase()
-                                + " budgets found for this period",
-                        Toast.LENGTH_SHORT).show();
-                recyclerView.setVisibility(View.GONE);
-            } else {
-                remainingBudgetsAdapter.setBudgets(filteredBudgets);
-                Toast.makeText(this, "Showing " + filteredBudgets.size() + " "
-                                + frequency.toLowerCase() + " budget(s)",
-                        Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
-    private void loadAllRemainingBudgets() {
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            expenseViewModel.getExpenses().observe(this, expenses -> {
-
-                List<Budget> remainingBudgets = new ArrayList<>();
-
-                for (Budget budget : budgets) {
-                    try {
-                        String freq = budget.getfreq();
-                        boolean isActive = false;
-
-                        if ("Weekly".equalsIgnoreCase(freq)
-                                || "Monthly".equalsIgnoreCase(freq)) {
-                            isActive = true;
-                        } else if ("Yearly".equalsIgnoreCase(freq)) {
-                            Date budgetDate = shortDateFormat.parse(budget.getDate());
-                            if (budgetDate != null) {
-                                isActive = isInCurrentYear(budgetDate);
-                            }
-                        } else if ("Daily".equalsIgnoreCase(freq)) {
-                            Date budgetDate = shortDateFormat.parse(budget.getDate());
-                            if (budgetDate != null) {
-                                isActive = isToday(budgetDate);
-                            }
-                        }
-
-                        if (!isActive) {
-                            continue;
-                        }
-
-                        double totalSpent = 0.0;
-                        for (Expense expense : expenses) {
-                            if (expense.getCategory().getDisplayName()
-                                    .equalsIgnoreCase(budget.getCategory()
-                                            .getDisplayName())) {
-                                Date expenseDate = shortDateFormat.parse(expense.getDate());
-                                if (expenseDate != null) {
-                                    boolean inSamePeriod = false;
-                                    if ("Weekly".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isInCurrentWeek(expenseDate);
-                                    } else if ("Monthly".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isInCurrentMonth(expenseDate);
-                                    } else if ("Yearly".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isInCurrentYear(expenseDate);
-                                    } else if ("Daily".equalsIgnoreCase(freq)) {
-                                        inSamePeriod = isToday(expenseDate);
-                                    }
-                                    if (inSamePeriod) {
-                                        totalSpent += expense.getAmount();
-                                    }
-                                }
-                            }
-                        }
-
-                        Budget remainingBudget = new Budget(
-                                budget.getName(),
-                                budget.getAmount() - totalSpent,
-                                budget.getAmount(),
-                                budget.getCategory(),
-                                budget.getDate(),
-                                budget.getfreq()
-                        );
-
-                        remainingBudgets.add(remainingBudget);
-
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                if (remainingBudgets.isEmpty()) {
-                    Toast.makeText(this, "No active budgets for this period",
-                            Toast.LENGTH_SHORT).show();
-                } else {
-                    remainingBudgetsAdapter.setBudgets(remainingBudgets);
-                    Toast.makeText(this,
-                            "Showing remaining budgets for current period",
-                            Toast.LENGTH_SHORT).show();
-                }
-            });
-        });
-    }
-
     private void setupRemainingBudgetsButton() {
         View remainingBudgetsButton = findViewById(R.id.remaining_budgets_button);
         RecyclerView recyclerView = findViewById(R.id.remaining_budgets_recycler);
@@ -630,23 +507,30 @@ public class Dashboard extends AppCompatActivity {
         remainingBudgetsButton.setOnClickListener(v -> {
             if (recyclerView.getVisibility() == View.VISIBLE) {
                 recyclerView.setVisibility(View.GONE);
+            } else if (dashboardState != null && dashboardState.getRemainingBudgets().isEmpty()) {
+                Toast.makeText(this, "No active budgets for this period",
+                        Toast.LENGTH_SHORT).show();
             } else {
                 recyclerView.setVisibility(View.VISIBLE);
-                loadAllRemainingBudgets();
+                if (dashboardState != null) {
+                    remainingBudgetsAdapter.setBudgets(dashboardState.getRemainingBudgets());
+                }
+                Toast.makeText(this,
+                        "Showing remaining budgets for current period",
+                        Toast.LENGTH_SHORT).show();
             }
         });
     }
 
 
     private void loadDashboardData() {
-        Calendar weekStart = (Calendar) currentSimulatedDate.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
-
-        Calendar weekEnd = (Calendar) weekStart.clone();
-        weekEnd.add(Calendar.DAY_OF_WEEK, 6);
-
+        // Whole days, the same periods the dashboard state uses
         Calendar monthStart = (Calendar) currentSimulatedDate.clone();
         monthStart.set(Calendar.DAY_OF_MONTH, 1);
+        monthStart.set(Calendar.HOUR_OF_DAY, 0);
+        monthStart.set(Calendar.MINUTE, 0);
+        monthStart.set(Calendar.SECOND, 0);
+        monthStart.set(Calendar.MILLISECOND, 0);
 
         Calendar monthEnd = (Calendar) currentSimulatedDate.clone();
         monthEnd.set(Calendar.DAY_OF_MONTH,
@@ -660,205 +544,68 @@ public class Dashboard extends AppCompatActivity {
         // Check for notifications based on the dashboard date
         notificationViewModel.checkNotificationsForDate(currentDashboardTimestamp);
 
-        expenseViewModel.getExpenses().observe(this, expenses -> {
-            if (expenses != null) {
-                calculateAndDisplayTotals(expenses, weekStart, weekEnd,
-                        monthStart, monthEnd);
-            }
-        });
-
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            if (budgets != null) {
-                displayBudgetSummary(budgets);
-            }
-        });
+        // Totals and remaining budgets arrive through the dashboard state
+        dashboardViewModel.setSimulatedDate(currentDashboardTimestamp);
     }
 
-    private void calculateAndDisplayTotals(List<Expense> expenses,
-                                           Calendar weekStart, Calendar weekEnd,
-                                           Calendar monthStart,
-                                           Calendar monthEnd) {
-        double totalSpent = 0.0;
-
-        for (Expense expense : expenses) {
-            try {
-                Date expenseDate = shortDateFormat.parse(expense.getDate());
-                if (expenseDate != null) {
-                    if (isDateInRange(expenseDate, monthStart.getTime(),
-                            monthEnd.getTime())) {
-                        totalSpent += expense.getAmount();
-                    }
-                }
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
-        }
+    private void renderDashboardState(DashboardState state) {
+        dashboardState = state;
 
         TextView totalSpentText = findViewById(R.id.total_spent_amount);
-        totalSpentText.setText(String.format(Locale.US, "$%.2f", totalSpent));
-
-        updateBudgetDisplay();
-    }
-
-    private void updateBudgetDisplay() {
-        budgetViewModel.getBudgets().observe(this, budgets -> {
-            expenseViewModel.getExpenses().observe(this, expenses -> {
-
-                Map<String, Double> weeklyBudgets = new HashMap<>();
-                Map<String, Double> monthlyBudgets = new HashMap<>();
-
-                for (Budget budget : budgets) {
-                    try {
-                        Date budgetDate = shortDateFormat.parse(budget.getDate());
-                        if (budgetDate == null) {
-                            continue;
-                        }
-
-                        String categoryName = budget.getCategory().getDisplayName();
-                        String freq = budget.getfreq();
-
-                        if ("Weekly".equalsIgnoreCase(freq)
-                                && isInCurrentWeek(budgetDate)) {
-                            weeklyBudgets.put(categoryName,
-                                    weeklyBudgets.getOrDefault(categoryName, 0.0)
-                                            + budget.getAmount());
-                        } else if ("Monthly".equalsIgnoreCase(freq)
-                                && isInCurrentMonth(budgetDate)) {
-                            monthlyBudgets.put(categoryName,
-                                    monthlyBudgets.getOrDefault(categoryName, 0.0)
-                                            + budget.getAmount());
-                        }
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                double totalWeeklySpent = 0.0;
-                double totalMonthlySpent = 0.0;
-
-                for (Expense expense : expenses) {
-                    try {
-                        Date expenseDate = shortDateFormat.parse(expense.getDate());
-                        if (expenseDate == null) {
-                            continue;
-                        }
-
-                        String categoryName = expense.getCategory().getDisplayName();
-
-                        if (isInCurrentWeek(expenseDate)
-                                && weeklyBudgets.containsKey(categoryName)) {
-                            totalWeeklySpent += expense.getAmount();
-                        }
-
-                        if (isInCurrentMonth(expenseDate)
-                                && monthlyBudgets.containsKey(categoryName)) {
-                            totalMonthlySpent += expense.getAmount();
-                        }
-                    } catch (ParseException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                double totalWeeklyBudget = 0.0;
-                double totalMonthlyBudget = 0.0;
-
-                for (double amount : weeklyBudgets.values()) {
-                    totalWeeklyBudget += amount;
-                }
-                for (double amount : monthlyBudgets.values()) {
-                    totalMonthlyBudget += amount;
-                }
-
-                double weeklyRemaining = totalWeeklyBudget - totalWeeklySpent;
-                double monthlyRemaining = totalMonthlyBudget - totalMonthlySpent;
-
-                TextView weeklyBudgetText = findViewById(R.id.weekly_budget_amount);
-                weeklyBudgetText.setText(String.format(Locale.US, "$%.2f",
-                        Math.max(0, weeklyRemaining)));
-                if (weeklyRemaining < 0) {
-                    weeklyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.holo_red_dark));
-                } else {
-                    weeklyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.black));
-                }
+        totalSpentText.setText(String.format(Locale.US, "$%.2f",
+                Money.toAmount(state.getMonthSpentCents())));
 
-                TextView monthlyBudgetText = findViewById(R.id.monthly_budget_amount);
-                monthlyBudgetText.setText(String.format(Locale.US, "$%.2f",
-                        Math.max(0, monthlyRemaining)));
-                if (monthlyRemaining < 0) {
-                    monthlyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.holo_red_dark));
-                } else {
-                    monthlyBudgetText.setTextColor(getResources()
-                            .getColor(android.R.color.black));
-                }
+        showRemaining(findViewById(R.id.weekly_budget_amount),
+                Money.toAmount(state.getWeekly().getRemainingCents()));
+        showRemaining(findViewById(R.id.monthly_budget_amount),
+                Money.toAmount(state.getMonthly().getRemainingCents()));
 
-                // Prepare maps for alert checking
-                Map<String, Double> weeklySpentMap = new HashMap<>();
-                Map<String, Double> monthlySpentMap = new HashMap<>();
-
-                 // Re-calculating per-category spent for alerts
-                 for (Expense expense : expenses) {
-                    try {
-                        Date expenseDate = shortDateFormat.parse(expense.getDate());
-                        if (expenseDate == null) continue;
-                        String categoryName = expense.getCategory().getDisplayName();
-
-                        if (isInCurrentWeek(expenseDate)) {
-                            weeklySpentMap.put(categoryName, weeklySpentMap.getOrDefault(categoryName, 0.0) + expense.getAmount());
-                        }
-                        if (isInCurrentMonth(expenseDate)) {
-                            monthlySpentMap.put(categoryName, monthlySpentMap.getOrDefault(categoryName, 0.0) + expense.getAmount());
-                        }
-                    } catch (ParseException e) { e.printStackTrace(); }
-                }
+        RecyclerView remainingBudgetsRecycler = findViewById(R.id.remaining_budgets_recycler);
+        if (remainingBudgetsRecycler.getVisibility() == View.VISIBLE) {
+            remainingBudgetsAdapter.setBudgets(state.getRemainingBudgets());
+        }
 
-                checkBudgetAlerts(weeklyBudgets, monthlyBudgets, weeklySpentMap, monthlySpentMap);
-            });
-        });
+        checkBudgetAlerts("Weekly", state.getWeekly());
+        checkBudgetAlerts("Monthly", state.getMonthly());
+        processAlertQueue();
     }
 
-    private void checkBudgetAlerts(Map<String, Double> weeklyBudgets, Map<String, Double> monthlyBudgets,
-                                   Map<String, Double> weeklySpent, Map<String, Double> monthlySpent) {
-        
-        // Check Weekly Budgets
-        for (Map.Entry<String, Double> entry : weeklyBudgets.entrySet()) {
-            String category = entry.getKey();
-            double limit = entry.getValue();
-            double spent = weeklySpent.getOrDefault(category, 0.0);
-            String budgetKey = "Weekly-" + category;
-
-            if (!alertedBudgets.contains(budgetKey)) {
-                if (budgetAlertLogic.isExceeded(spent, limit)) {
-                    alertQueue.add(budgetAlertLogic.getExceededMessage(category + " (Weekly)", spent, limit));
-                    alertedBudgets.add(budgetKey);
-                } else if (budgetAlertLogic.isNearLimit(spent, limit, 0.85)) { // 85% threshold
-                    alertQueue.add(budgetAlertLogic.getNearLimitMessage(category + " (Weekly)", spent, limit));
-                    alertedBudgets.add(budgetKey);
-                }
-            }
+    private void showRemaining(TextView budgetText, double remaining) {
+        budgetText.setText(String.format(Locale.US, "$%.2f", Math.max(0, remaining)));
+        if (remaining < 0) {
+            budgetText.setTextColor(getResources()
+                    .getColor(android.R.color.holo_red_dark));
+        } else {
+            budgetText.setTextColor(getResources()
+                    .getColor(android.R.color.black));
         }
+    }
 
-        // Check Monthly Budgets
-        for (Map.Entry<String, Double> entry : monthlyBudgets.entrySet()) {
-            String category = entry.getKey();
-            double limit = entry.getValue();
-            double spent = monthlySpent.getOrDefault(category, 0.0);
-            String budgetKey = "Monthly-" + category;
+    // Queues an alert for each budgeted category of one period that is near or over its limit
+    private void checkBudgetAlerts(String period, DashboardState.PeriodBudgets budgets) {
+        boolean[] hasBudget = budgets.getHasBudget();
+        long[] budgetCents = budgets.getBudgetCents();
+        long[] spentCents = budgets.getSpentCents();
+        Category[] categories = Category.values();
+        for (int i = 0; i < categories.length; i++) {
+            if (!hasBudget[i]) {
+                continue;
+            }
+            String category = categories[i].getDisplayName();
+            double limit = Money.toAmount(budgetCents[i]);
+            double spent = Money.toAmount(spentCents[i]);
+            String budgetKey = period + "-" + category;
 
             if (!alertedBudgets.contains(budgetKey)) {
                 if (budgetAlertLogic.isExceeded(spent, limit)) {
-                    alertQueue.add(budgetAlertLogic.getExceededMessage(category + " (Monthly)", spent, limit));
+                    alertQueue.add(budgetAlertLogic.getExceededMessage(category + " (" + period + ")", spent, limit));
                     alertedBudgets.add(budgetKey);
-                } else if (budgetAlertLogic.isNearLimit(spent, limit, 0.85)) {
-                    alertQueue.add(budgetAlertLogic.getNearLimitMessage(category + " (Monthly)", spent, limit));
+                } else if (budgetAlertLogic.isNearLimit(spent, limit, 0.85)) { // 85% threshold
+                    alertQueue.add(budgetAlertLogic.getNearLimitMessage(category + " (" + period + ")", spent, limit));
                     alertedBudgets.add(budgetKey);
                 }
             }
         }
-
-        processAlertQueue();
     }
 
     private void processAlertQueue() {
@@ -873,92 +620,6 @@ public class Dashboard extends AppCompatActivity {
                 .show();
     }
 
-    private void displayBudgetSummary(List<Budget> budgets) {
-        Map<String, Double> categoryBudgets = new HashMap<>();
-        Map<String, Double> categorySpent = new HashMap<>();
-
-        for (Budget budget : budgets) {
-            String freq = budget.getfreq();
-            boolean isInPeriod = false;
-
-            try {
-                Date budgetDate = shortDateFormat.parse(budget.getDate());
-                if (budgetDate != null) {
-                    if ("Weekly".equalsIgnoreCase(freq)) {
-                        isInPeriod = isInCurrentWeek(budgetDate);
-                    } else if ("Monthly".equalsIgnoreCase(freq)) {
-                        isInPeriod = isInCurrentMonth(budgetDate);
-                    } else if ("Yearly".equalsIgnoreCase(freq)) {
-                        isInPeriod = isInCurrentYear(budgetDate);
-                    } else if ("Daily".equalsIgnoreCase(freq)) {
-                        isInPeriod = isToday(budgetDate);
-                    }
-                }
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
-
-            if (isInPeriod) {
-                String category = budget.getCategory().getDisplayName();
-                categoryBudgets.put(category,
-                        categoryBudgets.getOrDefault(category, 0.0)
-                                + budget.getAmount());
-            }
-        }
-
-        expenseViewModel.getExpenses().observe(this, expenses -> {
-            if (expenses != null) {
-                for (Expense expense : expenses) {
-                    String category = expense.getCategory().getDisplayName();
-                    categorySpent.put(category,
-                            categorySpent.getOrDefault(category, 0.0)
-                                    + expense.getAmount());
-                }
-            }
-        });
-    }
-
-    private boolean isDateInRange(Date date, Date start, Date end) {
-        return !date.before(start) && !date.after(end);
-    }
-
-    private boolean isInCurrentWeek(Date date) {
-        Calendar weekStart = (Calendar) currentSimulatedDate.clone();
-        weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
-
-        Calendar weekEnd = (Calendar) weekStart.clone();
-        weekEnd.add(Calendar.DAY_OF_WEEK, 6);
-
-        return isDateInRange(date, weekStart.getTime(), weekEnd.getTime());
-    }
-
-    private boolean isInCurrentMonth(Date date) {
-        Calendar dateCalendar = Calendar.getInstance();
-        dateCalendar.setTime(date);
-
-        return dateCalendar.get(Calendar.YEAR) == currentSimulatedDate.get(Calendar.YEAR)
-                && dateCalendar.get(Calendar.MONTH)
-                == currentSimulatedDate.get(Calendar.MONTH);
-    }
-
-    private boolean isInCurrentYear(Date date) {
-        Calendar dateCalendar = Calendar.getInstance();
-        dateCalendar.setTime(date);
-
-        return dateCalendar.get(Calendar.YEAR) == currentSimulatedDate.get(Calendar.YEAR);
-    }
-
-    private boolean isToday(Date date) {
-        Calendar dateCalendar = Calendar.getInstance();
-        dateCalendar.setTime(date);
-
-        return dateCalendar.get(Calendar.YEAR) == currentSimulatedDate.get(Calendar.YEAR)
-                && dateCalendar.get(Calendar.MONTH)
-                == currentSimulatedDate.get(Calendar.MONTH)
-                && dateCalendar.get(Calendar.DAY_OF_MONTH)
-                == currentSimulatedDate.get(Calendar.DAY_OF_MONTH);
-    }
-
     @Override
     protected void onResume() {
         super.onResume();
@@ -27,6 +27,7 @@ import com.example.spendwise.adapter.ExpenseAdapter;
 
 import com.example.spendwise.viewModel.ExpenseViewModel;
 import com.example.spendwise.viewModel.SavingCircleViewModel;
+import com.example.spendwise.util.DateCodec;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
@@ -35,9 +36,7 @@ import android.widget.AutoCompleteTextView;
 import android.widget.Toast;
 import android.util.Log;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -261,29 +260,20 @@ public class ExpenseLog extends AppCompatActivity {
         }
 
         // Parse expense date to timestamp
-        long expenseTimestamp;
-        try {
-            Date expenseDate = dateFormat.parse(date);
-            expenseTimestamp = expenseDate != null ? expenseDate.getTime() : System.currentTimeMillis();
-        } catch (ParseException e) {
-            expenseTimestamp = System.currentTimeMillis();
-        }
-
-        // Save to Firebase through ViewModel
-        expenseViewModel.addExpense(name, amount, category, date, notes, savingCircleId, 
-                savingCircleId != null ? expenseTimestamp : -1);
-
-        // If linked to a savings circle, deduct from the circle
-        if (savingCircleId != null && !savingCircleId.isEmpty()) {
-            FirebaseUser currentUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
-            if (currentUser != null && currentUser.getEmail() != null) {
-                savingCircleViewModel.deductExpenseFromMemberAtDate(
-                        savingCircleId, 
-                        currentUser.getEmail(), 
-                        amount, 
-                        expenseTimestamp
-                );
-            }
+        int expenseDay = DateCodec.parse(date);
+        long expenseTimestamp = expenseDay != DateCodec.NO_DAY
+                ? DateCodec.startOfDay(expenseDay) : System.currentTimeMillis();
+
+        // If linked to a savings circle, save and deduct from the circle in one write
+        FirebaseUser currentUser = com.google.firebase.auth.FirebaseAuth.getInstance().getCurrentUser();
+        if (savingCircleId != null && !savingCircleId.isEmpty()
+                && currentUser != null && currentUser.getEmail() != null) {
+            expenseViewModel.addExpenseToCircle(name, amount, category, date, notes, savingCircleId,
+                    expenseTimestamp, currentUser.getEmail(), savingCircleViewModel);
+        } else {
+            // Save to Firebase through ViewModel
+            expenseViewModel.addExpense(name, amount, category, date, notes, savingCircleId,
+                    savingCircleId != null ? expenseTimestamp : -1);
         }
 
         // Hide form, show RecyclerView
@@ -327,29 +317,13 @@ public class ExpenseLog extends AppCompatActivity {
         ExpenseAdapter adapter = new ExpenseAdapter();
         recyclerView.setAdapter(adapter);
 
-        // Observe expenses from Firebase
-        expenseViewModel.getExpenses().observe(this, expenses -> {
-            // Sort expenses from newest to oldest
-            List<Expense> sortedExpenses = new ArrayList<>(expenses);
-            Collections.sort(sortedExpenses, new Comparator<Expense>() {
-                @Override
-                public int compare(Expense e1, Expense e2) {
-                    try {
-                        Date date1 = dateFormat.parse(e1.getDate());
-                        Date date2 = dateFormat.parse(e2.getDate());
-                        // Sort in descending order (newest first)
-                        return date2.compareTo(date1);
-                    } catch (ParseException e) {
-                        return 0;
-                    }
-                }
-            });
-
-            adapter.setExpenses(sortedExpenses);
+        // Newest first, paged from the local store so the full list is never sorted here
+        adapter.setPages(expenseViewModel.getExpensePages());
 
+        expenseViewModel.getExpenses().observe(this, expenses -> {
             // Show/hide message based on whether there are expenses
             View expenseLogMsg = findViewById(R.id.expenseLog_msg);
-            if (sortedExpenses.isEmpty()) {
+            if (expenses.isEmpty()) {
                 expenseLogMsg.setVisibility(View.VISIBLE);
             } else {
                 expenseLogMsg.setVisibility(View.GONE);
@@ -399,23 +373,24 @@ public class ExpenseLog extends AppCompatActivity {
 
             @Override
             public void onSwiped(RecyclerView.ViewHolder viewHolder, int direction) {
-                Expense expense = adapter.getExpenseAt(viewHolder.getAdapterPosition());
+                int position = viewHolder.getAdapterPosition();
+                Expense expense = adapter.getExpenseAt(position);
+                if (expense == null) {
+                    // Page still loading; put the row back
+                    adapter.notifyItemChanged(position);
+                    return;
+                }
                 String expenseId = expense.getId();
                 
                 // Check if expense is linked to a savings circle
                 if (expense.isLinkedToSavingCircle()) {
                     String savingCircleId = expense.getSavingCircleId();
                     double amount = expense.getAmount();
-                    String date = expense.getDate();
                     
                     // Parse expense date to timestamp
-                    long expenseTimestamp;
-                    try {
-                        Date expenseDate = dateFormat.parse(date);
-                        expenseTimestamp = expenseDate != null ? expenseDate.getTime() : System.currentTimeMillis();
-                    } catch (ParseException e) {
-                        expenseTimestamp = System.currentTimeMillis();
-                    }
+                    int expenseDay = expense.epochDay();
+                    long expenseTimestamp = expenseDay != DateCodec.NO_DAY
+                            ? DateCodec.startOfDay(expenseDay) : System.currentTimeMillis();
                     
                     // Get current user email
                     FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
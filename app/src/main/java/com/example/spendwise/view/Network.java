@@ -2,14 +2,26 @@ package com.example.spendwise.view;
 
 import android.util.Log;
 
+import com.example.spendwise.repository.PromptCache;
+
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSource;
 
 public class Network {
 
@@ -18,59 +30,278 @@ public class Network {
         void onError(String error);
     }
 
+    // Receives a streamed reply piece by piece
+    public interface StreamCallback {
+        // Next piece of the reply, in order
+        void onToken(String token);
+        // Whole reply once the model is done
+        void onComplete(String reply);
+        void onError(String error);
+    }
+
+    // Handle for one request; cancel() stops it and drops its callbacks
+    public interface Cancellable {
+        void cancel();
+    }
+
     private static final MediaType JSON
             = MediaType.parse("application/json; charset=utf-8");
 
+    private static final String TAG = "Network";
+    private static final String MODEL = "llama3.2";
+    private static final String NAPPING = "😴 Llama is napping. Please try again later!";
+
+    // The local model answers one prompt at a time, so more threads only wait on it
+    private static final int MAX_RUNNING = 2;
+    // Requests waiting for a slot; beyond this new ones fail straight away
+    private static final int MAX_WAITING = 6;
+    private static final long PLAIN_CALL_TIMEOUT_SECONDS = 120;
+    private static final long STREAM_CALL_TIMEOUT_SECONDS = 300;
+
+    // One client per process: a shared connection pool keeps the socket to
+    // Ollama alive between prompts, and its dispatcher runs calls on a small
+    // fixed pool instead of a new thread per request
+    private static volatile OkHttpClient sharedClient;
+
+    private static OkHttpClient getClient() {
+        if (sharedClient == null) {
+            synchronized (Network.class) {
+                if (sharedClient == null) {
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                            MAX_RUNNING, MAX_RUNNING, 30, TimeUnit.SECONDS,
+                            // The dispatcher never hands over more than MAX_RUNNING calls
+                            new ArrayBlockingQueue<>(MAX_RUNNING),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "llm-client");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    executor.allowCoreThreadTimeOut(true);
+
+                    Dispatcher dispatcher = new Dispatcher(executor);
+                    dispatcher.setMaxRequests(MAX_RUNNING);
+                    dispatcher.setMaxRequestsPerHost(MAX_RUNNING);
+
+                    sharedClient = new OkHttpClient.Builder()
+                            .dispatcher(dispatcher)
+                            .connectionPool(new ConnectionPool(2, 5, TimeUnit.MINUTES))
+                            .connectTimeout(10, TimeUnit.SECONDS)
+                            .writeTimeout(15, TimeUnit.SECONDS)
+                            // Longest wait for the next bytes, including the first token
+                            .readTimeout(90, TimeUnit.SECONDS)
+                            .build();
+                }
+            }
+        }
+        return sharedClient;
+    }
+
     // Emulator → Laptop mapping
-    private final String baseUrl = "http://10.0.2.2:11434/api/chat";
-
-    private final OkHttpClient client = new OkHttpClient();
-
-    public void chat(String userMessage, Callback cb) {
-        new Thread(() -> {
-            try {
-                // Build JSON payload
-                JSONObject json = new JSONObject();
-                json.put("model", "llama3.2");
-
-                JSONArray messages = new JSONArray();
-                JSONObject msg = new JSONObject();
-                msg.put("role", "user");
-                msg.put("content", userMessage);
-                messages.put(msg);
-                json.put("messages", messages);
-                json.put("stream", false);
-
-                RequestBody body = RequestBody.create(json.toString(), JSON);
-
-                Request request = new Request.Builder()
-                        .url(baseUrl)
-                        .post(body)
-                        .build();
-
-                Response response = client.newCall(request).execute();
-
-                if (!response.isSuccessful()) {
-                    // Graceful error
-                    cb.onError("😴 Llama is napping. Please try again later! (HTTP " + response.code() + ")");
-                    return;
+    public static final String DEFAULT_BASE_URL = "http://10.0.2.2:11434/api/chat";
+
+    private final String baseUrl;
+
+    public Network() {
+        this(DEFAULT_BASE_URL);
+    }
+
+    // Full URL of an Ollama-compatible /api/chat endpoint, e.g. a local stand-in for tests
+    public Network(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Cancellable chat(String userMessage, Callback cb) {
+        String cached = cachedReply(userMessage);
+        if (cached != null) {
+            cb.onSuccess(cached);
+            return () -> { };
+        }
+        Call call = startCall(userMessage, false, cb::onError);
+        if (call == null) {
+            return () -> { };
+        }
+        call.enqueue(new okhttp3.Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response ignored = response) {
+                    if (!response.isSuccessful()) {
+                        // Graceful error
+                        cb.onError(NAPPING + " (HTTP " + response.code() + ")");
+                        return;
+                    }
+
+                    String responseText = response.body().string();
+                    Log.d(TAG, responseText);
+
+                    JSONObject root = new JSONObject(responseText);
+                    JSONObject messageObj = root.getJSONObject("message");
+
+                    String reply = messageObj.getString("content");
+
+                    if (!call.isCanceled()) {
+                        cacheReply(userMessage, reply);
+                        cb.onSuccess(reply);
+                    }
+
+                } catch (Exception e) {
+                    // Graceful error on any exception
+                    if (!call.isCanceled()) {
+                        cb.onError(NAPPING);
+                    }
                 }
+            }
 
-                String responseText = response.body().string();
-                Log.d("Network", responseText);
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (!call.isCanceled()) {
+                    cb.onError(NAPPING);
+                }
+            }
+        });
+        return call::cancel;
+    }
+
+    // Same request with "stream": true. Ollama answers with one JSON object per
+    // line, each carrying the next piece of the reply, until one has "done": true.
+    public Cancellable chatStream(String userMessage, StreamCallback cb) {
+        String cached = cachedReply(userMessage);
+        if (cached != null) {
+            // A known reply arrives as a single token
+            cb.onToken(cached);
+            cb.onComplete(cached);
+            return () -> { };
+        }
+        Call call = startCall(userMessage, true, cb::onError);
+        if (call == null) {
+            return () -> { };
+        }
+        call.enqueue(new okhttp3.Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response ignored = response) {
+                    if (!response.isSuccessful()) {
+                        // Graceful error
+                        cb.onError(NAPPING + " (HTTP " + response.code() + ")");
+                        return;
+                    }
 
-                JSONObject root = new JSONObject(responseText);
-                JSONObject messageObj = root.getJSONObject("message");
+                    BufferedSource source = response.body().source();
+                    StringBuilder reply = new StringBuilder();
+                    boolean done = false;
+                    String line;
+                    while ((line = source.readUtf8Line()) != null) {
+                        if (call.isCanceled()) {
+                            return;
+                        }
+                        if (line.trim().isEmpty()) {
+                            continue;
+                        }
+                        JSONObject chunk = new JSONObject(line);
+                        if (chunk.has("error")) {
+                            Log.e(TAG, "Stream error: " + chunk.optString("error"));
+                            cb.onError(NAPPING);
+                            return;
+                        }
 
-                String reply = messageObj.getString("content");
+                        JSONObject messageObj = chunk.optJSONObject("message");
+                        String token = messageObj != null ? messageObj.optString("content", "") : "";
+                        if (!token.isEmpty()) {
+                            reply.append(token);
+                            cb.onToken(token);
+                        }
+                        if (chunk.optBoolean("done")) {
+                            done = true;
+                            break;
+                        }
+                    }
 
-                cb.onSuccess(reply);
+                    if (call.isCanceled()) {
+                        return;
+                    }
+                    if (!done) {
+                        // The stream ended early, so the reply is cut off
+                        Log.e(TAG, "Stream ended before the reply was done");
+                        cb.onError(NAPPING);
+                        return;
+                    }
+                    cacheReply(userMessage, reply.toString());
+                    cb.onComplete(reply.toString());
 
-            } catch (Exception e) {
-                // Graceful error on any exception
-                cb.onError("😴 Llama is napping. Please try again later!");
+                } catch (Exception e) {
+                    // Graceful error on any exception; a cancelled stream ends here too
+                    if (!call.isCanceled()) {
+                        cb.onError(NAPPING);
+                    }
+                }
             }
-        }).start();
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (!call.isCanceled()) {
+                    cb.onError(NAPPING);
+                }
+            }
+        });
+        return call::cancel;
+    }
+
+    // Replies to identical prompts come from the on-disk cache, skipping the model
+    private static String cachedReply(String userMessage) {
+        PromptCache cache = PromptCache.getInstance();
+        return cache != null ? cache.get(MODEL, userMessage) : null;
     }
-}
 
+    private static void cacheReply(String userMessage, String reply) {
+        PromptCache cache = PromptCache.getInstance();
+        if (cache != null && reply != null && !reply.trim().isEmpty()) {
+            cache.put(MODEL, userMessage, reply);
+        }
+    }
+
+    private interface ErrorSink {
+        void onError(String error);
+    }
+
+    // Creates the call, or reports an error and returns null
+    // when too many requests are already waiting or the request cannot be built
+    private Call startCall(String userMessage, boolean stream, ErrorSink errors) {
+        OkHttpClient client = getClient();
+        if (client.dispatcher().queuedCallsCount() >= MAX_WAITING) {
+            Log.w(TAG, "Too many pending requests, rejecting this one");
+            errors.onError(NAPPING);
+            return null;
+        }
+        Call call;
+        try {
+            call = client.newCall(buildRequest(userMessage, stream));
+        } catch (JSONException e) {
+            errors.onError(NAPPING);
+            return null;
+        }
+        // Caps the whole exchange; the read timeout only covers gaps between bytes
+        call.timeout().timeout(stream ? STREAM_CALL_TIMEOUT_SECONDS : PLAIN_CALL_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS);
+        return call;
+    }
+
+    private Request buildRequest(String userMessage, boolean stream) throws JSONException {
+        // Build JSON payload
+        JSONObject json = new JSONObject();
+        json.put("model", MODEL);
+
+        JSONArray messages = new JSONArray();
+        JSONObject msg = new JSONObject();
+        msg.put("role", "user");
+        msg.put("content", userMessage);
+        messages.put(msg);
+        json.put("messages", messages);
+        json.put("stream", stream);
+
+        RequestBody body = RequestBody.create(json.toString(), JSON);
+
+        return new Request.Builder()
+                .url(baseUrl)
+                .post(body)
+                .build();
+    }
+}
@@ -11,6 +11,7 @@ import com.example.spendwise.databinding.RegisterBinding;
 import com.example.spendwise.model.Category;
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.Budget;
+import com.example.spendwise.repository.SnapshotParsers;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DatabaseReference;
@@ -178,7 +179,8 @@ public class Register extends AppCompatActivity {
         Map<String, Object> expenseData = new HashMap<>();
         expenseData.put("id", id);
         expenseData.put("name", expense.getName());
-        expenseData.put("amount", expense.getAmount());
+        expenseData.put(SnapshotParsers.AMOUNT, expense.getAmount());
+        expenseData.put(SnapshotParsers.AMOUNT_CENTS, expense.getAmountCents());
         expenseData.put("category", expense.getCategory().name());
         expenseData.put("date", expense.getDate());
         expenseData.put("notes", expense.getNotes());
@@ -205,7 +207,8 @@ public class Register extends AppCompatActivity {
         Map<String, Object> budgetData = new HashMap<>();
         budgetData.put("id", id);
         budgetData.put("name", budget.getName());
-        budgetData.put("amount", budget.getAmount());
+        budgetData.put(SnapshotParsers.AMOUNT, budget.getAmount());
+        budgetData.put(SnapshotParsers.AMOUNT_CENTS, budget.getAmountCents());
         budgetData.put("category", budget.getCategory().name());
         budgetData.put("date", budget.getDate());
         budgetData.put("freq", budget.getfreq());
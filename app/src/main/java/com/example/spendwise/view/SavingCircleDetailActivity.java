@@ -233,29 +233,22 @@ public class SavingCircleDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Load historical contributions from completed cycles - ONE TIME READ
+     * Load historical contributions from completed cycles - ONE TIME READ of
+     * the member's entries in the circle's progress node
      */
     private void loadMemberHistoricalContributions(String memberEmail, TextView historyText, int loadId) {
 
-        savingCircleViewModel.getMemberCycleHistoryOnce(circleId, memberEmail, cycles -> {
+        savingCircleViewModel.getMemberProgressOnce(circleId, memberEmail, progress -> {
             // Check if this callback is still valid
             if (loadId != currentLoadId) {
                 Log.d(TAG, "Ignoring stale history callback for " + memberEmail);
                 return;
             }
 
-            double historicalContribution = 0;
-            int completedCount = 0;
-
-            if (cycles != null && !cycles.isEmpty()) {
-                for (MemberCycle cycle : cycles) {
-                    // Only count COMPLETED cycles that ended on or before selected date
-                    if (cycle.isComplete() && cycle.getEndDate() <= selectedDateTimestamp) {
-                        historicalContribution += cycle.getEndAmount();
-                        completedCount++;
-                    }
-                }
-            }
+            // Only COMPLETED cycles that ended on or before selected date
+            String memberKey = SavingCircleViewModel.sanitizeEmail(memberEmail);
+            double historicalContribution = progress.getMemberTotal(memberKey, selectedDateTimestamp);
+            int completedCount = progress.getMemberCycleCount(memberKey, selectedDateTimestamp);
 
             if (completedCount > 0) {
                 historyText.setText(
@@ -31,8 +31,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
-import com.example.spendwise.model.SavingCircleMember;
-import com.example.spendwise.model.MemberCycle;
 
 public class SavingCircleLog extends AppCompatActivity {
     private SavingCircleViewModel savingCircleViewModel;
@@ -483,88 +481,17 @@ public class SavingCircleLog extends AppCompatActivity {
 
         Log.d("SavingCircleLog", ">>> Calculating: " + circle.getGroupName() + " (LoadID: " + loadId + ")");
 
-        savingCircleViewModel.getSavingCircleMembersOnce(circleId, members -> {
-            // Check if this callback is still valid
-            Integer currentCircleLoadId = circleLoadIds.get(circleId);
-            if (currentCircleLoadId == null || currentCircleLoadId != loadId) {
-                Log.d("SavingCircleLog", "XXX Ignoring stale callback for " + circle.getGroupName() +
-                        " (callback loadId: " + loadId + ", current: " + currentCircleLoadId + ")");
-                return;
-            }
-
-            Log.d("SavingCircleLog", "Got " + members.size() + " members for: " + circle.getGroupName());
-            processMembers(circle, members, loadId);
+        // One read of the circle's progress node instead of every member's cycle history
+        savingCircleViewModel.getCircleProgressOnce(circleId, progress -> {
+            double totalProgress = progress.getTotal(dashboardTimestamp);
+            updateProgress(circle, totalProgress, loadId);
         });
     }
 
     /**
-     * Process all members and calculate total progress
-     */
-    private void processMembers(SavingCircle circle, List<SavingCircleMember> members, int loadId) {
-        // Double-check load ID
-        Integer currentCircleLoadId = circleLoadIds.get(circle.getId());
-        if (currentCircleLoadId == null || currentCircleLoadId != loadId) {
-            Log.d("SavingCircleLog", "XXX Ignoring stale processMembers for " + circle.getGroupName());
-            return;
-        }
-
-        if (members == null || members.isEmpty()) {
-            Log.d("SavingCircleLog", "No members for " + circle.getGroupName());
-            adapter.setCircleProgress(circle.getId(), 0, circle.getGoalAmount());
-            return;
-        }
-
-        final int[] membersProcessed = {0};
-        final double[] totalProgress = {0};
-        final int totalMembers = members.size();
-
-        for (SavingCircleMember member : members) {
-            final String memberEmail = member.getEmail();
-
-            if (member.getJoinedAt() > dashboardTimestamp) {
-                Log.d("SavingCircleLog", "  ✗ " + memberEmail + " not joined yet");
-                synchronized (membersProcessed) {
-                    membersProcessed[0]++;
-                    checkAndUpdateProgress(circle, membersProcessed[0], totalMembers, totalProgress[0], loadId);
-                }
-                continue;
-            }
-
-            savingCircleViewModel.getMemberCycleHistoryOnce(circle.getId(), memberEmail, cycles -> {
-                // Validate load ID before processing (reuse variable name for clarity in lambda)
-                Integer loadIdCheck = circleLoadIds.get(circle.getId());
-                if (loadIdCheck == null || loadIdCheck != loadId) {
-                    Log.d("SavingCircleLog", "XXX Ignoring stale cycle callback for " + memberEmail);
-                    return;
-                }
-
-                double memberContribution = 0;
-                int completedCycles = 0;
-
-                if (cycles != null && !cycles.isEmpty()) {
-                    for (MemberCycle cycle : cycles) {
-                        if (cycle.isComplete() && cycle.getEndDate() <= dashboardTimestamp) {
-                            memberContribution += cycle.getEndAmount();
-                            completedCycles++;
-                        }
-                    }
-                }
-
-                Log.d("SavingCircleLog", "  ✓ " + memberEmail + ": $" + String.format("%.2f", memberContribution) + " (" + completedCycles + " cycles)");
-
-                synchronized (membersProcessed) {
-                    totalProgress[0] += memberContribution;
-                    membersProcessed[0]++;
-                    checkAndUpdateProgress(circle, membersProcessed[0], totalMembers, totalProgress[0], loadId);
-                }
-            });
-        }
-    }
-
-    /**
-     * Check if all members processed and update the UI
+     * Update the UI if this load is still current
      */
-    private void checkAndUpdateProgress(SavingCircle circle, int processed, int total, double totalProgress, int loadId) {
+    private void updateProgress(SavingCircle circle, double totalProgress, int loadId) {
         // Validate load ID one final time before updating UI
         Integer validLoadId = circleLoadIds.get(circle.getId());
         if (validLoadId == null || validLoadId != loadId) {
@@ -572,14 +499,12 @@ public class SavingCircleLog extends AppCompatActivity {
             return;
         }
 
-        if (processed >= total) {
-            double goalAmount = circle.getGoalAmount();
-            int percentage = goalAmount > 0 ? (int)((totalProgress / goalAmount) * 100) : 0;
+        double goalAmount = circle.getGoalAmount();
+        int percentage = goalAmount > 0 ? (int)((totalProgress / goalAmount) * 100) : 0;
 
-            Log.d("SavingCircleLog", "✓✓✓ FINAL: " + circle.getGroupName() + " = $" + String.format("%.2f", totalProgress) +
-                    " / $" + String.format("%.2f", goalAmount) + " (" + percentage + "%) [LoadID: " + loadId + "]");
+        Log.d("SavingCircleLog", "✓✓✓ FINAL: " + circle.getGroupName() + " = $" + String.format("%.2f", totalProgress) +
+                " / $" + String.format("%.2f", goalAmount) + " (" + percentage + "%) [LoadID: " + loadId + "]");
 
-            adapter.setCircleProgress(circle.getId(), totalProgress, goalAmount);
-        }
+        adapter.setCircleProgress(circle.getId(), totalProgress, goalAmount);
     }
 }
\ No newline at end of file
@@ -2,17 +2,19 @@ package com.example.spendwise.viewModel;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 
 import com.example.spendwise.model.Budget;
 import com.example.spendwise.model.Category;
+import com.example.spendwise.repository.ChildSyncEngine;
+import com.example.spendwise.repository.LocalStore;
+import com.example.spendwise.repository.SnapshotParsers;
+import com.example.spendwise.repository.SyncDelta;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,6 +26,11 @@ public class BudgetViewModel extends ViewModel {
     private final FirebaseAuth auth = FirebaseAuth.getInstance();
     private final MutableLiveData<List<Budget>> budgets = new MutableLiveData<>(new ArrayList<>());
     private final MutableLiveData<String> statusMessage = new MutableLiveData<>();
+    private final LocalStore localStore = LocalStore.getInstance();
+    private boolean remoteLoaded = false;
+    private boolean initialSnapshotStored = false;
+    private ChildSyncEngine<Budget> budgetSync;
+    private Observer<List<Budget>> syncedListObserver;
 
     public LiveData<List<Budget>> getBudgets() {
         loadBudgets();
@@ -40,43 +47,72 @@ public class BudgetViewModel extends ViewModel {
             statusMessage.setValue("User not authenticated");
             return;
         }
+        if (budgetSync != null) {
+            // Already listening; repeated getBudgets() calls must not stack listeners
+            return;
+        }
 
-        database.child("users")
-                .child(user.getUid())
-                .child("budgets")
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot snapshot) {
-                        List<Budget> budgetList = new ArrayList<>();
-                        for (DataSnapshot budgetSnapshot : snapshot.getChildren()) {
-                            String id = budgetSnapshot.getKey();
-                            String name = budgetSnapshot.child("name").getValue(String.class);
-                            Double amount = budgetSnapshot.child("amount").getValue(Double.class);
-                            String categoryStr = budgetSnapshot.child("category")
-                                    .getValue(String.class);
-                            String date = budgetSnapshot.child("date").getValue(String.class);
-                            String freq = budgetSnapshot.child("freq").getValue(String.class);
-
-                            if (name != null && amount != null && categoryStr != null
-                                    && date != null && freq != null) {
-                                try {
-                                    Category category = Category.valueOf(categoryStr);
-                                    Budget budget = new Budget(name, amount, category, date, freq);
-                                    budget.setId(id);
-                                    budgetList.add(budget);
-                                } catch (IllegalArgumentException e) {
-                                    // Skip invalid category
-                                }
-                            }
-                        }
-                        budgets.setValue(budgetList);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        statusMessage.setValue("Error loading budgets: " + error.getMessage());
-                    }
-                });
+        String uid = user.getUid();
+        if (localStore != null) {
+            // Render the last synced budgets while Firebase loads
+            localStore.loadBudgets(uid, localBudgets -> {
+                if (!remoteLoaded && !localBudgets.isEmpty()) {
+                    budgets.setValue(localBudgets);
+                }
+            });
+        }
+
+        budgetSync = new ChildSyncEngine<>(
+                database.child("users").child(uid).child("budgets"),
+                SnapshotParsers::parseBudget);
+        budgetSync.setErrorListener(error ->
+                statusMessage.setValue("Error loading budgets: " + error.getMessage()));
+        budgetSync.addDeltaListener(delta -> {
+            if (localStore == null || !budgetSync.isLoaded()) {
+                return;
+            }
+            if (delta.getType() == SyncDelta.Type.REMOVE) {
+                localStore.deleteBudget(uid, delta.getKey());
+            } else {
+                localStore.upsertBudget(uid, delta.getItem());
+            }
+        });
+        syncedListObserver = budgetList -> {
+            if (!budgetSync.isLoaded() && budgetList.isEmpty()) {
+                return;
+            }
+            remoteLoaded = true;
+            if (localStore != null && budgetSync.isLoaded() && !initialSnapshotStored) {
+                initialSnapshotStored = true;
+                localStore.replaceBudgets(uid, budgetList);
+            }
+            budgets.setValue(budgetList);
+        };
+        budgetSync.getList().observeForever(syncedListObserver);
+        budgetSync.start();
+    }
+
+    /** Per-change stream of inserts, updates and removals from Firebase. */
+    public void addBudgetDeltaListener(ChildSyncEngine.DeltaListener<Budget> listener) {
+        loadBudgets();
+        if (budgetSync != null) {
+            budgetSync.addDeltaListener(listener);
+        }
+    }
+
+    public void removeBudgetDeltaListener(ChildSyncEngine.DeltaListener<Budget> listener) {
+        if (budgetSync != null) {
+            budgetSync.removeDeltaListener(listener);
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (budgetSync != null) {
+            budgetSync.getList().removeObserver(syncedListObserver);
+            budgetSync.stop();
+        }
     }
 
     public void addBudget(String name, double amount, Category category, String date, String freq) {
@@ -90,7 +126,8 @@ public class BudgetViewModel extends ViewModel {
 
         Map<String, Object> budgetData = new HashMap<>();
         budgetData.put("name", budget.getName());
-        budgetData.put("amount", budget.getAmount());
+        budgetData.put(SnapshotParsers.AMOUNT, budget.getAmount());
+        budgetData.put(SnapshotParsers.AMOUNT_CENTS, budget.getAmountCents());
         budgetData.put("category", budget.getCategory().name());
         budgetData.put("date", budget.getDate());
         budgetData.put("freq", budget.getfreq());
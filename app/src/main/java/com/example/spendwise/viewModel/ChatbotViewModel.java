@@ -1,5 +1,7 @@
 package com.example.spendwise.viewModel;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
@@ -13,23 +15,35 @@ import com.example.spendwise.command.MonthlyComparisonCommand;
 import com.example.spendwise.command.BudgetQueryCommand;
 import com.example.spendwise.command.ExpenseQueryCommand;
 import com.example.spendwise.command.SavingCircleQueryCommand;
+import com.example.spendwise.logic.FinancialContextProvider;
 import com.example.spendwise.model.ChatMessage;
 import com.example.spendwise.model.ChatSession;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.ExpenseRepository;
+import com.example.spendwise.repository.SnapshotParsers;
+import com.example.spendwise.util.DateCodec;
 import com.example.spendwise.util.NotificationConstants;
 import com.example.spendwise.view.Network;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * ViewModel for managing AI chatbot interactions and chat session persistence.
@@ -47,8 +61,17 @@ public class ChatbotViewModel extends ViewModel {
     /** LiveData for status messages - used for error notifications */
     private final MutableLiveData<String> statusMessage = new MutableLiveData<>("");
 
+    /** LiveData for the reply being streamed; null when no reply is streaming */
+    private final MutableLiveData<StreamingText> streamingText = new MutableLiveData<>();
+
+    /** Main thread handler; streamed tokens and the message list are updated on it */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
     /** Network instance for making API calls to Ollama */
     private final Network network = new Network();
+
+    /** Replies still being generated; cancelled on a new session and in onCleared() */
+    private final List<PendingReply> pendingReplies = new ArrayList<>();
     
     /** Firebase database reference for chat session persistence */
     private final DatabaseReference dbRef = FirebaseDatabase.getInstance().getReference();
@@ -76,8 +99,33 @@ public class ChatbotViewModel extends ViewModel {
     /** Command Pattern: List of available chatbot commands for extensible command handling */
     private final List<ChatCommand> commands;
     
-    /** Flag to track if title generation is in progress for current session */
-    private boolean isGeneratingTitle = false;
+    /**
+     * Sessions that already have a title or are getting one. Main thread only;
+     * kept per session so a title still being generated for an abandoned
+     * session does not hold up the next one.
+     */
+    private final Set<String> titledSessions = new HashSet<>();
+
+    /** Per-user node holding one metadata entry per chat session */
+    private static final String SESSION_INDEX = "chatSessionIndex";
+
+    /** Per-user flag set once older sessions have been copied into the index */
+    private static final String SESSION_INDEX_BUILT = "chatSessionIndexBuilt";
+
+    /** User whose session index is known to be built */
+    private String sessionIndexCheckedFor;
+
+    /** Number of sessions fetched per page of the previous chats list */
+    public static final int SESSION_PAGE_SIZE = 20;
+
+    /** Shared expense copy, acquired on first use and released in onCleared() */
+    private ExpenseRepository expenseRepository;
+
+    /** User the expense copy belongs to */
+    private String expenseRepositoryUid;
+
+    /** Spending summaries over the shared expense copy */
+    private FinancialContextProvider financialContext;
 
     /**
      * Constructor initializes the Command Pattern command list.
@@ -95,6 +143,29 @@ public class ChatbotViewModel extends ViewModel {
         );
     }
 
+    /**
+     * Text of an AI reply that is still being generated.
+     */
+    public static final class StreamingText {
+        private final int position;
+        private final String text;
+
+        StreamingText(int position, String text) {
+            this.position = position;
+            this.text = text;
+        }
+
+        /** @return The reply's position in the message list */
+        public int getPosition() {
+            return position;
+        }
+
+        /** @return The reply's text so far */
+        public String getText() {
+            return text;
+        }
+    }
+
     /**
      * Callback interface for retrieving previous chat sessions asynchronously.
      */
@@ -102,7 +173,7 @@ public class ChatbotViewModel extends ViewModel {
         /**
          * Called when previous chat sessions are retrieved from Firebase.
          * 
-         * @param previousSessions List of previous chat sessions, ordered by timestamp
+         * @param previousSessions List of previous chat sessions, newest first
          */
         void onResult(List<ChatSession> previousSessions);
     }
@@ -134,6 +205,15 @@ public class ChatbotViewModel extends ViewModel {
         return statusMessage;
     }
 
+    /**
+     * Gets the LiveData stream for the text of the reply being generated.
+     * 
+     * @return LiveData holding the streaming reply's position and text so far, or null
+     */
+    public LiveData<StreamingText> getStreamingText() {
+        return streamingText;
+    }
+
     /**
      * Sends a user message to the chatbot and processes the response.
      * Handles session creation, Command Pattern matching, and AI API calls.
@@ -152,6 +232,7 @@ public class ChatbotViewModel extends ViewModel {
         if (previousSessionId != null) {
             currentSessionId = previousSessionId;
             isNewSession = false;
+            titledSessions.add(previousSessionId);
         } else if (isNewSession) {
             // Create new session only on first message
             currentSessionId = dbRef.child("users")
@@ -180,33 +261,181 @@ public class ChatbotViewModel extends ViewModel {
 
         // Normal API call
         isLoading.setValue(true);
-        network.chat(userMessage, new Network.Callback() {
+        streamReply(userMessage, userMessage, NotificationConstants.LLAMA_SLEEPING_MESSAGE, true);
+    }
+
+    /**
+     * Streams an AI reply into the message list as it is generated.
+     * 
+     * <p>The AI message is added when the first token arrives. Later tokens only
+     * update {@link #getStreamingText()}, so the Chatbot screen redraws that one
+     * bubble instead of the whole conversation. Tokens arrive on the network
+     * thread and are handed to the main thread, at most one update at a time.
+     * The list is republished and the session saved once the whole reply is in.
+     * 
+     * @param prompt The prompt sent to the AI
+     * @param originalMessage The user's message, saved with the reply
+     * @param fallbackMessage Shown in place of the reply if the request fails
+     * @param reportError Whether to also post the error as a status message
+     */
+    private void streamReply(String prompt, String originalMessage, String fallbackMessage,
+                             boolean reportError) {
+        ChatMessage reply = new ChatMessage("ai", "");
+        StringBuilder text = new StringBuilder();
+        AtomicBoolean updatePending = new AtomicBoolean(false);
+        // Position of the reply in the list; main thread only
+        final int[] position = {-1};
+
+        Runnable showProgress = () -> {
+            updatePending.set(false);
+            String soFar;
+            synchronized (text) {
+                soFar = text.toString();
+            }
+            if (position[0] < 0) {
+                reply.setContent(soFar);
+                position[0] = appendMessage(reply);
+                isLoading.setValue(false);
+            } else {
+                streamingText.setValue(new StreamingText(position[0], soFar));
+            }
+        };
+
+        // Listed before the request starts, so a reply that completes at once
+        // (a cached one) is already there to be dropped
+        PendingReply pending = new PendingReply();
+        synchronized (pendingReplies) {
+            pendingReplies.add(pending);
+        }
+        pending.start(network.chatStream(prompt, new Network.StreamCallback() {
             @Override
-            public void onSuccess(String reply) {
-                addMessage(new ChatMessage("ai", reply));
-                updateOrSaveSession(userMessage, reply);
-                isLoading.postValue(false);
+            public void onToken(String token) {
+                synchronized (text) {
+                    text.append(token);
+                }
+                if (updatePending.compareAndSet(false, true)) {
+                    mainHandler.post(showProgress);
+                }
+            }
+
+            @Override
+            public void onComplete(String fullReply) {
+                forgetPendingReply(pending);
+                mainHandler.post(() -> {
+                    finishReply(reply, position[0], fullReply);
+                    updateOrSaveSession(originalMessage, fullReply);
+                });
             }
 
             @Override
             public void onError(String error) {
-                addMessage(new ChatMessage("ai", NotificationConstants.LLAMA_SLEEPING_MESSAGE));
-                statusMessage.postValue(error);
-                isLoading.postValue(false);
+                forgetPendingReply(pending);
+                mainHandler.post(() -> {
+                    // A half-finished reply is replaced rather than left cut off
+                    finishReply(reply, position[0], fallbackMessage);
+                    if (reportError) {
+                        statusMessage.setValue(error);
+                    }
+                });
             }
-        });
+        }));
+    }
+
+    /**
+     * Gives a streamed reply its final text. Main thread only.
+     * 
+     * @param reply The reply's message
+     * @param position Where the reply is in the list, or -1 if it was never shown
+     * @param content The final text
+     */
+    private void finishReply(ChatMessage reply, int position, String content) {
+        reply.setContent(content);
+        if (position < 0) {
+            appendMessage(reply);
+        } else {
+            streamingText.setValue(null);
+            List<ChatMessage> current = messages.getValue();
+            messages.setValue(current != null ? new ArrayList<>(current) : new ArrayList<>());
+        }
+        isLoading.setValue(false);
+    }
+
+    /**
+     * Drops a finished reply from the pending list.
+     * 
+     * @param reply The reply's entry
+     */
+    private void forgetPendingReply(PendingReply reply) {
+        synchronized (pendingReplies) {
+            pendingReplies.remove(reply);
+        }
+    }
+
+    /**
+     * A reply being generated. Cancelling it before its request has started
+     * cancels the request as soon as it does.
+     */
+    private static final class PendingReply implements Network.Cancellable {
+        private Network.Cancellable request;
+        private boolean cancelled;
+
+        synchronized void start(Network.Cancellable request) {
+            this.request = request;
+            if (cancelled) {
+                request.cancel();
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            if (request != null) {
+                request.cancel();
+            }
+        }
+    }
+
+    /**
+     * Cancels every reply still being generated. Their callbacks are dropped, so
+     * nothing from an abandoned reply reaches the message list or Firebase.
+     */
+    private void cancelPendingReplies() {
+        List<PendingReply> replies;
+        synchronized (pendingReplies) {
+            replies = new ArrayList<>(pendingReplies);
+            pendingReplies.clear();
+        }
+        for (PendingReply reply : replies) {
+            reply.cancel();
+        }
     }
 
     /**
      * Adds a chat message to the current message list and notifies observers.
+     * Safe to call from any thread; the list itself is only changed on the main thread.
      * 
      * @param msg The chat message to add (user or AI message)
      */
     private void addMessage(ChatMessage msg) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            appendMessage(msg);
+        } else {
+            mainHandler.post(() -> appendMessage(msg));
+        }
+    }
+
+    /**
+     * Publishes a copy of the message list with the message appended. Main thread only.
+     * 
+     * @param msg The chat message to add
+     * @return The message's position in the list
+     */
+    private int appendMessage(ChatMessage msg) {
         List<ChatMessage> current = messages.getValue();
-        if (current == null) current = new ArrayList<>();
-        current.add(msg);
-        messages.postValue(current);
+        List<ChatMessage> updated = current != null ? new ArrayList<>(current) : new ArrayList<>();
+        updated.add(msg);
+        messages.setValue(updated);
+        return updated.size() - 1;
     }
 
     /**
@@ -239,9 +468,7 @@ public class ChatbotViewModel extends ViewModel {
                 
                 // Fallback if title is empty or too short
                 if (cleanTitle.isEmpty() || cleanTitle.length() < 3) {
-                    cleanTitle = firstUserMessage.length() > 50 
-                            ? firstUserMessage.substring(0, 47) + "..." 
-                            : firstUserMessage;
+                    cleanTitle = fallbackTitle(firstUserMessage);
                 }
                 
                 callback.onTitleGenerated(cleanTitle);
@@ -251,14 +478,18 @@ public class ChatbotViewModel extends ViewModel {
             public void onError(String error) {
                 // Fallback to truncated first message if AI fails
                 Log.w("ChatbotViewModel", "AI title generation failed, using fallback: " + error);
-                String fallbackTitle = firstUserMessage.length() > 50 
-                        ? firstUserMessage.substring(0, 47) + "..." 
-                        : firstUserMessage;
-                callback.onTitleGenerated(fallbackTitle);
+                callback.onTitleGenerated(fallbackTitle(firstUserMessage));
             }
         });
     }
 
+    /** Title used until the AI one arrives: the first message, cut to 50 characters. */
+    private static String fallbackTitle(String firstUserMessage) {
+        return firstUserMessage.length() > 50
+                ? firstUserMessage.substring(0, 47) + "..."
+                : firstUserMessage;
+    }
+
     /**
      * Callback interface for AI title generation.
      */
@@ -272,13 +503,13 @@ public class ChatbotViewModel extends ViewModel {
     }
 
     /**
-     * Updates an existing chat session or saves a new one to Firebase.
+     * Appends the latest turn to the current chat session in Firebase.
      * 
      * <p>This method:
      * <ul>
-     *   <li>Generates an AI-powered title for new sessions</li>
      *   <li>Creates a summary from the AI's last reply</li>
-     *   <li>Persists all messages and session metadata to Firebase</li>
+     *   <li>Appends only the new user/AI message pair, so each turn costs the same to save</li>
+     *   <li>Stores a fallback title with the first turn, then replaces it with an AI-generated one</li>
      * </ul>
      * 
      * @param userMessage The user's message that triggered this save
@@ -288,9 +519,18 @@ public class ChatbotViewModel extends ViewModel {
         if (currentSessionId == null) return;
 
         String currentUserId = getCurrentUserId();
+        String sessionId = currentSessionId;
         List<ChatMessage> allMessages = messages.getValue();
         if (allMessages == null || allMessages.isEmpty()) return;
 
+        // Generate summary from LAST AI reply
+        String summary = aiReply.length() > 80 ? aiReply.substring(0, 77) + "..." : aiReply;
+
+        if (!titledSessions.add(sessionId)) {
+            appendTurnToFirebase(currentUserId, sessionId, summary, userMessage, aiReply, null);
+            return;
+        }
+
         // Get first user message for title generation
         String firstUserMessage = userMessage;
         for (ChatMessage msg : allMessages) {
@@ -300,61 +540,57 @@ public class ChatbotViewModel extends ViewModel {
             }
         }
 
-        // Generate summary from LAST AI reply
-        String summary = aiReply.length() > 80 ? aiReply.substring(0, 77) + "..." : aiReply;
+        // Written now with the truncated first message as its title, so the
+        // session is listed and turns keep the order their replies finished in
+        // even while the AI title is still being generated
+        appendTurnToFirebase(currentUserId, sessionId, summary, userMessage, aiReply,
+                fallbackTitle(firstUserMessage));
 
-        // Check if this is the first AI reply (new session) - generate AI title
-        boolean isFirstAIResponse = allMessages.stream()
-                .filter(m -> "ai".equals(m.getRole()))
-                .count() == 1;
-
-        if (isFirstAIResponse && !isGeneratingTitle) {
-            // Generate AI title for new session
-            isGeneratingTitle = true;
-            generateChatTitle(firstUserMessage, title -> {
-                isGeneratingTitle = false;
-                saveSessionToFirebase(currentUserId, title, summary, allMessages);
-            });
-        } else {
-            // For continuing sessions, use existing title or generate fallback
-            String title = firstUserMessage.length() > 50 
-                    ? firstUserMessage.substring(0, 47) + "..." 
-                    : firstUserMessage;
-            saveSessionToFirebase(currentUserId, title, summary, allMessages);
-        }
+        generateChatTitle(firstUserMessage, title -> mainHandler.post(() -> {
+            if (!sessionId.equals(currentSessionId)) {
+                return; // User moved on; the session keeps its fallback title
+            }
+            saveSessionTitle(currentUserId, sessionId, title);
+        }));
     }
 
     /**
-     * Saves chat session data to Firebase database.
+     * Appends one user/AI message pair to a session and refreshes its metadata
+     * in a single updateChildren call.
+     * 
+     * <p>Messages are pushed children of the session's "messages" node. Push keys
+     * sort after the numeric keys of sessions saved as a list, so older sessions
+     * keep their order when new turns are appended. Title, summary, timestamp and
+     * message count live in the session index so the list can be paged without
+     * downloading messages.
      * 
      * @param userId The current user's ID
-     * @param title The session title (AI-generated or fallback)
+     * @param sessionId The session to append to
      * @param summary The session summary from AI's last reply
-     * @param allMessages All messages in the session
+     * @param userMessage The user's message for this turn
+     * @param aiReply The AI's reply for this turn
+     * @param title The session's title on its first turn, otherwise null
      */
-    private void saveSessionToFirebase(String userId, String title, String summary, List<ChatMessage> allMessages) {
-        Map<String, Object> sessionData = new HashMap<>();
-        sessionData.put("title", title);
-        sessionData.put("summary", summary);
-        sessionData.put("timestamp", System.currentTimeMillis());
-
-        // Save ALL messages
-        List<Map<String, String>> messageList = new ArrayList<>();
-        for (ChatMessage msg : allMessages) {
-            Map<String, String> msgMap = new HashMap<>();
-            msgMap.put("role", msg.getRole());
-            msgMap.put("content", msg.getContent());
-            messageList.add(msgMap);
+    private void appendTurnToFirebase(String userId, String sessionId, String summary,
+                                      String userMessage, String aiReply, String title) {
+        DatabaseReference userRef = dbRef.child("users").child(userId);
+        DatabaseReference messagesRef = userRef.child("chatSessions").child(sessionId).child("messages");
+        String messagesPath = "chatSessions/" + sessionId + "/messages/";
+        String indexPath = SESSION_INDEX + "/" + sessionId + "/";
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(messagesPath + messagesRef.push().getKey(), toMessageMap(new ChatMessage("user", userMessage)));
+        updates.put(messagesPath + messagesRef.push().getKey(), toMessageMap(new ChatMessage("ai", aiReply)));
+        updates.put(indexPath + "summary", summary);
+        updates.put(indexPath + "timestamp", System.currentTimeMillis());
+        updates.put(indexPath + "messageCount", ServerValue.increment(2));
+        if (title != null) {
+            updates.put(indexPath + "title", title);
         }
-        sessionData.put("messages", messageList);
 
-        Log.d("ChatbotViewModel", "Saving session: " + currentSessionId + " with " + allMessages.size() + " messages");
+        Log.d("ChatbotViewModel", "Appending turn to session: " + sessionId);
 
-        dbRef.child("users")
-                .child(currentUserId)
-                .child("chatSessions")
-                .child(currentSessionId)
-                .setValue(sessionData)
+        userRef.updateChildren(updates)
                 .addOnSuccessListener(aVoid -> Log.d("ChatbotViewModel", "Session saved successfully"))
                 .addOnFailureListener(e -> {
                     Log.e("ChatbotViewModel", "Failed to save session", e);
@@ -363,75 +599,217 @@ public class ChatbotViewModel extends ViewModel {
     }
 
     /**
-     * Retrieves all previous chat sessions for the current user from Firebase.
+     * Replaces a session's title in the session index. The list skips sessions
+     * without one, so the first turn already stores a fallback title.
+     */
+    private void saveSessionTitle(String userId, String sessionId, String title) {
+        dbRef.child("users").child(userId).child(SESSION_INDEX).child(sessionId).child("title")
+                .setValue(title)
+                .addOnFailureListener(e -> Log.e("ChatbotViewModel", "Failed to save session title", e));
+    }
+
+    private static Map<String, Object> toMessageMap(ChatMessage msg) {
+        Map<String, Object> msgMap = new HashMap<>();
+        msgMap.put("role", msg.getRole());
+        msgMap.put("content", msg.getContent());
+        msgMap.put("timestamp", msg.getTimestamp());
+        return msgMap;
+    }
+
+    /**
+     * Retrieves the most recent page of chat sessions for the current user.
      * 
-     * <p>Sessions are returned in reverse chronological order (newest first).
-     * Each session includes its title, summary, timestamp, and all messages.
+     * <p>Sessions are returned newest first by when they were started.
+     * Only metadata (title, summary, timestamp, message count) is read from the
+     * session index; messages are fetched when a session is opened.
      * 
      * @param callback Callback to receive the list of previous chat sessions
      */
     public void getPreviousChats(PreviousChatsCallback callback) {
+        getOlderChats(null, callback);
+    }
+
+    /**
+     * Retrieves the page of chat sessions started before the given one.
+     * 
+     * <p>Session ids are push keys, which sort by creation time, so the index
+     * is paged by key and needs no query index on the server.
+     * 
+     * @param beforeSessionId Only sessions started earlier are returned; pass the
+     *                        id of the last session of the previous page, or null
+     *                        for the newest page
+     * @param callback Callback to receive the sessions, newest first
+     */
+    public void getOlderChats(String beforeSessionId, PreviousChatsCallback callback) {
         String currentUserId = getCurrentUserId();
         Log.d("ChatbotViewModel", "Fetching previous chats for user: " + currentUserId);
 
-        dbRef.child("users").child(currentUserId).child("chatSessions")
-                .get()
-                .addOnCompleteListener(task -> {
-                    List<ChatSession> sessions = new ArrayList<>();
-
-                    if (task.isSuccessful() && task.getResult() != null) {
-                        Log.d("ChatbotViewModel", "Found " + task.getResult().getChildrenCount() + " sessions");
-
-                        for (DataSnapshot snapshot : task.getResult().getChildren()) {
-                            String id = snapshot.getKey();
-                            String title = snapshot.child("title").getValue(String.class);
-                            String summary = snapshot.child("summary").getValue(String.class);
-                            Long timestamp = snapshot.child("timestamp").getValue(Long.class);
-
-                            Log.d("ChatbotViewModel", "Session: " + id + " - " + title);
-
-                            if (id != null && title != null) {
-                                ChatSession session = new ChatSession(
-                                        id,
-                                        title,
-                                        summary != null ? summary : "",
-                                        timestamp != null ? timestamp : 0
-                                );
-
-                                // Load messages
-                                DataSnapshot messagesSnapshot = snapshot.child("messages");
-                                for (DataSnapshot msgSnap : messagesSnapshot.getChildren()) {
-                                    String role = msgSnap.child("role").getValue(String.class);
-                                    String content = msgSnap.child("content").getValue(String.class);
-                                    if (role != null && content != null) {
-                                        session.addMessage(new ChatMessage(role, content));
-                                    }
-                                }
-
-                                sessions.add(0, session); // Add at beginning for reverse chronological
-                            }
+        if (!currentUserId.equals(sessionIndexCheckedFor)) {
+            // Sessions saved before the index existed are indexed once per user
+            dbRef.child("users").child(currentUserId).child(SESSION_INDEX_BUILT).get()
+                    .addOnCompleteListener(task -> {
+                        Boolean built = task.isSuccessful() && task.getResult() != null
+                                ? task.getResult().getValue(Boolean.class) : null;
+                        if (built != null && built) {
+                            sessionIndexCheckedFor = currentUserId;
+                            getOlderChats(beforeSessionId, callback);
+                        } else {
+                            buildSessionIndex(currentUserId, beforeSessionId, callback);
                         }
-                    } else {
-                        Log.e("ChatbotViewModel", "Failed to fetch sessions", task.getException());
-                    }
+                    });
+            return;
+        }
 
-                    callback.onResult(sessions);
-                });
+        Query page = dbRef.child("users").child(currentUserId).child(SESSION_INDEX)
+                .orderByKey()
+                .limitToLast(SESSION_PAGE_SIZE);
+        if (beforeSessionId != null) {
+            page = page.endBefore(beforeSessionId);
+        }
+
+        page.get().addOnCompleteListener(task -> {
+            if (!task.isSuccessful() || task.getResult() == null) {
+                Log.e("ChatbotViewModel", "Failed to fetch sessions", task.getException());
+                callback.onResult(new ArrayList<>());
+                return;
+            }
+
+            List<ChatSession> sessions = new ArrayList<>();
+            for (DataSnapshot snapshot : task.getResult().getChildren()) {
+                ChatSession session = parseSessionMetadata(snapshot);
+                if (session != null) {
+                    sessions.add(0, session); // Add at beginning for reverse chronological
+                }
+            }
+            Log.d("ChatbotViewModel", "Found " + sessions.size() + " sessions");
+            callback.onResult(sessions);
+        });
+    }
+
+    /**
+     * One-time migration for sessions saved before the index existed: reads the
+     * full sessions node once, writes an index entry per session, marks the
+     * index as built and then returns the requested page from the index.
+     */
+    private void buildSessionIndex(String userId, String beforeSessionId, PreviousChatsCallback callback) {
+        DatabaseReference userRef = dbRef.child("users").child(userId);
+        userRef.child("chatSessions").get().addOnCompleteListener(task -> {
+            List<ChatSession> sessions = new ArrayList<>();
+            if (!task.isSuccessful() || task.getResult() == null) {
+                Log.e("ChatbotViewModel", "Failed to fetch sessions", task.getException());
+                callback.onResult(sessions);
+                return;
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            updates.put(SESSION_INDEX_BUILT, true);
+            for (DataSnapshot snapshot : task.getResult().getChildren()) {
+                ChatSession session = parseSessionMetadata(snapshot);
+                if (session == null) {
+                    continue;
+                }
+                session.setMessageCount((int) snapshot.child("messages").getChildrenCount());
+                updates.put(SESSION_INDEX + "/" + session.getId(), toIndexEntry(session));
+                sessions.add(session);
+            }
+
+            userRef.updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        sessionIndexCheckedFor = userId;
+                        getOlderChats(beforeSessionId, callback);
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e("ChatbotViewModel", "Failed to index sessions", e);
+                        // Still show what was read, newest first
+                        sessions.sort((a, b) -> b.getId().compareTo(a.getId()));
+                        callback.onResult(sessions);
+                    });
+        });
+    }
+
+    private static ChatSession parseSessionMetadata(DataSnapshot snapshot) {
+        String id = snapshot.getKey();
+        String title = snapshot.child("title").getValue(String.class);
+        String summary = snapshot.child("summary").getValue(String.class);
+        Long timestamp = snapshot.child("timestamp").getValue(Long.class);
+        Long messageCount = snapshot.child("messageCount").getValue(Long.class);
+
+        if (id == null || title == null) {
+            return null;
+        }
+        ChatSession session = new ChatSession(
+                id,
+                title,
+                summary != null ? summary : "",
+                timestamp != null ? timestamp : 0
+        );
+        if (messageCount != null) {
+            session.setMessageCount(messageCount.intValue());
+        }
+        return session;
+    }
+
+    private static Map<String, Object> toIndexEntry(ChatSession session) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("title", session.getTitle());
+        entry.put("summary", session.getSummary());
+        entry.put("timestamp", session.getTimestamp());
+        entry.put("messageCount", session.getMessageCount());
+        return entry;
     }
 
     /**
      * Loads a previous chat session into the current chat view.
      * 
-     * <p>This method restores all messages from the selected session and sets
-     * the current session ID to continue the conversation.
+     * <p>This method sets the current session ID to continue the conversation
+     * and fetches the session's messages. Messages sent before they arrive are
+     * kept after the loaded history.
      * 
      * @param session The chat session to load
      */
     public void loadSession(ChatSession session) {
-        currentSessionId = session.getId();
+        String sessionId = session.getId();
+        currentSessionId = sessionId;
         isNewSession = false; // We're continuing an existing session
+        titledSessions.add(sessionId);
         messages.setValue(new ArrayList<>(session.getMessages()));
-        Log.d("ChatbotViewModel", "Loaded session: " + currentSessionId + " with " + session.getMessages().size() + " messages");
+        if (!session.getMessages().isEmpty()) {
+            Log.d("ChatbotViewModel", "Loaded session: " + sessionId + " with " + session.getMessages().size() + " messages");
+            return;
+        }
+
+        dbRef.child("users").child(getCurrentUserId())
+                .child("chatSessions").child(sessionId).child("messages")
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    if (!sessionId.equals(currentSessionId)) {
+                        return; // User moved on to another session
+                    }
+                    List<ChatMessage> history = new ArrayList<>();
+                    for (DataSnapshot msgSnap : snapshot.getChildren()) {
+                        String role = msgSnap.child("role").getValue(String.class);
+                        String content = msgSnap.child("content").getValue(String.class);
+                        Long sentAt = msgSnap.child("timestamp").getValue(Long.class);
+                        if (role != null && content != null) {
+                            ChatMessage message = new ChatMessage(role, content);
+                            if (sentAt != null) {
+                                message.setTimestamp(sentAt);
+                            }
+                            history.add(message);
+                        }
+                    }
+                    List<ChatMessage> current = messages.getValue();
+                    if (current != null) {
+                        history.addAll(current);
+                    }
+                    session.setMessages(history);
+                    messages.setValue(history);
+                    Log.d("ChatbotViewModel", "Loaded session: " + sessionId + " with " + history.size() + " messages");
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("ChatbotViewModel", "Failed to load session messages", e);
+                    statusMessage.setValue("Failed to load conversation: " + e.getMessage());
+                });
     }
 
     /**
@@ -441,6 +819,8 @@ public class ChatbotViewModel extends ViewModel {
      * The next message sent will create a new session in Firebase.
      */
     public void startNewSession() {
+        cancelPendingReplies();
+        isLoading.setValue(false);
         currentSessionId = null;
         isNewSession = true;
         messages.setValue(new ArrayList<>());
@@ -457,186 +837,63 @@ public class ChatbotViewModel extends ViewModel {
      */
     public void computeWeeklySpending(String originalMessage) {
         isLoading.setValue(true);
-        String currentUserId = getCurrentUserId();
 
-        // Get last 7 days instead of "week starting Sunday"
-        Calendar cal = Calendar.getInstance();
-        cal.add(Calendar.DAY_OF_YEAR, -7);
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        long weekStart = cal.getTimeInMillis();
+        withFinancialContext(context -> {
+            // Send to AI for human-like phrasing
+            String prompt = context.weeklyPrompt(new Date());
 
-        Log.d("ChatbotViewModel", "Fetching expenses from last 7 days: " + new Date(weekStart));
-        Log.d("ChatbotViewModel", "Querying path: users/" + currentUserId + "/expenses");
-
-        dbRef.child("users").child(currentUserId).child("expenses")
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        addMessage(new ChatMessage("ai", "😴 Could not fetch expenses."));
-                        isLoading.setValue(false);
-                        Log.e("ChatbotViewModel", "Failed to fetch expenses", task.getException());
-                        return;
-                    }
-
-                    Map<String, Double> categoryTotals = new HashMap<>();
-                    double totalSpent = 0;
-                    int expenseCount = 0;
-                    int totalExpensesInDB = 0;
-                    SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-
-                    Log.d("ChatbotViewModel", "Total expense records in DB: " + task.getResult().getChildrenCount());
-
-                    for (DataSnapshot expense : task.getResult().getChildren()) {
-                        totalExpensesInDB++;
-                        String expenseId = expense.getKey();
-                        Log.d("ChatbotViewModel", "Processing expense ID: " + expenseId);
-                        Long timestamp = expense.child("timestamp").getValue(Long.class);
-                        String dateStr = expense.child("date").getValue(String.class);
-                        String category = expense.child("category").getValue(String.class);
-                        Double amount = expense.child("amount").getValue(Double.class);
-                        String name = expense.child("name").getValue(String.class);
-
-                        Log.d("ChatbotViewModel", "  Raw data - name: " + name + ", category: " + category + ", amount: " + amount + ", date: " + dateStr);
-
-                        // Parse date string if timestamp is null
-                        if (timestamp == null && dateStr != null) {
-                            try {
-                                Date parsedDate = sdf.parse(dateStr);
-                                if (parsedDate != null) {
-                                    timestamp = parsedDate.getTime();
-                                }
-                            } catch (Exception e) {
-                                Log.e("ChatbotViewModel", "Failed to parse date: " + dateStr, e);
-                            }
-                        }
-
-                        Log.d("ChatbotViewModel", "  Processed - " + category + " - $" + amount + " at " + (timestamp != null ? new Date(timestamp) : "null") + " (date string: " + dateStr + ")");
-
-                        // Filter by week in-memory
-                        if (timestamp != null && timestamp >= weekStart && amount != null && category != null) {
-                            totalSpent += amount;
-                            categoryTotals.put(category,
-                                    categoryTotals.getOrDefault(category, 0.0) + amount);
-                            expenseCount++;
-                            Log.d("ChatbotViewModel", "  ✓ INCLUDED in weekly total");
-                        } else {
-                            Log.d("ChatbotViewModel", "  ✗ EXCLUDED - timestamp: " + (timestamp != null) + ", inRange: " + (timestamp != null && timestamp >= weekStart) + ", hasAmount: " + (amount != null) + ", hasCategory: " + (category != null));
-                        }
-                    }
-
-                    Log.d("ChatbotViewModel", "Processed " + totalExpensesInDB + " total expenses");
-                    Log.d("ChatbotViewModel", "Total expenses this week: " + expenseCount + " = $" + totalSpent);
-
-                    // Build data context for AI
-                    StringBuilder dataContext = new StringBuilder();
-                    dataContext.append("Last 7 days spending data:\n");
-                    dataContext.append("Total: $").append(String.format("%.2f", totalSpent)).append("\n");
-                    dataContext.append("Number of expenses: ").append(expenseCount).append("\n");
-                    dataContext.append("By category:\n");
-                    for (Map.Entry<String, Double> entry : categoryTotals.entrySet()) {
-                        dataContext.append("- ").append(entry.getKey())
-                                .append(": $").append(String.format("%.2f", entry.getValue())).append("\n");
-                    }
-
-                    // Send to AI for human-like phrasing
-                    String prompt = dataContext.toString() +
-                            "\nPlease summarize the last 7 days of spending in a friendly, conversational way.";
-
-                    callAIWithData(originalMessage, prompt);
-                });
+            callAIWithData(originalMessage, prompt);
+        });
     }
 
     /**
      * Analyzes spending (last 30 days) and suggests cost reduction areas.
      * Compares spending against budgets and sends analysis to AI for suggestions.
      * 
+     * <p>The budgets are requested at the same time as the expenses are loaded,
+     * rather than after them.
+     * 
      * @param originalMessage The original user message that triggered this command
      */
     public void suggestCostCutting(String originalMessage) {
         isLoading.setValue(true);
         String currentUserId = getCurrentUserId();
 
-        dbRef.child("users").child(currentUserId).child("expenses")
-                .get().addOnCompleteListener(expenseTask -> {
-                    dbRef.child("users").child(currentUserId).child("budgets")
-                            .get().addOnCompleteListener(budgetTask -> {
-
-                                if (!expenseTask.isSuccessful() || !budgetTask.isSuccessful()) {
-                                    addMessage(new ChatMessage("ai", "😴 Could not fetch data."));
-                                    isLoading.setValue(false);
-                                    return;
-                                }
-
-                                Map<String, Double> spending = new HashMap<>();
-                                Map<String, Double> budgets = new HashMap<>();
-                                SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-
-                                // Calculate spending by category (last 30 days)
-                                long thirtyDaysAgo = System.currentTimeMillis() - (30L * 24 * 60 * 60 * 1000);
-                                for (DataSnapshot expense : expenseTask.getResult().getChildren()) {
-                                    Long timestamp = expense.child("timestamp").getValue(Long.class);
-                                    String dateStr = expense.child("date").getValue(String.class);
-
-                                    // Parse date string if timestamp is null
-                                    if (timestamp == null && dateStr != null) {
-                                        try {
-                                            Date parsedDate = sdf.parse(dateStr);
-                                            if (parsedDate != null) {
-                                                timestamp = parsedDate.getTime();
-                                            }
-                                        } catch (Exception e) {
-                                            Log.e("ChatbotViewModel", "Failed to parse date: " + dateStr, e);
-                                        }
-                                    }
-
-                                    if (timestamp != null && timestamp >= thirtyDaysAgo) {
-                                        String cat = expense.child("category").getValue(String.class);
-                                        Double amt = expense.child("amount").getValue(Double.class);
-                                        if (cat != null && amt != null) {
-                                            spending.put(cat, spending.getOrDefault(cat, 0.0) + amt);
-                                        }
-                                    }
-                                }
-
-                                // Get budget limits
-                                for (DataSnapshot budget : budgetTask.getResult().getChildren()) {
-                                    String cat = budget.child("category").getValue(String.class);
-                                    Double amt = budget.child("amount").getValue(Double.class);
-                                    if (cat != null && amt != null) {
-                                        budgets.put(cat, amt);
-                                    }
-                                }
-
-                                // Build analysis
-                                StringBuilder analysis = new StringBuilder();
-                                analysis.append("Spending analysis (last 30 days):\n");
-
-                                for (Map.Entry<String, Double> entry : spending.entrySet()) {
-                                    String category = entry.getKey();
-                                    double spent = entry.getValue();
-                                    Double budget = budgets.get(category);
-
-                                    analysis.append("- ").append(category).append(": $")
-                                            .append(String.format("%.2f", spent));
-
-                                    if (budget != null) {
-                                        double percentage = (spent / budget) * 100;
-                                        analysis.append(" (").append(String.format("%.0f", percentage))
-                                                .append("% of $").append(String.format("%.2f", budget))
-                                                .append(" budget)");
-                                    }
-                                    analysis.append("\n");
-                                }
-
-                                String prompt = analysis.toString() +
-                                        "\nBased on this data, suggest specific areas where I can reduce spending. " +
-                                        "Be practical and encouraging.";
-
-                                callAIWithData(originalMessage, prompt);
-                            });
-                });
+        Task<DataSnapshot> budgetTask = dbRef.child("users").child(currentUserId).child("budgets").get();
+        TaskCompletionSource<FinancialContextProvider> contextSource = new TaskCompletionSource<>();
+        acquireExpenses().whenLoaded(new ExpenseRepository.LoadCallback() {
+            @Override
+            public void onLoaded(List<Expense> expenses) {
+                contextSource.setResult(financialContext);
+            }
+
+            @Override
+            public void onError(String message) {
+                contextSource.setException(new Exception(message));
+            }
+        });
+
+        Tasks.whenAllComplete(budgetTask, contextSource.getTask()).addOnCompleteListener(done -> {
+            if (!budgetTask.isSuccessful() || !contextSource.getTask().isSuccessful()) {
+                addMessage(new ChatMessage("ai", "😴 Could not fetch data."));
+                isLoading.setValue(false);
+                return;
+            }
+
+            // Get budget limits
+            Map<String, Double> budgets = new HashMap<>();
+            for (DataSnapshot budget : budgetTask.getResult().getChildren()) {
+                String cat = budget.child("category").getValue(String.class);
+                Double amt = SnapshotParsers.readAmount(budget);
+                if (cat != null && amt != null) {
+                    budgets.put(cat, amt);
+                }
+            }
+
+            String prompt = contextSource.getTask().getResult().costCuttingPrompt(new Date(), budgets);
+
+            callAIWithData(originalMessage, prompt);
+        });
     }
 
     /**
@@ -647,122 +904,88 @@ public class ChatbotViewModel extends ViewModel {
      */
     public void compareToLastMonth(String originalMessage) {
         isLoading.setValue(true);
-        String currentUserId = getCurrentUserId();
-
-        dbRef.child("users").child(currentUserId).child("expenses")
-                .get().addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        addMessage(new ChatMessage("ai", "😴 Could not fetch expenses."));
-                        isLoading.setValue(false);
-                        return;
-                    }
 
-                    Calendar cal = Calendar.getInstance();
-
-                    // Current month range
-                    cal.set(Calendar.DAY_OF_MONTH, 1);
-                    cal.set(Calendar.HOUR_OF_DAY, 0);
-                    cal.set(Calendar.MINUTE, 0);
-                    cal.set(Calendar.SECOND, 0);
-                    long currentMonthStart = cal.getTimeInMillis();
-
-                    // Last month range
-                    cal.add(Calendar.MONTH, -1);
-                    long lastMonthStart = cal.getTimeInMillis();
-
-                    double currentMonthTotal = 0;
-                    double lastMonthTotal = 0;
-                    Map<String, Double> currentCategories = new HashMap<>();
-                    Map<String, Double> lastCategories = new HashMap<>();
-                    SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-
-                    for (DataSnapshot expense : task.getResult().getChildren()) {
-                        Long timestamp = expense.child("timestamp").getValue(Long.class);
-                        String dateStr = expense.child("date").getValue(String.class);
-                        String category = expense.child("category").getValue(String.class);
-                        Double amount = expense.child("amount").getValue(Double.class);
-
-                        // Parse date string if timestamp is null
-                        if (timestamp == null && dateStr != null) {
-                            try {
-                                Date parsedDate = sdf.parse(dateStr);
-                                if (parsedDate != null) {
-                                    timestamp = parsedDate.getTime();
-                                }
-                            } catch (Exception e) {
-                                Log.e("ChatbotViewModel", "Failed to parse date: " + dateStr, e);
-                            }
-                        }
-
-                        if (timestamp != null && amount != null && category != null) {
-                            if (timestamp >= currentMonthStart) {
-                                currentMonthTotal += amount;
-                                currentCategories.put(category,
-                                        currentCategories.getOrDefault(category, 0.0) + amount);
-                            } else if (timestamp >= lastMonthStart && timestamp < currentMonthStart) {
-                                lastMonthTotal += amount;
-                                lastCategories.put(category,
-                                        lastCategories.getOrDefault(category, 0.0) + amount);
-                            }
-                        }
-                    }
+        withFinancialContext(context -> {
+            String prompt = context.comparisonPrompt(new Date());
 
-                    StringBuilder comparison = new StringBuilder();
-                    comparison.append("Month-over-month comparison:\n");
-                    comparison.append("Last month total: $").append(String.format("%.2f", lastMonthTotal)).append("\n");
-                    comparison.append("This month total: $").append(String.format("%.2f", currentMonthTotal)).append("\n");
+            callAIWithData(originalMessage, prompt);
+        });
+    }
 
-                    double difference = currentMonthTotal - lastMonthTotal;
-                    double percentChange = lastMonthTotal > 0 ? (difference / lastMonthTotal) * 100 : 0;
+    /**
+     * Runs the given action with the current user's expenses from the shared
+     * {@link ExpenseRepository}, so the chatbot never downloads them separately.
+     * Shows the usual error message if they cannot be loaded.
+     *
+     * @param action Work to run once the expenses are available
+     */
+    private void withExpenses(ExpensesAction action) {
+        acquireExpenses().whenLoaded(new ExpenseRepository.LoadCallback() {
+            @Override
+            public void onLoaded(List<Expense> expenses) {
+                action.run(expenses);
+            }
 
-                    comparison.append("Difference: $").append(String.format("%.2f", difference))
-                            .append(" (").append(String.format("%.1f", percentChange)).append("%)\n\n");
+            @Override
+            public void onError(String message) {
+                addMessage(new ChatMessage("ai", "😴 Could not fetch expenses."));
+                isLoading.setValue(false);
+                Log.e("ChatbotViewModel", "Failed to fetch expenses: " + message);
+            }
+        });
+    }
 
-                    comparison.append("Category breakdown:\n");
-                    for (String category : currentCategories.keySet()) {
-                        double current = currentCategories.get(category);
-                        double last = lastCategories.getOrDefault(category, 0.0);
-                        double catDiff = current - last;
+    /** Work that needs the current user's expenses. */
+    private interface ExpensesAction {
+        void run(List<Expense> expenses);
+    }
 
-                        comparison.append("- ").append(category)
-                                .append(": $").append(String.format("%.2f", current))
-                                .append(" vs $").append(String.format("%.2f", last))
-                                .append(" (").append(catDiff >= 0 ? "+" : "")
-                                .append(String.format("%.2f", catDiff)).append(")\n");
-                    }
+    /**
+     * Runs the given action with spending summaries over the current user's
+     * expenses. The summaries read the repository's running per-category day
+     * totals, so no expense list is scanned or date string parsed here.
+     *
+     * @param action Work to run once the expenses are available
+     */
+    private void withFinancialContext(FinancialContextAction action) {
+        withExpenses(expenses -> action.run(financialContext));
+    }
 
-                    String prompt = comparison.toString() +
-                            "\nAnalyze my spending performance. Highlight improvements and areas of concern. " +
-                            "Be specific and actionable.";
+    /** Work that needs spending summaries for the current user. */
+    private interface FinancialContextAction {
+        void run(FinancialContextProvider context);
+    }
 
-                    callAIWithData(originalMessage, prompt);
-                });
+    /**
+     * Returns the shared expense copy for the current user, acquiring it on
+     * first use or when the user has changed.
+     *
+     * @return The current user's expense repository
+     */
+    private ExpenseRepository acquireExpenses() {
+        String currentUserId = getCurrentUserId();
+        if (expenseRepository == null || !currentUserId.equals(expenseRepositoryUid)) {
+            if (expenseRepository != null) {
+                expenseRepository.release();
+            }
+            expenseRepository = ExpenseRepository.acquire(currentUserId);
+            expenseRepositoryUid = currentUserId;
+            financialContext = new FinancialContextProvider(expenseRepository.getDayIndex());
+        }
+        return expenseRepository;
     }
 
     /**
      * Helper method to call AI API with pre-computed data context.
      * 
-     * <p>This method wraps the Network.chat() call and handles the response,
-     * adding the AI reply to messages and saving the session.
+     * <p>This method streams the reply through Network.chatStream(), growing the
+     * AI message as tokens arrive and saving the session when it completes.
      * 
      * @param originalMessage The original user message for session tracking
      * @param prompt The formatted prompt with data context to send to AI
      */
     private void callAIWithData(String originalMessage, String prompt) {
-        network.chat(prompt, new Network.Callback() {
-            @Override
-            public void onSuccess(String reply) {
-                addMessage(new ChatMessage("ai", reply));
-                updateOrSaveSession(originalMessage, reply);
-                isLoading.postValue(false);
-            }
-
-            @Override
-            public void onError(String error) {
-                addMessage(new ChatMessage("ai", NotificationConstants.LLAMA_NAPPING_MESSAGE));
-                isLoading.postValue(false);
-            }
-        });
+        streamReply(prompt, originalMessage, NotificationConstants.LLAMA_NAPPING_MESSAGE, false);
     }
 
     // ========== ORIGINAL FETCH METHODS ==========
@@ -789,7 +1012,7 @@ public class ChatbotViewModel extends ViewModel {
                         for (DataSnapshot child : snapshot.getChildren()) {
                             String name = child.child("name").getValue(String.class);
                             String category = child.child("category").getValue(String.class);
-                            Double amount = child.child("amount").getValue(Double.class);
+                            Double amount = SnapshotParsers.readAmount(child);
                             budgetData.append("- ").append(name).append(" (").append(category).append("): $")
                                     .append(String.format("%.2f", amount)).append("\n");
                         }
@@ -811,40 +1034,26 @@ public class ChatbotViewModel extends ViewModel {
      */
     public void fetchExpensesWithContext(String originalMessage) {
         isLoading.setValue(true);
-        String currentUserId = getCurrentUserId();
-        dbRef.child("users").child(currentUserId).child("expenses")
-                .get().addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        addMessage(new ChatMessage("ai", "😴 Could not fetch expenses."));
-                        isLoading.setValue(false);
-                    } else {
-                        DataSnapshot snapshot = task.getResult();
-                        StringBuilder expenseData = new StringBuilder("User's recent expenses:\n");
-                        int count = 0;
-                        SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            String name = child.child("name").getValue(String.class);
-                            String category = child.child("category").getValue(String.class);
-                            Double amount = child.child("amount").getValue(Double.class);
-                            String dateStr = child.child("date").getValue(String.class);
-
-                            expenseData.append("- ").append(name).append(" (").append(category).append("): $")
-                                    .append(String.format("%.2f", amount));
-                            if (dateStr != null) {
-                                expenseData.append(" on ").append(dateStr);
-                            }
-                            expenseData.append("\n");
+        withExpenses(expenses -> {
+            StringBuilder expenseData = new StringBuilder("User's recent expenses:\n");
+            int count = 0;
+
+            for (Expense expense : expenses) {
+                expenseData.append("- ").append(expense.getName()).append(" (").append(expense.getCategory()).append("): $")
+                        .append(String.format("%.2f", expense.getAmount()));
+                if (expense.getDate() != null) {
+                    expenseData.append(" on ").append(expense.getDate());
+                }
+                expenseData.append("\n");
 
-                            count++;
-                            if (count >= 20) break; // Limit to 20 most recent
-                        }
+                count++;
+                if (count >= 20) break; // Limit to 20 most recent
+            }
 
-                        String prompt = expenseData.toString() + "\nUser question: " + originalMessage +
-                                "\n\nPlease answer their question using the expense data above in a friendly way.";
-                        callAIWithData(originalMessage, prompt);
-                    }
-                });
+            String prompt = expenseData.toString() + "\nUser question: " + originalMessage +
+                    "\n\nPlease answer their question using the expense data above in a friendly way.";
+            callAIWithData(originalMessage, prompt);
+        });
     }
 
     /**
@@ -852,8 +1061,8 @@ public class ChatbotViewModel extends ViewModel {
      * 
      * <p>This method:
      * <ul>
-     *   <li>Fetches expenses from the current month (starting from day 1)</li>
-     *   <li>Calculates totals by category</li>
+     *   <li>Looks up expenses from the current month (starting from day 1)</li>
+     *   <li>Reads their totals by category from the running aggregates</li>
      *   <li>Sends formatted data to AI for human-like summarization</li>
      * </ul>
      * 
@@ -861,70 +1070,12 @@ public class ChatbotViewModel extends ViewModel {
      */
     public void computeMonthlySpending(String originalMessage) {
         isLoading.setValue(true);
-        String currentUserId = getCurrentUserId();
 
-        Calendar cal = Calendar.getInstance();
-        cal.set(Calendar.DAY_OF_MONTH, 1);
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        long monthStart = cal.getTimeInMillis();
+        withFinancialContext(context -> {
+            String prompt = context.monthlyPrompt(new Date(), originalMessage);
 
-        dbRef.child("users").child(currentUserId).child("expenses")
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        addMessage(new ChatMessage("ai", "😴 Could not fetch expenses."));
-                        isLoading.setValue(false);
-                        return;
-                    }
-
-                    Map<String, Double> categoryTotals = new HashMap<>();
-                    double totalSpent = 0;
-                    int expenseCount = 0;
-                    SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-
-                    for (DataSnapshot expense : task.getResult().getChildren()) {
-                        Long timestamp = expense.child("timestamp").getValue(Long.class);
-                        String dateStr = expense.child("date").getValue(String.class);
-                        String category = expense.child("category").getValue(String.class);
-                        Double amount = expense.child("amount").getValue(Double.class);
-
-                        if (timestamp == null && dateStr != null) {
-                            try {
-                                Date parsedDate = sdf.parse(dateStr);
-                                if (parsedDate != null) {
-                                    timestamp = parsedDate.getTime();
-                                }
-                            } catch (Exception e) {
-                                Log.e("ChatbotViewModel", "Failed to parse date: " + dateStr, e);
-                            }
-                        }
-
-                        if (timestamp != null && timestamp >= monthStart && amount != null && category != null) {
-                            totalSpent += amount;
-                            categoryTotals.put(category,
-                                    categoryTotals.getOrDefault(category, 0.0) + amount);
-                            expenseCount++;
-                        }
-                    }
-
-                    StringBuilder dataContext = new StringBuilder();
-                    dataContext.append("This month's spending data:\n");
-                    dataContext.append("Total: $").append(String.format("%.2f", totalSpent)).append("\n");
-                    dataContext.append("Number of expenses: ").append(expenseCount).append("\n");
-                    dataContext.append("By category:\n");
-                    for (Map.Entry<String, Double> entry : categoryTotals.entrySet()) {
-                        dataContext.append("- ").append(entry.getKey())
-                                .append(": $").append(String.format("%.2f", entry.getValue())).append("\n");
-                    }
-
-                    String prompt = dataContext.toString() +
-                            "\nUser asked: \"" + originalMessage + "\"\n" +
-                            "Please answer their question about this month's spending in a friendly way.";
-
-                    callAIWithData(originalMessage, prompt);
-                });
+            callAIWithData(originalMessage, prompt);
+        });
     }
 
     /**
@@ -947,7 +1098,7 @@ public class ChatbotViewModel extends ViewModel {
                         for (DataSnapshot child : snapshot.getChildren()) {
                             String name = child.child("name").getValue(String.class);
                             String category = child.child("category").getValue(String.class);
-                            Double amount = child.child("amount").getValue(Double.class);
+                            Double amount = SnapshotParsers.readAmount(child);
                             reply.append(name).append(" (").append(category).append("): $")
                                     .append(String.format("%.2f", amount)).append("\n");
                         }
@@ -966,51 +1117,28 @@ public class ChatbotViewModel extends ViewModel {
      */
     private void fetchExpenses() {
         isLoading.setValue(true);
-        String currentUserId = getCurrentUserId();
-        dbRef.child("users").child(currentUserId).child("expenses")
-                .get().addOnCompleteListener(task -> {
-                    if (!task.isSuccessful()) {
-                        addMessage(new ChatMessage("ai", "😴 Could not fetch expenses."));
-                        isLoading.setValue(false);
-                    } else {
-                        DataSnapshot snapshot = task.getResult();
-                        StringBuilder reply = new StringBuilder("Your recent expenses:\n");
-                        int count = 0;
-                        SimpleDateFormat sdf = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
-
-                        for (DataSnapshot child : snapshot.getChildren()) {
-                            String category = child.child("category").getValue(String.class);
-                            Double amount = child.child("amount").getValue(Double.class);
-                            Long timestamp = child.child("timestamp").getValue(Long.class);
-                            String dateStr = child.child("date").getValue(String.class);
-
-                            // Parse date string if timestamp is null
-                            if (timestamp == null && dateStr != null) {
-                                try {
-                                    Date parsedDate = sdf.parse(dateStr);
-                                    if (parsedDate != null) {
-                                        timestamp = parsedDate.getTime();
-                                    }
-                                } catch (Exception e) {
-                                    Log.e("ChatbotViewModel", "Failed to parse date: " + dateStr, e);
-                                }
-                            }
-
-                            reply.append(category).append(": $")
-                                    .append(String.format("%.2f", amount));
-                            if (timestamp != null) {
-                                reply.append(" (").append(new SimpleDateFormat("MMM dd", Locale.US).format(new Date(timestamp))).append(")");
-                            } else if (dateStr != null) {
-                                reply.append(" (").append(dateStr).append(")");
-                            }
-                            reply.append("\n");
-                            count++;
-                            if (count >= 10) break; // Limit to 10 most recent
-                        }
-                        addMessage(new ChatMessage("ai", reply.toString()));
-                        isLoading.setValue(false);
-                    }
-                });
+        withExpenses(expenses -> {
+            StringBuilder reply = new StringBuilder("Your recent expenses:\n");
+            int count = 0;
+            SimpleDateFormat monthDay = new SimpleDateFormat("MMM dd", Locale.US);
+
+            for (Expense expense : expenses) {
+                int day = expense.epochDay();
+
+                reply.append(expense.getCategory()).append(": $")
+                        .append(String.format("%.2f", expense.getAmount()));
+                if (day != DateCodec.NO_DAY) {
+                    reply.append(" (").append(monthDay.format(new Date(DateCodec.startOfDay(day)))).append(")");
+                } else if (expense.getDate() != null) {
+                    reply.append(" (").append(expense.getDate()).append(")");
+                }
+                reply.append("\n");
+                count++;
+                if (count >= 10) break; // Limit to 10 most recent
+            }
+            addMessage(new ChatMessage("ai", reply.toString()));
+            isLoading.setValue(false);
+        });
     }
 
     /**
@@ -1041,4 +1169,16 @@ public class ChatbotViewModel extends ViewModel {
                     }
                 });
     }
+    /**
+     * Releases the shared expense copy when the ViewModel is destroyed.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        cancelPendingReplies();
+        if (expenseRepository != null) {
+            expenseRepository.release();
+            expenseRepository = null;
+        }
+    }
 }
\ No newline at end of file
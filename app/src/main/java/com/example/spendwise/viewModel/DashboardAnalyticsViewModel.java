@@ -4,14 +4,18 @@ import android.graphics.Color;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 
 import com.example.spendwise.model.Budget;
 import com.example.spendwise.model.BudgetUsageSummary;
-import com.example.spendwise.model.Category;
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.Firebase;
 import com.example.spendwise.repository.AnalyticsRepository;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.repository.ChildSyncEngine;
+import com.example.spendwise.repository.ExpenseRepository;
+import com.example.spendwise.repository.SnapshotParsers;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarDataSet;
 import com.github.mikephil.charting.data.BarEntry;
@@ -22,21 +26,32 @@ import com.github.mikephil.charting.formatter.PercentFormatter;
 import com.github.mikephil.charting.utils.ColorTemplate;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spending-by-category and budget-usage charts for the dashboard's window.
+ *
+ * The totals are read from the expense repository's day index on the main
+ * thread, where the index is kept; that is a few lookups per category. Only
+ * turning them into chart data runs on a single background thread. A change
+ * schedules that a short moment later, so expenses and budgets arriving back
+ * to back share one build, and a build that a newer change has superseded
+ * stops without posting anything.
+ */
 public class DashboardAnalyticsViewModel extends ViewModel {
 
+    private static final long DEBOUNCE_MS = 50;
+
     private final MutableLiveData<PieData> spendingByCategoryData = new MutableLiveData<>();
     private final MutableLiveData<BarData> budgetUsageData = new MutableLiveData<>();
     private final MutableLiveData<List<String>> budgetUsageLabels = new MutableLiveData<>(new ArrayList<>());
@@ -44,18 +59,26 @@ public class DashboardAnalyticsViewModel extends ViewModel {
     private final FirebaseDatabase database;
     private final FirebaseAuth auth;
     private final AnalyticsRepository analyticsRepository;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Object lock = new Object();
 
-    private DatabaseReference expensesRef;
     private DatabaseReference budgetsRef;
-    private ValueEventListener expensesListener;
-    private ValueEventListener budgetsListener;
-
-    private final List<Expense> cachedExpenses = new LinkedList<>();
-    private final List<Budget> cachedBudgets = new LinkedList<>();
+    private ExpenseRepository expenseRepository;
+    private ChildSyncEngine<Budget> budgetSync;
+    private Observer<List<Expense>> expensesObserver;
+    private Observer<List<Budget>> budgetsObserver;
 
+    // Main thread only
+    private List<Budget> budgets = Collections.emptyList();
     private Date windowStart;
     private Date windowEnd;
 
+    // Latest totals, handed to the worker under the lock
+    private Map<String, Double> latestCategoryTotals = Collections.emptyMap();
+    private List<BudgetUsageSummary> latestBudgetSummaries = Collections.emptyList();
+    private int generation = 0;
+    private boolean scheduled = false;
+
     public DashboardAnalyticsViewModel() {
         analyticsRepository = new AnalyticsRepository();
         database = Firebase.getDatabase();
@@ -76,8 +99,8 @@ public class DashboardAnalyticsViewModel extends ViewModel {
     }
 
     public void updateWindow(Date start, Date end) {
-        this.windowStart = start;
-        this.windowEnd = end;
+        windowStart = start;
+        windowEnd = end;
         recalculateAnalytics();
     }
 
@@ -92,7 +115,7 @@ public class DashboardAnalyticsViewModel extends ViewModel {
         seedFallbackCharts();
 
         String uid = currentUser.getUid();
-        expensesRef = database.getReference("users").child(uid).child("expenses");
+        expenseRepository = ExpenseRepository.acquire(uid);
         budgetsRef = database.getReference("users").child(uid).child("budgets");
 
         attachExpenseListener();
@@ -100,109 +123,66 @@ public class DashboardAnalyticsViewModel extends ViewModel {
     }
 
     private void attachExpenseListener() {
-        expensesListener = new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                cachedExpenses.clear();
-                for (DataSnapshot expenseSnapshot : snapshot.getChildren()) {
-                    Expense expense = parseExpenseSnapshot(expenseSnapshot);
-                    if (expense != null) {
-                        cachedExpenses.add(expense);
-                    }
-                }
-                recalculateAnalytics();
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                // No-op; fallback handled elsewhere
-            }
-        };
-        if (expensesRef != null) {
-            expensesRef.addValueEventListener(expensesListener);
-        }
+        // The repository has already applied the change to its day index
+        expensesObserver = expenses -> recalculateAnalytics();
+        expenseRepository.getExpenses().observeForever(expensesObserver);
     }
 
     private void attachBudgetListener() {
-        budgetsListener = new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot snapshot) {
-                cachedBudgets.clear();
-                for (DataSnapshot budgetSnapshot : snapshot.getChildren()) {
-                    Budget budget = parseBudgetSnapshot(budgetSnapshot);
-                    if (budget != null) {
-                        cachedBudgets.add(budget);
-                    }
-                }
-                recalculateAnalytics();
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                // No-op; fallback handled elsewhere
-            }
+        budgetSync = new ChildSyncEngine<>(budgetsRef, SnapshotParsers::parseBudget);
+        budgetsObserver = list -> {
+            budgets = list != null ? list : Collections.emptyList();
+            recalculateAnalytics();
         };
-        if (budgetsRef != null) {
-            budgetsRef.addValueEventListener(budgetsListener);
-        }
-    }
-
-    private Expense parseExpenseSnapshot(DataSnapshot snapshot) {
-        try {
-            String id = snapshot.getKey();
-            String name = snapshot.child("name").getValue(String.class);
-            Double amount = snapshot.child("amount").getValue(Double.class);
-            String categoryStr = snapshot.child("category").getValue(String.class);
-            String date = snapshot.child("date").getValue(String.class);
-            String notes = snapshot.child("notes").getValue(String.class);
-
-            if (name == null || amount == null || categoryStr == null) {
-                return null;
-            }
-
-            Expense expense = new Expense(name, amount, Category.valueOf(categoryStr), date, notes != null ? notes : "");
-            expense.setId(id);
-            return expense;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private Budget parseBudgetSnapshot(DataSnapshot snapshot) {
-        try {
-            String id = snapshot.getKey();
-            String name = snapshot.child("name").getValue(String.class);
-            Double amount = snapshot.child("amount").getValue(Double.class);
-            String categoryStr = snapshot.child("category").getValue(String.class);
-            String date = snapshot.child("date").getValue(String.class);
-            String freq = snapshot.child("freq").getValue(String.class);
-
-            if (name == null || amount == null || categoryStr == null || date == null || freq == null) {
-                return null;
-            }
-
-            Budget budget = new Budget(name, amount, Category.valueOf(categoryStr), date, freq);
-            budget.setId(id);
-            return budget;
-        } catch (Exception e) {
-            return null;
-        }
+        budgetSync.getList().observeForever(budgetsObserver);
+        budgetSync.start();
     }
 
     private void recalculateAnalytics() {
+        CategoryDayIndex dayIndex = expenseRepository != null ? expenseRepository.getDayIndex() : null;
         Map<String, Double> categoryTotals = analyticsRepository.calculateCategoryTotals(
-                cachedExpenses,
+                dayIndex,
                 windowStart,
                 windowEnd
         );
-
         List<BudgetUsageSummary> budgetSummaries = analyticsRepository.calculateBudgetUsage(
-                cachedBudgets,
-                cachedExpenses,
+                budgets,
+                dayIndex,
                 windowStart,
                 windowEnd
         );
 
+        synchronized (lock) {
+            latestCategoryTotals = categoryTotals;
+            latestBudgetSummaries = budgetSummaries;
+            // Any build already going is now stale
+            generation++;
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        executor.schedule(this::buildCharts, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isSuperseded(int runGeneration) {
+        synchronized (lock) {
+            return runGeneration != generation;
+        }
+    }
+
+    private void buildCharts() {
+        Map<String, Double> categoryTotals;
+        List<BudgetUsageSummary> budgetSummaries;
+        int runGeneration;
+        synchronized (lock) {
+            // Changes from here on schedule another build
+            scheduled = false;
+            runGeneration = generation;
+            categoryTotals = latestCategoryTotals;
+            budgetSummaries = latestBudgetSummaries;
+        }
+
         if (categoryTotals.isEmpty()) {
             categoryTotals = analyticsRepository.createSeedCategoryTotals();
         }
@@ -210,9 +190,15 @@ public class DashboardAnalyticsViewModel extends ViewModel {
             budgetSummaries = analyticsRepository.createSeedBudgetUsage();
         }
 
-        spendingByCategoryData.postValue(buildPieData(categoryTotals));
-        budgetUsageLabels.postValue(extractLabels(budgetSummaries));
-        budgetUsageData.postValue(buildBudgetBarData(budgetSummaries));
+        PieData pieData = buildPieData(categoryTotals);
+        List<String> labels = extractLabels(budgetSummaries);
+        BarData barData = buildBudgetBarData(budgetSummaries);
+        if (isSuperseded(runGeneration)) {
+            return;
+        }
+        spendingByCategoryData.postValue(pieData);
+        budgetUsageLabels.postValue(labels);
+        budgetUsageData.postValue(barData);
     }
 
     private PieData buildPieData(Map<String, Double> categoryTotals) {
@@ -288,11 +274,14 @@ public class DashboardAnalyticsViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (expensesRef != null && expensesListener != null) {
-            expensesRef.removeEventListener(expensesListener);
+        executor.shutdownNow();
+        if (expenseRepository != null) {
+            expenseRepository.getExpenses().removeObserver(expensesObserver);
+            expenseRepository.release();
         }
-        if (budgetsRef != null && budgetsListener != null) {
-            budgetsRef.removeEventListener(budgetsListener);
+        if (budgetSync != null) {
+            budgetSync.getList().removeObserver(budgetsObserver);
+            budgetSync.stop();
         }
     }
 }
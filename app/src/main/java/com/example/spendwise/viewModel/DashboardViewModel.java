@@ -0,0 +1,144 @@
+package com.example.spendwise.viewModel;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.example.spendwise.logic.DashboardState;
+import com.example.spendwise.logic.PeriodDays;
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDayIndex;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combines budgets, expenses and the simulated date into one
+ * {@link DashboardState} for the dashboard to observe.
+ *
+ * Spending comes from the expense repository's day index, which is already
+ * current when the expense list emits. The index only allows the main thread,
+ * so each change reads the few per-category sums there; the state itself is
+ * built on a single background thread. A change schedules the build a short
+ * moment later, so budgets and expenses arriving back to back share one
+ * build, and a build that a newer change has superseded stops without
+ * posting anything. The inputs are only watched while the dashboard
+ * is observing the state.
+ */
+public class DashboardViewModel extends ViewModel {
+
+    private static final long DEBOUNCE_MS = 50;
+
+    private final MediatorLiveData<DashboardState> state = new MediatorLiveData<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Object lock = new Object();
+
+    // Main thread only
+    private CategoryDayIndex dayIndex;
+    private List<Budget> budgets;
+    private long simulatedDate;
+    private boolean hasExpenses = false;
+    private boolean hasDate = false;
+    private boolean bound = false;
+
+    // Latest inputs, handed to the worker under the lock
+    private List<Budget> latestBudgets;
+    private DashboardState.Spending latestSpending;
+    private PeriodDays latestPeriods;
+    private int generation = 0;
+    private boolean scheduled = false;
+
+    public LiveData<DashboardState> getState() {
+        return state;
+    }
+
+    /**
+     * Feeds the state from the screen's expense day index and budget list.
+     * The expense list only signals that the index changed. Only the first
+     * call binds; the sources live as long as this ViewModel.
+     */
+    public void bind(LiveData<List<Expense>> expenseSource, CategoryDayIndex expenseIndex,
+                     LiveData<List<Budget>> budgetSource) {
+        if (bound) {
+            return;
+        }
+        bound = true;
+        // Nobody logged in: nothing is spent
+        dayIndex = expenseIndex != null ? expenseIndex : new CategoryDayIndex();
+        state.addSource(expenseSource, list -> {
+            hasExpenses = list != null;
+            scheduleRecompute();
+        });
+        state.addSource(budgetSource, list -> {
+            // Copied because some screens sort or edit a published list in place
+            budgets = list != null ? new ArrayList<>(list) : null;
+            scheduleRecompute();
+        });
+    }
+
+    public void setSimulatedDate(long millis) {
+        if (hasDate && simulatedDate == millis) {
+            return;
+        }
+        simulatedDate = millis;
+        hasDate = true;
+        scheduleRecompute();
+    }
+
+    private void scheduleRecompute() {
+        if (!hasExpenses || budgets == null || !hasDate) {
+            return;
+        }
+        Calendar now = Calendar.getInstance();
+        now.setTimeInMillis(simulatedDate);
+        PeriodDays periods = new PeriodDays(now);
+        DashboardState.Spending spending = DashboardState.Spending.read(dayIndex, periods);
+
+        synchronized (lock) {
+            latestBudgets = budgets;
+            latestSpending = spending;
+            latestPeriods = periods;
+            // Any build already going is now stale
+            generation++;
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        executor.schedule(this::recompute, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void recompute() {
+        List<Budget> currentBudgets;
+        DashboardState.Spending spending;
+        PeriodDays periods;
+        int runGeneration;
+        synchronized (lock) {
+            // Changes from here on schedule another build
+            scheduled = false;
+            runGeneration = generation;
+            currentBudgets = latestBudgets;
+            spending = latestSpending;
+            periods = latestPeriods;
+        }
+
+        DashboardState computed = DashboardState.compute(currentBudgets, spending, periods);
+        synchronized (lock) {
+            if (runGeneration != generation) {
+                return;
+            }
+        }
+        state.postValue(computed);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        executor.shutdownNow();
+    }
+}
@@ -2,11 +2,18 @@ package com.example.spendwise.viewModel;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 import com.example.spendwise.model.Category;
 
 import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.Firebase;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.repository.ChildSyncEngine;
+import com.example.spendwise.repository.ExpenseRepository;
+import com.example.spendwise.repository.LocalStore;
+import com.example.spendwise.repository.PageWindow;
+import com.example.spendwise.repository.SnapshotParsers;
 
 import com.example.spendwise.strategy.ExpenseSortStrategy;
 import com.example.spendwise.strategy.SortByDateStrategy;
@@ -14,14 +21,12 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
 import android.util.Log;
-import androidx.annotation.NonNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.text.SimpleDateFormat;
 import java.text.ParseException;
 import java.util.Locale;
@@ -30,6 +35,11 @@ import java.util.Date;
 public class ExpenseViewModel extends ViewModel {
     private static final String TAG = "ExpenseViewModel";
 
+    // About a screen and a half per page; at most six pages are held
+    private static final int PAGE_SIZE = 30;
+    private static final int PREFETCH_DISTANCE = 30;
+    private static final int MAX_PAGES = 6;
+
     private MutableLiveData<String> statusMessage;
     private MutableLiveData<List<Expense>> expenses;
     private FirebaseDatabase database;
@@ -37,6 +47,11 @@ public class ExpenseViewModel extends ViewModel {
     //Firebase is a json so points to that node
     private FirebaseAuth auth;
     private SavingCircleViewModel savingCircleViewModel; // For deducting from savings circles
+    private ExpenseRepository expenseRepository; // Shared with the other screens
+    private String uid;
+    private Observer<List<Expense>> repositoryObserver;
+    private Observer<String> repositoryErrorObserver;
+    private PageWindow<Expense> expensePages;
 
     public ExpenseViewModel() {
         expenses = new MutableLiveData<>(new ArrayList<>());
@@ -49,15 +64,15 @@ public class ExpenseViewModel extends ViewModel {
         // Setups user specific path for the proper structure in database tree,
         // and correct retrieval later
         setupUserExpensesReference();
-        // Load expenses from Firebase when ViewModel is created (a function)
-        loadExpensesFromFirebase();
+        // Load expenses when ViewModel is created (a function)
+        loadExpensesFromRepository();
     }
 
     // Setup reference based on current user
     private void setupUserExpensesReference() {
         FirebaseUser currentUser = auth.getCurrentUser();
         if (currentUser != null) {
-            String uid = currentUser.getUid();
+            uid = currentUser.getUid();
             // Path: users/{uid}/expenses
             expensesRef = database.getReference("users").child(uid)
                     .child("expenses");
@@ -121,6 +136,42 @@ public class ExpenseViewModel extends ViewModel {
                 });
     }
 
+    // Add an expense linked to a savings circle; the insert travels in the same
+    // multi-path write as the member's cycle deduction, so it costs one round trip
+    public void addExpenseToCircle(String name, double amount, Category category, String date,
+                                   String notes, String savingCircleId, long expenseTimestamp,
+                                   String memberEmail, SavingCircleViewModel savingCircleViewModel) {
+        if (expensesRef == null) {
+            Log.e(TAG, "expensesRef is null! Cannot add expense.");
+            statusMessage.setValue("Error: User not logged in");
+            return;
+        }
+
+        Expense expense = new Expense(name, amount, category, date, notes, savingCircleId);
+        String firebaseId = expensesRef.push().getKey();
+        expense.setId(firebaseId);
+
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("users/" + uid + "/expenses/" + firebaseId, expense);
+
+        Log.d(TAG, "Adding circle expense to Firebase: " + expense);
+
+        savingCircleViewModel.recordExpenseInCycleAtDate(savingCircleId, memberEmail, amount,
+                expenseTimestamp, updates, new SavingCircleViewModel.OnCycleWriteListener() {
+                    @Override
+                    public void onSuccess() {
+                        Log.d(TAG, "Expense added successfully: " + expense);
+                        statusMessage.setValue("Expense added!");
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        Log.e(TAG, "Error adding expense: " + message);
+                        statusMessage.setValue("Error: " + message);
+                    }
+                });
+    }
+
     public LiveData<String> getStatusMessage() {
         return statusMessage;
     }
@@ -142,61 +193,86 @@ public class ExpenseViewModel extends ViewModel {
                 });
     }
 
-    // Load expenses from Firebase
-    private void loadExpensesFromFirebase() {
-        expensesRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                List<Expense> expenseList = new ArrayList<>();
-
-                for (DataSnapshot expenseSnapshot : snapshot.getChildren()) {
-                    try {
-                        // Get the expense data and parse it correctly
-                        String id = expenseSnapshot.getKey();
-                        String name = expenseSnapshot.child("name")
-                                .getValue(String.class);
-                        Double amount = expenseSnapshot.child("amount")
-                                .getValue(Double.class);
-                        String categoryStr = expenseSnapshot.child("category")
-                                .getValue(String.class);
-                        String date = expenseSnapshot.child("date")
-                                .getValue(String.class);
-                        String notes = expenseSnapshot.child("notes")
-                                .getValue(String.class);
-                        String savingCircleId = expenseSnapshot.child("savingCircleId")
-                                .getValue(String.class);
-
-                        // Create expense object
-                        if (name != null && amount != null && categoryStr != null) {
-                            Category category = Category.valueOf(categoryStr);
-                            Expense expense;
-                            if (savingCircleId != null && !savingCircleId.isEmpty()) {
-                                expense = new Expense(name, amount, category,
-                                        date, notes != null ? notes : "", savingCircleId);
-                            } else {
-                                expense = new Expense(name, amount, category,
-                                        date, notes != null ? notes : "");
-                            }
-                            expense.setId(id);
-                            expenseList.add(expense);
+    // Observe the shared copy; the repository handles the local store and Firebase sync
+    private void loadExpensesFromRepository() {
+        if (uid == null) {
+            return;
+        }
+        expenseRepository = ExpenseRepository.acquire(uid);
+        repositoryObserver = expenseList -> {
+            // Copy so sorting here does not reorder the list other screens hold
+            expenses.setValue(new ArrayList<>(expenseList));
+            Log.d(TAG, "Loaded " + expenseList.size() + " expenses");
+            // The repository wrote this change to the local store first
+            if (expensePages != null) {
+                expensePages.invalidate();
+            }
+        };
+        repositoryErrorObserver = message -> {
+            if (message != null) {
+                statusMessage.setValue(message);
+            }
+        };
+        expenseRepository.getExpenses().observeForever(repositoryObserver);
+        expenseRepository.getErrorMessage().observeForever(repositoryErrorObserver);
+    }
+
+    /**
+     * Newest-first expenses paged from the local store's date index, for long
+     * lists. Rows not loaded yet are null. Null when nobody is logged in.
+     */
+    public PageWindow<Expense> getExpensePages() {
+        if (expensePages == null && uid != null) {
+            String ownerUid = uid;
+            expensePages = new PageWindow<>(PAGE_SIZE, PREFETCH_DISTANCE, MAX_PAGES,
+                    (generation, page, after, offset, limit) -> {
+                        LocalStore localStore = LocalStore.getInstance();
+                        if (localStore == null) {
+                            expensePages.onPageLoaded(generation, page, new ArrayList<>(), 0);
+                            return;
                         }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing expense", e);
-                    }
-                }
+                        localStore.loadExpensePage(ownerUid, after, offset, limit,
+                                (items, totalCount) -> expensePages.onPageLoaded(
+                                        generation, page, items, totalCount));
+                    });
+            expensePages.invalidate();
+        }
+        return expensePages;
+    }
 
-                expenses.setValue(expenseList);
-                Log.d(TAG, "Loaded " + expenseList.size()
-                        + " expenses from Firebase");
-            }
+    /**
+     * Per-category day totals the repository keeps current for every change.
+     * Main thread only. Null when nobody is logged in.
+     */
+    public CategoryDayIndex getExpenseDayIndex() {
+        return expenseRepository != null ? expenseRepository.getDayIndex() : null;
+    }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Firebase error: " + error.getMessage());
-                statusMessage.setValue("Error loading expenses: "
-                        + error.getMessage());
-            }
-        });
+    /** Per-change stream of inserts, updates and removals from Firebase. */
+    public void addExpenseDeltaListener(ChildSyncEngine.DeltaListener<Expense> listener) {
+        if (expenseRepository != null) {
+            expenseRepository.addDeltaListener(listener);
+        }
+    }
+
+    public void removeExpenseDeltaListener(ChildSyncEngine.DeltaListener<Expense> listener) {
+        if (expenseRepository != null) {
+            expenseRepository.removeDeltaListener(listener);
+        }
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (expensePages != null) {
+            expensePages.setListener(null);
+        }
+        if (expenseRepository != null) {
+            expenseRepository.getExpenses().removeObserver(repositoryObserver);
+            expenseRepository.getErrorMessage().removeObserver(repositoryErrorObserver);
+            expenseRepository.release();
+            expenseRepository = null;
+        }
     }
 
     // Delete expense from Firebase
@@ -211,7 +287,7 @@ public class ExpenseViewModel extends ViewModel {
                 .addOnSuccessListener(snapshot -> {
                     if (snapshot.exists()) {
                         String savingCircleId = snapshot.child("savingCircleId").getValue(String.class);
-                        Double amount = snapshot.child("amount").getValue(Double.class);
+                        Double amount = SnapshotParsers.readAmount(snapshot);
                         String date = snapshot.child("date").getValue(String.class);
                         
                         // Delete the expense
@@ -260,7 +336,7 @@ public class ExpenseViewModel extends ViewModel {
                         try {
                             String expenseId = snapshot.getKey();
                             String name = snapshot.child("name").getValue(String.class);
-                            Double amount = snapshot.child("amount").getValue(Double.class);
+                            Double amount = SnapshotParsers.readAmount(snapshot);
                             String categoryStr = snapshot.child("category").getValue(String.class);
                             String date = snapshot.child("date").getValue(String.class);
                             String notes = snapshot.child("notes").getValue(String.class);
@@ -7,10 +7,15 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.example.spendwise.logic.BudgetEvaluationEngine;
 import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.MemberCycle;
 import com.example.spendwise.model.SavingCircle;
 import com.example.spendwise.model.SavingCircleMember;
+import com.example.spendwise.repository.ExpenseRepository;
+import com.example.spendwise.repository.SnapshotParsers;
+import com.example.spendwise.util.DateCodec;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
@@ -19,14 +24,9 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Set;
 
 public class NotificationViewModel extends ViewModel {
@@ -39,18 +39,19 @@ public class NotificationViewModel extends ViewModel {
     private final MutableLiveData<Boolean> hasNotifications;
     private final FirebaseDatabase database;
     private final FirebaseAuth auth;
-    private final SimpleDateFormat dateFormat;
 
     // Track shown notifications for this session
     private final Set<String> shownNotificationIds;
     private final Set<String> dismissedNotificationIds;
 
+    private ExpenseRepository expenseRepository;
+    private String expenseRepositoryUid;
+
     public NotificationViewModel() {
         pendingNotifications = new MutableLiveData<>(new ArrayList<>());
         hasNotifications = new MutableLiveData<>(false);
         database = FirebaseDatabase.getInstance();
         auth = FirebaseAuth.getInstance();
-        dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
         shownNotificationIds = new HashSet<>();
         dismissedNotificationIds = new HashSet<>();
     }
@@ -68,6 +69,7 @@ public class NotificationViewModel extends ViewModel {
 
         String uid = currentUser.getUid();
         DatabaseReference userRef = database.getReference("users").child(uid);
+        acquireExpenses(uid);
 
         // First, load dismissed notifications from Firebase
         loadDismissedNotifications(userRef, () -> {
@@ -76,7 +78,7 @@ public class NotificationViewModel extends ViewModel {
             final boolean[] checksComplete = {false, false}; // expenses, budget90
 
             // Check for no expenses in last 3 days
-            checkNoExpensesAlert(userRef, dashboardTimestamp, allNotifications, () -> {
+            checkNoExpensesAlert(dashboardTimestamp, allNotifications, () -> {
                 checksComplete[0] = true;
                 if (allChecksComplete(checksComplete)) {
                     updateNotifications(allNotifications);
@@ -93,6 +95,27 @@ public class NotificationViewModel extends ViewModel {
         });
     }
 
+    // Held until onCleared so repeated checks reuse the same live copy
+    private void acquireExpenses(String uid) {
+        if (expenseRepository != null && uid.equals(expenseRepositoryUid)) {
+            return;
+        }
+        if (expenseRepository != null) {
+            expenseRepository.release();
+        }
+        expenseRepository = ExpenseRepository.acquire(uid);
+        expenseRepositoryUid = uid;
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (expenseRepository != null) {
+            expenseRepository.release();
+            expenseRepository = null;
+        }
+    }
+
     private boolean allChecksComplete(boolean[] checks) {
         for (boolean check : checks) {
             if (!check) return false;
@@ -200,43 +223,41 @@ public class NotificationViewModel extends ViewModel {
     /**
      * Check if user hasn't logged any expenses in the last 3 days
      */
-    private void checkNoExpensesAlert(DatabaseReference userRef, long dashboardTimestamp,
+    private void checkNoExpensesAlert(long dashboardTimestamp,
                                       List<NotificationItem> notifications, Runnable onComplete) {
         Log.d(TAG, "=== Checking No Expenses Alert ===");
 
-        userRef.child("expenses").addListenerForSingleValueEvent(new ValueEventListener() {
+        expenseRepository.whenLoaded(new ExpenseRepository.LoadCallback() {
             @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
+            public void onLoaded(List<Expense> expenses) {
                 long threeDaysAgo = dashboardTimestamp - (NO_EXPENSE_DAYS * 24 * 60 * 60 * 1000);
+                // Expense dates are local midnights, so the window is whole days
+                int fromDay = DateCodec.firstDayOnOrAfter(threeDaysAgo);
+                int toDay = DateCodec.dayOf(dashboardTimestamp);
                 boolean hasRecentExpense = false;
-                long mostRecentExpenseDate = 0;
-
-                for (DataSnapshot expenseSnapshot : snapshot.getChildren()) {
-                    String dateStr = expenseSnapshot.child("date").getValue(String.class);
-                    if (dateStr != null) {
-                        try {
-                            Date expenseDate = dateFormat.parse(dateStr);
-                            if (expenseDate != null) {
-                                long expenseTime = expenseDate.getTime();
-
-                                // Track most recent expense
-                                if (expenseTime > mostRecentExpenseDate) {
-                                    mostRecentExpenseDate = expenseTime;
-                                }
-
-                                // Check if expense is within last 3 days
-                                if (expenseTime >= threeDaysAgo && expenseTime <= dashboardTimestamp) {
-                                    hasRecentExpense = true;
-                                    break;
-                                }
-                            }
-                        } catch (ParseException e) {
-                            Log.e(TAG, "Error parsing expense date", e);
-                        }
+                int mostRecentDay = DateCodec.NO_DAY;
+
+                for (Expense expense : expenses) {
+                    int day = expense.epochDay();
+                    if (day == DateCodec.NO_DAY) {
+                        continue;
+                    }
+
+                    // Track most recent expense
+                    if (day > mostRecentDay) {
+                        mostRecentDay = day;
+                    }
+
+                    // Check if expense is within last 3 days
+                    if (day >= fromDay && day <= toDay) {
+                        hasRecentExpense = true;
+                        break;
                     }
                 }
+                long mostRecentExpenseDate = mostRecentDay == DateCodec.NO_DAY
+                        ? 0 : DateCodec.startOfDay(mostRecentDay);
 
-                if (!hasRecentExpense && snapshot.getChildrenCount() > 0) {
+                if (!hasRecentExpense && !expenses.isEmpty()) {
                     long daysSinceLastExpense = (dashboardTimestamp - mostRecentExpenseDate) / (1000 * 60 * 60 * 24);
 
                     NotificationItem item = new NotificationItem(
@@ -259,170 +280,117 @@ public class NotificationViewModel extends ViewModel {
             }
 
             @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Error checking expenses", error.toException());
+            public void onError(String message) {
+                Log.e(TAG, "Error checking expenses: " + message);
                 onComplete.run();
             }
         });
     }
 
     /**
-     * Check if any budget has reached 90% of its limit
+     * Check if any budget has reached 90% of its limit.
+     * Budgets are read once and all of them are evaluated against a single
+     * pass over the expenses.
      */
     private void checkBudget90PercentAlert(DatabaseReference userRef, long dashboardTimestamp,
                                            List<NotificationItem> notifications, Runnable onComplete) {
         Log.d(TAG, "=== Checking Budget 90% Alert ===");
 
-        Calendar dashboardCal = Calendar.getInstance();
-        dashboardCal.setTimeInMillis(dashboardTimestamp);
-
         userRef.child("budgets").addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(@NonNull DataSnapshot snapshot) {
-                long budgetCount = snapshot.getChildrenCount();
-
-                if (budgetCount == 0) {
-                    Log.d(TAG, "No budgets found");
-                    onComplete.run();
-                    return;
-                }
-
-                // Counter to track completed budget checks
-                final int[] completedChecks = {0};
-                final int[] activeBudgets = {0};
+                List<BudgetEvaluationEngine.BudgetWindow> activeWindows = new ArrayList<>();
 
                 for (DataSnapshot budgetSnapshot : snapshot.getChildren()) {
-                    try {
-                        String name = budgetSnapshot.child("name").getValue(String.class);
-                        String dateStr = budgetSnapshot.child("date").getValue(String.class);
-                        Double amount = budgetSnapshot.child("amount").getValue(Double.class);
-
-                        String frequency = budgetSnapshot.child("frequency").getValue(String.class);
-                        if (frequency == null) {
-                            frequency = budgetSnapshot.child("freq").getValue(String.class);
-                        }
-
-                        if (name == null || dateStr == null || frequency == null || amount == null) {
-                            continue;
-                        }
-
-                        Date startDate = dateFormat.parse(dateStr);
-                        if (startDate == null) continue;
-
-                        // Find current cycle
-                        Calendar cycleStart = Calendar.getInstance();
-                        cycleStart.setTime(startDate);
-                        Calendar cycleEnd = (Calendar) cycleStart.clone();
-
-                        while (cycleEnd.getTimeInMillis() <= dashboardTimestamp) {
-                            cycleStart = (Calendar) cycleEnd.clone();
-                            cycleEnd = (Calendar) cycleStart.clone();
+                    String name = budgetSnapshot.child("name").getValue(String.class);
+                    String dateStr = budgetSnapshot.child("date").getValue(String.class);
+                    Double amount = SnapshotParsers.readAmount(budgetSnapshot);
+                    String category = budgetSnapshot.child("category").getValue(String.class);
+
+                    String frequency = budgetSnapshot.child("frequency").getValue(String.class);
+                    if (frequency == null) {
+                        frequency = budgetSnapshot.child("freq").getValue(String.class);
+                    }
 
-                            if ("Weekly".equalsIgnoreCase(frequency)) {
-                                cycleEnd.add(Calendar.DAY_OF_YEAR, 7);
-                            } else if ("Monthly".equalsIgnoreCase(frequency)) {
-                                cycleEnd.add(Calendar.MONTH, 1);
-                            }
-                        }
+                    if (name == null || dateStr == null || frequency == null || amount == null) {
+                        continue;
+                    }
 
-                        // Check if in active cycle
-                        if (dashboardTimestamp >= cycleStart.getTimeInMillis() &&
-                                dashboardTimestamp <= cycleEnd.getTimeInMillis()) {
-
-                            activeBudgets[0]++;
-                            // Calculate total expenses for this budget in current cycle
-                            String category = budgetSnapshot.child("category").getValue(String.class);
-                            checkExpensesForBudget(userRef, category, cycleStart.getTimeInMillis(),
-                                    cycleEnd.getTimeInMillis(), amount, name, notifications, () -> {
-                                        completedChecks[0]++;
-                                        Log.d(TAG, "Completed budget check " + completedChecks[0] + " of " + activeBudgets[0]);
-                                        if (completedChecks[0] >= activeBudgets[0]) {
-                                            onComplete.run();
-                                        }
-                                    });
-                        }
+                    int startDay = DateCodec.parse(dateStr);
+                    if (startDay == DateCodec.NO_DAY) {
+                        Log.e(TAG, "Error parsing budget date: " + dateStr);
+                        continue;
+                    }
 
-                    } catch (ParseException e) {
-                        Log.e(TAG, "Error parsing budget date", e);
+                    // Find current cycle
+                    long[] cycle = BudgetEvaluationEngine.findActiveCycle(
+                            DateCodec.startOfDay(startDay), frequency, dashboardTimestamp);
+                    if (cycle != null) {
+                        activeWindows.add(new BudgetEvaluationEngine.BudgetWindow(
+                                name, category, amount, cycle[0], cycle[1]));
                     }
                 }
 
-                // If no active budgets were found, complete immediately
-                if (activeBudgets[0] == 0) {
+                if (activeWindows.isEmpty()) {
                     Log.d(TAG, "No active budgets in current cycle");
                     onComplete.run();
+                    return;
                 }
-            }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Error checking budgets for 90%", error.toException());
-                onComplete.run();
-            }
-        });
-    }
 
-    private void checkExpensesForBudget(DatabaseReference userRef, String category,
-                                        long cycleStart, long cycleEnd, double budgetAmount,
-                                        String budgetName, List<NotificationItem> notifications,
-                                        Runnable onComplete) {
-        userRef.child("expenses").addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                double totalSpent = 0.0;
-
-                for (DataSnapshot expenseSnapshot : snapshot.getChildren()) {
-                    String expenseCategory = expenseSnapshot.child("category").getValue(String.class);
-                    String dateStr = expenseSnapshot.child("date").getValue(String.class);
-                    Double expenseAmount = expenseSnapshot.child("amount").getValue(Double.class);
-
-                    if (category != null && category.equals(expenseCategory) && dateStr != null && expenseAmount != null) {
-                        try {
-                            Date expenseDate = dateFormat.parse(dateStr);
-                            if (expenseDate != null) {
-                                long expenseTime = expenseDate.getTime();
-                                if (expenseTime >= cycleStart && expenseTime <= cycleEnd) {
-                                    totalSpent += expenseAmount;
-                                }
-                            }
-                        } catch (ParseException e) {
-                            Log.e(TAG, "Error parsing expense date", e);
+                expenseRepository.whenLoaded(new ExpenseRepository.LoadCallback() {
+                    @Override
+                    public void onLoaded(List<Expense> expenses) {
+                        BudgetEvaluationEngine engine = new BudgetEvaluationEngine(expenses);
+                        for (BudgetEvaluationEngine.Evaluation evaluation : engine.evaluate(activeWindows)) {
+                            addBudgetNotificationIfNeeded(evaluation, notifications);
                         }
+                        onComplete.run();
                     }
-                }
-
-                double percentageUsed = (totalSpent / budgetAmount) * 100;
 
-                Log.d(TAG, "Budget: " + budgetName + ", Spent: $" + totalSpent + " / $" + budgetAmount + " = " + percentageUsed + "%");
-
-                if (percentageUsed >= (BUDGET_WARNING_THRESHOLD * 100)) {
-                    NotificationItem item = new NotificationItem(
-                            NotificationItem.Type.BUDGET_90_PERCENT,
-                            "budget_90_" + budgetName + "_" + cycleStart,
-                            budgetName + " at " + String.format("%.0f", percentageUsed) + "%",
-                            String.format("Spent $%.2f of $%.2f", totalSpent, budgetAmount),
-                            0,
-                            cycleEnd
-                    );
-                    synchronized (notifications) {
-                        notifications.add(item);
+                    @Override
+                    public void onError(String message) {
+                        Log.e(TAG, "Error checking expenses for budgets: " + message);
+                        onComplete.run();
                     }
-                    Log.d(TAG, "✓✓✓ NOTIFICATION ADDED: " + budgetName + " at " + percentageUsed + "%");
-                } else {
-                    Log.d(TAG, "✗ Budget under 90% threshold");
-                }
-
-                onComplete.run();
+                });
             }
 
             @Override
             public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Error checking expenses for budget", error.toException());
+                Log.e(TAG, "Error checking budgets for 90%", error.toException());
                 onComplete.run();
             }
         });
     }
 
+    private void addBudgetNotificationIfNeeded(BudgetEvaluationEngine.Evaluation evaluation,
+                                               List<NotificationItem> notifications) {
+        BudgetEvaluationEngine.BudgetWindow window = evaluation.getWindow();
+        String budgetName = window.getName();
+        double budgetAmount = window.getLimit();
+        double totalSpent = evaluation.getSpent();
+        double percentageUsed = evaluation.getPercentUsed();
+
+        Log.d(TAG, "Budget: " + budgetName + ", Spent: $" + totalSpent + " / $" + budgetAmount + " = " + percentageUsed + "%");
+
+        if (percentageUsed >= (BUDGET_WARNING_THRESHOLD * 100)) {
+            NotificationItem item = new NotificationItem(
+                    NotificationItem.Type.BUDGET_90_PERCENT,
+                    "budget_90_" + budgetName + "_" + window.getStart(),
+                    budgetName + " at " + String.format("%.0f", percentageUsed) + "%",
+                    String.format("Spent $%.2f of $%.2f", totalSpent, budgetAmount),
+                    0,
+                    window.getEnd()
+            );
+            synchronized (notifications) {
+                notifications.add(item);
+            }
+            Log.d(TAG, "✓✓✓ NOTIFICATION ADDED: " + budgetName + " at " + percentageUsed + "%");
+        } else {
+            Log.d(TAG, "✗ Budget under 90% threshold");
+        }
+    }
+
     private void updateNotifications(List<NotificationItem> notifications) {
         // Filter out already shown or dismissed notifications
         List<NotificationItem> newNotifications = new ArrayList<>();
@@ -6,9 +6,12 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 
+import com.example.spendwise.model.Expense;
 import com.example.spendwise.model.User;
+import com.example.spendwise.repository.ExpenseRepository;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
@@ -34,6 +37,11 @@ public class ProfileViewModel extends ViewModel {
     private final FirebaseAuth auth = FirebaseAuth.getInstance();
     private final StorageReference storageRef = FirebaseStorage.getInstance().getReference();
 
+    private ExpenseRepository expenseRepository;
+    private Observer<List<Expense>> expensesCountObserver;
+    private DatabaseReference budgetsRef;
+    private ValueEventListener budgetsCountListener;
+
     public LiveData<User> getUserProfile() {
         return userProfile;
     }
@@ -75,26 +83,37 @@ public class ProfileViewModel extends ViewModel {
             }
         });
 
-        // Load Stats
-        dbRef.child("users").child(uid).child("expenses").addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                expensesCount.setValue((int) snapshot.getChildrenCount());
-            }
+        // Load Stats once; the listeners stay live, so reloading the profile must not stack them
+        if (expenseRepository == null) {
+            expenseRepository = ExpenseRepository.acquire(uid);
+            expensesCountObserver = expenses -> expensesCount.setValue(expenses.size());
+            expenseRepository.getExpenses().observeForever(expensesCountObserver);
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {}
-        });
+            budgetsRef = dbRef.child("users").child(uid).child("budgets");
+            budgetsCountListener = new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    budgetsCount.setValue((int) snapshot.getChildrenCount());
+                }
 
-        dbRef.child("users").child(uid).child("budgets").addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                budgetsCount.setValue((int) snapshot.getChildrenCount());
-            }
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {}
+            };
+            budgetsRef.addValueEventListener(budgetsCountListener);
+        }
+    }
 
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {}
-        });
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (expenseRepository != null) {
+            expenseRepository.getExpenses().removeObserver(expensesCountObserver);
+            expenseRepository.release();
+            expenseRepository = null;
+        }
+        if (budgetsRef != null && budgetsCountListener != null) {
+            budgetsRef.removeEventListener(budgetsCountListener);
+        }
     }
 
     private void loadFriends(List<String> friendIds) {
@@ -5,19 +5,29 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModel;
 
+import com.example.spendwise.model.CircleProgress;
 import com.example.spendwise.model.Firebase;
 import com.example.spendwise.model.MemberCycle;
 import com.example.spendwise.model.SavingCircle;
 import com.example.spendwise.model.SavingCircleInvitation;
 import com.example.spendwise.model.SavingCircleMember;
+import com.example.spendwise.repository.ChildSyncEngine;
+import com.example.spendwise.repository.CircleIndex;
+import com.example.spendwise.repository.CycleTimeline;
+import com.example.spendwise.repository.LocalStore;
+import com.example.spendwise.repository.SnapshotParsers;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
@@ -38,6 +48,14 @@ public class SavingCircleViewModel extends ViewModel {
     private final DatabaseReference invitationsRootRef;
     private final FirebaseAuth auth;
     private ValueEventListener invitationsListener;
+    private final LocalStore localStore;
+    private final CircleIndex circleIndex;
+    private boolean remoteCirclesLoaded = false;
+    private ChildSyncEngine<SavingCircle> circleSync;
+    private Observer<List<SavingCircle>> circlesObserver;
+    // Cycles read so far for each member, keyed by circle and sanitized email,
+    // so recording an expense does not have to re-read them
+    private final Map<String, CycleTimeline> cycleCache = new HashMap<>();
 
     public SavingCircleViewModel() {
         savingCircles = new MutableLiveData<>(new ArrayList<>());
@@ -48,6 +66,8 @@ public class SavingCircleViewModel extends ViewModel {
         database = Firebase.getDatabase();
         auth = FirebaseAuth.getInstance();
         invitationsRootRef = database.getReference("invitations");
+        localStore = LocalStore.getInstance();
+        circleIndex = CircleIndex.getInstance();
 
         loadCurrentUserEmail();
         setupUserSavingCirclesReference();
@@ -155,6 +175,7 @@ public class SavingCircleViewModel extends ViewModel {
         newSavingCircleRef.setValue(savingCircle)
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Saving circle added successfully: " + savingCircle);
+                    circleIndex.register(firebaseId, creatorUid);
 
                     addMemberToCircle(firebaseId, creatorEmail, personalAllocation,
                             dashboardTimestamp, frequency);
@@ -325,27 +346,14 @@ public class SavingCircleViewModel extends ViewModel {
 
         // If creatorUid is not in the invitation (for backwards compatibility), search for it
         if (creatorUid == null || creatorUid.isEmpty()) {
-            // Fallback: search for the circle
-            database.getReference("users").get()
-                    .addOnSuccessListener(usersSnapshot -> {
-                        String foundCreatorUid = null;
-                        for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                            if (userSnapshot.child("savingCircles").child(circleId).exists()) {
-                                foundCreatorUid = userSnapshot.getKey();
-                                break;
-                            }
-                        }
-                        if (foundCreatorUid != null) {
-                            proceedWithAcceptance(foundCreatorUid, circleId, inviteeEmail, inviteeUid,
-                                    allocation, responseTimestamp, frequency, invitation, listener);
-                        } else {
-                            if (listener != null) listener.onError("Circle not found");
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error finding circle", e);
-                        if (listener != null) listener.onError("Error accepting invitation: " + e.getMessage());
-                    });
+            getCircleCreatorUid(circleId, foundCreatorUid -> {
+                if (foundCreatorUid != null) {
+                    proceedWithAcceptance(foundCreatorUid, circleId, inviteeEmail, inviteeUid,
+                            allocation, responseTimestamp, frequency, invitation, listener);
+                } else {
+                    if (listener != null) listener.onError("Circle not found");
+                }
+            });
         } else {
             // Use the creatorUid from the invitation
             proceedWithAcceptance(creatorUid, circleId, inviteeEmail, inviteeUid,
@@ -516,46 +524,7 @@ public class SavingCircleViewModel extends ViewModel {
     public void getCurrentCycle(String circleId, String memberEmail,
                                 OnCycleLoadedListener listener) {
         if (savingCirclesRef == null) return;
-
-        // Find the circle to get creator UID, then read from creator's path
-        getCircleCreatorUid(circleId, creatorUid -> {
-            if (creatorUid == null) {
-                listener.onError("Cannot find circle creator");
-                return;
-            }
-
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
-
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .get()
-                    .addOnSuccessListener(dataSnapshot -> {
-                        MemberCycle currentCycle = null;
-                        long currentTime = System.currentTimeMillis();
-
-                        for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
-                            MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
-                            if (cycle != null && cycle.isDateInCycle(currentTime)) {
-                                currentCycle = cycle;
-                                break;
-                            }
-                        }
-
-                        if (currentCycle != null) {
-                            listener.onCycleLoaded(currentCycle);
-                        } else {
-                            listener.onCycleNotFound();
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error loading current cycle", e);
-                        listener.onError(e.getMessage());
-                    });
-        });
+        getCycleAtDate(circleId, memberEmail, System.currentTimeMillis(), listener);
     }
 
     public void checkAndCreateNextCycle(String circleId, String memberEmail, String frequency) {
@@ -590,24 +559,30 @@ public class SavingCircleViewModel extends ViewModel {
                 return;
             }
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
-
             cycle.setComplete(true);
 
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .child(cycle.getCycleId())
-                    .setValue(cycle)
+            // The cycle and its progress entry change together
+            Map<String, Object> updates = new HashMap<>();
+            updates.put(cyclePath(creatorUid, circleId, memberEmail, cycle), cycle);
+            updates.put(progressPath(creatorUid, circleId, memberEmail, cycle), CircleProgress.entryFor(cycle));
+
+            database.getReference().updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
                         Log.d(TAG, "Cycle completed: " + cycle.getCycleId());
                     });
         });
     }
 
+    private String cyclePath(String creatorUid, String circleId, String memberEmail, MemberCycle cycle) {
+        return "users/" + creatorUid + "/savingCircles/" + circleId + "/members/"
+                + sanitizeEmail(memberEmail) + "/cycles/" + cycle.getCycleId();
+    }
+
+    private String progressPath(String creatorUid, String circleId, String memberEmail, MemberCycle cycle) {
+        return "users/" + creatorUid + "/savingCircles/" + circleId + "/" + CircleProgress.NODE + "/"
+                + CircleProgress.CYCLES + "/" + sanitizeEmail(memberEmail) + "/" + cycle.getCycleId();
+    }
+
     private void createNextCycle(String circleId, String memberEmail,
                                  MemberCycle previousCycle, String frequency) {
         // Find creator UID and write to creator's path
@@ -647,63 +622,21 @@ public class SavingCircleViewModel extends ViewModel {
 
     // Record expense in cycle for a specific date (respects Dashboard date selector)
     public void recordExpenseInCycleAtDate(String circleId, String memberEmail, double amount, long expenseDate) {
-        getCycleAtDate(circleId, memberEmail, expenseDate, new OnCycleLoadedListener() {
-            @Override
-            public void onCycleLoaded(MemberCycle cycle) {
-                double oldEndAmount = cycle.getEndAmount();
-                cycle.recordExpense(amount);
-                double newEndAmount = cycle.getEndAmount();
-
-                // Find creator UID and write to creator's path
-                getCircleCreatorUid(circleId, creatorUid -> {
-                    if (creatorUid == null) {
-                        Log.e(TAG, "Cannot find circle creator for recording expense");
-                        return;
-                    }
-
-                    DatabaseReference circlesRef = database.getReference("users")
-                            .child(creatorUid).child("savingCircles");
-                    String sanitizedEmail = sanitizeEmail(memberEmail);
-
-                    circlesRef.child(circleId)
-                            .child("members")
-                            .child(sanitizedEmail)
-                            .child("cycles")
-                            .child(cycle.getCycleId())
-                            .setValue(cycle)
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Expense recorded in cycle: " + cycle.getCycleId() + " for date: " + new java.util.Date(expenseDate));
-
-                                // Sync currentAmount with the cycle's endAmount if this is the current cycle
-                                // Check if this cycle contains the current date
-                                long currentTime = System.currentTimeMillis();
-                                if (cycle.isDateInCycle(currentTime)) {
-                                    circlesRef.child(circleId)
-                                            .child("members")
-                                            .child(sanitizedEmail)
-                                            .child("currentAmount")
-                                            .setValue(newEndAmount)
-                                            .addOnSuccessListener(aVoid2 -> {
-                                                Log.d(TAG, "Synced currentAmount with cycle endAmount: " + newEndAmount);
-                                            });
-                                }
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Error recording expense in cycle", e);
-                            });
-                });
-            }
-
-            @Override
-            public void onCycleNotFound() {
-                Log.e(TAG, "Cannot record expense - no cycle found for date: " + new java.util.Date(expenseDate));
-            }
+        applyExpenseToCycle(circleId, memberEmail, amount, expenseDate, false, null, null);
+    }
 
-            @Override
-            public void onError(String message) {
-                Log.e(TAG, "Error recording expense: " + message);
-            }
-        });
+    /**
+     * Records a circle-linked expense, its cycle deduction and the member's
+     * currentAmount in one atomic multi-path write. When the cycle's amounts
+     * may need clamping, the cycle is updated in a transaction first and the
+     * rest written after it; if that write fails the cycle change is undone.
+     *
+     * @param expenseUpdates Root-relative paths for the expense insert, written
+     *                       in the same update as the cycle (may be null).
+     */
+    public void recordExpenseInCycleAtDate(String circleId, String memberEmail, double amount, long expenseDate,
+                                           Map<String, Object> expenseUpdates, OnCycleWriteListener listener) {
+        applyExpenseToCycle(circleId, memberEmail, amount, expenseDate, false, expenseUpdates, listener);
     }
 
     public void restoreExpenseInCycle(String circleId, String memberEmail, double amount) {
@@ -713,61 +646,240 @@ public class SavingCircleViewModel extends ViewModel {
 
     // Restore expense in cycle for a specific date
     public void restoreExpenseInCycleAtDate(String circleId, String memberEmail, double amount, long expenseDate) {
-        getCycleAtDate(circleId, memberEmail, expenseDate, new OnCycleLoadedListener() {
-            @Override
-            public void onCycleLoaded(MemberCycle cycle) {
-                double oldEndAmount = cycle.getEndAmount();
-                cycle.restoreExpense(amount);
-                double newEndAmount = cycle.getEndAmount();
-
-                // Find creator UID and write to creator's path
-                getCircleCreatorUid(circleId, creatorUid -> {
-                    if (creatorUid == null) {
-                        Log.e(TAG, "Cannot find circle creator for restoring expense");
-                        return;
-                    }
+        applyExpenseToCycle(circleId, memberEmail, amount, expenseDate, true, null, null);
+    }
 
-                    DatabaseReference circlesRef = database.getReference("users")
-                            .child(creatorUid).child("savingCircles");
-                    String sanitizedEmail = sanitizeEmail(memberEmail);
+    public interface OnCycleWriteListener {
+        void onSuccess();
 
-                    circlesRef.child(circleId)
-                            .child("members")
-                            .child(sanitizedEmail)
-                            .child("cycles")
-                            .child(cycle.getCycleId())
-                            .setValue(cycle)
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Expense restored in cycle: " + cycle.getCycleId());
-
-                                // Sync currentAmount if this is the current cycle
-                                long currentTime = System.currentTimeMillis();
-                                if (cycle.isDateInCycle(currentTime)) {
-                                    circlesRef.child(circleId)
-                                            .child("members")
-                                            .child(sanitizedEmail)
-                                            .child("currentAmount")
-                                            .setValue(newEndAmount)
-                                            .addOnSuccessListener(aVoid2 -> {
-                                                Log.d(TAG, "Synced currentAmount after restore: " + newEndAmount);
-                                            });
-                                }
-                            });
-                });
+        void onError(String message);
+    }
+
+    // Locates the cycle (cached when possible) and writes the cycle change
+    // together with any extra paths
+    private void applyExpenseToCycle(String circleId, String memberEmail, double amount, long expenseDate,
+                                     boolean restore, Map<String, Object> extraUpdates,
+                                     OnCycleWriteListener listener) {
+        String action = restore ? "restoring" : "recording";
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Cannot find circle creator for " + action + " expense");
+                writeUpdates(extraUpdates, listener);
+                return;
             }
 
+            MemberCycle cached = findCachedCycle(circleId, memberEmail, expenseDate);
+            if (cached != null) {
+                writeCycleChange(creatorUid, circleId, memberEmail, cached, amount, restore,
+                        extraUpdates, listener);
+                return;
+            }
+
+            getCycleAtDate(circleId, memberEmail, expenseDate, new OnCycleLoadedListener() {
+                @Override
+                public void onCycleLoaded(MemberCycle cycle) {
+                    writeCycleChange(creatorUid, circleId, memberEmail, cycle, amount, restore,
+                            extraUpdates, listener);
+                }
+
+                @Override
+                public void onCycleNotFound() {
+                    Log.e(TAG, "Cannot " + (restore ? "restore" : "record") + " expense - no cycle found for date: "
+                            + new java.util.Date(expenseDate));
+                    writeUpdates(extraUpdates, listener);
+                }
+
+                @Override
+                public void onError(String message) {
+                    Log.e(TAG, "Error " + action + " expense: " + message);
+                    writeUpdates(extraUpdates, listener);
+                }
+            });
+        });
+    }
+
+    private void writeCycleChange(String creatorUid, String circleId, String memberEmail, MemberCycle cycle,
+                                  double amount, boolean restore, Map<String, Object> extraUpdates,
+                                  OnCycleWriteListener listener) {
+        double oldEndAmount = cycle.getEndAmount();
+        double oldSpent = cycle.getSpent();
+        if (restore) {
+            cycle.restoreExpense(amount);
+        } else {
+            cycle.recordExpense(amount);
+        }
+        double endDelta = restore ? amount : -amount;
+
+        String memberPath = "users/" + creatorUid + "/savingCircles/" + circleId
+                + "/members/" + sanitizeEmail(memberEmail);
+        String cyclePath = memberPath + "/cycles/" + cycle.getCycleId();
+
+        // Deltas commute with other writers but cannot clamp, and a finished
+        // cycle's progress entry needs the amount the server ends up with
+        boolean unclamped = cycle.getEndAmount() == oldEndAmount + endDelta
+                && cycle.getSpent() == oldSpent - endDelta;
+        if (!unclamped || cycle.isComplete()) {
+            transactCycleChange(creatorUid, circleId, memberEmail, cyclePath, amount, restore,
+                    extraUpdates, listener);
+            return;
+        }
+
+        Map<String, Object> updates = new HashMap<>();
+        if (extraUpdates != null) {
+            updates.putAll(extraUpdates);
+        }
+        updates.put(cyclePath + "/endAmount", ServerValue.increment(endDelta));
+        updates.put(cyclePath + "/spent", ServerValue.increment(-endDelta));
+        // currentAmount mirrors the current cycle's endAmount, so it moves by the same delta
+        if (cycle.isDateInCycle(System.currentTimeMillis())) {
+            updates.put(memberPath + "/currentAmount", ServerValue.increment(endDelta));
+        }
+
+        database.getReference().updateChildren(updates)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Expense " + (restore ? "restored" : "recorded") + " in cycle: "
+                            + cycle.getCycleId());
+                    if (listener != null) listener.onSuccess();
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error writing expense to cycle", e);
+                    // The local copy may no longer match the server
+                    cycleCache.remove(cycleCacheKey(circleId, memberEmail));
+                    if (listener != null) listener.onError(e.getMessage());
+                });
+    }
+
+    // Applies the change to the server's copy of the cycle, then writes the
+    // extra paths and everything derived from the committed amounts. If that
+    // second write fails, the committed change is taken back out of the cycle.
+    private void transactCycleChange(String creatorUid, String circleId, String memberEmail, String cyclePath,
+                                     double amount, boolean restore, Map<String, Object> extraUpdates,
+                                     OnCycleWriteListener listener) {
+        // How far the committed run moved endAmount and spent after clamping
+        double[] applied = new double[2];
+        database.getReference(cyclePath).runTransaction(new Transaction.Handler() {
+            @NonNull
             @Override
-            public void onCycleNotFound() {
-                Log.w(TAG, "Cannot restore expense - no cycle found for date: " + new java.util.Date(expenseDate));
+            public Transaction.Result doTransaction(@NonNull MutableData currentData) {
+                MemberCycle current = currentData.getValue(MemberCycle.class);
+                if (current == null) {
+                    // Not cached locally yet; the transaction reruns with the server's copy
+                    applied[0] = 0;
+                    applied[1] = 0;
+                    return Transaction.success(currentData);
+                }
+                double endBefore = current.getEndAmount();
+                double spentBefore = current.getSpent();
+                if (restore) {
+                    current.restoreExpense(amount);
+                } else {
+                    current.recordExpense(amount);
+                }
+                applied[0] = current.getEndAmount() - endBefore;
+                applied[1] = current.getSpent() - spentBefore;
+                currentData.setValue(current);
+                return Transaction.success(currentData);
             }
 
             @Override
-            public void onError(String message) {
-                Log.e(TAG, "Error restoring expense: " + message);
+            public void onComplete(DatabaseError error, boolean committed, DataSnapshot snapshot) {
+                if (error != null || !committed) {
+                    Log.e(TAG, "Error writing expense to cycle: "
+                            + (error != null ? error.getMessage() : "not committed"));
+                    cycleCache.remove(cycleCacheKey(circleId, memberEmail));
+                    if (listener != null) {
+                        listener.onError(error != null ? error.getMessage() : "Cycle update was not committed");
+                    }
+                    return;
+                }
+
+                MemberCycle committedCycle = snapshot != null ? snapshot.getValue(MemberCycle.class) : null;
+                if (committedCycle == null) {
+                    Log.e(TAG, "Cycle disappeared before the expense was recorded: " + cyclePath);
+                    cycleCache.remove(cycleCacheKey(circleId, memberEmail));
+                    writeUpdates(extraUpdates, listener);
+                    return;
+                }
+                Log.d(TAG, "Expense " + (restore ? "restored" : "recorded") + " in cycle: "
+                        + committedCycle.getCycleId() + ", endAmount: " + committedCycle.getEndAmount());
+                cycleTimeline(circleId, memberEmail).put(committedCycle);
+
+                double endChange = applied[0];
+                double spentChange = applied[1];
+                Map<String, Object> updates = new HashMap<>();
+                if (extraUpdates != null) {
+                    updates.putAll(extraUpdates);
+                }
+                if (committedCycle.isDateInCycle(System.currentTimeMillis())) {
+                    updates.put("users/" + creatorUid + "/savingCircles/" + circleId + "/members/"
+                            + sanitizeEmail(memberEmail) + "/currentAmount", ServerValue.increment(endChange));
+                }
+                // A backdated expense on a finished cycle changes the circle's progress
+                if (committedCycle.isComplete()) {
+                    updates.put(progressPath(creatorUid, circleId, memberEmail, committedCycle),
+                            CircleProgress.entryFor(committedCycle));
+                }
+                database.getReference().updateChildren(updates)
+                        .addOnSuccessListener(aVoid -> {
+                            if (listener != null) listener.onSuccess();
+                        })
+                        .addOnFailureListener(e -> {
+                            Log.e(TAG, "Error writing expense after cycle change; undoing it", e);
+                            undoCycleChange(cyclePath, endChange, spentChange);
+                            cycleCache.remove(cycleCacheKey(circleId, memberEmail));
+                            if (listener != null) listener.onError(e.getMessage());
+                        });
             }
         });
     }
 
+    // Takes a committed cycle change back out, leaving other writers' changes in place
+    private void undoCycleChange(String cyclePath, double endChange, double spentChange) {
+        if (endChange == 0 && spentChange == 0) {
+            return;
+        }
+        Map<String, Object> undo = new HashMap<>();
+        undo.put("endAmount", ServerValue.increment(-endChange));
+        undo.put("spent", ServerValue.increment(-spentChange));
+        database.getReference(cyclePath).updateChildren(undo)
+                .addOnFailureListener(e -> Log.e(TAG, "Error undoing cycle change", e));
+    }
+
+    // Writes only the extra paths, for expenses whose cycle could not be found
+    private void writeUpdates(Map<String, Object> updates, OnCycleWriteListener listener) {
+        if (updates == null || updates.isEmpty()) {
+            if (listener != null) listener.onSuccess();
+            return;
+        }
+        database.getReference().updateChildren(updates)
+                .addOnSuccessListener(aVoid -> {
+                    if (listener != null) listener.onSuccess();
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error writing updates", e);
+                    if (listener != null) listener.onError(e.getMessage());
+                });
+    }
+
+    private String cycleCacheKey(String circleId, String memberEmail) {
+        return circleId + "/" + sanitizeEmail(memberEmail);
+    }
+
+    private MemberCycle findCachedCycle(String circleId, String memberEmail, long date) {
+        CycleTimeline timeline = cycleCache.get(cycleCacheKey(circleId, memberEmail));
+        return timeline != null ? timeline.find(date) : null;
+    }
+
+    private CycleTimeline cycleTimeline(String circleId, String memberEmail) {
+        String key = cycleCacheKey(circleId, memberEmail);
+        CycleTimeline timeline = cycleCache.get(key);
+        if (timeline == null) {
+            timeline = new CycleTimeline();
+            cycleCache.put(key, timeline);
+        }
+        return timeline;
+    }
+
     public LiveData<List<MemberCycle>> getMemberCycleHistory(String circleId, String memberEmail) {
         MutableLiveData<List<MemberCycle>> cycles = new MutableLiveData<>(new ArrayList<>());
 
@@ -919,69 +1031,39 @@ public class SavingCircleViewModel extends ViewModel {
             return;
         }
 
-        savingCirclesRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(@NonNull DataSnapshot snapshot) {
-                List<SavingCircle> savingCircleList = new ArrayList<>();
-
-                for (DataSnapshot savingCircleSnapshot : snapshot.getChildren()) {
-                    try {
-                        String id = savingCircleSnapshot.getKey();
-                        String groupName = savingCircleSnapshot.child("groupName")
-                                .getValue(String.class);
-                        String creatorEmail = savingCircleSnapshot.child("creatorEmail")
-                                .getValue(String.class);
-                        String challengeTitle = savingCircleSnapshot.child("challengeTitle")
-                                .getValue(String.class);
-                        Double goalAmount = savingCircleSnapshot.child("goalAmount")
-                                .getValue(Double.class);
-                        String frequency = savingCircleSnapshot.child("frequency")
-                                .getValue(String.class);
-                        String notes = savingCircleSnapshot.child("notes")
-                                .getValue(String.class);
-                        Long createdAt = savingCircleSnapshot.child("createdAt")
-                                .getValue(Long.class);
-
-                        if (groupName != null && creatorEmail != null && challengeTitle != null
-                                && goalAmount != null && frequency != null) {
-                            SavingCircle savingCircle = new SavingCircle(
-                                    groupName,
-                                    creatorEmail,
-                                    challengeTitle,
-                                    goalAmount,
-                                    frequency,
-                                    notes != null ? notes : "",
-                                    createdAt != null ? createdAt : System.currentTimeMillis()
-                            );
-                            savingCircle.setId(id);
-                            // Set creatorUid - if not stored, assume current user is creator (backwards compatibility)
-                            String creatorUid = savingCircleSnapshot.child("creatorUid").getValue(String.class);
-                            if (creatorUid == null || creatorUid.isEmpty()) {
-                                FirebaseUser currentUser = auth.getCurrentUser();
-                                creatorUid = currentUser != null ? currentUser.getUid() : null;
-                            }
-                            if (creatorUid != null) {
-                                savingCircle.setCreatorUid(creatorUid);
-                            }
-                            savingCircleList.add(savingCircle);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing saving circle", e);
-                    }
+        String ownerUid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
+        if (localStore != null && ownerUid != null) {
+            // Show the last synced circles while Firebase loads
+            localStore.loadSavingCircles(ownerUid, localCircles -> {
+                if (!remoteCirclesLoaded && !localCircles.isEmpty()) {
+                    savingCircles.setValue(localCircles);
                 }
+            });
+        }
 
-                savingCircles.setValue(savingCircleList);
-                Log.d(TAG, "Loaded " + savingCircleList.size()
-                        + " saving circles from Firebase");
+        // Circles saved before creatorUid was stored belong to the current user
+        circleSync = new ChildSyncEngine<>(savingCirclesRef,
+                snapshot -> SnapshotParsers.parseSavingCircle(snapshot, ownerUid));
+        circleSync.setErrorListener(error -> statusMessage.setValue(
+                "Error loading saving circles: " + error.getMessage()));
+        circlesObserver = savingCircleList -> {
+            if (!circleSync.isLoaded() && savingCircleList.isEmpty()) {
+                // Keep the warm-start list until Firebase has delivered something
+                return;
             }
-
-            @Override
-            public void onCancelled(@NonNull DatabaseError error) {
-                Log.e(TAG, "Firebase error: " + error.getMessage());
-                statusMessage.setValue("Error loading saving circles: "
-                        + error.getMessage());
+            remoteCirclesLoaded = true;
+            savingCircles.setValue(savingCircleList);
+            // Index any circles created before circleIndex existed
+            circleIndex.backfill(savingCircleList);
+            if (localStore != null && ownerUid != null && circleSync.isLoaded()) {
+                // Circle lists are short, so mirroring the whole list is cheap
+                localStore.replaceSavingCircles(ownerUid, savingCircleList);
             }
-        });
+            Log.d(TAG, "Loaded " + savingCircleList.size()
+                    + " saving circles from Firebase");
+        };
+        circleSync.getList().observeForever(circlesObserver);
+        circleSync.start();
     }
 
     public void deleteSavingCircle(String id) {
@@ -990,9 +1072,17 @@ public class SavingCircleViewModel extends ViewModel {
             return;
         }
 
+        SavingCircle circle = circleSync != null ? circleSync.get(id) : null;
+        FirebaseUser currentUser = auth.getCurrentUser();
+        boolean ownsCircle = circle != null && currentUser != null
+                && currentUser.getUid().equals(circle.getCreatorUid());
+
         savingCirclesRef.child(id).removeValue()
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Saving circle deleted successfully");
+                    if (ownsCircle) {
+                        circleIndex.unregister(id);
+                    }
                     statusMessage.setValue("Saving circle deleted!");
                 })
                 .addOnFailureListener(e -> {
@@ -1020,28 +1110,25 @@ public class SavingCircleViewModel extends ViewModel {
                     .child(creatorUid).child("savingCircles");
             String sanitizedEmail = sanitizeEmail(memberEmail);
 
+            // Only the few cycles starting just before the date, not the whole history
             circlesRef.child(circleId)
                     .child("members")
                     .child(sanitizedEmail)
                     .child("cycles")
+                    .orderByKey()
+                    .endAt(CycleTimeline.keyUpperBound(targetDate))
+                    .limitToLast(3)
                     .get()
                     .addOnSuccessListener(dataSnapshot -> {
                         MemberCycle targetCycle = null;
-
-                        Log.d(TAG, "Searching for cycle at date: " + new java.util.Date(targetDate)
-                                + " for member: " + memberEmail);
+                        CycleTimeline timeline = cycleTimeline(circleId, memberEmail);
 
                         for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
                             MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
                             if (cycle != null) {
-                                Log.d(TAG, "Checking cycle: " + cycle.getCycleId()
-                                        + " [" + new java.util.Date(cycle.getStartDate())
-                                        + " to " + new java.util.Date(cycle.getEndDate()) + "]");
-
+                                timeline.put(cycle);
                                 if (cycle.isDateInCycle(targetDate)) {
                                     targetCycle = cycle;
-                                    Log.d(TAG, "Found matching cycle: " + cycle.getCycleId());
-                                    break;
                                 }
                             }
                         }
@@ -1060,43 +1147,49 @@ public class SavingCircleViewModel extends ViewModel {
         });
     }
 
-    private void getCircleCreatorUid(String circleId, CreatorUidCallback callback) {
-        // First try current user's path
-        savingCirclesRef.child(circleId).get()
-                .addOnSuccessListener(snapshot -> {
-                    if (snapshot.exists()) {
-                        String creatorUid = snapshot.child("creatorUid").getValue(String.class);
-                        if (creatorUid != null && !creatorUid.isEmpty()) {
-                            callback.onUidFound(creatorUid);
-                        } else {
-                            // Backwards compatibility: assume current user is creator
-                            String uid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
-                            callback.onUidFound(uid);
+    // Latest cycle by start date, or null when the member has none
+    private void getLastCycleOnce(String circleId, String memberEmail, LastCycleCallback callback) {
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Cannot find circle creator for last cycle");
+                callback.onLastCycleLoaded(null);
+                return;
+            }
+
+            database.getReference("users")
+                    .child(creatorUid)
+                    .child("savingCircles")
+                    .child(circleId)
+                    .child("members")
+                    .child(sanitizeEmail(memberEmail))
+                    .child("cycles")
+                    .orderByKey()
+                    .limitToLast(1)
+                    .get()
+                    .addOnSuccessListener(dataSnapshot -> {
+                        MemberCycle lastCycle = null;
+                        for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
+                            lastCycle = cycleSnapshot.getValue(MemberCycle.class);
                         }
-                    } else {
-                        // Search in other users' paths
-                        database.getReference("users").get()
-                                .addOnSuccessListener(usersSnapshot -> {
-                                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                                        if (circleSnapshot.exists()) {
-                                            String creatorUid = circleSnapshot.child("creatorUid").getValue(String.class);
-                                            callback.onUidFound(creatorUid != null ? creatorUid : userSnapshot.getKey());
-                                            return;
-                                        }
-                                    }
-                                    callback.onUidFound(null);
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error searching for circle creator", e);
-                                    callback.onUidFound(null);
-                                });
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading circle", e);
-                    callback.onUidFound(null);
-                });
+                        if (lastCycle != null) {
+                            cycleTimeline(circleId, memberEmail).put(lastCycle);
+                        }
+                        callback.onLastCycleLoaded(lastCycle);
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error loading last cycle: " + e.getMessage());
+                        callback.onLastCycleLoaded(null);
+                    });
+        });
+    }
+
+    private interface LastCycleCallback {
+        void onLastCycleLoaded(MemberCycle lastCycle);
+    }
+
+    private void getCircleCreatorUid(String circleId, CreatorUidCallback callback) {
+        String uid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
+        circleIndex.resolve(circleId, uid, callback::onUidFound);
     }
 
     private interface CreatorUidCallback {
@@ -1172,39 +1265,32 @@ public class SavingCircleViewModel extends ViewModel {
     }
 
     private void findCircleById(String circleId, MutableLiveData<SavingCircle> circleLiveData) {
-        database.getReference("users").get()
-                .addOnSuccessListener(usersSnapshot -> {
-                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                        if (circleSnapshot.exists()) {
-                            parseAndSetCircle(circleSnapshot, circleLiveData);
-                            // Also set up a listener for real-time updates from the creator's path
-                            String creatorUid = userSnapshot.getKey();
-                            DatabaseReference creatorCirclesRef = database.getReference("users")
-                                    .child(creatorUid).child("savingCircles");
-                            creatorCirclesRef.child(circleId).addValueEventListener(new ValueEventListener() {
-                                @Override
-                                public void onDataChange(@NonNull DataSnapshot snapshot) {
-                                    if (snapshot.exists()) {
-                                        parseAndSetCircle(snapshot, circleLiveData);
-                                    }
-                                }
-
-                                @Override
-                                public void onCancelled(@NonNull DatabaseError error) {
-                                    Log.e(TAG, "Error listening to circle updates: " + error.getMessage());
-                                }
-                            });
-                            return;
-                        }
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.w(TAG, "No SavingCircle found for ID: " + circleId);
+                circleLiveData.setValue(null);
+                return;
+            }
+            // Listen on the creator's path; the first callback delivers the current value
+            DatabaseReference creatorCirclesRef = database.getReference("users")
+                    .child(creatorUid).child("savingCircles");
+            creatorCirclesRef.child(circleId).addValueEventListener(new ValueEventListener() {
+                @Override
+                public void onDataChange(@NonNull DataSnapshot snapshot) {
+                    if (snapshot.exists()) {
+                        parseAndSetCircle(snapshot, circleLiveData);
+                    } else {
+                        Log.w(TAG, "No SavingCircle found for ID: " + circleId);
+                        circleLiveData.setValue(null);
                     }
-                    Log.w(TAG, "No SavingCircle found for ID: " + circleId);
-                    circleLiveData.setValue(null);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error searching for circle: " + e.getMessage());
-                    circleLiveData.setValue(null);
-                });
+                }
+
+                @Override
+                public void onCancelled(@NonNull DatabaseError error) {
+                    Log.e(TAG, "Error listening to circle updates: " + error.getMessage());
+                }
+            });
+        });
     }
 
     private void parseAndSetCircle(DataSnapshot snapshot, MutableLiveData<SavingCircle> circleLiveData) {
@@ -1248,58 +1334,22 @@ public class SavingCircleViewModel extends ViewModel {
             return membersLiveData;
         }
 
-        // First, get the circle to find the creator's UID
-        savingCirclesRef.child(circleId).get()
-                .addOnSuccessListener(circleSnapshot -> {
-                    if (!circleSnapshot.exists()) {
-                        Log.e(TAG, "Circle not found in current user's path: " + circleId);
-                        // Try to find it in other users' paths (fallback for backwards compatibility)
-                        findCircleAndLoadMembers(circleId, membersLiveData);
-                        return;
-                    }
-
-                    String creatorUid = circleSnapshot.child("creatorUid").getValue(String.class);
-                    if (creatorUid == null || creatorUid.isEmpty()) {
-                        // Backwards compatibility: if creatorUid is not set, assume current user is creator
-                        creatorUid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
-                    }
-
-                    if (creatorUid != null) {
-                        // Read members from the creator's path
-                        DatabaseReference creatorCirclesRef = database.getReference("users")
-                                .child(creatorUid).child("savingCircles");
-                        loadMembersFromPath(creatorCirclesRef, circleId, membersLiveData);
-                    } else {
-                        Log.e(TAG, "Cannot determine creator UID for circle: " + circleId);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding circle: " + e.getMessage());
-                    // Fallback: try to find circle in other paths
-                    findCircleAndLoadMembers(circleId, membersLiveData);
-                });
+        // Members live under the creator's copy of the circle
+        findCircleAndLoadMembers(circleId, membersLiveData);
 
         return membersLiveData;
     }
 
     private void findCircleAndLoadMembers(String circleId, MutableLiveData<List<SavingCircleMember>> membersLiveData) {
-        database.getReference("users").get()
-                .addOnSuccessListener(usersSnapshot -> {
-                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                        if (circleSnapshot.exists()) {
-                            String creatorUid = userSnapshot.getKey();
-                            DatabaseReference creatorCirclesRef = database.getReference("users")
-                                    .child(creatorUid).child("savingCircles");
-                            loadMembersFromPath(creatorCirclesRef, circleId, membersLiveData);
-                            return;
-                        }
-                    }
-                    Log.e(TAG, "Circle not found in any user path: " + circleId);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error searching for circle: " + e.getMessage());
-                });
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Circle not found in any user path: " + circleId);
+                return;
+            }
+            DatabaseReference creatorCirclesRef = database.getReference("users")
+                    .child(creatorUid).child("savingCircles");
+            loadMembersFromPath(creatorCirclesRef, circleId, membersLiveData);
+        });
     }
 
     private void loadMembersFromPath(DatabaseReference circlesRef, String circleId,
@@ -1328,6 +1378,10 @@ public class SavingCircleViewModel extends ViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
+        if (circleSync != null) {
+            circleSync.getList().removeObserver(circlesObserver);
+            circleSync.stop();
+        }
         if (invitationsListener != null && invitationsRootRef != null) {
             String email = currentUserEmail.getValue();
             if (email != null && !email.isEmpty()) {
@@ -1336,7 +1390,8 @@ public class SavingCircleViewModel extends ViewModel {
         }
     }
 
-    private String sanitizeEmail(String email) {
+    /** Key a member is stored under in the circle's members and progress nodes. */
+    public static String sanitizeEmail(String email) {
         if (email == null) {
             return "";
         }
@@ -1384,18 +1439,6 @@ public class SavingCircleViewModel extends ViewModel {
                 });
     }
 
-    /** Finds the MemberCycle in the list with the latest end date. */
-    private MemberCycle findLastCycle(List<MemberCycle> cycles) {
-        if (cycles == null || cycles.isEmpty()) return null;
-        MemberCycle lastCycle = null;
-        for (MemberCycle cycle : cycles) {
-            if (lastCycle == null || cycle.getEndDate() > lastCycle.getEndDate()) {
-                lastCycle = cycle;
-            }
-        }
-        return lastCycle;
-    }
-
     private void createNextCycleAndReturn(String circleId, String memberEmail,
                                           MemberCycle previousCycle, String frequency,
                                           OnCycleLoadedListener finalListener) {
@@ -1457,11 +1500,9 @@ public class SavingCircleViewModel extends ViewModel {
 
             @Override
             public void onCycleNotFound() {
-                // Case 2: No cycle found for the checkDate. Use one-time get instead of observe
-                getMemberCycleHistoryOnce(circleId, memberEmail, cycles -> {
-                    MemberCycle lastCycle = findLastCycle(cycles);
-
-                    if (cycles == null || cycles.isEmpty() || lastCycle == null) {
+                // Case 2: No cycle found for the checkDate. Only the latest cycle is needed
+                getLastCycleOnce(circleId, memberEmail, lastCycle -> {
+                    if (lastCycle == null) {
                         // Case 2A: No cycles ever. Create the first cycle
                         initializeMemberCycle(circleId, memberEmail, checkDate, frequency, allocation);
                         // Re-run getCycleAtDate to fetch the newly created cycle and return it
@@ -1488,186 +1529,197 @@ public class SavingCircleViewModel extends ViewModel {
         });
     }
 
-    // New helper method to get cycle history once (not observe)
-    public void getMemberCycleHistoryOnce(String circleId, String memberEmail, CycleHistoryCallback callback) {
-        if (savingCirclesRef == null) {
-            callback.onHistoryLoaded(new ArrayList<>());
-            return;
-        }
-
+    // New method to complete a cycle and create the next one sequentially
+    private void completeCycleAndCreateNext(String circleId, String memberEmail,
+                                            MemberCycle cycle, String frequency,
+                                            OnCycleLoadedListener finalListener) {
         getCircleCreatorUid(circleId, creatorUid -> {
             if (creatorUid == null) {
-                Log.e(TAG, "Cannot find circle creator for cycle history");
-                callback.onHistoryLoaded(new ArrayList<>());
+                finalListener.onError("Cannot find circle creator");
                 return;
             }
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
+            // Mark the cycle complete, record its progress and create the next one together
+            cycle.setComplete(true);
+            MemberCycle nextCycle = MemberCycle.createNextCycle(cycle, frequency);
 
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .get()
-                    .addOnSuccessListener(dataSnapshot -> {
-                        List<MemberCycle> cycleList = new ArrayList<>();
-                        for (DataSnapshot cycleSnapshot : dataSnapshot.getChildren()) {
-                            MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
-                            if (cycle != null) {
-                                cycleList.add(cycle);
-                            }
-                        }
-                        cycleList.sort((c1, c2) -> Long.compare(c1.getStartDate(), c2.getStartDate()));
-                        callback.onHistoryLoaded(cycleList);
+            Map<String, Object> updates = new HashMap<>();
+            updates.put(cyclePath(creatorUid, circleId, memberEmail, cycle), cycle);
+            updates.put(progressPath(creatorUid, circleId, memberEmail, cycle), CircleProgress.entryFor(cycle));
+            updates.put(cyclePath(creatorUid, circleId, memberEmail, nextCycle), nextCycle);
+
+            database.getReference().updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d(TAG, "Cycle " + cycle.getCycleId() + " completed, next cycle created: "
+                                + nextCycle.getCycleId());
+                        finalListener.onCycleLoaded(nextCycle);
                     })
                     .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error loading cycle history: " + e.getMessage());
-                        callback.onHistoryLoaded(new ArrayList<>());
+                        Log.e(TAG, "Error completing cycle", e);
+                        finalListener.onError("Error completing cycle: " + e.getMessage());
                     });
         });
     }
 
-    public interface CycleHistoryCallback {
-        void onHistoryLoaded(List<MemberCycle> cycles);
-    }
-
-    // New method to complete a cycle and create the next one sequentially
-    private void completeCycleAndCreateNext(String circleId, String memberEmail,
-                                            MemberCycle cycle, String frequency,
-                                            OnCycleLoadedListener finalListener) {
+    // Fills a gap in the member's cycles with one multi-path write: the last
+    // cycle is marked complete and every missing cycle up to targetDate is added
+    private void fillCycleGap(String circleId, String memberEmail, MemberCycle lastCycle,
+                              long targetDate, String frequency, OnCycleLoadedListener finalListener) {
         getCircleCreatorUid(circleId, creatorUid -> {
             if (creatorUid == null) {
                 finalListener.onError("Cannot find circle creator");
                 return;
             }
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-            String sanitizedEmail = sanitizeEmail(memberEmail);
+            List<MemberCycle> missing = MemberCycle.createCyclesUntil(lastCycle, targetDate, frequency);
+            MemberCycle targetCycle = missing.get(missing.size() - 1);
 
-            // Step 1: Mark cycle as complete
-            cycle.setComplete(true);
+            Map<String, Object> updates = new HashMap<>();
+            if (!lastCycle.isComplete()) {
+                updates.put(cyclePath(creatorUid, circleId, memberEmail, lastCycle) + "/complete", true);
+            }
+            updates.put(progressPath(creatorUid, circleId, memberEmail, lastCycle),
+                    CircleProgress.entryFor(lastCycle));
+            for (MemberCycle cycle : missing) {
+                updates.put(cyclePath(creatorUid, circleId, memberEmail, cycle), cycle);
+                if (cycle.isComplete()) {
+                    updates.put(progressPath(creatorUid, circleId, memberEmail, cycle),
+                            CircleProgress.entryFor(cycle));
+                }
+            }
 
-            circlesRef.child(circleId)
-                    .child("members")
-                    .child(sanitizedEmail)
-                    .child("cycles")
-                    .child(cycle.getCycleId())
-                    .setValue(cycle)
+            database.getReference().updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Cycle marked as complete: " + cycle.getCycleId());
-
-                        // Step 2: Create next cycle only after completion is saved
-                        MemberCycle nextCycle = MemberCycle.createNextCycle(cycle, frequency);
-
-                        saveCycleToDatabase(circlesRef, circleId, memberEmail, nextCycle, new OnCycleCreatedListener() {
-                            @Override
-                            public void onCycleCreated(MemberCycle newCycle) {
-                                Log.d(TAG, "Next cycle created after completion: " + newCycle.getCycleId());
-                                finalListener.onCycleLoaded(newCycle);
-                            }
-
-                            @Override
-                            public void onError(String message) {
-                                finalListener.onError("Error creating next cycle: " + message);
-                            }
-                        });
+                        lastCycle.setComplete(true);
+                        CycleTimeline timeline = cycleTimeline(circleId, memberEmail);
+                        timeline.put(lastCycle);
+                        timeline.putAll(missing);
+                        Log.d(TAG, "Filled cycle gap with " + missing.size() + " cycles up to: "
+                                + targetCycle.getCycleId());
+                        finalListener.onCycleLoaded(targetCycle);
                     })
                     .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error completing cycle", e);
-                        finalListener.onError("Error completing cycle: " + e.getMessage());
+                        Log.e(TAG, "Error filling cycle gap", e);
+                        finalListener.onError("Error creating gap-filling cycles: " + e.getMessage());
                     });
         });
     }
 
-    // New method to fill gaps by creating multiple cycles sequentially
-    private void fillCycleGap(String circleId, String memberEmail, MemberCycle lastCycle,
-                              long targetDate, String frequency, OnCycleLoadedListener finalListener) {
-        // First, ensure the last cycle is marked complete
-        if (!lastCycle.isComplete()) {
-            getCircleCreatorUid(circleId, creatorUid -> {
-                if (creatorUid == null) {
-                    finalListener.onError("Cannot find circle creator");
-                    return;
-                }
-
-                DatabaseReference circlesRef = database.getReference("users")
-                        .child(creatorUid).child("savingCircles");
-                String sanitizedEmail = sanitizeEmail(memberEmail);
+    public interface CircleProgressCallback {
+        void onProgressLoaded(CircleProgress progress);
+    }
 
-                lastCycle.setComplete(true);
+    /**
+     * Reads a circle's completed-cycle progress in one request.
+     * Circles written before the progress node existed are built once from
+     * their members' cycle histories and saved for next time.
+     */
+    public void getCircleProgressOnce(String circleId, CircleProgressCallback callback) {
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Cannot find circle creator for progress");
+                callback.onProgressLoaded(new CircleProgress());
+                return;
+            }
 
-                circlesRef.child(circleId)
-                        .child("members")
-                        .child(sanitizedEmail)
-                        .child("cycles")
-                        .child(lastCycle.getCycleId())
-                        .setValue(lastCycle)
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d(TAG, "Last cycle marked complete before filling gap: " + lastCycle.getCycleId());
-                            createCyclesUntilDate(circleId, memberEmail, lastCycle, targetDate, frequency, finalListener);
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e(TAG, "Error marking last cycle complete", e);
-                            finalListener.onError("Error completing last cycle: " + e.getMessage());
-                        });
-            });
-        } else {
-            createCyclesUntilDate(circleId, memberEmail, lastCycle, targetDate, frequency, finalListener);
-        }
+            database.getReference("users")
+                    .child(creatorUid)
+                    .child("savingCircles")
+                    .child(circleId)
+                    .child(CircleProgress.NODE)
+                    .get()
+                    .addOnSuccessListener(snapshot -> {
+                        CircleProgress progress = SnapshotParsers.parseCircleProgress(snapshot);
+                        if (progress != null) {
+                            callback.onProgressLoaded(progress);
+                        } else {
+                            buildCircleProgress(creatorUid, circleId, callback);
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error loading circle progress: " + e.getMessage());
+                        callback.onProgressLoaded(new CircleProgress());
+                    });
+        });
     }
 
-    // Recursively create cycles until we have one that contains the target date
-    private void createCyclesUntilDate(String circleId, String memberEmail, MemberCycle previousCycle,
-                                       long targetDate, String frequency, OnCycleLoadedListener finalListener) {
-        MemberCycle nextCycle = MemberCycle.createNextCycle(previousCycle, frequency);
-
+    /**
+     * Reads one member's completed-cycle progress: a small end date and amount
+     * per completed cycle instead of the member's whole cycle history. A circle
+     * whose progress node was never built is built first.
+     */
+    public void getMemberProgressOnce(String circleId, String memberEmail, CircleProgressCallback callback) {
         getCircleCreatorUid(circleId, creatorUid -> {
             if (creatorUid == null) {
-                finalListener.onError("Cannot find circle creator");
+                Log.e(TAG, "Cannot find circle creator for member progress");
+                callback.onProgressLoaded(new CircleProgress());
                 return;
             }
 
-            DatabaseReference circlesRef = database.getReference("users")
-                    .child(creatorUid).child("savingCircles");
-
-            saveCycleToDatabase(circlesRef, circleId, memberEmail, nextCycle, new OnCycleCreatedListener() {
-                @Override
-                public void onCycleCreated(MemberCycle newCycle) {
-                    Log.d(TAG, "Gap-filling cycle created: " + newCycle.getCycleId());
-
-                    if (newCycle.isDateInCycle(targetDate)) {
-                        // We've reached the cycle containing the target date
-                        finalListener.onCycleLoaded(newCycle);
-                    } else if (targetDate > newCycle.getEndDate()) {
-                        // Need to create more cycles - mark this one complete and continue
-                        newCycle.setComplete(true);
-                        circlesRef.child(circleId)
-                                .child("members")
-                                .child(sanitizeEmail(memberEmail))
-                                .child("cycles")
-                                .child(newCycle.getCycleId())
-                                .setValue(newCycle)
-                                .addOnSuccessListener(aVoid -> {
-                                    createCyclesUntilDate(circleId, memberEmail, newCycle, targetDate, frequency, finalListener);
+            DatabaseReference progressRef = database.getReference("users")
+                    .child(creatorUid)
+                    .child("savingCircles")
+                    .child(circleId)
+                    .child(CircleProgress.NODE);
+            progressRef.child(CircleProgress.CYCLES).child(sanitizeEmail(memberEmail))
+                    .get()
+                    .addOnSuccessListener(snapshot -> {
+                        if (snapshot.exists()) {
+                            callback.onProgressLoaded(SnapshotParsers.parseMemberProgress(snapshot));
+                            return;
+                        }
+                        // No completed cycles yet, or the node was never built
+                        progressRef.child(CircleProgress.BUILT).get()
+                                .addOnSuccessListener(built -> {
+                                    if (Boolean.TRUE.equals(built.getValue(Boolean.class))) {
+                                        callback.onProgressLoaded(new CircleProgress());
+                                    } else {
+                                        buildCircleProgress(creatorUid, circleId, callback);
+                                    }
                                 })
                                 .addOnFailureListener(e -> {
-                                    finalListener.onError("Error completing intermediate cycle: " + e.getMessage());
+                                    Log.e(TAG, "Error loading member progress: " + e.getMessage());
+                                    callback.onProgressLoaded(new CircleProgress());
                                 });
-                    } else {
-                        // This shouldn't happen, but handle it
-                        finalListener.onCycleLoaded(newCycle);
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error loading member progress: " + e.getMessage());
+                        callback.onProgressLoaded(new CircleProgress());
+                    });
+        });
+    }
+
+    // One-time backfill: members hold their cycles, so one read of the members
+    // node covers every history. Nothing is saved if the read fails.
+    private void buildCircleProgress(String creatorUid, String circleId, CircleProgressCallback callback) {
+        DatabaseReference circleRef = database.getReference("users")
+                .child(creatorUid).child("savingCircles").child(circleId);
+        circleRef.child("members").get()
+                .addOnSuccessListener(snapshot -> {
+                    CircleProgress progress = new CircleProgress();
+                    Map<String, Object> updates = new HashMap<>();
+                    updates.put(CircleProgress.BUILT, true);
+
+                    for (DataSnapshot memberSnapshot : snapshot.getChildren()) {
+                        String memberKey = memberSnapshot.getKey();
+                        for (DataSnapshot cycleSnapshot : memberSnapshot.child("cycles").getChildren()) {
+                            MemberCycle cycle = cycleSnapshot.getValue(MemberCycle.class);
+                            if (cycle != null && cycle.isComplete()) {
+                                progress.addCompletedCycle(memberKey, cycle.getEndDate(), cycle.getEndAmount());
+                                updates.put(CircleProgress.CYCLES + "/" + memberKey + "/" + cycle.getCycleId(),
+                                        CircleProgress.entryFor(cycle));
+                            }
+                        }
                     }
-                }
 
-                @Override
-                public void onError(String message) {
-                    finalListener.onError("Error creating gap-filling cycle: " + message);
-                }
-            });
-        });
+                    circleRef.child(CircleProgress.NODE).updateChildren(updates)
+                            .addOnFailureListener(e -> Log.e(TAG, "Error saving circle progress", e));
+                    callback.onProgressLoaded(progress);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error building circle progress: " + e.getMessage());
+                    callback.onProgressLoaded(new CircleProgress());
+                });
     }
 
     public interface MembersCallback {
@@ -1684,58 +1736,21 @@ public class SavingCircleViewModel extends ViewModel {
             return;
         }
 
-        // First, get the circle to find the creator's UID
-        savingCirclesRef.child(circleId).get()
-                .addOnSuccessListener(circleSnapshot -> {
-                    if (!circleSnapshot.exists()) {
-                        Log.e(TAG, "Circle not found in current user's path: " + circleId);
-                        // Try to find it in other users' paths (fallback)
-                        findCircleAndLoadMembersOnce(circleId, callback);
-                        return;
-                    }
-
-                    String creatorUid = circleSnapshot.child("creatorUid").getValue(String.class);
-                    if (creatorUid == null || creatorUid.isEmpty()) {
-                        // Backwards compatibility: if creatorUid is not set, assume current user is creator
-                        creatorUid = auth.getCurrentUser() != null ? auth.getCurrentUser().getUid() : null;
-                    }
-
-                    if (creatorUid != null) {
-                        // Read members from the creator's path (ONE-TIME)
-                        DatabaseReference creatorCirclesRef = database.getReference("users")
-                                .child(creatorUid).child("savingCircles");
-                        loadMembersFromPathOnce(creatorCirclesRef, circleId, callback);
-                    } else {
-                        Log.e(TAG, "Cannot determine creator UID for circle: " + circleId);
-                        callback.onMembersLoaded(new ArrayList<>());
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error finding circle: " + e.getMessage());
-                    findCircleAndLoadMembersOnce(circleId, callback);
-                });
+        // Members live under the creator's copy of the circle
+        findCircleAndLoadMembersOnce(circleId, callback);
     }
 
     private void findCircleAndLoadMembersOnce(String circleId, MembersCallback callback) {
-        database.getReference("users").get()
-                .addOnSuccessListener(usersSnapshot -> {
-                    for (DataSnapshot userSnapshot : usersSnapshot.getChildren()) {
-                        DataSnapshot circleSnapshot = userSnapshot.child("savingCircles").child(circleId);
-                        if (circleSnapshot.exists()) {
-                            String creatorUid = userSnapshot.getKey();
-                            DatabaseReference creatorCirclesRef = database.getReference("users")
-                                    .child(creatorUid).child("savingCircles");
-                            loadMembersFromPathOnce(creatorCirclesRef, circleId, callback);
-                            return;
-                        }
-                    }
-                    Log.e(TAG, "Circle not found in any user path: " + circleId);
-                    callback.onMembersLoaded(new ArrayList<>());
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error searching for circle: " + e.getMessage());
-                    callback.onMembersLoaded(new ArrayList<>());
-                });
+        getCircleCreatorUid(circleId, creatorUid -> {
+            if (creatorUid == null) {
+                Log.e(TAG, "Circle not found in any user path: " + circleId);
+                callback.onMembersLoaded(new ArrayList<>());
+                return;
+            }
+            DatabaseReference creatorCirclesRef = database.getReference("users")
+                    .child(creatorUid).child("savingCircles");
+            loadMembersFromPathOnce(creatorCirclesRef, circleId, callback);
+        });
     }
 
     private void loadMembersFromPathOnce(DatabaseReference circlesRef, String circleId, MembersCallback callback) {
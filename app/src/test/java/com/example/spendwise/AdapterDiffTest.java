@@ -0,0 +1,54 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.adapter.BudgetAdapter;
+import com.example.spendwise.adapter.ExpenseAdapter;
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+
+import org.junit.Test;
+
+public class AdapterDiffTest {
+
+    private Expense expense(String id, double amount) {
+        return expense(id, amount, "10/05/2024");
+    }
+
+    private Expense expense(String id, double amount, String date) {
+        Expense expense = new Expense("Lunch", amount, Category.FOOD, date, "");
+        expense.setId(id);
+        return expense;
+    }
+
+    @Test
+    public void expenseDiff_matchesByIdAndReportsChangedFields() {
+        Expense old = expense("a", 12.0);
+
+        assertTrue(ExpenseAdapter.DIFF_CALLBACK.areItemsTheSame(old, expense("a", 99.0)));
+        assertFalse(ExpenseAdapter.DIFF_CALLBACK.areItemsTheSame(old, expense("b", 12.0)));
+
+        // A fresh copy from the database is not a change
+        assertTrue(ExpenseAdapter.DIFF_CALLBACK.areContentsTheSame(old, expense("a", 12.0)));
+
+        Expense edited = expense("a", 12.5, "10/06/2024");
+        assertFalse(ExpenseAdapter.DIFF_CALLBACK.areContentsTheSame(old, edited));
+        assertEquals(ExpenseAdapter.FIELD_AMOUNT | ExpenseAdapter.FIELD_DATE,
+                ExpenseAdapter.DIFF_CALLBACK.getChangePayload(old, edited));
+    }
+
+    @Test
+    public void budgetDiff_rebindsAmountWhenOriginalChanges() {
+        Budget old = new Budget("Food", 40.0, 100.0, Category.FOOD, "10/01/2024", "Monthly");
+        old.setId("food");
+        Budget spent = new Budget("Food", 40.0, 50.0, Category.FOOD, "10/01/2024", "Monthly");
+        spent.setId("food");
+
+        assertTrue(BudgetAdapter.DIFF_CALLBACK.areItemsTheSame(old, spent));
+        assertEquals(BudgetAdapter.FIELD_AMOUNT,
+                BudgetAdapter.DIFF_CALLBACK.getChangePayload(old, spent));
+    }
+}
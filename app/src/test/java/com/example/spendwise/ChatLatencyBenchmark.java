@@ -0,0 +1,200 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.example.spendwise.logic.FinancialContextProvider;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.view.Network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of the chatbot reply pipeline against MockOllamaServer.
+ *
+ * Each path runs the same steps as the matching ChatbotViewModel.sendMessage()
+ * branch: build the prompt (from the spending aggregates for data commands)
+ * and stream the reply through Network. Prints time to first token, total
+ * time and bytes allocated by the test thread and Network's threads.
+ *
+ * Skipped unless run with -Dchatbench=true. Tune with -Dchatbench.iterations,
+ * -Dchatbench.expenses, -Dchatbench.firstTokenMillis and
+ * -Dchatbench.tokensPerSecond.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ChatLatencyBenchmark {
+
+    private static final String REPLY = "You spent a little more on food this week than last week, "
+            + "mostly on weekends. Bills stayed flat and transport went down slightly.";
+
+    private final int iterations = Integer.getInteger("chatbench.iterations", 5);
+    private final int expenseCount = Integer.getInteger("chatbench.expenses", 5000);
+
+    private MockOllamaServer server;
+    private Network network;
+    private FinancialContextProvider context;
+
+    // One branch of sendMessage(): turns the user's message into the prompt
+    private interface PromptPath {
+        String prompt(String message);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue("Run with -Dchatbench=true", Boolean.getBoolean("chatbench"));
+        server = new MockOllamaServer().start();
+        server.setReply(REPLY);
+        server.setFirstTokenDelayMillis(Long.getLong("chatbench.firstTokenMillis", 20));
+        server.setTokensPerSecond(Double.parseDouble(System.getProperty("chatbench.tokensPerSecond", "500")));
+        network = new Network(server.getChatUrl());
+
+        CategoryDayIndex index = new CategoryDayIndex();
+        Category[] categories = Category.values();
+        Random random = new Random(11);
+        for (int i = 0; i < expenseCount; i++) {
+            String date = String.format(Locale.US, "%02d/%02d/%d",
+                    1 + random.nextInt(12), 1 + random.nextInt(28), 2023 + random.nextInt(3));
+            Expense expense = new Expense("e" + i, random.nextInt(10000) / 100.0,
+                    categories[random.nextInt(categories.length)], date, "");
+            expense.setId("e" + i);
+            index.put(expense);
+        }
+        context = new FinancialContextProvider(index);
+    }
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void reportLatencyPerCommandPath() throws Exception {
+        Map<String, Double> budgets = new HashMap<>();
+        budgets.put("FOOD", 400.0);
+        budgets.put("ENTERTAINMENT", 150.0);
+
+        Map<String, PromptPath> paths = new LinkedHashMap<>();
+        paths.put("normal", message -> message);
+        paths.put("weekly", message -> context.weeklyPrompt(new Date()));
+        paths.put("monthly", message -> context.monthlyPrompt(new Date(), message));
+        paths.put("compare", message -> context.comparisonPrompt(new Date()));
+        paths.put("cut costs", message -> context.costCuttingPrompt(new Date(), budgets));
+
+        // Warm up the JIT and the pooled connection
+        for (PromptPath path : paths.values()) {
+            run(path, "warm up");
+        }
+
+        System.out.println(String.format(Locale.US, "%-10s %10s %10s %12s",
+                "path", "ttft ms", "total ms", "alloc KB"));
+        for (Map.Entry<String, PromptPath> path : paths.entrySet()) {
+            long[] firstToken = new long[iterations];
+            long[] total = new long[iterations];
+            long[] allocated = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                // PromptCache is never initialised here, so every run reaches the mock
+                Sample sample = run(path.getValue(), "How much did I spend? #" + i);
+                firstToken[i] = sample.firstTokenNanos;
+                total[i] = sample.totalNanos;
+                allocated[i] = sample.allocatedBytes;
+            }
+            System.out.println(String.format(Locale.US, "%-10s %10.2f %10.2f %12.1f", path.getKey(),
+                    median(firstToken) / 1e6, median(total) / 1e6, median(allocated) / 1024.0));
+        }
+    }
+
+    private static class Sample {
+        long firstTokenNanos;
+        long totalNanos;
+        long allocatedBytes;
+    }
+
+    private Sample run(PromptPath path, String message) throws InterruptedException {
+        Sample sample = new Sample();
+        CountDownLatch done = new CountDownLatch(1);
+        final String[] error = new String[1];
+        final StringBuilder reply = new StringBuilder();
+
+        long allocatedBefore = pipelineAllocatedBytes();
+        long start = System.nanoTime();
+        network.chatStream(path.prompt(message), new Network.StreamCallback() {
+            @Override
+            public void onToken(String token) {
+                if (sample.firstTokenNanos == 0) {
+                    sample.firstTokenNanos = System.nanoTime() - start;
+                }
+                reply.append(token);
+            }
+
+            @Override
+            public void onComplete(String fullReply) {
+                sample.totalNanos = System.nanoTime() - start;
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                error[0] = message;
+                done.countDown();
+            }
+        });
+
+        assertTrue("Reply timed out", done.await(30, TimeUnit.SECONDS));
+        assertNull(error[0]);
+        assertTrue(REPLY.contentEquals(reply));
+        sample.allocatedBytes = pipelineAllocatedBytes() - allocatedBefore;
+        return sample;
+    }
+
+    // Bytes allocated so far by this thread and the HTTP client's threads
+    // (OkHttp renames dispatcher threads while a call runs); the mock
+    // server's threads are left out
+    private static long pipelineAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        long[] ids = bean.getAllThreadIds();
+        ThreadInfo[] infos = bean.getThreadInfo(ids);
+        long[] bytes = ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(ids);
+        long current = Thread.currentThread().getId();
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            boolean pipeline = ids[i] == current
+                    || (infos[i] != null && (infos[i].getThreadName().startsWith("llm-client")
+                            || infos[i].getThreadName().startsWith("OkHttp")));
+            if (pipeline && bytes[i] > 0) {
+                total += bytes[i];
+            }
+        }
+        return total;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
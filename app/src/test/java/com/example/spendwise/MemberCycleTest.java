@@ -1,13 +1,16 @@
 package com.example.spendwise;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import com.example.spendwise.model.MemberCycle;
 
 import org.junit.Test;
 
 import java.util.Calendar;
+import java.util.List;
 
 public class MemberCycleTest {
 
@@ -48,4 +51,30 @@ public class MemberCycleTest {
         assertEquals(150.0, cycle.getEndAmount(), 0.001);
         assertEquals(0.0, cycle.getSpent(), 0.001);
     }
+
+    @Test
+    public void createCyclesUntil_coversGapAndCompletesIntermediateCycles() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.JANUARY, 1, 0, 0, 0);
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.WEEK_OF_YEAR, 1);
+        MemberCycle lastCycle = new MemberCycle(start, calendar.getTimeInMillis(), 100.0);
+
+        // Six months later
+        calendar.set(2024, Calendar.JULY, 3, 12, 0, 0);
+        long target = calendar.getTimeInMillis();
+
+        List<MemberCycle> cycles = MemberCycle.createCyclesUntil(lastCycle, target, "Weekly");
+
+        MemberCycle targetCycle = cycles.get(cycles.size() - 1);
+        assertTrue(targetCycle.isDateInCycle(target));
+        assertFalse(targetCycle.isComplete());
+        assertEquals(26, cycles.size());
+        long previousEnd = lastCycle.getEndDate();
+        for (int i = 0; i < cycles.size() - 1; i++) {
+            assertTrue(cycles.get(i).isComplete());
+            assertEquals(previousEnd, cycles.get(i).getStartDate());
+            previousEnd = cycles.get(i).getEndDate();
+        }
+    }
 }
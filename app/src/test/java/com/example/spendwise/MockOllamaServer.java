@@ -0,0 +1,205 @@
+package com.example.spendwise;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for Ollama's /api/chat endpoint.
+ *
+ * Answers with a fixed reply, either as one JSON object or, when the request
+ * has "stream": true, as one JSON line per token followed by a "done" line.
+ * The delay before the first token, the token rate and failures can be set
+ * between requests. Runs on a random loopback port.
+ */
+public class MockOllamaServer {
+
+    private static final Pattern STREAM_TRUE = Pattern.compile("\"stream\"\\s*:\\s*true");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final List<String> requestBodies = new ArrayList<>();
+
+    private volatile List<String> tokens = tokenize("Hello from the mock model.");
+    private volatile long firstTokenDelayMillis = 0;
+    private volatile double tokensPerSecond = 0;
+    private volatile int failureStatus = 0;
+    private volatile int streamErrorAfterTokens = -1;
+
+    public MockOllamaServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/chat", this::handleChat);
+        server.setExecutor(executor);
+    }
+
+    public MockOllamaServer start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /** URL to pass to {@code new Network(url)}. */
+    public String getChatUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/chat";
+    }
+
+    /** Reply to send; streamed word by word, keeping the spaces. */
+    public void setReply(String reply) {
+        tokens = tokenize(reply);
+    }
+
+    public void setFirstTokenDelayMillis(long millis) {
+        firstTokenDelayMillis = millis;
+    }
+
+    /** Pace of streamed tokens after the first; 0 sends them as fast as possible. */
+    public void setTokensPerSecond(double rate) {
+        tokensPerSecond = rate;
+    }
+
+    /** Answers every request with this HTTP status; 0 turns it off. */
+    public void failWithStatus(int status) {
+        failureStatus = status;
+    }
+
+    /** Streams this many tokens and then an {"error": ...} line; -1 turns it off. */
+    public void failStreamAfter(int tokenCount) {
+        streamErrorAfterTokens = tokenCount;
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public String getLastRequestBody() {
+        synchronized (requestBodies) {
+            return requestBodies.isEmpty() ? null : requestBodies.get(requestBodies.size() - 1);
+        }
+    }
+
+    private void handleChat(HttpExchange exchange) throws IOException {
+        String body = readBody(exchange.getRequestBody());
+        requestCount.incrementAndGet();
+        synchronized (requestBodies) {
+            requestBodies.add(body);
+        }
+
+        try {
+            if (failureStatus != 0) {
+                byte[] error = "{\"error\":\"mock failure\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(failureStatus, error.length);
+                exchange.getResponseBody().write(error);
+                return;
+            }
+
+            sleep(firstTokenDelayMillis);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (STREAM_TRUE.matcher(body).find()) {
+                stream(exchange);
+            } else {
+                byte[] reply = message(String.join("", tokens), true).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, reply.length);
+                exchange.getResponseBody().write(reply);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void stream(HttpExchange exchange) throws IOException {
+        // Chunked, so each line reaches the client as soon as it is flushed
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        long gapMillis = tokensPerSecond > 0 ? Math.round(1000 / tokensPerSecond) : 0;
+        List<String> reply = tokens;
+        for (int i = 0; i < reply.size(); i++) {
+            if (i == streamErrorAfterTokens) {
+                writeLine(out, "{\"error\":\"mock stream failure\"}");
+                return;
+            }
+            if (i > 0) {
+                sleep(gapMillis);
+            }
+            writeLine(out, message(reply.get(i), false));
+        }
+        writeLine(out, message("", true));
+    }
+
+    private static void writeLine(OutputStream out, String json) throws IOException {
+        out.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String message(String content, boolean done) {
+        return "{\"model\":\"mock\",\"message\":{\"role\":\"assistant\",\"content\":\""
+                + escape(content) + "\"},\"done\":" + done + "}";
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static List<String> tokenize(String reply) {
+        List<String> result = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= reply.length(); i++) {
+            if (i == reply.length() || reply.charAt(i) == ' ') {
+                result.add(reply.substring(start, i));
+                start = i;
+            }
+        }
+        return result;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
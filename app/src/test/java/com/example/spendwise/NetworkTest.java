@@ -0,0 +1,154 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.view.Network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for Network against a local stand-in for Ollama.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class NetworkTest {
+
+    private MockOllamaServer server;
+    private Network network;
+
+    // Collects what a streamed reply delivered
+    private static class StreamResult implements Network.StreamCallback {
+        final List<String> tokens = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile String reply;
+        volatile String error;
+
+        @Override
+        public void onToken(String token) {
+            synchronized (tokens) {
+                tokens.add(token);
+            }
+        }
+
+        @Override
+        public void onComplete(String reply) {
+            this.reply = reply;
+            done.countDown();
+        }
+
+        @Override
+        public void onError(String error) {
+            this.error = error;
+            done.countDown();
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockOllamaServer().start();
+        network = new Network(server.getChatUrl());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void chat_returnsWholeReply() throws Exception {
+        server.setReply("Your budget looks fine.");
+        final String[] reply = new String[1];
+        CountDownLatch done = new CountDownLatch(1);
+
+        network.chat("How is my budget?", new Network.Callback() {
+            @Override
+            public void onSuccess(String text) {
+                reply[0] = text;
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String error) {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("Your budget looks fine.", reply[0]);
+        assertTrue(server.getLastRequestBody().contains("\"stream\":false"));
+    }
+
+    @Test
+    public void chatStream_deliversTokensInOrder() throws Exception {
+        server.setReply("one two three");
+        StreamResult result = new StreamResult();
+
+        network.chatStream("Count to three", result);
+
+        assertTrue(result.done.await(5, TimeUnit.SECONDS));
+        assertNull(result.error);
+        assertEquals(Arrays.asList("one", " two", " three"), result.tokens);
+        assertEquals("one two three", result.reply);
+    }
+
+    @Test
+    public void chat_reportsHttpErrors() throws Exception {
+        server.failWithStatus(500);
+        final String[] error = new String[1];
+        CountDownLatch done = new CountDownLatch(1);
+
+        network.chat("Hello", new Network.Callback() {
+            @Override
+            public void onSuccess(String reply) {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                error[0] = message;
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(error[0].contains("HTTP 500"));
+    }
+
+    @Test
+    public void chatStream_reportsErrorLines() throws Exception {
+        server.setReply("one two three");
+        server.failStreamAfter(1);
+        StreamResult result = new StreamResult();
+
+        network.chatStream("Count to three", result);
+
+        assertTrue(result.done.await(5, TimeUnit.SECONDS));
+        assertNull(result.reply);
+        assertEquals(Arrays.asList("one"), result.tokens);
+    }
+
+    @Test
+    public void cancel_dropsCallbacks() throws Exception {
+        server.setFirstTokenDelayMillis(300);
+        StreamResult result = new StreamResult();
+
+        Network.Cancellable handle = network.chatStream("Hello", result);
+        handle.cancel();
+
+        // Neither a reply nor an error arrives for a cancelled request
+        assertFalse(result.done.await(1, TimeUnit.SECONDS));
+        assertTrue(result.tokens.isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.spendwise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import com.example.spendwise.repository.PromptCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+public class PromptCacheTest {
+
+    private static final long HOUR = 60L * 60 * 1000;
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("prompt-cache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private PromptCache newCache(int maxEntries, long ttlMillis) {
+        // Runs the disk work inline so the test sees it immediately
+        return new PromptCache(directory, maxEntries, ttlMillis, Runnable::run);
+    }
+
+    @Test
+    public void get_matchesModelAndPrompt() {
+        PromptCache cache = newCache(10, HOUR);
+        cache.put("llama3.2", "Total: $12.00", "You spent twelve dollars.");
+
+        assertEquals("You spent twelve dollars.", cache.get("llama3.2", "Total: $12.00"));
+        assertNull(cache.get("llama3.2", "Total: $13.00"));
+        assertNull(cache.get("mistral", "Total: $12.00"));
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        PromptCache cache = newCache(2, HOUR);
+        cache.put("m", "a", "reply a");
+        cache.put("m", "b", "reply b");
+        // Reading "a" makes "b" the least recently used
+        cache.get("m", "a");
+        cache.put("m", "c", "reply c");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("m", "b"));
+        assertEquals("reply a", cache.get("m", "a"));
+        assertEquals("reply c", cache.get("m", "c"));
+        assertEquals(2, directory.listFiles().length);
+    }
+
+    @Test
+    public void entriesSurviveRestart() {
+        PromptCache cache = newCache(10, HOUR);
+        cache.put("m", "Generate a title for: \"coffee\"", "Coffee Budget");
+
+        PromptCache reopened = newCache(10, HOUR);
+        assertEquals(1, reopened.size());
+        assertEquals("Coffee Budget", reopened.get("m", "Generate a title for: \"coffee\""));
+    }
+
+    @Test
+    public void get_dropsExpiredEntries() throws Exception {
+        PromptCache cache = newCache(10, 1);
+        cache.put("m", "prompt", "reply");
+        Thread.sleep(20);
+
+        assertNull(cache.get("m", "prompt"));
+        assertEquals(0, cache.size());
+        assertFalse(directory.listFiles().length > 0);
+    }
+}
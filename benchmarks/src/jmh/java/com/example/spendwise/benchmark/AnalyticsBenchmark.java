@@ -0,0 +1,102 @@
+package com.example.spendwise.benchmark;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.BudgetUsageSummary;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.AnalyticsRepository;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.repository.ExpenseColumns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard analytics over one date window: the list-based scans (which load
+ * the list into columns first), the same scans over columns that are already
+ * built, and the day index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnalyticsBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int expenseCount;
+
+    private final AnalyticsRepository analyticsRepository = new AnalyticsRepository();
+    private List<Expense> expenses;
+    private List<Budget> budgets;
+    private ExpenseColumns columns;
+    private CategoryDayIndex dayIndex;
+    private List<BudgetUsageSummary> summaries;
+    private Date windowStart;
+    private Date windowEnd;
+
+    @Setup
+    public void setUp() throws Exception {
+        expenses = SyntheticData.expenses(expenseCount);
+        budgets = SyntheticData.budgets();
+        columns = new ExpenseColumns();
+        columns.rebuild(expenses);
+        dayIndex = new CategoryDayIndex();
+        dayIndex.rebuild(expenses);
+
+        SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+        windowStart = format.parse("01/01/2023");
+        windowEnd = format.parse("12/31/2023");
+        summaries = analyticsRepository.calculateBudgetUsage(budgets, expenses, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryTotalsFromList() {
+        return analyticsRepository.calculateCategoryTotals(expenses, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryTotalsFromColumns() {
+        return analyticsRepository.calculateCategoryTotals(columns, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryTotalsFromDayIndex() {
+        return analyticsRepository.calculateCategoryTotals(dayIndex, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public List<BudgetUsageSummary> budgetUsageFromList() {
+        return analyticsRepository.calculateBudgetUsage(budgets, expenses, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public List<BudgetUsageSummary> budgetUsageFromColumns() {
+        return analyticsRepository.calculateBudgetUsage(budgets, columns, windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public List<BudgetUsageSummary> budgetUsageFromDayIndex() {
+        return analyticsRepository.calculateBudgetUsage(budgets, dayIndex, windowStart, windowEnd);
+    }
+
+    // What the budget chart reads from each summary
+    @Benchmark
+    public void budgetUsageSummaryReads(Blackhole blackhole) {
+        for (BudgetUsageSummary summary : summaries) {
+            blackhole.consume(summary.getRemainingAmount());
+            blackhole.consume(summary.getUtilizationPercentage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.spendwise.benchmark;
+
+import com.example.spendwise.factory.ChartValues;
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.ExpenseColumns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The spend per budget behind ChartFactory.createBudgetBarChart(). The chart
+ * objects themselves come from MPAndroidChart and need Android, so only the
+ * numbers are measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChartValuesBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int expenseCount;
+
+    private List<Expense> expenses;
+    private List<Budget> budgets;
+    private ExpenseColumns columns;
+
+    @Setup
+    public void setUp() {
+        expenses = SyntheticData.expenses(expenseCount);
+        budgets = SyntheticData.budgets();
+        columns = new ExpenseColumns();
+        columns.rebuild(expenses);
+    }
+
+    @Benchmark
+    public double[] budgetSpentFromList() {
+        return ChartValues.budgetSpent(budgets, expenses);
+    }
+
+    @Benchmark
+    public double[] budgetSpentFromColumns() {
+        return ChartValues.budgetSpent(budgets, columns);
+    }
+}
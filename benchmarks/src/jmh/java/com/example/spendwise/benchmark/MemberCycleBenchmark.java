@@ -0,0 +1,53 @@
+package com.example.spendwise.benchmark;
+
+import com.example.spendwise.model.MemberCycle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating saving-circle cycles: the next cycle, and every cycle needed to
+ * catch up after a long absence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberCycleBenchmark {
+
+    @Param({"Weekly", "Monthly"})
+    public String frequency;
+
+    private MemberCycle previous;
+    private long oneYearLater;
+
+    @Setup
+    public void setUp() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.JANUARY, 1, 0, 0, 0);
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_YEAR, 7);
+        previous = new MemberCycle(start, calendar.getTimeInMillis(), 250.0);
+        calendar.add(Calendar.YEAR, 1);
+        oneYearLater = calendar.getTimeInMillis();
+    }
+
+    @Benchmark
+    public MemberCycle createNextCycle() {
+        return MemberCycle.createNextCycle(previous, frequency);
+    }
+
+    @Benchmark
+    public List<MemberCycle> createCyclesForOneYear() {
+        return MemberCycle.createCyclesUntil(previous, oneYearLater, frequency);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.spendwise.benchmark;
+
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.strategy.ExpenseSortStrategy;
+import com.example.spendwise.strategy.SortByAmountStrategy;
+import com.example.spendwise.strategy.SortByCategoryStrategy;
+import com.example.spendwise.strategy.SortByDateStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The expense list sort strategies. Each operation sorts a fresh copy of a
+ * shuffled list, so the copy is part of every measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortStrategyBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int expenseCount;
+
+    @Param({"amount", "category", "date"})
+    public String sortBy;
+
+    private List<Expense> expenses;
+    private ExpenseSortStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        expenses = SyntheticData.expenses(expenseCount);
+        Collections.shuffle(expenses, new Random(7));
+        switch (sortBy) {
+            case "amount":
+                strategy = new SortByAmountStrategy();
+                break;
+            case "category":
+                strategy = new SortByCategoryStrategy();
+                break;
+            default:
+                strategy = new SortByDateStrategy();
+                break;
+        }
+    }
+
+    @Benchmark
+    public List<Expense> sort() {
+        List<Expense> copy = new ArrayList<>(expenses);
+        strategy.sort(copy);
+        return copy;
+    }
+}
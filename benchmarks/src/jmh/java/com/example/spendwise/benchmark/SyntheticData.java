@@ -0,0 +1,55 @@
+package com.example.spendwise.benchmark;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Reproducible expenses and budgets for the benchmarks.
+ *
+ * Expenses are spread over three years (2022-2024) across every category,
+ * with a small share of malformed dates like real data has. Dates are never
+ * null: the date sort does not accept that, and the app always sets one.
+ */
+final class SyntheticData {
+
+    private static final long SEED = 42;
+
+    private SyntheticData() {
+    }
+
+    static List<Expense> expenses(int count) {
+        Category[] categories = Category.values();
+        Random random = new Random(SEED);
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String date;
+            if (random.nextInt(1000) == 0) {
+                date = "not a date";
+            } else {
+                date = String.format(Locale.US, "%02d/%02d/%d",
+                        1 + random.nextInt(12), 1 + random.nextInt(28), 2022 + random.nextInt(3));
+            }
+            Expense expense = new Expense("Expense " + i, random.nextInt(20000) / 100.0,
+                    categories[random.nextInt(categories.length)], date, "");
+            expense.setId("e" + i);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    // One budget per category, all starting inside the benchmark window
+    static List<Budget> budgets() {
+        List<Budget> budgets = new ArrayList<>();
+        for (Category category : Category.values()) {
+            budgets.add(new Budget(category.getDisplayName() + " budget", 500.0, category,
+                    "03/01/2023", "Monthly"));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.spendwise.factory;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.ExpenseColumns;
+import com.example.spendwise.util.Money;
+
+import java.util.List;
+
+/**
+ * The numbers behind ChartFactory's charts, kept free of chart classes so
+ * they can be tested and benchmarked on a plain JVM.
+ */
+public final class ChartValues {
+
+    /** Budgets shown on the budget bar chart. */
+    public static final int MAX_BUDGET_BARS = 5;
+
+    private ChartValues() {
+    }
+
+    /** Amount spent in each of the first budgets' categories, one slot per bar. */
+    public static double[] budgetSpent(List<Budget> budgets, List<Expense> expenses) {
+        return budgetSpent(budgets, ExpenseColumns.of(expenses));
+    }
+
+    // Category totals are computed once and shared by every budget bar
+    public static double[] budgetSpent(List<Budget> budgets, ExpenseColumns columns) {
+        long[] cents = new long[Category.values().length];
+        columns.sumByCategory(cents, new int[cents.length]);
+
+        double[] spent = new double[Math.min(budgets.size(), MAX_BUDGET_BARS)];
+        for (int i = 0; i < spent.length; i++) {
+            Budget budget = budgets.get(i);
+            spent[i] = budget.getCategory() != null
+                    ? Money.toAmount(cents[budget.getCategory().ordinal()]) : 0;
+        }
+        return spent;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.spendwise.logic;
+
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.util.DateCodec;
+import com.example.spendwise.util.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates many budgets against one list of expenses.
+ *
+ * The expenses are parsed and bucketed by category once when the engine is
+ * built. Each bucket keeps its expense times sorted with running totals, so
+ * the spend for any budget period is two binary searches instead of a rescan
+ * of every expense.
+ */
+public class BudgetEvaluationEngine {
+
+    /** A budget's current period. Start and end are inclusive epoch millis. */
+    public static class BudgetWindow {
+        private final String name;
+        private final String category;
+        private final double limit;
+        private final long start;
+        private final long end;
+
+        public BudgetWindow(String name, String category, double limit, long start, long end) {
+            this.name = name;
+            this.category = category;
+            this.limit = limit;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public double getLimit() {
+            return limit;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+
+    /** How much of a budget's period has been spent. */
+    public static class Evaluation {
+        private final BudgetWindow window;
+        private final double spent;
+
+        public Evaluation(BudgetWindow window, double spent) {
+            this.window = window;
+            this.spent = spent;
+        }
+
+        public BudgetWindow getWindow() {
+            return window;
+        }
+
+        public double getSpent() {
+            return spent;
+        }
+
+        // 0-100 scale; 0 for budgets without a positive limit
+        public double getPercentUsed() {
+            if (window.getLimit() <= 0) {
+                return 0;
+            }
+            return (spent / window.getLimit()) * 100;
+        }
+    }
+
+    // Expenses of one category, sorted by epoch day, with prefix sums of their cents
+    private static class Bucket {
+        private final long[] times;
+        private final long[] prefixSums;
+
+        Bucket(long[] times, long[] prefixSums) {
+            this.times = times;
+            this.prefixSums = prefixSums;
+        }
+
+        long sumBetween(long fromDay, long toDay) {
+            int from = lowerBound(times, fromDay);
+            int to = lowerBound(times, toDay + 1);
+            return prefixSums[to] - prefixSums[from];
+        }
+    }
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+
+    /**
+     * Builds the category buckets in a single pass over the expenses.
+     *
+     * @param expenses Expenses to evaluate against; ones without a category or
+     *                 with a missing or malformed date are ignored.
+     */
+    public BudgetEvaluationEngine(List<Expense> expenses) {
+        Map<String, List<long[]>> timesByCategory = new HashMap<>();
+
+        for (Expense expense : expenses) {
+            if (expense == null || expense.getCategory() == null) {
+                continue;
+            }
+            int day = expense.epochDay();
+            if (day == DateCodec.NO_DAY) {
+                continue;
+            }
+            String category = expense.getCategory().name();
+            List<long[]> times = timesByCategory.get(category);
+            if (times == null) {
+                times = new ArrayList<>();
+                timesByCategory.put(category, times);
+            }
+            // Pair each day with its cents so amounts follow the sort unboxed
+            times.add(new long[]{day, expense.getAmountCents()});
+        }
+
+        for (Map.Entry<String, List<long[]>> entry : timesByCategory.entrySet()) {
+            List<long[]> entries = entry.getValue();
+            long[][] sorted = entries.toArray(new long[0][]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a[0], b[0]));
+
+            long[] times = new long[sorted.length];
+            long[] prefixSums = new long[sorted.length + 1];
+            for (int i = 0; i < sorted.length; i++) {
+                times[i] = sorted[i][0];
+                prefixSums[i + 1] = prefixSums[i] + sorted[i][1];
+            }
+            buckets.put(entry.getKey(), new Bucket(times, prefixSums));
+        }
+    }
+
+    /**
+     * Total spent in a category between two inclusive times.
+     *
+     * @param category Category name as stored in Firebase, e.g. "FOOD".
+     */
+    public double spentBetween(String category, long start, long end) {
+        if (category == null || end < start) {
+            return 0;
+        }
+        Bucket bucket = buckets.get(category);
+        // An expense is at its day's local midnight
+        return bucket != null
+                ? Money.toAmount(bucket.sumBetween(DateCodec.firstDayOnOrAfter(start), DateCodec.dayOf(end)))
+                : 0;
+    }
+
+    /** Evaluates every window against the shared buckets. */
+    public List<Evaluation> evaluate(List<BudgetWindow> windows) {
+        List<Evaluation> evaluations = new ArrayList<>(windows.size());
+        for (BudgetWindow window : windows) {
+            double spent = spentBetween(window.getCategory(), window.getStart(), window.getEnd());
+            evaluations.add(new Evaluation(window, spent));
+        }
+        return evaluations;
+    }
+
+    /**
+     * Finds the budget period containing a given time.
+     *
+     * @param budgetStart When the budget's first period begins.
+     * @param frequency "Weekly" or "Monthly"; any other value has no periods.
+     * @param at The time to locate.
+     * @return {start, end} of the period, or null if there is none.
+     */
+    public static long[] findActiveCycle(long budgetStart, String frequency, long at) {
+        int field;
+        int step;
+        if ("Weekly".equalsIgnoreCase(frequency)) {
+            field = Calendar.DAY_OF_YEAR;
+            step = 7;
+        } else if ("Monthly".equalsIgnoreCase(frequency)) {
+            field = Calendar.MONTH;
+            step = 1;
+        } else {
+            return null;
+        }
+        if (at < budgetStart) {
+            return null;
+        }
+
+        Calendar cycleStart = Calendar.getInstance();
+        cycleStart.setTimeInMillis(budgetStart);
+        Calendar cycleEnd = (Calendar) cycleStart.clone();
+        cycleEnd.add(field, step);
+        while (cycleEnd.getTimeInMillis() <= at) {
+            cycleStart = (Calendar) cycleEnd.clone();
+            cycleEnd.add(field, step);
+        }
+        return new long[]{cycleStart.getTimeInMillis(), cycleEnd.getTimeInMillis()};
+    }
+
+    // First index whose value is >= key
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.spendwise.logic;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.util.DateCodec;
+import com.example.spendwise.util.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the dashboard shows for one set of budgets, expenses and
+ * simulated date.
+ *
+ * Spending is read from the expense day index into a {@link Spending}, a
+ * few range lookups per category, so the cost does not depend on how many
+ * expenses there are. The index is single-threaded, so that read happens on
+ * its thread; the rest of the state can then be built on any thread.
+ * Instances are immutable once built. The arrays returned by the getters are
+ * shared and must not be modified.
+ */
+public final class DashboardState {
+
+    private static final String WEEKLY = "Weekly";
+    private static final String MONTHLY = "Monthly";
+    private static final String YEARLY = "Yearly";
+    private static final String DAILY = "Daily";
+
+    /** Budgeted and spent cents per category ordinal for one period. */
+    public static final class PeriodBudgets {
+        private final boolean[] hasBudget;
+        private final long[] budgetCents;
+        private final long[] spentCents;
+
+        PeriodBudgets(boolean[] hasBudget, long[] budgetCents, long[] spentCents) {
+            this.hasBudget = hasBudget;
+            this.budgetCents = budgetCents;
+            this.spentCents = spentCents;
+        }
+
+        public boolean[] getHasBudget() {
+            return hasBudget;
+        }
+
+        public long[] getBudgetCents() {
+            return budgetCents;
+        }
+
+        public long[] getSpentCents() {
+            return spentCents;
+        }
+
+        /** Budget left over the budgeted categories; only their spending counts. */
+        public long getRemainingCents() {
+            long remaining = 0;
+            for (int category = 0; category < hasBudget.length; category++) {
+                if (hasBudget[category]) {
+                    remaining += budgetCents[category] - spentCents[category];
+                }
+            }
+            return remaining;
+        }
+    }
+
+    /** Cents spent per category ordinal in each of a date's periods. */
+    public static final class Spending {
+        private final long[] week;
+        private final long[] month;
+        private final long[] year;
+        private final long[] today;
+
+        private Spending(long[] week, long[] month, long[] year, long[] today) {
+            this.week = week;
+            this.month = month;
+            this.year = year;
+            this.today = today;
+        }
+
+        public static Spending read(CategoryDayIndex expenses, PeriodDays periods) {
+            Category[] categories = Category.values();
+            long[] week = new long[categories.length];
+            long[] month = new long[categories.length];
+            long[] year = new long[categories.length];
+            long[] today = new long[categories.length];
+            for (Category category : categories) {
+                int slot = category.ordinal();
+                week[slot] = expenses.sumCents(category, periods.getWeekFrom(), periods.getWeekTo());
+                month[slot] = expenses.sumCents(category, periods.getMonthFrom(), periods.getMonthTo());
+                year[slot] = expenses.sumCents(category, periods.getYearFrom(), periods.getYearTo());
+                today[slot] = expenses.sumCents(category, periods.getToday(), periods.getToday());
+            }
+            return new Spending(week, month, year, today);
+        }
+    }
+
+    private final long monthSpentCents;
+    private final PeriodBudgets weekly;
+    private final PeriodBudgets monthly;
+    private final List<Budget> remainingBudgets;
+
+    private DashboardState(long monthSpentCents, PeriodBudgets weekly, PeriodBudgets monthly,
+                           List<Budget> remainingBudgets) {
+        this.monthSpentCents = monthSpentCents;
+        this.weekly = weekly;
+        this.monthly = monthly;
+        this.remainingBudgets = remainingBudgets;
+    }
+
+    public static DashboardState compute(List<Budget> budgets, CategoryDayIndex expenses,
+                                         PeriodDays periods) {
+        return compute(budgets, Spending.read(expenses, periods), periods);
+    }
+
+    /** Builds the state from spending already read for the same periods. */
+    public static DashboardState compute(List<Budget> budgets, Spending spending,
+                                         PeriodDays periods) {
+        int categoryCount = Category.values().length;
+        long[] weekSpent = spending.week;
+        long[] monthSpent = spending.month;
+        long[] yearSpent = spending.year;
+        long[] todaySpent = spending.today;
+        long monthTotal = 0;
+        for (long cents : monthSpent) {
+            monthTotal += cents;
+        }
+
+        boolean[] hasWeekly = new boolean[categoryCount];
+        boolean[] hasMonthly = new boolean[categoryCount];
+        long[] weeklyBudget = new long[categoryCount];
+        long[] monthlyBudget = new long[categoryCount];
+        List<Budget> remaining = new ArrayList<>();
+
+        for (Budget budget : budgets) {
+            int day = budget.epochDay();
+            int category = budget.getCategory().ordinal();
+            String freq = budget.getfreq();
+
+            // Period totals only count budgets set within the period
+            if (day != DateCodec.NO_DAY) {
+                if (WEEKLY.equalsIgnoreCase(freq) && periods.inWeek(day)) {
+                    hasWeekly[category] = true;
+                    weeklyBudget[category] += budget.getAmountCents();
+                } else if (MONTHLY.equalsIgnoreCase(freq) && periods.inMonth(day)) {
+                    hasMonthly[category] = true;
+                    monthlyBudget[category] += budget.getAmountCents();
+                }
+            }
+
+            // Weekly and monthly budgets recur; yearly and daily ones are for their own date
+            long spent;
+            if (WEEKLY.equalsIgnoreCase(freq)) {
+                spent = weekSpent[category];
+            } else if (MONTHLY.equalsIgnoreCase(freq)) {
+                spent = monthSpent[category];
+            } else if (YEARLY.equalsIgnoreCase(freq) && periods.inYear(day)) {
+                spent = yearSpent[category];
+            } else if (DAILY.equalsIgnoreCase(freq) && periods.isToday(day)) {
+                spent = todaySpent[category];
+            } else {
+                continue;
+            }
+            Budget left = new Budget(budget.getName(),
+                    Money.toAmount(budget.getAmountCents() - spent), budget.getAmount(),
+                    budget.getCategory(), budget.getDate(), freq);
+            // Keeps the row matched to its budget across updates
+            left.setId(budget.getId());
+            remaining.add(left);
+        }
+
+        return new DashboardState(monthTotal,
+                new PeriodBudgets(hasWeekly, weeklyBudget, weekSpent),
+                new PeriodBudgets(hasMonthly, monthlyBudget, monthSpent),
+                Collections.unmodifiableList(remaining));
+    }
+
+    /** Spending in the simulated month. */
+    public long getMonthSpentCents() {
+        return monthSpentCents;
+    }
+
+    public PeriodBudgets getWeekly() {
+        return weekly;
+    }
+
+    public PeriodBudgets getMonthly() {
+        return monthly;
+    }
+
+    /** Active budgets with this period's spending taken off their amount. */
+    public List<Budget> getRemainingBudgets() {
+        return remainingBudgets;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.spendwise.logic;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.util.DateCodec;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Builds the spending summaries the chatbot sends along with its prompts.
+ *
+ * Reads the per-category day totals that ExpenseRepository keeps current, so
+ * each summary is a handful of range lookups per category instead of a pass
+ * over every expense. Categories are listed by name, so the same numbers
+ * always produce the same text.
+ */
+public class FinancialContextProvider {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static final Category[] CATEGORIES_BY_NAME = sortedByName();
+
+    private final CategoryDayIndex index;
+
+    public FinancialContextProvider(CategoryDayIndex index) {
+        this.index = index;
+    }
+
+    /** Spending from seven days before today onwards. */
+    public String weeklySpending(Date now) {
+        long today = DateCodec.dayOf(now);
+        return spendingSummary("Last 7 days spending data:\n", today - 7);
+    }
+
+    /** Spending from the first of the current month onwards. */
+    public String monthlySpending(Date now) {
+        return spendingSummary("This month's spending data:\n", monthStart(now, 0));
+    }
+
+    /**
+     * This month's spending against last month's, overall and for every
+     * category with expenses this month.
+     */
+    public String monthComparison(Date now) {
+        long currentMonthStart = monthStart(now, 0);
+        long lastMonthStart = monthStart(now, -1);
+
+        double currentMonthTotal = 0;
+        double lastMonthTotal = 0;
+        for (Category category : CATEGORIES_BY_NAME) {
+            currentMonthTotal += index.sum(category, currentMonthStart, Long.MAX_VALUE);
+            lastMonthTotal += index.sum(category, lastMonthStart, currentMonthStart - 1);
+        }
+
+        StringBuilder comparison = new StringBuilder();
+        comparison.append("Month-over-month comparison:\n");
+        comparison.append("Last month total: $").append(String.format("%.2f", lastMonthTotal)).append("\n");
+        comparison.append("This month total: $").append(String.format("%.2f", currentMonthTotal)).append("\n");
+
+        double difference = currentMonthTotal - lastMonthTotal;
+        double percentChange = lastMonthTotal > 0 ? (difference / lastMonthTotal) * 100 : 0;
+
+        comparison.append("Difference: $").append(String.format("%.2f", difference))
+                .append(" (").append(String.format("%.1f", percentChange)).append("%)\n\n");
+
+        comparison.append("Category breakdown:\n");
+        for (Category category : CATEGORIES_BY_NAME) {
+            if (index.count(category, currentMonthStart, Long.MAX_VALUE) == 0) {
+                continue;
+            }
+            double current = index.sum(category, currentMonthStart, Long.MAX_VALUE);
+            double last = index.sum(category, lastMonthStart, currentMonthStart - 1);
+            double catDiff = current - last;
+
+            comparison.append("- ").append(category.name())
+                    .append(": $").append(String.format("%.2f", current))
+                    .append(" vs $").append(String.format("%.2f", last))
+                    .append(" (").append(catDiff >= 0 ? "+" : "")
+                    .append(String.format("%.2f", catDiff)).append(")\n");
+        }
+        return comparison.toString();
+    }
+
+    /**
+     * Spending over the last 30 days by category, with the share of each
+     * category's budget where there is one.
+     *
+     * @param budgets Budget limit by category name
+     */
+    public String spendingAnalysis(Date now, Map<String, Double> budgets) {
+        long fromDay = DateCodec.firstDayOnOrAfter(new Date(now.getTime() - 30 * DAY_MILLIS));
+
+        StringBuilder analysis = new StringBuilder();
+        analysis.append("Spending analysis (last 30 days):\n");
+        for (Category category : CATEGORIES_BY_NAME) {
+            if (index.count(category, fromDay, Long.MAX_VALUE) == 0) {
+                continue;
+            }
+            double spent = index.sum(category, fromDay, Long.MAX_VALUE);
+            Double budget = budgets.get(category.name());
+
+            analysis.append("- ").append(category.name()).append(": $")
+                    .append(String.format("%.2f", spent));
+
+            if (budget != null) {
+                double percentage = (spent / budget) * 100;
+                analysis.append(" (").append(String.format("%.0f", percentage))
+                        .append("% of $").append(String.format("%.2f", budget))
+                        .append(" budget)");
+            }
+            analysis.append("\n");
+        }
+        return analysis.toString();
+    }
+
+    /** Prompt for the weekly spending command. */
+    public String weeklyPrompt(Date now) {
+        return weeklySpending(now)
+                + "\nPlease summarize the last 7 days of spending in a friendly, conversational way.";
+    }
+
+    /** Prompt for a question about this month's spending. */
+    public String monthlyPrompt(Date now, String question) {
+        return monthlySpending(now)
+                + "\nUser asked: \"" + question + "\"\n"
+                + "Please answer their question about this month's spending in a friendly way.";
+    }
+
+    /** Prompt for the comparison with last month. */
+    public String comparisonPrompt(Date now) {
+        return monthComparison(now)
+                + "\nAnalyze my spending performance. Highlight improvements and areas of concern. "
+                + "Be specific and actionable.";
+    }
+
+    /**
+     * Prompt for the cost-cutting command.
+     *
+     * @param budgets Budget limit by category name
+     */
+    public String costCuttingPrompt(Date now, Map<String, Double> budgets) {
+        return spendingAnalysis(now, budgets)
+                + "\nBased on this data, suggest specific areas where I can reduce spending. "
+                + "Be practical and encouraging.";
+    }
+
+    // Total, count and per-category lines for expenses dated fromDay or later
+    private String spendingSummary(String heading, long fromDay) {
+        double totalSpent = 0;
+        int expenseCount = 0;
+        StringBuilder byCategory = new StringBuilder();
+        for (Category category : CATEGORIES_BY_NAME) {
+            int count = index.count(category, fromDay, Long.MAX_VALUE);
+            if (count == 0) {
+                continue;
+            }
+            double spent = index.sum(category, fromDay, Long.MAX_VALUE);
+            totalSpent += spent;
+            expenseCount += count;
+            byCategory.append("- ").append(category.name())
+                    .append(": $").append(String.format("%.2f", spent)).append("\n");
+        }
+
+        StringBuilder dataContext = new StringBuilder();
+        dataContext.append(heading);
+        dataContext.append("Total: $").append(String.format("%.2f", totalSpent)).append("\n");
+        dataContext.append("Number of expenses: ").append(expenseCount).append("\n");
+        dataContext.append("By category:\n");
+        dataContext.append(byCategory);
+        return dataContext.toString();
+    }
+
+    // Epoch day of the first of the month, offset by the given number of months
+    private static long monthStart(Date now, int monthOffset) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(now);
+        return DateCodec.epochDay(calendar.get(Calendar.YEAR),
+                calendar.get(Calendar.MONTH) + 1 + monthOffset, 1);
+    }
+
+    private static Category[] sortedByName() {
+        Category[] categories = Category.values();
+        Arrays.sort(categories, Comparator.comparing(Category::name));
+        return categories;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.spendwise.logic;
+
+import com.example.spendwise.util.DateCodec;
+
+import java.util.Calendar;
+
+/**
+ * A date's week, month, year and day as inclusive epoch-day ranges, for
+ * day-index lookups and budget date checks. Malformed dates
+ * (DateCodec.NO_DAY) fall outside every range.
+ */
+public final class PeriodDays {
+
+    private final int weekFrom;
+    private final int weekTo;
+    private final int monthFrom;
+    private final int monthTo;
+    private final int yearFrom;
+    private final int yearTo;
+    private final int today;
+
+    // Every range is whole calendar days, first and last day included,
+    // whatever the time of day of now
+    public PeriodDays(Calendar now) {
+        Calendar weekStart = (Calendar) now.clone();
+        weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
+        weekFrom = DateCodec.dayOf(weekStart.getTimeInMillis());
+        weekTo = weekFrom + 6;
+
+        int year = now.get(Calendar.YEAR);
+        int month = now.get(Calendar.MONTH) + 1;
+        monthFrom = (int) DateCodec.epochDay(year, month, 1);
+        monthTo = (int) DateCodec.epochDay(year, month + 1, 1) - 1;
+        yearFrom = (int) DateCodec.epochDay(year, 1, 1);
+        yearTo = (int) DateCodec.epochDay(year + 1, 1, 1) - 1;
+        today = (int) DateCodec.epochDay(year, month, now.get(Calendar.DAY_OF_MONTH));
+    }
+
+    public int getWeekFrom() {
+        return weekFrom;
+    }
+
+    public int getWeekTo() {
+        return weekTo;
+    }
+
+    public int getMonthFrom() {
+        return monthFrom;
+    }
+
+    public int getMonthTo() {
+        return monthTo;
+    }
+
+    public int getYearFrom() {
+        return yearFrom;
+    }
+
+    public int getYearTo() {
+        return yearTo;
+    }
+
+    public int getToday() {
+        return today;
+    }
+
+    public boolean inWeek(int day) {
+        return day >= weekFrom && day <= weekTo;
+    }
+
+    public boolean inMonth(int day) {
+        return day >= monthFrom && day <= monthTo;
+    }
+
+    public boolean inYear(int day) {
+        return day >= yearFrom && day <= yearTo;
+    }
+
+    public boolean isToday(int day) {
+        return day == today;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.spendwise.model;
 
+import com.example.spendwise.util.DateCodec;
+import com.example.spendwise.util.Money;
+
 import java.util.UUID;
 
 public class Budget {
@@ -9,6 +12,8 @@ public class Budget {
     private double originalAmount;
     private Category category;
     private String date;
+    // Parsed date, 0 until first asked for (recomputed if the date really is day 0)
+    private transient int epochDay;
     private String freq;
 
     // Default constructor
@@ -58,6 +63,11 @@ public class Budget {
         return amount;
     }
 
+    // Exact current amount for sums; also stored in Firebase next to amount
+    public long getAmountCents() {
+        return Money.toCents(amount);
+    }
+
     // Get original budget amount
     public double getOriginalAmount() {
         return originalAmount;
@@ -71,6 +81,19 @@ public class Budget {
         return date;
     }
 
+    /**
+     * The date as days since 1970-01-01, or DateCodec.NO_DAY if it is not a
+     * valid "MM/dd/yyyy" date. Parsed once; racing threads just parse twice.
+     */
+    public int epochDay() {
+        int day = epochDay;
+        if (day == 0) {
+            day = DateCodec.parse(date);
+            epochDay = day;
+        }
+        return day;
+    }
+
     public String getfreq() {
         return freq;
     }
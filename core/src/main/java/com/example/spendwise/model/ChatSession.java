@@ -9,6 +9,7 @@ public class ChatSession {
     private String summary;
     private long timestamp;
     private List<ChatMessage> messages;
+    private int messageCount; // Stored count; messages are loaded only when the session is opened
 
     public ChatSession() {
         this.messages = new ArrayList<>();
@@ -38,6 +39,11 @@ public class ChatSession {
     public List<ChatMessage> getMessages() { return messages; }
     public void setMessages(List<ChatMessage> messages) { this.messages = messages; }
 
+    public int getMessageCount() {
+        return Math.max(messageCount, messages != null ? messages.size() : 0);
+    }
+    public void setMessageCount(int messageCount) { this.messageCount = messageCount; }
+
     public void addMessage(ChatMessage message) {
         if (this.messages == null) {
             this.messages = new ArrayList<>();
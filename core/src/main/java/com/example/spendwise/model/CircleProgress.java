@@ -0,0 +1,90 @@
+package com.example.spendwise.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Completed-cycle totals for one saving circle.
+ *
+ * Mirrors the circle's "progress" node, which holds the end date and end
+ * amount of every completed member cycle:
+ * progress/cycles/{memberKey}/{cycleId} = {endDate, endAmount}.
+ * The cycle write paths keep it current, so list screens read one node per
+ * circle instead of every member's cycle history.
+ */
+public class CircleProgress {
+
+    public static final String NODE = "progress";
+    public static final String CYCLES = "cycles";
+    // Set once the node has been built from the members' cycle histories
+    public static final String BUILT = "built";
+    public static final String END_DATE = "endDate";
+    public static final String END_AMOUNT = "endAmount";
+
+    // Per member: end dates and end amounts of completed cycles
+    private final Map<String, List<double[]>> cyclesByMember = new HashMap<>();
+
+    public void addCompletedCycle(String memberKey, long endDate, double endAmount) {
+        List<double[]> cycles = cyclesByMember.get(memberKey);
+        if (cycles == null) {
+            cycles = new ArrayList<>();
+            cyclesByMember.put(memberKey, cycles);
+        }
+        cycles.add(new double[]{endDate, endAmount});
+    }
+
+    public Set<String> getMemberKeys() {
+        return cyclesByMember.keySet();
+    }
+
+    /** Sum of one member's completed cycles that ended on or before asOf. */
+    public double getMemberTotal(String memberKey, long asOf) {
+        List<double[]> cycles = cyclesByMember.get(memberKey);
+        if (cycles == null) {
+            return 0;
+        }
+        double total = 0;
+        for (double[] cycle : cycles) {
+            if (cycle[0] <= asOf) {
+                total += cycle[1];
+            }
+        }
+        return total;
+    }
+
+    /** Number of one member's completed cycles that ended on or before asOf. */
+    public int getMemberCycleCount(String memberKey, long asOf) {
+        List<double[]> cycles = cyclesByMember.get(memberKey);
+        if (cycles == null) {
+            return 0;
+        }
+        int count = 0;
+        for (double[] cycle : cycles) {
+            if (cycle[0] <= asOf) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Sum of every member's completed cycles that ended on or before asOf. */
+    public double getTotal(long asOf) {
+        double total = 0;
+        for (String memberKey : cyclesByMember.keySet()) {
+            total += getMemberTotal(memberKey, asOf);
+        }
+        return total;
+    }
+
+    /** Value stored for one completed cycle under progress/cycles. */
+    public static Map<String, Object> entryFor(MemberCycle cycle) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put(END_DATE, cycle.getEndDate());
+        entry.put(END_AMOUNT, cycle.getEndAmount());
+        return entry;
+    }
+}
@@ -1,4 +1,6 @@
 package com.example.spendwise.model;
+import com.example.spendwise.util.DateCodec;
+import com.example.spendwise.util.Money;
 import java.util.UUID;
 
 public class Expense {
@@ -7,6 +9,8 @@ public class Expense {
     private double amount;
     private Category category;
     private String date;
+    // Parsed date, 0 until first asked for (recomputed if the date really is day 0)
+    private transient int epochDay;
     private String notes;
     private String savingCircleId; // Optional: ID of savings circle if expense is linked to a circle
 
@@ -50,11 +54,28 @@ public class Expense {
     // Get expense amount
     public double getAmount() {
         return amount; }
+    // Exact amount for sums; also stored in Firebase next to amount
+    public long getAmountCents() {
+        return Money.toCents(amount); }
     // Get expense category
     public Category getCategory() {
         return category; }
     public String getDate() {
         return date; }
+
+    /**
+     * The date as days since 1970-01-01, or DateCodec.NO_DAY if it is not a
+     * valid "MM/dd/yyyy" date. Parsed once; racing threads just parse twice.
+     */
+    public int epochDay() {
+        int day = epochDay;
+        if (day == 0) {
+            day = DateCodec.parse(date);
+            epochDay = day;
+        }
+        return day;
+    }
+
     public String getNotes() {
         return notes; }
     public String getSavingCircleId() {
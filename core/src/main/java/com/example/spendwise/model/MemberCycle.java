@@ -1,8 +1,10 @@
 package com.example.spendwise.model;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 
 public class MemberCycle {
@@ -57,6 +59,21 @@ public class MemberCycle {
         return new MemberCycle(newStartDate, newEndDate, previousCycle.getStartAmount());
     }
 
+    // Builds the cycles that follow previousCycle up to the one containing targetDate.
+    // Every cycle but the last is already over, so they come back marked complete.
+    public static List<MemberCycle> createCyclesUntil(MemberCycle previousCycle, long targetDate,
+                                                      String frequency) {
+        List<MemberCycle> cycles = new ArrayList<>();
+        MemberCycle cycle = createNextCycle(previousCycle, frequency);
+        cycles.add(cycle);
+        while (targetDate >= cycle.getEndDate()) {
+            cycle.setComplete(true);
+            cycle = createNextCycle(cycle, frequency);
+            cycles.add(cycle);
+        }
+        return cycles;
+    }
+
     // Helper method to check if a date falls within this cycle
     public boolean isDateInCycle(long timestamp) {
         return timestamp >= startDate && timestamp < endDate;
@@ -7,6 +7,7 @@ public class SavingCircle {
     private String groupName;
     private String creatorEmail;
     private String creatorUid; // UID of the creator (for reading from correct path)
+    private boolean creatorUidInferred; // Not stored on the circle; guessed by the reader
     private String challengeTitle;
     private double goalAmount;
     private String frequency; // "Weekly" or "Monthly"
@@ -104,5 +105,18 @@ public class SavingCircle {
 
     public void setCreatorUid(String creatorUid) {
         this.creatorUid = creatorUid;
+        this.creatorUidInferred = false;
+    }
+
+    // For circles saved before creatorUid was stored; not a bean property,
+    // so Firebase does not write the flag back
+    public void inferCreatorUid(String creatorUid) {
+        this.creatorUid = creatorUid;
+        this.creatorUidInferred = true;
+    }
+
+    // Whether the creator UID was read from the circle itself rather than guessed
+    public boolean hasStoredCreatorUid() {
+        return creatorUid != null && !creatorUid.isEmpty() && !creatorUidInferred;
     }
 }
\ No newline at end of file
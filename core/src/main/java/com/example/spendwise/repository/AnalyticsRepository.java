@@ -0,0 +1,203 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.BudgetUsageSummary;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.util.DateCodec;
+import com.example.spendwise.util.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared analytics utilities for converting raw budget/expense collections
+ * into chart-friendly aggregates.
+ *
+ * Expense lists are loaded into {@link ExpenseColumns} and summed by its
+ * primitive scan, so every total comes from the same kernel.
+ * Holds no state between calls, so one instance can be used from any thread.
+ */
+public class AnalyticsRepository {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    public Map<String, Double> calculateCategoryTotals(List<Expense> expenses,
+                                                       Date windowStart,
+                                                       Date windowEnd) {
+        if (expenses == null || expenses.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return calculateCategoryTotals(ExpenseColumns.of(expenses), windowStart, windowEnd);
+    }
+
+    public List<BudgetUsageSummary> calculateBudgetUsage(List<Budget> budgets,
+                                                         List<Expense> expenses,
+                                                         Date windowStart,
+                                                         Date windowEnd) {
+        if (budgets == null || budgets.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return calculateBudgetUsage(budgets, ExpenseColumns.of(expenses), windowStart, windowEnd);
+    }
+
+    /**
+     * Same as {@link #calculateCategoryTotals(List, Date, Date)} computed by a
+     * single scan over {@link ExpenseColumns}.
+     */
+    public Map<String, Double> calculateCategoryTotals(ExpenseColumns columns,
+                                                       Date windowStart,
+                                                       Date windowEnd) {
+        if (columns == null || columns.size() == 0) {
+            return Collections.emptyMap();
+        }
+
+        // Sum in cents; categories keep the order they were first seen in
+        long[] cents = new long[CATEGORIES.length];
+        int[] order = new int[CATEGORIES.length];
+        int seen = columns.sumByCategory(fromDay(windowStart), toDay(windowEnd), cents, order);
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (int i = 0; i < seen; i++) {
+            int category = order[i];
+            totals.put(CATEGORIES[category].getDisplayName(), Money.toAmount(cents[category]));
+        }
+
+        return totals;
+    }
+
+    /**
+     * Same as {@link #calculateBudgetUsage(List, List, Date, Date)} with the
+     * spending summed by a single scan over {@link ExpenseColumns}.
+     */
+    public List<BudgetUsageSummary> calculateBudgetUsage(List<Budget> budgets,
+                                                         ExpenseColumns columns,
+                                                         Date windowStart,
+                                                         Date windowEnd) {
+        if (budgets == null || budgets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int fromDay = fromDay(windowStart);
+        int toDay = toDay(windowEnd);
+        long[] cents = new long[CATEGORIES.length];
+        if (columns != null) {
+            columns.sumByCategory(fromDay, toDay, cents, new int[CATEGORIES.length]);
+        }
+        List<BudgetUsageSummary> summaries = new ArrayList<>();
+
+        for (Budget budget : budgets) {
+            if (budget == null || budget.getCategory() == null) {
+                continue;
+            }
+
+            if (!isWithinRange(budget.epochDay(), fromDay, toDay)) {
+                continue;
+            }
+
+            String categoryName = budget.getCategory().getDisplayName();
+            double spent = Money.toAmount(cents[budget.getCategory().ordinal()]);
+            summaries.add(new BudgetUsageSummary(
+                    budget.getId(),
+                    budget.getName(),
+                    categoryName,
+                    budget.getAmount(),
+                    spent
+            ));
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Same as {@link #calculateCategoryTotals(List, Date, Date)} but answered
+     * from a {@link CategoryDayIndex}, so the cost does not depend on how many
+     * expenses there are.
+     */
+    public Map<String, Double> calculateCategoryTotals(CategoryDayIndex index,
+                                                       Date windowStart,
+                                                       Date windowEnd) {
+        if (index == null || index.size() == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (Category category : CATEGORIES) {
+            double total = index.sum(category, windowStart, windowEnd);
+            if (total != 0) {
+                totals.put(category.getDisplayName(), total);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Same as {@link #calculateBudgetUsage(List, List, Date, Date)} with the
+     * spending read from a {@link CategoryDayIndex}.
+     */
+    public List<BudgetUsageSummary> calculateBudgetUsage(List<Budget> budgets,
+                                                         CategoryDayIndex index,
+                                                         Date windowStart,
+                                                         Date windowEnd) {
+        if (budgets == null || budgets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<BudgetUsageSummary> summaries = new ArrayList<>();
+        int fromDay = fromDay(windowStart);
+        int toDay = toDay(windowEnd);
+        for (Budget budget : budgets) {
+            if (budget == null || budget.getCategory() == null) {
+                continue;
+            }
+
+            if (!isWithinRange(budget.epochDay(), fromDay, toDay)) {
+                continue;
+            }
+
+            double spent = index != null ? index.sum(budget.getCategory(), windowStart, windowEnd) : 0;
+            summaries.add(new BudgetUsageSummary(
+                    budget.getId(),
+                    budget.getName(),
+                    budget.getCategory().getDisplayName(),
+                    budget.getAmount(),
+                    spent
+            ));
+        }
+
+        return summaries;
+    }
+
+    // An expense or budget date is that day's local midnight; a null bound is open
+    private static int fromDay(Date start) {
+        return start == null ? Integer.MIN_VALUE : DateCodec.firstDayOnOrAfter(start);
+    }
+
+    private static int toDay(Date end) {
+        return end == null ? Integer.MAX_VALUE : DateCodec.dayOf(end);
+    }
+
+    private static boolean isWithinRange(int day, int fromDay, int toDay) {
+        return day != DateCodec.NO_DAY && day >= fromDay && day <= toDay;
+    }
+
+    public List<BudgetUsageSummary> createSeedBudgetUsage() {
+        List<BudgetUsageSummary> seeds = new ArrayList<>();
+        seeds.add(new BudgetUsageSummary("seed_groceries", "Groceries", "Food", 200, 120));
+        seeds.add(new BudgetUsageSummary("seed_transport", "Campus Transit", "Transport", 80, 45));
+        seeds.add(new BudgetUsageSummary("seed_entertainment", "Weekend Fun", "Entertainment", 100, 70));
+        return seeds;
+    }
+
+    public Map<String, Double> createSeedCategoryTotals() {
+        Map<String, Double> seeds = new LinkedHashMap<>();
+        seeds.put("Food", 120.0);
+        seeds.put("Transport", 45.0);
+        seeds.put("Entertainment", 70.0);
+        seeds.put("Other", 35.0);
+        return seeds;
+    }
+}
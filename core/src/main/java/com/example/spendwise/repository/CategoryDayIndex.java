@@ -0,0 +1,230 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.util.DateCodec;
+import com.example.spendwise.util.Money;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-category running totals of expenses by calendar day.
+ *
+ * Each category has a Fenwick tree over epoch days, so adding, changing or
+ * removing one expense is O(log days) and the total for any date window is
+ * O(log days) per category. Amounts are summed in cents, so totals do not
+ * drift however many updates go through. A second set of trees counts the
+ * expenses the same way. Expenses are tracked by id, so an update only needs
+ * the new version of the expense. Dates outside 1900-2200 are ignored.
+ *
+ * Not thread-safe; use from one thread.
+ */
+public class CategoryDayIndex {
+
+    private static final int INITIAL_SPAN = 512;
+    // Typos such as a two-digit year would otherwise stretch the trees over centuries
+    private static final long MIN_DAY = DateCodec.epochDay(1900, 1, 1);
+    private static final long MAX_DAY = DateCodec.epochDay(2200, 1, 1);
+
+    // What one tracked expense contributed, so it can be taken out again
+    private static final class Entry {
+        final int category;
+        final long day;
+        final long cents;
+
+        Entry(int category, long day, long cents) {
+            this.category = category;
+            this.day = day;
+            this.cents = cents;
+        }
+    }
+
+    private final Category[] categories = Category.values();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long[][] trees;
+    private int[][] countTrees;
+    private long baseDay;
+    private int span;
+
+    public CategoryDayIndex() {
+        clear();
+    }
+
+    public void clear() {
+        entries.clear();
+        trees = null;
+        countTrees = null;
+        baseDay = 0;
+        span = 0;
+    }
+
+    /** Replaces the contents with the given expenses. */
+    public void rebuild(Iterable<Expense> expenses) {
+        clear();
+        if (expenses == null) {
+            return;
+        }
+        for (Expense expense : expenses) {
+            put(expense);
+        }
+    }
+
+    /** Adds an expense, or replaces the previous version with the same id. */
+    public void put(Expense expense) {
+        if (expense == null) {
+            return;
+        }
+        String key = keyOf(expense);
+        remove(key);
+
+        if (expense.getCategory() == null) {
+            return;
+        }
+        int day = expense.epochDay();
+        if (day == DateCodec.NO_DAY || day < MIN_DAY || day > MAX_DAY) {
+            return;
+        }
+        // Grow first; a rebuild only copies entries that are already tracked
+        ensureCovers(day);
+        Entry entry = new Entry(expense.getCategory().ordinal(), day, expense.getAmountCents());
+        entries.put(key, entry);
+        add(entry.category, day, entry.cents, 1);
+    }
+
+    public void remove(String expenseId) {
+        if (expenseId == null) {
+            return;
+        }
+        Entry previous = entries.remove(expenseId);
+        if (previous != null) {
+            add(previous.category, previous.day, -previous.cents, -1);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Total spent in a category between two inclusive epoch days. */
+    public double sum(Category category, long fromDay, long toDay) {
+        return Money.toAmount(sumCents(category, fromDay, toDay));
+    }
+
+    /** Same as {@link #sum(Category, long, long)} in cents. */
+    public long sumCents(Category category, long fromDay, long toDay) {
+        if (trees == null || category == null) {
+            return 0;
+        }
+        long first = Math.max(fromDay, baseDay);
+        long last = Math.min(toDay, baseDay + span - 1);
+        if (first > last) {
+            return 0;
+        }
+        long[] tree = trees[category.ordinal()];
+        return prefix(tree, (int) (last - baseDay)) - prefix(tree, (int) (first - baseDay) - 1);
+    }
+
+    /** Number of expenses in a category between two inclusive epoch days. */
+    public int count(Category category, long fromDay, long toDay) {
+        if (countTrees == null || category == null) {
+            return 0;
+        }
+        long first = Math.max(fromDay, baseDay);
+        long last = Math.min(toDay, baseDay + span - 1);
+        if (first > last) {
+            return 0;
+        }
+        int[] tree = countTrees[category.ordinal()];
+        return prefix(tree, (int) (last - baseDay)) - prefix(tree, (int) (first - baseDay) - 1);
+    }
+
+    /**
+     * Total spent in a category between two instants.
+     * Matches the list-based analytics: an expense counts if its date (local
+     * midnight) is not before start and not after end. A null bound is open.
+     */
+    public double sum(Category category, Date start, Date end) {
+        long fromDay = start == null ? Long.MIN_VALUE : DateCodec.firstDayOnOrAfter(start);
+        long toDay = end == null ? Long.MAX_VALUE : DateCodec.dayOf(end);
+        return sum(category, fromDay, toDay);
+    }
+
+    private static String keyOf(Expense expense) {
+        return expense.getId() != null
+                ? expense.getId()
+                : "@" + System.identityHashCode(expense);
+    }
+
+    private void add(int category, long day, long delta, int countDelta) {
+        long[] tree = trees[category];
+        int[] countTree = countTrees[category];
+        for (int i = (int) (day - baseDay) + 1; i <= span; i += i & -i) {
+            tree[i] += delta;
+            countTree[i] += countDelta;
+        }
+    }
+
+    // Sum of days [0, index] relative to baseDay; -1 gives 0
+    private static long prefix(long[] tree, int index) {
+        long sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static int prefix(int[] tree, int index) {
+        int sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Grows the day range by doubling; the rebuild is rare and linear
+    private void ensureCovers(long day) {
+        if (trees == null) {
+            span = INITIAL_SPAN;
+            baseDay = day - span / 2;
+            trees = new long[categories.length][span + 1];
+            countTrees = new int[categories.length][span + 1];
+            return;
+        }
+        if (day >= baseDay && day < baseDay + span) {
+            return;
+        }
+
+        long newBase = baseDay;
+        int newSpan = span;
+        while (day < newBase || day >= newBase + newSpan) {
+            if (day < newBase) {
+                newBase -= newSpan;
+            }
+            newSpan *= 2;
+        }
+
+        baseDay = newBase;
+        span = newSpan;
+        trees = new long[categories.length][span + 1];
+        countTrees = new int[categories.length][span + 1];
+        for (Entry entry : entries.values()) {
+            int slot = (int) (entry.day - baseDay) + 1;
+            trees[entry.category][slot] += entry.cents;
+            countTrees[entry.category][slot]++;
+        }
+        // Linear Fenwick construction from the per-day values
+        for (int category = 0; category < categories.length; category++) {
+            long[] tree = trees[category];
+            int[] countTree = countTrees[category];
+            for (int i = 1; i <= span; i++) {
+                int parent = i + (i & -i);
+                if (parent <= span) {
+                    tree[parent] += tree[i];
+                    countTree[parent] += countTree[i];
+                }
+            }
+        }
+    }
+}
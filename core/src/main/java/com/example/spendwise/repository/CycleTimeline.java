@@ -0,0 +1,87 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.MemberCycle;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A member's known cycles sorted by start date.
+ *
+ * Cycles do not overlap, so the cycle containing a date is the one with the
+ * latest start at or before it: a binary search rather than a scan of the
+ * whole history.
+ *
+ * Not thread-safe; use from one thread.
+ */
+public class CycleTimeline {
+
+    private final List<MemberCycle> cycles = new ArrayList<>();
+
+    /** Adds a cycle, replacing the one with the same start date. */
+    public void put(MemberCycle cycle) {
+        if (cycle == null) {
+            return;
+        }
+        int index = floorIndex(cycle.getStartDate());
+        if (index >= 0 && cycles.get(index).getStartDate() == cycle.getStartDate()) {
+            cycles.set(index, cycle);
+        } else {
+            cycles.add(index + 1, cycle);
+        }
+    }
+
+    public void putAll(Iterable<MemberCycle> newCycles) {
+        for (MemberCycle cycle : newCycles) {
+            put(cycle);
+        }
+    }
+
+    /** The cycle containing the date, or null if none is known. */
+    public MemberCycle find(long date) {
+        int index = floorIndex(date);
+        if (index < 0) {
+            return null;
+        }
+        MemberCycle cycle = cycles.get(index);
+        return cycle.isDateInCycle(date) ? cycle : null;
+    }
+
+    /** The cycle with the latest start, or null if empty. */
+    public MemberCycle last() {
+        return cycles.isEmpty() ? null : cycles.get(cycles.size() - 1);
+    }
+
+    public int size() {
+        return cycles.size();
+    }
+
+    /**
+     * Upper bound for an orderByKey() query on the cycles node that finds the
+     * cycles starting on or before the date. Cycle ids begin with their local
+     * start day ("yyyy-MM-dd_to_..."), so keys sort by start date; a day of
+     * slack covers ids written in another time zone.
+     */
+    public static String keyUpperBound(long date) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        return sdf.format(new Date(date + 24L * 60 * 60 * 1000)) + "\uf8ff";
+    }
+
+    // Index of the last cycle starting at or before the time; -1 if none
+    private int floorIndex(long time) {
+        int low = 0;
+        int high = cycles.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (cycles.get(mid).getStartDate() <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.spendwise.repository;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.util.DateCodec;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Expenses stored column by column in primitive arrays.
+ *
+ * Analytics only need amount, day and category, so the scans read a long[],
+ * an int[] and a byte[] instead of chasing Expense objects, Strings and
+ * enums. Amounts are kept and summed in cents, so totals do not drift. Rows
+ * are kept dense (removal moves the last row into the gap) and the arrays
+ * grow in chunks. The scan kernels write into caller-supplied arrays and
+ * allocate nothing. Expenses without a category are left out.
+ *
+ * Not thread-safe; use from one thread.
+ */
+public class ExpenseColumns {
+
+    /** Day value for expenses whose date is missing or malformed. */
+    public static final int NO_DAY = DateCodec.NO_DAY;
+
+    private static final int CHUNK = 256;
+
+    static {
+        // The scans track which categories they saw in one long
+        if (Category.values().length > Long.SIZE) {
+            throw new AssertionError("Too many categories for ExpenseColumns");
+        }
+    }
+
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private String[] ids = new String[0];
+    private long[] cents = new long[0];
+    private int[] days = new int[0];
+    private byte[] categories = new byte[0];
+    private int size;
+
+    /**
+     * A one-off table holding every expense in the list, in list order, even
+     * ones that share or lack an id. For scanning a list that is not kept
+     * anywhere else.
+     */
+    public static ExpenseColumns of(Iterable<Expense> expenses) {
+        ExpenseColumns columns = new ExpenseColumns();
+        if (expenses != null) {
+            for (Expense expense : expenses) {
+                if (expense != null && expense.getCategory() != null) {
+                    columns.setRow(columns.addRow(expense.getId()), expense);
+                }
+            }
+        }
+        return columns;
+    }
+
+    public void clear() {
+        rowById.clear();
+        Arrays.fill(ids, 0, size, null);
+        size = 0;
+    }
+
+    /** Replaces the contents with the given expenses, one row per id. */
+    public void rebuild(Iterable<Expense> expenses) {
+        clear();
+        if (expenses == null) {
+            return;
+        }
+        for (Expense expense : expenses) {
+            put(expense);
+        }
+    }
+
+    /** Adds an expense, or overwrites the row with the same id. */
+    public void put(Expense expense) {
+        if (expense == null || expense.getId() == null) {
+            return;
+        }
+        if (expense.getCategory() == null) {
+            remove(expense.getId());
+            return;
+        }
+
+        Integer existing = rowById.get(expense.getId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            row = addRow(expense.getId());
+            rowById.put(expense.getId(), row);
+        }
+        setRow(row, expense);
+    }
+
+    public void remove(String expenseId) {
+        if (expenseId == null) {
+            return;
+        }
+        Integer row = rowById.remove(expenseId);
+        if (row == null) {
+            return;
+        }
+        int last = size - 1;
+        if (row != last) {
+            ids[row] = ids[last];
+            cents[row] = cents[last];
+            days[row] = days[last];
+            categories[row] = categories[last];
+            Integer moved = ids[row] != null ? rowById.get(ids[row]) : null;
+            if (moved != null && moved == last) {
+                rowById.put(ids[row], row);
+            }
+        }
+        ids[last] = null;
+        size = last;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long amountCentsAt(int row) {
+        return cents[row];
+    }
+
+    public int dayAt(int row) {
+        return days[row];
+    }
+
+    public int categoryAt(int row) {
+        return categories[row];
+    }
+
+    public String idAt(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Totals every row, dated or not, by category ordinal.
+     *
+     * @param totals Zeroed, then receives the cents for each {@link Category}
+     *               ordinal; needs one slot per category.
+     * @param order  Receives the ordinals that had any rows, in the order
+     *               they first appear; needs one slot per category.
+     * @return how many entries of order are filled
+     */
+    public int sumByCategory(long[] totals, int[] order) {
+        return scan(false, 0, 0, totals, order);
+    }
+
+    /**
+     * Same as {@link #sumByCategory(long[], int[])} for the rows dated between
+     * two inclusive epoch days. Rows without a date are skipped.
+     */
+    public int sumByCategory(int fromDay, int toDay, long[] totals, int[] order) {
+        return scan(true, fromDay, toDay, totals, order);
+    }
+
+    private int scan(boolean dated, int fromDay, int toDay, long[] totals, int[] order) {
+        Arrays.fill(totals, 0);
+        long seen = 0;
+        int seenCount = 0;
+        for (int row = 0; row < size; row++) {
+            if (dated) {
+                int day = days[row];
+                if (day == NO_DAY || day < fromDay || day > toDay) {
+                    continue;
+                }
+            }
+            int category = categories[row];
+            long bit = 1L << category;
+            if ((seen & bit) == 0) {
+                seen |= bit;
+                order[seenCount++] = category;
+            }
+            totals[category] += cents[row];
+        }
+        return seenCount;
+    }
+
+    private int addRow(String id) {
+        ensureCapacity(size + 1);
+        ids[size] = id;
+        return size++;
+    }
+
+    private void setRow(int row, Expense expense) {
+        cents[row] = expense.getAmountCents();
+        days[row] = expense.epochDay();
+        categories[row] = (byte) expense.getCategory().ordinal();
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= cents.length) {
+            return;
+        }
+        int capacity = cents.length + Math.max(CHUNK, cents.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        days = Arrays.copyOf(days, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.spendwise.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A fixed-size-page view over a sorted list that lives elsewhere, usually
+ * the local store.
+ *
+ * Only the pages around the last position read are kept. Rows of pages
+ * that are not loaded read as null placeholders, so a list adapter can
+ * show every row while memory stays at {@code maxPages * pageSize} items.
+ * Reading a row loads its page and the pages within the prefetch distance.
+ * Moving forward, the next page is read by key after the last item of the
+ * page before it; a jump that lands far away falls back to an offset.
+ *
+ * {@link #invalidate()} marks every page stale after the source changes.
+ * Stale pages keep showing until their reload arrives, and loads started
+ * before the change are ignored.
+ *
+ * Must be used from one thread, normally the main thread.
+ */
+public class PageWindow<T> {
+
+    /** Loads one page; answers through {@link #onPageLoaded}. */
+    public interface Loader<T> {
+        /**
+         * @param after  last item of the page before, or null to use the offset
+         * @param offset position of the first row of the page
+         */
+        void load(int generation, int page, T after, int offset, int limit);
+    }
+
+    public interface Listener<T> {
+        void onCountChanged(int oldCount, int newCount);
+
+        /**
+         * Rows from {@code start} changed. Either list is null when those
+         * rows were or have become placeholders.
+         */
+        void onPageChanged(int start, List<T> oldItems, List<T> newItems);
+    }
+
+    private static final class Page<T> {
+        final List<T> items;
+        final int generation;
+
+        Page(List<T> items, int generation) {
+            this.items = items;
+            this.generation = generation;
+        }
+    }
+
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int maxPages;
+    private final Loader<T> loader;
+    private final Map<Integer, Page<T>> pages = new HashMap<>();
+    private final Set<Integer> inFlight = new HashSet<>();
+
+    private Listener<T> listener;
+    private int count = 0;
+    private int generation = 0;
+    private int lastPosition = 0;
+
+    public PageWindow(int pageSize, int prefetchDistance, int maxPages, Loader<T> loader) {
+        if (pageSize <= 0 || prefetchDistance < 0) {
+            throw new IllegalArgumentException("Invalid page size or prefetch distance");
+        }
+        // The pages around one position must fit, or they would evict each other
+        if (maxPages < 2 * ((prefetchDistance + pageSize - 1) / pageSize) + 2) {
+            throw new IllegalArgumentException("maxPages too small for the prefetch distance");
+        }
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.maxPages = maxPages;
+        this.loader = loader;
+    }
+
+    public void setListener(Listener<T> listener) {
+        this.listener = listener;
+    }
+
+    /** Total rows, including placeholders. */
+    public int size() {
+        return count;
+    }
+
+    /** The row, or null while its page loads. Loads the pages around it. */
+    public T get(int position) {
+        lastPosition = position;
+        loadAround(position);
+        return peek(position);
+    }
+
+    /** The row if its page is loaded, without loading anything. */
+    public T peek(int position) {
+        if (position < 0 || position >= count) {
+            return null;
+        }
+        Page<T> page = pages.get(pageOf(position));
+        int index = position % pageSize;
+        return page != null && index < page.items.size() ? page.items.get(index) : null;
+    }
+
+    /** Reloads every page after the source changed; also starts the first load. */
+    public void invalidate() {
+        generation++;
+        inFlight.clear();
+        for (Integer page : new ArrayList<>(pages.keySet())) {
+            request(page);
+        }
+        loadAround(lastPosition);
+    }
+
+    public void onPageLoaded(int loadGeneration, int page, List<T> items, int totalCount) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        inFlight.remove(page);
+        if (totalCount != count) {
+            int oldCount = count;
+            count = totalCount;
+            dropPagesFrom(pageOf(totalCount + pageSize - 1));
+            if (listener != null) {
+                listener.onCountChanged(oldCount, totalCount);
+            }
+        }
+        // An empty first page is kept so an empty list is not asked for again
+        if (page == 0 || page * pageSize < count) {
+            Page<T> old = pages.put(page, new Page<>(items, generation));
+            if (listener != null) {
+                listener.onPageChanged(page * pageSize, old != null ? old.items : null, items);
+            }
+        }
+        evictFarPages();
+        // The next page can now be read by key
+        loadAround(lastPosition);
+    }
+
+    private void loadAround(int position) {
+        if (count == 0) {
+            // Nothing known yet, or empty; the first page answers with the count
+            request(0);
+            return;
+        }
+        position = Math.min(position, count - 1);
+        int target = pageOf(position);
+        int first = pageOf(Math.max(0, position - prefetchDistance));
+        int last = Math.min(pageOf(position + prefetchDistance), pageOf(count - 1));
+        for (int page = first; page <= last; page++) {
+            // Ahead of the target page, wait for the page before so its key can be used
+            if (page == target || page < target || isCurrent(page - 1)) {
+                request(page);
+            }
+        }
+    }
+
+    private void request(int page) {
+        if (isCurrent(page) || !inFlight.add(page)) {
+            return;
+        }
+        Page<T> before = pages.get(page - 1);
+        T after = null;
+        if (before != null && before.generation == generation && before.items.size() == pageSize) {
+            after = before.items.get(pageSize - 1);
+        }
+        loader.load(generation, page, after, page * pageSize, pageSize);
+    }
+
+    private boolean isCurrent(int page) {
+        Page<T> loaded = pages.get(page);
+        return loaded != null && loaded.generation == generation;
+    }
+
+    private void dropPagesFrom(int firstDropped) {
+        for (Integer page : new ArrayList<>(pages.keySet())) {
+            if (page >= firstDropped) {
+                pages.remove(page);
+            }
+        }
+    }
+
+    // Drops the pages farthest from the last position read
+    private void evictFarPages() {
+        int target = pageOf(lastPosition);
+        while (pages.size() > maxPages) {
+            int farthest = target;
+            for (Integer page : pages.keySet()) {
+                if (Math.abs(page - target) > Math.abs(farthest - target)) {
+                    farthest = page;
+                }
+            }
+            Page<T> evicted = pages.remove(farthest);
+            if (listener != null) {
+                listener.onPageChanged(farthest * pageSize, evicted.items, null);
+            }
+        }
+    }
+
+    private int pageOf(int position) {
+        return position / pageSize;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.spendwise.repository;
+
+/**
+ * A single child-level change reported by {@link ChildSyncEngine}.
+ */
+public class SyncDelta<T> {
+
+    public enum Type {
+        INSERT,
+        UPDATE,
+        REMOVE
+    }
+
+    private final Type type;
+    private final String key;
+    private final T item;
+    private final T previous;
+
+    public SyncDelta(Type type, String key, T item, T previous) {
+        this.type = type;
+        this.key = key;
+        this.item = item;
+        this.previous = previous;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // New value; null for REMOVE
+    public T getItem() {
+        return item;
+    }
+
+    // Value before the change; null for INSERT
+    public T getPrevious() {
+        return previous;
+    }
+}
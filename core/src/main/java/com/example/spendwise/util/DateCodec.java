@@ -0,0 +1,150 @@
+package com.example.spendwise.util;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Converts the app's "MM/dd/yyyy" date strings to and from epoch days (days
+ * since 1970-01-01).
+ *
+ * The parser reads the characters directly, so it allocates nothing, and
+ * comparing two dates becomes an int comparison. Out-of-range fields roll
+ * over like the lenient SimpleDateFormat used before, so "13/01/2024" is
+ * 01/01/2025. Instants map to days in the device's time zone.
+ *
+ * Every method is stateless and safe to call from any thread.
+ */
+public final class DateCodec {
+
+    /** Day value for missing or malformed dates. */
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Enough for any real year; more digits would overflow the arithmetic
+    private static final int MAX_FIELD_DIGITS = 9;
+
+    private DateCodec() {
+    }
+
+    /**
+     * Parses a "MM/dd/yyyy" date. Month and day may have one digit, and
+     * spaces around a field are ignored.
+     *
+     * @return the epoch day, or {@link #NO_DAY} if the string is not a date
+     */
+    public static int parse(String date) {
+        if (date == null) {
+            return NO_DAY;
+        }
+        long month = 0;
+        long dayOfMonth = 0;
+        long value = 0;
+        int field = 0;
+        int digits = 0;
+        boolean fieldEnded = false;
+        for (int i = 0, length = date.length(); i < length; i++) {
+            char c = date.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fieldEnded || ++digits > MAX_FIELD_DIGITS) {
+                    return NO_DAY;
+                }
+                value = value * 10 + (c - '0');
+            } else if (c == '/') {
+                if (digits == 0 || field == 2) {
+                    return NO_DAY;
+                }
+                if (field == 0) {
+                    month = value;
+                } else {
+                    dayOfMonth = value;
+                }
+                field++;
+                value = 0;
+                digits = 0;
+                fieldEnded = false;
+            } else if (c <= ' ') {
+                // Same characters String.trim() drops
+                fieldEnded = digits > 0;
+            } else {
+                return NO_DAY;
+            }
+        }
+        if (field != 2 || digits == 0) {
+            return NO_DAY;
+        }
+        return toInt(epochDay(value, month, dayOfMonth));
+    }
+
+    /** Formats an epoch day as "MM/dd/yyyy". */
+    public static String format(int epochDay) {
+        // Days-to-civil, counting years from March so leap days fall last
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return String.format(Locale.US, "%02d/%02d/%04d", month, day, year);
+    }
+
+    /** Days since 1970-01-01 for a calendar date, normalising overflowing fields. */
+    public static long epochDay(long year, long month, long day) {
+        year += Math.floorDiv(month - 1, 12);
+        month = Math.floorMod(month - 1, 12) + 1;
+        // Civil-from-days inverse, counting years from March so leap days fall last
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468 + (day - 1);
+    }
+
+    /** Local calendar day containing the instant. */
+    public static int dayOf(long millis) {
+        return (int) Math.floorDiv(localMillis(millis), DAY_MILLIS);
+    }
+
+    public static int dayOf(Date date) {
+        return dayOf(date.getTime());
+    }
+
+    /** First local day whose midnight is at or after the instant. */
+    public static int firstDayOnOrAfter(long millis) {
+        long local = localMillis(millis);
+        int day = (int) Math.floorDiv(local, DAY_MILLIS);
+        return Math.floorMod(local, DAY_MILLIS) == 0 ? day : day + 1;
+    }
+
+    public static int firstDayOnOrAfter(Date date) {
+        return firstDayOnOrAfter(date.getTime());
+    }
+
+    /**
+     * Local midnight at the start of an epoch day. Where a clock change skips
+     * midnight this is the first instant of the day, as with a lenient
+     * Calendar.
+     */
+    public static long startOfDay(int epochDay) {
+        TimeZone zone = TimeZone.getDefault();
+        long local = epochDay * DAY_MILLIS;
+        int offset = zone.getOffset(local - zone.getRawOffset());
+        long millis = local - offset;
+        int actual = zone.getOffset(millis);
+        // Guessed the wrong side of a transition
+        return actual == offset ? millis : local - actual;
+    }
+
+    // Wall-clock time at the instant, as if the local zone were UTC
+    private static long localMillis(long millis) {
+        return millis + TimeZone.getDefault().getOffset(millis);
+    }
+
+    private static int toInt(long day) {
+        return day <= Integer.MIN_VALUE || day > Integer.MAX_VALUE ? NO_DAY : (int) day;
+    }
+}
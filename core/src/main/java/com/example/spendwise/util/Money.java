@@ -0,0 +1,29 @@
+package com.example.spendwise.util;
+
+/**
+ * Fixed-point money as a long count of cents.
+ *
+ * Totals are summed in cents, so adding up a year of expenses is exact and
+ * needs no boxed values; only the final total is turned back into a double
+ * for display. Amounts are rounded to the nearest cent, half away from zero.
+ */
+public final class Money {
+
+    public static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /** Nearest whole number of cents; NaN counts as zero. */
+    public static long toCents(double amount) {
+        if (Double.isNaN(amount)) {
+            return 0;
+        }
+        // Math.round would send -0.5 up to 0
+        return amount < 0 ? -Math.round(-amount * CENTS_PER_UNIT) : Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static double toAmount(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.spendwise.factory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.ExpenseColumns;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ChartValuesTest {
+
+    private Expense expense(String id, double amount, Category category) {
+        Expense expense = new Expense(id, amount, category, "10/05/2024", "");
+        expense.setId(id);
+        return expense;
+    }
+
+    @Test
+    public void budgetSpent_matchesBetweenListAndColumns() {
+        List<Expense> expenses = Arrays.asList(
+                expense("a", 15.0, Category.FOOD),
+                expense("b", 45.0, Category.FOOD),
+                expense("c", 12.0, Category.ENTERTAINMENT));
+        List<Budget> budgets = Arrays.asList(
+                new Budget("Food", 100.0, Category.FOOD, "10/01/2024", "Monthly"),
+                new Budget("Bills", 80.0, Category.BILLS, "10/01/2024", "Monthly"),
+                new Budget("Fun", 50.0, Category.ENTERTAINMENT, "10/01/2024", "Monthly"));
+        ExpenseColumns columns = new ExpenseColumns();
+        columns.rebuild(expenses);
+
+        double[] expected = {60.0, 0.0, 12.0};
+        assertArrayEquals(expected, ChartValues.budgetSpent(budgets, expenses), 0.001);
+        assertArrayEquals(expected, ChartValues.budgetSpent(budgets, columns), 0.001);
+    }
+
+    @Test
+    public void budgetSpent_keepsFirstFiveBudgets() {
+        List<Budget> budgets = new ArrayList<>();
+        for (Category category : Category.values()) {
+            budgets.add(new Budget(category.name(), 10.0, category, "10/01/2024", "Monthly"));
+        }
+
+        assertEquals(ChartValues.MAX_BUDGET_BARS,
+                ChartValues.budgetSpent(budgets, new ArrayList<Expense>()).length);
+        assertEquals(ChartValues.MAX_BUDGET_BARS,
+                ChartValues.budgetSpent(budgets, new ExpenseColumns()).length);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.spendwise.logic;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+public class BudgetEvaluationEngineTest {
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+
+    private long time(String date) throws Exception {
+        return dateFormat.parse(date).getTime();
+    }
+
+    private final List<Expense> expenses = Arrays.asList(
+            new Expense("Lunch", 15.0, Category.FOOD, "10/05/2024", ""),
+            new Expense("Groceries", 45.0, Category.FOOD, "10/18/2024", ""),
+            new Expense("Snack", 5.0, Category.FOOD, "09/30/2024", ""),
+            new Expense("Movie", 12.0, Category.ENTERTAINMENT, "10/10/2024", ""),
+            new Expense("No date", 99.0, Category.FOOD, null, ""),
+            new Expense("Bad date", 99.0, Category.FOOD, "not a date", "")
+    );
+
+    @Test
+    public void testSpentBetween_FiltersByCategoryAndPeriod() throws Exception {
+        BudgetEvaluationEngine engine = new BudgetEvaluationEngine(expenses);
+        assertEquals(60.0, engine.spentBetween("FOOD", time("10/01/2024"), time("10/31/2024")), 0.001);
+        assertEquals(12.0, engine.spentBetween("ENTERTAINMENT", time("10/01/2024"), time("10/31/2024")), 0.001);
+    }
+
+    @Test
+    public void testSpentBetween_BoundsAreInclusive() throws Exception {
+        BudgetEvaluationEngine engine = new BudgetEvaluationEngine(expenses);
+        assertEquals(60.0, engine.spentBetween("FOOD", time("10/05/2024"), time("10/18/2024")), 0.001);
+    }
+
+    @Test
+    public void testSpentBetween_UnknownCategoryIsZero() throws Exception {
+        BudgetEvaluationEngine engine = new BudgetEvaluationEngine(expenses);
+        assertEquals(0.0, engine.spentBetween("BILLS", time("01/01/2024"), time("12/31/2024")), 0.001);
+        assertEquals(0.0, engine.spentBetween(null, time("01/01/2024"), time("12/31/2024")), 0.001);
+    }
+
+    @Test
+    public void testEvaluate_AllBudgetsFromOneEngine() throws Exception {
+        BudgetEvaluationEngine engine = new BudgetEvaluationEngine(expenses);
+        List<BudgetEvaluationEngine.Evaluation> results = engine.evaluate(Arrays.asList(
+                new BudgetEvaluationEngine.BudgetWindow("Food", "FOOD", 60.0,
+                        time("10/01/2024"), time("10/31/2024")),
+                new BudgetEvaluationEngine.BudgetWindow("Fun", "ENTERTAINMENT", 100.0,
+                        time("10/01/2024"), time("10/31/2024"))
+        ));
+
+        assertEquals(2, results.size());
+        assertEquals(60.0, results.get(0).getSpent(), 0.001);
+        assertEquals(100.0, results.get(0).getPercentUsed(), 0.001);
+        assertEquals(12.0, results.get(1).getPercentUsed(), 0.001);
+    }
+
+    @Test
+    public void testFindActiveCycle_Monthly() throws Exception {
+        long[] cycle = BudgetEvaluationEngine.findActiveCycle(
+                time("01/15/2024"), "Monthly", time("03/20/2024"));
+        assertNotNull(cycle);
+        assertEquals(time("03/15/2024"), cycle[0]);
+        assertEquals(time("04/15/2024"), cycle[1]);
+    }
+
+    @Test
+    public void testFindActiveCycle_Weekly() throws Exception {
+        long[] cycle = BudgetEvaluationEngine.findActiveCycle(
+                time("01/01/2024"), "weekly", time("01/10/2024"));
+        assertNotNull(cycle);
+        assertEquals(time("01/08/2024"), cycle[0]);
+
+        Calendar end = Calendar.getInstance();
+        end.setTimeInMillis(cycle[0]);
+        end.add(Calendar.DAY_OF_YEAR, 7);
+        assertEquals(end.getTimeInMillis(), cycle[1]);
+    }
+
+    @Test
+    public void testFindActiveCycle_NoneBeforeStartOrUnknownFrequency() throws Exception {
+        assertNull(BudgetEvaluationEngine.findActiveCycle(
+                time("05/01/2024"), "Monthly", time("04/01/2024")));
+        assertNull(BudgetEvaluationEngine.findActiveCycle(
+                time("01/01/2024"), "Daily", time("04/01/2024")));
+    }
+}
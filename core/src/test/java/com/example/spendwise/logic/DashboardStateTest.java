@@ -0,0 +1,115 @@
+package com.example.spendwise.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDayIndex;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class DashboardStateTest {
+
+    private PeriodDays periods(int year, int month, int day) {
+        Calendar now = Calendar.getInstance();
+        now.clear();
+        now.set(year, month, day, 12, 0);
+        // Built from millis like the dashboard's date, so every field is set
+        now.setTimeInMillis(now.getTimeInMillis());
+        return new PeriodDays(now);
+    }
+
+    private Expense expense(String id, double amount, Category category, String date) {
+        Expense expense = new Expense(id, amount, category, date, "");
+        expense.setId(id);
+        return expense;
+    }
+
+    private CategoryDayIndex index(List<Expense> expenses) {
+        CategoryDayIndex index = new CategoryDayIndex();
+        index.rebuild(expenses);
+        return index;
+    }
+
+    private Budget budget(String id, double amount, Category category, String date, String freq) {
+        Budget budget = new Budget(id, amount, category, date, freq);
+        budget.setId(id);
+        return budget;
+    }
+
+    @Test
+    public void monthlyBudget_countsOnlyBudgetedCategories() {
+        List<Budget> budgets = Collections.singletonList(
+                budget("food", 100.0, Category.FOOD, "10/01/2024", "Monthly"));
+        List<Expense> expenses = Arrays.asList(
+                expense("a", 30.25, Category.FOOD, "10/10/2024"),
+                expense("b", 50.0, Category.BILLS, "10/11/2024"),
+                expense("c", 99.0, Category.FOOD, "09/30/2024"));
+
+        DashboardState state = DashboardState.compute(budgets, index(expenses), periods(2024, Calendar.OCTOBER, 15));
+
+        assertEquals(6975, state.getMonthly().getRemainingCents());
+        assertTrue(state.getMonthly().getHasBudget()[Category.FOOD.ordinal()]);
+        assertFalse(state.getMonthly().getHasBudget()[Category.BILLS.ordinal()]);
+        assertEquals(0, state.getWeekly().getRemainingCents());
+        assertEquals(8025, state.getMonthSpentCents());
+    }
+
+    @Test
+    public void remainingBudgets_keepIdsAndSubtractTheirPeriod() {
+        List<Budget> budgets = Arrays.asList(
+                budget("weekly", 40.0, Category.FOOD, "01/01/2020", "Weekly"),
+                budget("yearly", 500.0, Category.FOOD, "03/01/2024", "Yearly"),
+                budget("old", 500.0, Category.FOOD, "03/01/2023", "Yearly"),
+                budget("daily", 10.0, Category.FOOD, "10/15/2024", "Daily"));
+        List<Expense> expenses = Arrays.asList(
+                expense("today", 4.0, Category.FOOD, "10/15/2024"),
+                expense("spring", 100.0, Category.FOOD, "04/02/2024"));
+
+        List<Budget> remaining = DashboardState.compute(budgets, index(expenses),
+                periods(2024, Calendar.OCTOBER, 15)).getRemainingBudgets();
+
+        assertEquals(3, remaining.size());
+        assertEquals("weekly", remaining.get(0).getId());
+        assertEquals(36.0, remaining.get(0).getAmount(), 0);
+        assertEquals(40.0, remaining.get(0).getOriginalAmount(), 0);
+        assertEquals("yearly", remaining.get(1).getId());
+        assertEquals(396.0, remaining.get(1).getAmount(), 0);
+        assertEquals("daily", remaining.get(2).getId());
+        assertEquals(6.0, remaining.get(2).getAmount(), 0);
+    }
+
+    @Test
+    public void periods_includeTheirFirstDayWhateverTheTimeOfDay() {
+        Calendar weekStart = Calendar.getInstance();
+        weekStart.clear();
+        weekStart.set(2024, Calendar.OCTOBER, 15, 12, 0);
+        weekStart.setTimeInMillis(weekStart.getTimeInMillis());
+        weekStart.set(Calendar.DAY_OF_WEEK, weekStart.getFirstDayOfWeek());
+        String firstOfWeek = String.format(Locale.US, "%02d/%02d/%d",
+                weekStart.get(Calendar.MONTH) + 1, weekStart.get(Calendar.DAY_OF_MONTH),
+                weekStart.get(Calendar.YEAR));
+
+        List<Budget> budgets = Collections.singletonList(
+                budget("weekly", 40.0, Category.FOOD, firstOfWeek, "Weekly"));
+        List<Expense> expenses = Arrays.asList(
+                expense("first", 5.0, Category.BILLS, "10/01/2024"),
+                expense("last", 7.0, Category.BILLS, "10/31/2024"),
+                expense("week", 3.0, Category.FOOD, firstOfWeek));
+
+        DashboardState state = DashboardState.compute(budgets, index(expenses),
+                periods(2024, Calendar.OCTOBER, 15));
+
+        assertEquals(1500, state.getMonthSpentCents());
+        assertEquals(3700, state.getWeekly().getRemainingCents());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.spendwise.logic;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.util.DateCodec;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class FinancialContextProviderTest {
+
+    private final SimpleDateFormat dateTimeFormat = new SimpleDateFormat("MM/dd/yyyy HH:mm", Locale.US);
+
+    private CategoryDayIndex index;
+    private FinancialContextProvider provider;
+    private Date now;
+
+    private void add(String id, double amount, Category category, String date) {
+        Expense expense = new Expense(id, amount, category, date, "");
+        expense.setId(id);
+        index.put(expense);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        index = new CategoryDayIndex();
+        provider = new FinancialContextProvider(index);
+        now = dateTimeFormat.parse("10/20/2024 12:00");
+
+        add("a", 15.0, Category.FOOD, "10/13/2024");
+        add("b", 45.0, Category.FOOD, "10/18/2024");
+        add("c", 12.0, Category.ENTERTAINMENT, "10/01/2024");
+        add("d", 30.0, Category.FOOD, "09/25/2024");
+        add("e", 20.0, Category.BILLS, "09/05/2024");
+        add("f", 99.0, Category.BILLS, "08/31/2024");
+    }
+
+    @Test
+    public void weeklySpending_coversTheLastSevenDays() {
+        assertEquals("Last 7 days spending data:\n"
+                        + "Total: $" + String.format("%.2f", 60.0) + "\n"
+                        + "Number of expenses: 2\n"
+                        + "By category:\n"
+                        + "- FOOD: $" + String.format("%.2f", 60.0) + "\n",
+                provider.weeklySpending(now));
+    }
+
+    @Test
+    public void monthlySpending_includesTheFirstOfTheMonth() {
+        String summary = provider.monthlySpending(now);
+        assertTrue(summary.contains("Number of expenses: 3\n"));
+        // Categories are listed by name
+        assertTrue(summary.indexOf("- ENTERTAINMENT") < summary.indexOf("- FOOD"));
+        assertFalse(summary.contains("BILLS"));
+    }
+
+    @Test
+    public void monthComparison_splitsAtTheMonthBoundary() {
+        String comparison = provider.monthComparison(now);
+        assertTrue(comparison.contains("Last month total: $" + String.format("%.2f", 50.0) + "\n"));
+        assertTrue(comparison.contains("This month total: $" + String.format("%.2f", 72.0) + "\n"));
+        assertTrue(comparison.contains("- FOOD: $" + String.format("%.2f", 60.0)
+                + " vs $" + String.format("%.2f", 30.0)
+                + " (+" + String.format("%.2f", 30.0) + ")\n"));
+        // Only categories with spending this month get a line
+        assertFalse(comparison.contains("- BILLS"));
+    }
+
+    @Test
+    public void spendingAnalysis_comparesAgainstBudgets() {
+        Map<String, Double> budgets = new HashMap<>();
+        budgets.put("FOOD", 200.0);
+
+        String analysis = provider.spendingAnalysis(now, budgets);
+        assertTrue(analysis.contains("- FOOD: $" + String.format("%.2f", 90.0)
+                + " (" + String.format("%.0f", 45.0) + "% of $" + String.format("%.2f", 200.0) + " budget)\n"));
+        assertTrue(analysis.contains("- ENTERTAINMENT: $" + String.format("%.2f", 12.0) + "\n"));
+        // 09/05 is more than 30 days back
+        assertFalse(analysis.contains("BILLS"));
+    }
+
+    @Test
+    public void summariesFollowIndexUpdates() {
+        add("b", 5.0, Category.FOOD, "10/18/2024");
+        index.remove("a");
+        assertTrue(provider.weeklySpending(now).contains("Number of expenses: 1\n"));
+        assertEquals(1, index.count(Category.FOOD, DateCodec.parse("10/13/2024"),
+                DateCodec.parse("10/20/2024")));
+    }
+
+    @Test
+    public void prompts_followTheirSummary() {
+        assertTrue(provider.weeklyPrompt(now).startsWith(provider.weeklySpending(now) + "\n"));
+        String monthly = provider.monthlyPrompt(now, "How much this month?");
+        assertTrue(monthly.startsWith(provider.monthlySpending(now)));
+        assertTrue(monthly.contains("User asked: \"How much this month?\"\n"));
+        assertTrue(provider.comparisonPrompt(now).startsWith(provider.monthComparison(now)));
+        Map<String, Double> budgets = new HashMap<>();
+        budgets.put("FOOD", 100.0);
+        assertTrue(provider.costCuttingPrompt(now, budgets).startsWith(provider.spendingAnalysis(now, budgets)));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.spendwise.model;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+public class CircleProgressTest {
+
+    @Test
+    public void getTotal_countsCyclesEndedByDate() {
+        CircleProgress progress = new CircleProgress();
+        progress.addCompletedCycle("alice@example,com", 1000L, 40.0);
+        progress.addCompletedCycle("alice@example,com", 2000L, 25.0);
+        progress.addCompletedCycle("bob@example,com", 1500L, 10.0);
+
+        assertEquals(0.0, progress.getTotal(999L), 0.001);
+        assertEquals(50.0, progress.getTotal(1500L), 0.001);
+        assertEquals(75.0, progress.getTotal(Long.MAX_VALUE), 0.001);
+        assertEquals(65.0, progress.getMemberTotal("alice@example,com", 2000L), 0.001);
+        assertEquals(0.0, progress.getMemberTotal("carol@example,com", 2000L), 0.001);
+        assertEquals(1, progress.getMemberCycleCount("alice@example,com", 1999L));
+        assertEquals(2, progress.getMemberCycleCount("alice@example,com", 2000L));
+        assertEquals(0, progress.getMemberCycleCount("carol@example,com", 2000L));
+    }
+
+    @Test
+    public void entryFor_storesEndDateAndAmount() {
+        MemberCycle cycle = new MemberCycle(1000L, 5000L, 120.0);
+        cycle.recordExpense(20.0);
+
+        Map<String, Object> entry = CircleProgress.entryFor(cycle);
+
+        assertEquals(5000L, entry.get(CircleProgress.END_DATE));
+        assertEquals(100.0, (Double) entry.get(CircleProgress.END_AMOUNT), 0.001);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.spendwise.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.Budget;
+import com.example.spendwise.model.BudgetUsageSummary;
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+public class CategoryDayIndexTest {
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+
+    private Date parseDate(String value) throws ParseException {
+        return dateFormat.parse(value);
+    }
+
+    private Expense expense(String id, double amount, Category category, String date) {
+        Expense expense = new Expense(id, amount, category, date, "");
+        expense.setId(id);
+        return expense;
+    }
+
+    @Test
+    public void sum_reflectsPutUpdateAndRemove() throws Exception {
+        CategoryDayIndex index = new CategoryDayIndex();
+        index.put(expense("a", 15.0, Category.FOOD, "10/05/2024"));
+        index.put(expense("b", 45.0, Category.FOOD, "10/18/2024"));
+        index.put(expense("c", 12.0, Category.ENTERTAINMENT, "10/10/2024"));
+
+        Date start = parseDate("10/01/2024");
+        Date end = parseDate("10/31/2024");
+        assertEquals(60.0, index.sum(Category.FOOD, start, end), 0.001);
+
+        // Same id replaces the old amount and date
+        index.put(expense("b", 20.0, Category.FOOD, "11/02/2024"));
+        assertEquals(15.0, index.sum(Category.FOOD, start, end), 0.001);
+
+        index.remove("a");
+        assertEquals(0.0, index.sum(Category.FOOD, start, end), 0.001);
+        assertEquals(12.0, index.sum(Category.ENTERTAINMENT, start, end), 0.001);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void sum_growsAcrossYearsOfHistory() throws Exception {
+        CategoryDayIndex index = new CategoryDayIndex();
+        index.put(expense("recent", 10.0, Category.BILLS, "06/15/2024"));
+        index.put(expense("old", 5.0, Category.BILLS, "01/03/2015"));
+        index.put(expense("future", 7.0, Category.BILLS, "12/30/2030"));
+
+        assertEquals(22.0, index.sum(Category.BILLS, null, null), 0.001);
+        assertEquals(5.0, index.sum(Category.BILLS, null, parseDate("01/01/2020")), 0.001);
+        assertEquals(17.0, index.sum(Category.BILLS, parseDate("01/01/2020"), null), 0.001);
+    }
+
+    @Test
+    public void analyticsFromIndex_matchesListBasedResults() throws Exception {
+        AnalyticsRepository analyticsRepository = new AnalyticsRepository();
+        Category[] categories = Category.values();
+        Random random = new Random(42);
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String date = String.format(Locale.US, "%02d/%02d/%d",
+                    1 + random.nextInt(12), 1 + random.nextInt(28), 2022 + random.nextInt(3));
+            expenses.add(expense("e" + i, random.nextInt(10000) / 100.0,
+                    categories[random.nextInt(categories.length)], date));
+        }
+        CategoryDayIndex index = new CategoryDayIndex();
+        index.rebuild(expenses);
+
+        Budget budget = new Budget("Groceries", 200.0, Category.FOOD, "03/10/2023", "Monthly");
+        budget.setId("budget_food");
+        List<Budget> budgets = Arrays.asList(budget);
+
+        Date start = parseDate("03/01/2023");
+        Date end = parseDate("09/30/2023");
+
+        Map<String, Double> expected = analyticsRepository.calculateCategoryTotals(expenses, start, end);
+        Map<String, Double> actual = analyticsRepository.calculateCategoryTotals(index, start, end);
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<String, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()), 0.001);
+        }
+
+        BudgetUsageSummary expectedUsage = analyticsRepository
+                .calculateBudgetUsage(budgets, expenses, start, end).get(0);
+        BudgetUsageSummary actualUsage = analyticsRepository
+                .calculateBudgetUsage(budgets, index, start, end).get(0);
+        assertEquals(expectedUsage.getSpentAmount(), actualUsage.getSpentAmount(), 0.001);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.spendwise.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.spendwise.model.MemberCycle;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.List;
+
+public class CycleTimelineTest {
+
+    private MemberCycle firstWeeklyCycle() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.JANUARY, 1, 9, 30, 0);
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_YEAR, 7);
+        return new MemberCycle(start, calendar.getTimeInMillis(), 100.0);
+    }
+
+    @Test
+    public void find_returnsCycleContainingDate() {
+        MemberCycle first = firstWeeklyCycle();
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2024, Calendar.JUNE, 1, 0, 0, 0);
+        List<MemberCycle> later = MemberCycle.createCyclesUntil(first, calendar.getTimeInMillis(), "Weekly");
+
+        CycleTimeline timeline = new CycleTimeline();
+        // Out of order on purpose
+        for (int i = later.size() - 1; i >= 0; i--) {
+            timeline.put(later.get(i));
+        }
+        timeline.put(first);
+        assertEquals(later.size() + 1, timeline.size());
+
+        for (MemberCycle cycle : later) {
+            assertSame(cycle, timeline.find(cycle.getStartDate()));
+            assertSame(cycle, timeline.find(cycle.getEndDate() - 1));
+        }
+        assertSame(first, timeline.find(first.getStartDate() + 1000));
+        assertNull(timeline.find(first.getStartDate() - 1));
+        assertNull(timeline.find(timeline.last().getEndDate()));
+    }
+
+    @Test
+    public void put_replacesCycleWithSameStart() {
+        MemberCycle first = firstWeeklyCycle();
+        CycleTimeline timeline = new CycleTimeline();
+        timeline.put(first);
+
+        MemberCycle updated = new MemberCycle(first.getStartDate(), first.getEndDate(), 100.0);
+        updated.recordExpense(25.0);
+        timeline.put(updated);
+
+        assertEquals(1, timeline.size());
+        assertEquals(75.0, timeline.find(first.getStartDate()).getEndAmount(), 0.001);
+    }
+
+    @Test
+    public void keyUpperBound_sortsAfterIdsStartingThatDay() {
+        MemberCycle cycle = firstWeeklyCycle();
+        String bound = CycleTimeline.keyUpperBound(cycle.getStartDate());
+        assertTrue(cycle.getCycleId().compareTo(bound) < 0);
+    }
+}
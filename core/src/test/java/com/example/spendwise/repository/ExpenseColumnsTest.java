@@ -0,0 +1,129 @@
+package com.example.spendwise.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.util.DateCodec;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+public class ExpenseColumnsTest {
+
+    private static final int CATEGORIES = Category.values().length;
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+
+    private Expense expense(String id, double amount, Category category, String date) {
+        Expense expense = new Expense(id, amount, category, date, "");
+        expense.setId(id);
+        return expense;
+    }
+
+    @Test
+    public void put_updatesAndRemovesRowsById() {
+        ExpenseColumns columns = new ExpenseColumns();
+        columns.put(expense("a", 15.0, Category.FOOD, "10/05/2024"));
+        columns.put(expense("b", 45.0, Category.FOOD, "10/18/2024"));
+        columns.put(expense("c", 12.0, Category.ENTERTAINMENT, "not a date"));
+        assertEquals(3, columns.size());
+
+        // Same id overwrites in place
+        columns.put(expense("a", 20.0, Category.BILLS, "10/06/2024"));
+        assertEquals(3, columns.size());
+
+        // Removing a middle row moves the last row into its slot
+        columns.remove("b");
+        assertEquals(2, columns.size());
+        assertEquals("c", columns.idAt(1));
+        assertEquals(ExpenseColumns.NO_DAY, columns.dayAt(1));
+
+        long[] totals = new long[CATEGORIES];
+        int[] order = new int[CATEGORIES];
+        assertEquals(2, columns.sumByCategory(totals, order));
+        assertEquals(Category.BILLS.ordinal(), order[0]);
+        assertEquals(2000, totals[Category.BILLS.ordinal()]);
+        assertEquals(0, totals[Category.FOOD.ordinal()]);
+        assertEquals(1200, totals[Category.ENTERTAINMENT.ordinal()]);
+
+        // Undated rows are left out of day ranges
+        int day = DateCodec.parse("10/06/2024");
+        assertEquals(1, columns.sumByCategory(Integer.MIN_VALUE, Integer.MAX_VALUE, totals, order));
+        assertEquals(2000, totals[Category.BILLS.ordinal()]);
+        assertEquals(0, totals[Category.ENTERTAINMENT.ordinal()]);
+        assertEquals(0, columns.sumByCategory(day + 1, day + 30, totals, order));
+    }
+
+    @Test
+    public void put_growsPastOneChunk() {
+        ExpenseColumns columns = new ExpenseColumns();
+        for (int i = 0; i < 1000; i++) {
+            columns.put(expense("e" + i, 1.0, Category.FOOD, "01/01/2024"));
+        }
+        assertEquals(1000, columns.size());
+
+        for (int i = 0; i < 1000; i += 2) {
+            columns.remove("e" + i);
+        }
+        assertEquals(500, columns.size());
+        long[] totals = new long[CATEGORIES];
+        columns.sumByCategory(totals, new int[CATEGORIES]);
+        assertEquals(50000, totals[Category.FOOD.ordinal()]);
+
+        // Every remaining id still finds its own row
+        for (int i = 1; i < 1000; i += 2) {
+            columns.remove("e" + i);
+        }
+        assertEquals(0, columns.size());
+    }
+
+    @Test
+    public void of_keepsRowsThatShareAnId() {
+        Expense first = expense("same", 5.0, Category.FOOD, "10/05/2024");
+        Expense second = expense("same", 7.0, Category.FOOD, "10/06/2024");
+        Expense uncategorized = expense("x", 9.0, null, "10/06/2024");
+
+        ExpenseColumns columns = ExpenseColumns.of(Arrays.asList(first, second, uncategorized));
+        assertEquals(2, columns.size());
+        long[] totals = new long[CATEGORIES];
+        columns.sumByCategory(totals, new int[CATEGORIES]);
+        assertEquals(1200, totals[Category.FOOD.ordinal()]);
+    }
+
+    @Test
+    public void analyticsFromColumns_matchesListBasedResults() throws Exception {
+        AnalyticsRepository analyticsRepository = new AnalyticsRepository();
+        Category[] categories = Category.values();
+        Random random = new Random(7);
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String date = String.format(Locale.US, "%02d/%02d/%d",
+                    1 + random.nextInt(12), 1 + random.nextInt(28), 2022 + random.nextInt(3));
+            expenses.add(expense("e" + i, random.nextInt(10000) / 100.0,
+                    categories[random.nextInt(categories.length)], date));
+        }
+        ExpenseColumns columns = new ExpenseColumns();
+        columns.rebuild(expenses);
+        CategoryDayIndex index = new CategoryDayIndex();
+        index.rebuild(expenses);
+
+        Date start = dateFormat.parse("03/01/2023");
+        Date end = dateFormat.parse("09/30/2023");
+
+        Map<String, Double> expected = analyticsRepository.calculateCategoryTotals(index, start, end);
+        Map<String, Double> actual = analyticsRepository.calculateCategoryTotals(columns, start, end);
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<String, Double> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()), 0.001);
+        }
+    }
+}
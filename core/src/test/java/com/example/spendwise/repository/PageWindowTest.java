@@ -0,0 +1,152 @@
+package com.example.spendwise.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PageWindowTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    /** Queues loads so the test decides when each one answers. */
+    private static class FakeSource implements PageWindow.Loader<Integer> {
+        final List<Integer> rows = new ArrayList<>();
+        final List<int[]> pending = new ArrayList<>();
+        final List<Integer> keyed = new ArrayList<>();
+        PageWindow<Integer> window;
+
+        FakeSource(int size) {
+            for (int i = 0; i < size; i++) {
+                rows.add(i);
+            }
+        }
+
+        @Override
+        public void load(int generation, int page, Integer after, int offset, int limit) {
+            int start = offset;
+            if (after != null) {
+                keyed.add(page);
+                start = rows.indexOf(after) + 1;
+            }
+            pending.add(new int[]{generation, page, start, limit});
+        }
+
+        void answerAll() {
+            while (!pending.isEmpty()) {
+                int[] load = pending.remove(0);
+                int start = Math.min(load[2], rows.size());
+                int end = Math.min(start + load[3], rows.size());
+                window.onPageLoaded(load[0], load[1], new ArrayList<>(rows.subList(start, end)), rows.size());
+            }
+        }
+    }
+
+    private FakeSource source(int size) {
+        FakeSource source = new FakeSource(size);
+        source.window = new PageWindow<>(PAGE_SIZE, PAGE_SIZE, 4, source);
+        return source;
+    }
+
+    private int loadedRows(PageWindow<Integer> window) {
+        int loaded = 0;
+        for (int i = 0; i < window.size(); i++) {
+            if (window.peek(i) != null) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    @Test
+    public void firstLoad_reportsCountAndPrefetchesByKey() {
+        FakeSource source = source(1000);
+        source.window.invalidate();
+        source.answerAll();
+
+        assertEquals(1000, source.window.size());
+        assertEquals(Integer.valueOf(5), source.window.peek(5));
+        assertEquals(Integer.valueOf(15), source.window.peek(15));
+        assertNull(source.window.peek(25));
+        assertEquals(1, source.keyed.size());
+    }
+
+    @Test
+    public void scrolling_keepsMemoryBounded() {
+        FakeSource source = source(1000);
+        source.window.invalidate();
+        source.answerAll();
+
+        for (int position = 0; position < 1000; position++) {
+            Integer row = source.window.get(position);
+            source.answerAll();
+            assertEquals(Integer.valueOf(position), source.window.get(position));
+            assertTrue(row == null || row == position);
+            assertTrue(loadedRows(source.window) <= 4 * PAGE_SIZE);
+        }
+        // Every page after the first was read by key except the offset jumps
+        assertTrue(source.keyed.size() >= 1000 / PAGE_SIZE - 2);
+    }
+
+    @Test
+    public void jump_usesPlaceholdersUntilLoaded() {
+        FakeSource source = source(1000);
+        source.window.invalidate();
+        source.answerAll();
+
+        assertNull(source.window.get(505));
+        source.answerAll();
+        assertEquals(Integer.valueOf(505), source.window.peek(505));
+        assertNull(source.window.peek(5));
+    }
+
+    @Test
+    public void invalidate_dropsLoadsFromBeforeTheChange() {
+        FakeSource source = source(30);
+        List<String> changes = new ArrayList<>();
+        source.window.setListener(new PageWindow.Listener<Integer>() {
+            @Override
+            public void onCountChanged(int oldCount, int newCount) {
+                changes.add("count " + oldCount + "->" + newCount);
+            }
+
+            @Override
+            public void onPageChanged(int start, List<Integer> oldItems, List<Integer> newItems) {
+                changes.add("page " + start);
+            }
+        });
+        source.window.invalidate();
+        source.answerAll();
+        changes.clear();
+
+        source.window.invalidate();
+        int[] stale = source.pending.remove(0);
+        source.rows.remove(0);
+        source.window.invalidate();
+        source.window.onPageLoaded(stale[0], stale[1], new ArrayList<>(source.rows), 30);
+        assertEquals(0, changes.size());
+        assertEquals(Integer.valueOf(0), source.window.peek(0));
+
+        source.pending.clear();
+        source.window.invalidate();
+        source.answerAll();
+        assertEquals(29, source.window.size());
+        assertEquals("count 30->29", changes.get(0));
+        assertEquals(Integer.valueOf(1), source.window.peek(0));
+    }
+
+    @Test
+    public void emptySource_loadsOnce() {
+        FakeSource source = source(0);
+        source.window.invalidate();
+        source.answerAll();
+
+        assertEquals(0, source.window.size());
+        assertNull(source.window.get(0));
+        assertEquals(0, source.pending.size());
+    }
+}
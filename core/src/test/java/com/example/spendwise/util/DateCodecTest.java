@@ -0,0 +1,84 @@
+package com.example.spendwise.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+public class DateCodecTest {
+
+    @Test
+    public void parse_matchesKnownDates() {
+        assertEquals(0, DateCodec.parse("01/01/1970"));
+        assertEquals(19723, DateCodec.parse("01/01/2024"));
+        assertEquals(19782, DateCodec.parse("02/29/2024"));
+        assertEquals(19783, DateCodec.parse("3/1/2024"));
+        // Lenient rollover, like SimpleDateFormat
+        assertEquals(DateCodec.parse("01/01/2025"), DateCodec.parse("13/01/2024"));
+    }
+
+    @Test
+    public void parse_matchesSimpleDateFormat() throws Exception {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.US);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            // Includes out-of-range months and days to exercise rollover
+            String date = String.format(Locale.US, "%02d/%02d/%d",
+                    random.nextInt(14), random.nextInt(33), 1990 + random.nextInt(60));
+            Date parsed = dateFormat.parse(date);
+            assertEquals(date, DateCodec.dayOf(parsed), DateCodec.parse(date));
+            assertEquals(date, parsed.getTime(), DateCodec.startOfDay(DateCodec.parse(date)));
+        }
+    }
+
+    @Test
+    public void parse_rejectsMalformedDates() {
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse(null));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse(""));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse("not a date"));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse("10/05"));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse("10//2024"));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse("10/05/2024/1"));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse("10/0 5/2024"));
+        assertEquals(DateCodec.NO_DAY, DateCodec.parse("10/05/99999999999"));
+        assertEquals(DateCodec.parse("10/05/2024"), DateCodec.parse(" 10 / 05 /2024 "));
+    }
+
+    @Test
+    public void format_roundTrips() {
+        for (int day = -700000; day < 800000; day += 97) {
+            assertEquals(day, DateCodec.parse(DateCodec.format(day)));
+        }
+        assertEquals("02/29/2024", DateCodec.format(DateCodec.parse("2/29/2024")));
+    }
+
+    @Test
+    public void firstDayOnOrAfter_skipsPartialDays() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2024, Calendar.OCTOBER, 5);
+        int day = DateCodec.parse("10/05/2024");
+        assertEquals(day, DateCodec.firstDayOnOrAfter(calendar.getTime()));
+        assertEquals(day, DateCodec.dayOf(calendar.getTime()));
+
+        calendar.set(Calendar.HOUR_OF_DAY, 9);
+        assertEquals(day + 1, DateCodec.firstDayOnOrAfter(calendar.getTime()));
+        assertEquals(day, DateCodec.dayOf(calendar.getTime()));
+    }
+
+    @Test
+    public void epochDay_isMemoizedOnTheModel() {
+        Expense expense = new Expense("Lunch", 12.0, Category.FOOD, "10/05/2024", "");
+        assertEquals(DateCodec.parse("10/05/2024"), expense.epochDay());
+        assertEquals(expense.epochDay(), expense.epochDay());
+        assertEquals(DateCodec.NO_DAY, new Expense().epochDay());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.spendwise.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import com.example.spendwise.model.Category;
+import com.example.spendwise.model.Expense;
+import com.example.spendwise.repository.AnalyticsRepository;
+import com.example.spendwise.repository.CategoryDayIndex;
+import com.example.spendwise.repository.ExpenseColumns;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class MoneyTest {
+
+    @Test
+    public void toCents_roundsToNearestCent() {
+        assertEquals(29, Money.toCents(0.29));
+        assertEquals(1999, Money.toCents(19.99));
+        assertEquals(1, Money.toCents(0.005));
+        assertEquals(-1, Money.toCents(-0.005));
+        assertEquals(0, Money.toCents(Double.NaN));
+        assertEquals(19.99, Money.toAmount(1999), 0);
+    }
+
+    @Test
+    public void yearOfExpenses_sumsExactly() {
+        // 0.10 has no exact double, so a naive double sum drifts
+        List<Expense> expenses = new ArrayList<>();
+        for (int day = 1; day <= 365; day++) {
+            for (int i = 0; i < 10; i++) {
+                Expense expense = new Expense("Coffee", 0.10, Category.FOOD,
+                        String.format("01/%02d/2024", day), "");
+                expense.setId(day + "-" + i);
+                expenses.add(expense);
+            }
+        }
+        double naive = 0;
+        for (Expense expense : expenses) {
+            naive += expense.getAmount();
+        }
+        assertNotEquals(365.0, naive, 0);
+
+        Map<String, Double> totals = new AnalyticsRepository().calculateCategoryTotals(expenses, null, null);
+        assertEquals(365.0, totals.get("Food"), 0);
+
+        ExpenseColumns columns = new ExpenseColumns();
+        columns.rebuild(expenses);
+        long[] byCategory = new long[Category.values().length];
+        columns.sumByCategory(byCategory, new int[byCategory.length]);
+        assertEquals(36500, byCategory[Category.FOOD.ordinal()]);
+
+        CategoryDayIndex index = new CategoryDayIndex();
+        index.rebuild(expenses);
+        assertEquals(36500, index.sumCents(Category.FOOD, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+}